@@ -0,0 +1,159 @@
+package com.github.mygreen.supercsv.annotation.constraint;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.supercsv.cellprocessor.ift.CellProcessor;
+
+import com.github.mygreen.supercsv.annotation.DefaultGroup;
+import com.github.mygreen.supercsv.builder.BuildCase;
+import com.github.mygreen.supercsv.cellprocessor.constraint.EqualedValueProvider;
+import com.github.mygreen.supercsv.cellprocessor.format.TextPrinter;
+
+/**
+ * セルの値が、マスタデータなどの大量の参照値のいずれかと等しいかどうか検証するためのアノテーションです。
+ * <p>全てのクラスタイプに指定可能です。</p>
+ * <p>{@link CsvEquals}と異なり、参照値をコンパクトなハッシュテーブルに保持し、件数に依らず定数時間で判定します。
+ *   また、エラーメッセージには全ての参照値を出力せず、件数と一部の値のみを出力します。
+ *   <br>数百万件のコード値などと照合する場合に指定します。
+ * </p>
+ *
+ * <h3 class="description">基本的な使い方</h3>
+ * <p>属性{@link #file()}で参照値を1行に1件ずつ記述したファイルを指定するか、
+ *    属性{@link #provider()}でプロバイダ{@link EqualedValueProvider}の実装クラスを指定します。
+ * </p>
+ * <ul>
+ *   <li>ファイルの空行は無視します。</li>
+ *   <li>数値や日時など書式を持つ場合は、ファイルの値はその書式に沿っている必要があります。</li>
+ *   <li>参照値は、CellProcessorの作成時に一度だけ読み込みます。
+ *     <br>同じフィールドとアノテーションに対する参照値は、読み込み用と書き込み用のCellProcessorや、
+ *     {@link com.github.mygreen.supercsv.builder.BeanMapping}を作成し直した場合にも共有し、読み込み直しません。
+ *     参照値を使うCellProcessorがどこからも参照されなくなると破棄し、次に作成する際に読み込み直します。
+ *   </li>
+ *   <li>参照値が空の場合は、全ての値を不正と判定します。
+ *     <br>{@link CsvEquals}で空のリストを指定した場合は全ての値を正しいと判定するのとは、扱いが異なります。
+ *   </li>
+ * </ul>
+ *
+ * <pre class="highlight"><code class="java">
+ * {@literal @CsvBean}
+ * public class SampleCsv {
+ *
+ *     {@literal @CsvColumn(number=1)}
+ *     {@literal @CsvReferenceSet(file="master/product_codes.txt", bloomFilter=true)}
+ *     private String productCode;
+ *
+ *     // DBから取得し、10分ごとに読み込み直す場合
+ *     {@literal @CsvColumn(number=2)}
+ *     {@literal @CsvReferenceSet(provider=ShopCodeProvider.class, refreshSeconds=600)}
+ *     private String shopCode;
+ *
+ *     // getter/setterは省略
+ * }
+ * </code></pre>
+ *
+ * @since 2.3
+ * @author T.TSUCHIE
+ *
+ */
+@Target({ElementType.FIELD, ElementType.ANNOTATION_TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Repeatable(CsvReferenceSet.List.class)
+@CsvConstraint(value={})
+public @interface CsvReferenceSet {
+
+    /**
+     * 値を取得するプロバイダクラスを指定します。
+     * @return {@link EqualedValueProvider}の実装クラス。
+     */
+    @SuppressWarnings("rawtypes")
+    Class<? extends EqualedValueProvider> [] provider() default {};
+
+    /**
+     * 参照値を1行に1件ずつ記述したファイルのパスを指定します。
+     * @return ファイルのパス。
+     */
+    String file() default "";
+
+    /**
+     * 属性{@link #file()}で指定したファイルの文字コードを指定します。
+     * @return 文字コード名。
+     */
+    String encoding() default "UTF-8";
+
+    /**
+     * 参照値を読み込み直す間隔を秒単位で指定します。
+     * <p>間隔を過ぎた後の最初の判定時に、別スレッドで読み込み直します。読み込みが終わるまでは、以前の参照値で判定します。</p>
+     * @return 0以下の場合は、読み込み直しません。
+     */
+    long refreshSeconds() default 0L;
+
+    /**
+     * ブルームフィルタによる事前判定を行うかどうかを指定します。
+     * <p>参照値に含まれない値が多い場合に、判定を高速化できます。参照値1件あたり10ビットのメモリを追加で使用します。</p>
+     * @return trueの場合、ブルームフィルタで事前に判定します。
+     */
+    boolean bloomFilter() default false;
+
+    /**
+     * エラーメッセージに出力する参照値の最大件数を指定します。
+     * @return 参照値の最大件数。
+     */
+    int maxPrintedValues() default 10;
+
+    /**
+     * エラー時のメッセージを指定します。
+     * <p>{@literal {key}}の書式の場合、プロパティファイルから取得した値を指定できます。</p>
+     *
+     * <p>使用可能なメッセージ中の変数は下記の通りです。</p>
+     * <ul>
+     *   <li>lineNumber : カラムの値に改行が含まれている場合を考慮した実際の行番号です。1から始まります。</li>
+     *   <li>rowNumber : CSVの行番号です。1から始まります。</li>
+     *   <li>columnNumber : CSVの列番号です。1から始まります。</li>
+     *   <li>label : カラムの見出し名です。</li>
+     *   <li>validatedValue : 実際のカラムの値です。</li>
+     *   <li>referenceSize : 参照値の件数です。</li>
+     *   <li>sampleValues : 参照値の一部です。属性{@link #maxPrintedValues()}の件数までの{@link java.util.List}の形式です。</li>
+     *   <li>printer : カラムの値に対するフォーマッタです。{@link TextPrinter#print(Object)}でvalidatedValue, sampleValuesの値を文字列に変換します。</li>
+     * </ul>
+     *
+     * @return 省略した場合は、適用された{@link CellProcessor}に基づいたメッセージが出力されます。
+     */
+    String message() default "{com.github.mygreen.supercsv.annotation.constraint.CsvReferenceSet.message}";
+
+    /**
+     * 適用するケースを指定します。
+     * @return 何も指定しない場合は全てのケースに適用されます。
+     */
+    BuildCase[] cases() default {};
+
+    /**
+     * グループのクラスを指定します。
+     * <p>処理ごとに適用するアノテーションを切り替えたい場合に指定します。
+     * @return 指定しない場合は、{@link DefaultGroup}が適用され全ての処理に適用されます。
+     */
+    Class<?>[] groups() default {};
+
+    /**
+     * アノテーションの処理順序の定義。
+     * @return 値が大きいほど後に実行されます。
+     *         値が同じ場合は、アノテーションのクラス名の昇順になります。
+     */
+    int order() default 0;
+
+    /**
+     * アノテーションを複数個指定する際の要素です。
+     */
+    @Target({ElementType.FIELD, ElementType.ANNOTATION_TYPE})
+    @Retention(RetentionPolicy.RUNTIME)
+    @Documented
+    @interface List {
+
+        CsvReferenceSet[] value();
+    }
+}
@@ -0,0 +1,77 @@
+package com.github.mygreen.supercsv.annotation.conversion;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import com.github.mygreen.supercsv.annotation.DefaultGroup;
+import com.github.mygreen.supercsv.builder.BuildCase;
+import com.github.mygreen.supercsv.builder.Configuration;
+import com.github.mygreen.supercsv.cellprocessor.conversion.StringPool;
+
+/**
+ * 読み込んだ文字列のインスタンスを、同じ値のもの同士で共有するアノテーションです。
+ * <p>国コードや区分値など、値の種類が少ない文字列のカラムを大量に読み込んでメモリ上に保持する際に、
+ *    同じ値の文字列がレコードごとに作成されることを防ぎ、メモリの使用量を削減します。
+ * </p>
+ *
+ * <h3 class="description">基本的な使い方</h3>
+ *
+ * <ul>
+ *   <li>処理対象の値がnullの場合は、変換は行いません。</li>
+ *   <li>文字列は、{@link Configuration#getStringPool()}で取得する{@link StringPool}に弱参照で保持され、全てのカラムで共有されます。
+ *       <br>プールする件数には上限があり、上限に達した以降の値はそのまま処理されます。</li>
+ *   <li>他の変換処理の結果を共有するため、属性{@link #order()}の初期値は最大値になっており、最後に実行されます。</li>
+ *   <li>属性{@link #cases()}の初期値は、読み込み時のみになっています。</li>
+ * </ul>
+ *
+ * <pre class="highlight"><code class="java">
+ * {@literal @CsvBean}
+ * public class SampleCsv {
+ *
+ *     {@literal @CsvColumn(number=1)}
+ *     {@literal @CsvIntern}
+ *     private String countryCode;
+ *
+ *     {@literal @CsvColumn(number=2)}
+ *     {@literal @CsvTrim}
+ *     {@literal @CsvIntern}
+ *     private String status;
+ *
+ *     // getter/setterは省略
+ * }
+ * </code></pre>
+ *
+ * @since 2.3
+ * @author T.TSUCHIE
+ *
+ */
+@Target({ElementType.FIELD, ElementType.ANNOTATION_TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@CsvConversion(value={})
+public @interface CsvIntern {
+
+    /**
+     * 適用するケースを指定します。
+     * @return 初期値は読み込み時のみに適用されます。
+     */
+    BuildCase[] cases() default {BuildCase.Read};
+
+    /**
+     * グループのクラスを指定します。
+     * <p>処理ごとに適用するアノテーションを切り替えたい場合に指定します。
+     * @return 指定しない場合は、{@link DefaultGroup}が適用され全ての処理に適用されます。
+     */
+    Class<?>[] groups() default {};
+
+    /**
+     * アノテーションの処理順序の定義。
+     * @return 値が大きいほど後に実行されます。
+     *         値が同じ場合は、アノテーションのクラス名の昇順になります。
+     */
+    int order() default Integer.MAX_VALUE;
+
+}
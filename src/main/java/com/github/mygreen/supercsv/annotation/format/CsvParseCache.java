@@ -0,0 +1,54 @@
+package com.github.mygreen.supercsv.annotation.format;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import com.github.mygreen.supercsv.builder.Configuration;
+import com.github.mygreen.supercsv.cellprocessor.format.CachedTextParser;
+
+
+/**
+ * 読み込み時に、文字列をパースした結果をキャッシュするためのアノテーションです。
+ *
+ * <p>日付やコード値、フラグなど、同じ値が繰り返し出現するカラムに付与すると、パース処理を省略できます。
+ *  <br>キャッシュは、カラムごとに作成され、上限に達した以降の値はキャッシュされません。
+ * </p>
+ * <p>キャッシュ対象となるのは、パースした結果が不変なクラスタイプのみです。
+ *  <br>{@link java.util.Date}、{@link java.util.Calendar}とそのサブクラスは、取得する度にコピーを返します。
+ *  <br>対象外のクラスタイプの場合、このアノテーションは無視されます。
+ * </p>
+ * <p>全てのカラムに適用したい場合は、{@link Configuration#setParseCacheSize(int)}で設定します。</p>
+ *
+ * <pre class="highlight"><code class="java">
+ * {@literal @CsvBean}
+ * public class SampleCsv {
+ *
+ *     {@literal @CsvColumn(number=1)}
+ *     {@literal @CsvDateTimeFormat(pattern="yyyy/MM/dd")}
+ *     {@literal @CsvParseCache(size=500)}
+ *     private LocalDate salesDate;
+ *
+ *     // getter/setterは省略
+ * }
+ * </code></pre>
+ *
+ * @see CachedTextParser
+ * @since 2.3
+ * @author T.TSUCHIE
+ *
+ */
+@Target({ElementType.FIELD, ElementType.ANNOTATION_TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CsvParseCache {
+
+    /**
+     * キャッシュする値の最大件数を指定します。
+     * @return 0以下の場合は、キャッシュを行いません。
+     */
+    int size() default 1000;
+
+}
@@ -11,12 +11,14 @@ import java.util.Set;
 import org.supercsv.cellprocessor.ift.CellProcessor;
 
 import com.github.mygreen.supercsv.annotation.constraint.CsvEquals;
+import com.github.mygreen.supercsv.annotation.constraint.CsvReferenceSet;
 import com.github.mygreen.supercsv.annotation.constraint.CsvRequire;
 import com.github.mygreen.supercsv.annotation.constraint.CsvUnique;
 import com.github.mygreen.supercsv.annotation.constraint.CsvUniqueHashCode;
 import com.github.mygreen.supercsv.annotation.conversion.CsvDefaultValue;
 import com.github.mygreen.supercsv.annotation.conversion.CsvFullChar;
 import com.github.mygreen.supercsv.annotation.conversion.CsvHalfChar;
+import com.github.mygreen.supercsv.annotation.conversion.CsvIntern;
 import com.github.mygreen.supercsv.annotation.conversion.CsvLeftPad;
 import com.github.mygreen.supercsv.annotation.conversion.CsvLower;
 import com.github.mygreen.supercsv.annotation.conversion.CsvMultiPad;
@@ -33,13 +35,16 @@ import com.github.mygreen.supercsv.cellprocessor.ConstraintProcessorHandler;
 import com.github.mygreen.supercsv.cellprocessor.ConversionProcessorFactory;
 import com.github.mygreen.supercsv.cellprocessor.ConversionProcessorHandler;
 import com.github.mygreen.supercsv.cellprocessor.ProcessorFactory;
+import com.github.mygreen.supercsv.cellprocessor.StatefulProcessorRecorder;
 import com.github.mygreen.supercsv.cellprocessor.constraint.EqualsFactory;
+import com.github.mygreen.supercsv.cellprocessor.constraint.ReferenceSetFactory;
 import com.github.mygreen.supercsv.cellprocessor.constraint.RequireFactory;
 import com.github.mygreen.supercsv.cellprocessor.constraint.UniqueFactory;
 import com.github.mygreen.supercsv.cellprocessor.constraint.UniqueHashCodeFactory;
 import com.github.mygreen.supercsv.cellprocessor.conversion.DefaultValueFactory;
 import com.github.mygreen.supercsv.cellprocessor.conversion.FullCharFactory;
 import com.github.mygreen.supercsv.cellprocessor.conversion.HalfCharFactory;
+import com.github.mygreen.supercsv.cellprocessor.conversion.InternFactory;
 import com.github.mygreen.supercsv.cellprocessor.conversion.LeftPadFactory;
 import com.github.mygreen.supercsv.cellprocessor.conversion.LowerFactory;
 import com.github.mygreen.supercsv.cellprocessor.conversion.MultiPadFactory;
@@ -59,7 +64,7 @@ import com.github.mygreen.supercsv.cellprocessor.format.TextFormatter;
  * <p>共通の{@link CellProcessor}などを追加する処理を定義します。
  *
  * @param <T> 処理対象のクラスタイプ。
- * @version 2.0
+ * @version 2.3
  * @author T.TSUCHIE
  *
  */
@@ -123,12 +128,14 @@ public abstract class AbstractProcessorBuilder<T> implements ProcessorBuilder<T>
         registerForConversion(CsvRightPad.class, new RightPadFactory());
         registerForConversion(CsvMultiPad.class, new MultiPadFactory());
         registerForConversion(CsvOneSideTrim.class, new OneSideTrimFactory());
+        registerForConversion(CsvIntern.class, new InternFactory());
 
         // 制約用の登録
         registerForConstraint(CsvRequire.class, new RequireFactory());
         registerForConstraint(CsvUnique.class, new UniqueFactory<>());
         registerForConstraint(CsvUniqueHashCode.class, new UniqueHashCodeFactory<>());
         registerForConstraint(CsvEquals.class, new EqualsFactory<>());
+        registerForConstraint(CsvReferenceSet.class, new ReferenceSetFactory<>());
 
     }
 
@@ -144,7 +151,7 @@ public abstract class AbstractProcessorBuilder<T> implements ProcessorBuilder<T>
 
         Optional<CellProcessor> processor = Optional.empty();
         for(ProcessorFactory factory : factories) {
-            processor = factory.create(processor, field, formatter, config, BuildCase.Read, groups);
+            processor = StatefulProcessorRecorder.record(factory.create(processor, field, formatter, config, BuildCase.Read, groups));
         }
 
         return processor;
@@ -170,7 +177,7 @@ public abstract class AbstractProcessorBuilder<T> implements ProcessorBuilder<T>
                 continue;
             }
 
-            processor = factory.create(processor, field, formatter, config, BuildCase.Write, groups);
+            processor = StatefulProcessorRecorder.record(factory.create(processor, field, formatter, config, BuildCase.Write, groups));
         }
 
         return processor;
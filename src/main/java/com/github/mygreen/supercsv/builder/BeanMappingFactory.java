@@ -20,6 +20,8 @@ import com.github.mygreen.supercsv.annotation.CsvPostWrite;
 import com.github.mygreen.supercsv.annotation.CsvPreRead;
 import com.github.mygreen.supercsv.annotation.CsvPreWrite;
 import com.github.mygreen.supercsv.annotation.DefaultGroup;
+import com.github.mygreen.supercsv.cellprocessor.StatefulCellProcessor;
+import com.github.mygreen.supercsv.cellprocessor.StatefulProcessorRecorder;
 import com.github.mygreen.supercsv.exception.SuperCsvInvalidAnnotationException;
 import com.github.mygreen.supercsv.localization.MessageBuilder;
 import com.github.mygreen.supercsv.validation.CsvValidator;
@@ -27,7 +29,7 @@ import com.github.mygreen.supercsv.validation.CsvValidator;
 /**
  * BeanからCSVのマッピング情報を作成するクラス。
  * 
- * @version 2.1
+ * @version 2.3
  * @author T.TSUCHIE
  *
  */
@@ -196,12 +198,23 @@ public class BeanMappingFactory {
             }
         }
         
-        // CellProcessorの作成
+        // CellProcessorの作成。状態を持つCellProcessorは、組み立てる際に記録する。
+        final ProcessorBuilder columnBuilder = builder;
+        final List<StatefulCellProcessor> statefulForReading = new ArrayList<>();
         columnMapping.setCellProcessorForReading(
-                (CellProcessor)builder.buildForReading(field.getType(), fieldAccessor, configuration, groups).orElse(null));
+                (CellProcessor)StatefulProcessorRecorder.recording(statefulForReading,
+                        () -> StatefulProcessorRecorder.record(
+                                columnBuilder.buildForReading(field.getType(), fieldAccessor, configuration, groups)))
+                .orElse(null));
+        columnMapping.setStatefulProcessorsForReading(statefulForReading);
         
+        final List<StatefulCellProcessor> statefulForWriting = new ArrayList<>();
         columnMapping.setCellProcessorForWriting(
-                (CellProcessor)builder.buildForWriting(field.getType(), fieldAccessor, configuration,  groups).orElse(null));
+                (CellProcessor)StatefulProcessorRecorder.recording(statefulForWriting,
+                        () -> StatefulProcessorRecorder.record(
+                                columnBuilder.buildForWriting(field.getType(), fieldAccessor, configuration,  groups)))
+                .orElse(null));
+        columnMapping.setStatefulProcessorsForWriting(statefulForWriting);
         
         if(builder instanceof AbstractProcessorBuilder) {
             columnMapping.setFormatter(((AbstractProcessorBuilder)builder).getFormatter(fieldAccessor, configuration));
@@ -275,19 +288,19 @@ public class BeanMappingFactory {
         for(Method method : beanType.getDeclaredMethods()) {
             
             if(method.getAnnotation(CsvPreRead.class) != null) {
-                beanMapping.addPreReadMethod(new CallbackMethod(method));
+                beanMapping.addPreReadMethod(new CallbackMethod(method, beanType));
             }
             
             if(method.getAnnotation(CsvPostRead.class) != null) {
-                beanMapping.addPostReadMethod(new CallbackMethod(method));
+                beanMapping.addPostReadMethod(new CallbackMethod(method, beanType));
             }
             
             if(method.getAnnotation(CsvPreWrite.class) != null) {
-                beanMapping.addPreWriteMethod(new CallbackMethod(method));
+                beanMapping.addPreWriteMethod(new CallbackMethod(method, beanType));
             }
             
             if(method.getAnnotation(CsvPostWrite.class) != null) {
-                beanMapping.addPostWriteMethod(new CallbackMethod(method));
+                beanMapping.addPostWriteMethod(new CallbackMethod(method, beanType));
             }
         }
         
@@ -300,19 +313,19 @@ public class BeanMappingFactory {
         for(Object listener : listeners) {
             for(Method method : listener.getClass().getDeclaredMethods()) {
                 if(method.getAnnotation(CsvPreRead.class) != null) {
-                    beanMapping.addPreReadMethod(new ListenerCallbackMethod(listener, method));
+                    beanMapping.addPreReadMethod(new ListenerCallbackMethod(listener, method, beanType));
                 }
                 
                 if(method.getAnnotation(CsvPostRead.class) != null) {
-                    beanMapping.addPostReadMethod(new ListenerCallbackMethod(listener, method));
+                    beanMapping.addPostReadMethod(new ListenerCallbackMethod(listener, method, beanType));
                 }
                 
                 if(method.getAnnotation(CsvPreWrite.class) != null) {
-                    beanMapping.addPreWriteMethod(new ListenerCallbackMethod(listener, method));
+                    beanMapping.addPreWriteMethod(new ListenerCallbackMethod(listener, method, beanType));
                 }
                 
                 if(method.getAnnotation(CsvPostWrite.class) != null) {
-                    beanMapping.addPostWriteMethod(new ListenerCallbackMethod(listener, method));
+                    beanMapping.addPostWriteMethod(new ListenerCallbackMethod(listener, method, beanType));
                 }
             }
         }
@@ -1,7 +1,10 @@
 package com.github.mygreen.supercsv.builder;
 
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.Objects;
 
 import org.supercsv.exception.SuperCsvReflectionException;
@@ -11,78 +14,322 @@ import com.github.mygreen.supercsv.validation.CsvBindingErrors;
 import com.github.mygreen.supercsv.validation.ValidationContext;
 
 /**
- * 
+ * コールバック用メソッドの実行
+ * <p>引数に渡す値の種類は、インスタンスの作成時に決定し、メソッドは{@link MethodHandle}を介して呼び出します。
+ *   <br>レコードごとに、引数の型の判定や、リフレクションによる呼び出しを行いません。
+ * </p>
+ * <p>ただし、非推奨の{@link #execute(Object, Object[])}をオーバーライドしたサブクラスの場合は、
+ *   互換性のため、引数の配列を作成してそのメソッドを呼び出します。
+ * </p>
  *
+ * @version 2.3
  * @since 2.0
  * @author T.TSUCHIE
  *
  */
 public class CallbackMethod implements Comparable<CallbackMethod> {
     
+    /**
+     * 引数の数ごとに、{@link MethodHandle#invokeExact(Object...)}で直接呼び出す上限
+     */
+    private static final int MAX_DIRECT_ARGUMENTS = 4;
+    
+    /**
+     * 引数に渡す値の種類
+     */
+    private enum Binding {
+        CSV_CONTEXT,
+        BINDING_ERRORS,
+        GROUPS,
+        VALIDATION_CONTEXT,
+        RECORD,
+        NULL;
+    }
+    
     protected final Method method;
     
+    /**
+     * 呼び出し先のオブジェクトと引数を全てObject型として受け取り、戻り値を破棄するハンドル
+     */
+    private final MethodHandle handle;
+    
+    /**
+     * 引数ごとに渡す値の種類。Beanのクラスタイプが未確定の場合は、最初の呼び出し時に決定する。
+     */
+    private volatile Binding[] bindings;
+    
+    /**
+     * サブクラスで、非推奨の{@link #execute(Object, Object[])}をオーバーライドしているかどうか
+     */
+    private final boolean overriddenExecute;
+    
+    /**
+     * Beanのクラスタイプを指定せずにインスタンスを作成します。
+     * <p>引数に渡す値の種類は、最初に呼び出したときのマッピング情報を元に決定します。</p>
+     * @param method 呼び出すメソッド
+     * @throws NullPointerException {@literal method is null.}
+     */
     public CallbackMethod(final Method method) {
         Objects.requireNonNull(method);
         
         method.setAccessible(true);
         this.method = method;
+        this.handle = createHandle(method);
+        this.overriddenExecute = isOverriddenExecute(getClass());
         
     }
     
     /**
-     * メソッドの実行
-     * @param record Beanのオブジェクト
-     * @param csvContext 現在のCSVのレコード情報
-     * @param bindingErrors エラー情報。
-     * @param beanMapping マッピング情報
-     * @throws SuperCsvReflectionException メソッドの実行に失敗した場合。
+     * Beanのクラスタイプを指定してインスタンスを作成します。
+     * <p>引数に渡す値の種類を、この時点で決定します。</p>
+     * 
+     * @since 2.3
+     * @param method 呼び出すメソッド
+     * @param beanType Beanのクラスタイプ
+     * @throws NullPointerException {@literal method or beanType is null.}
      */
-    public void invoke(final Object record, final CsvContext csvContext, final CsvBindingErrors bindingErrors, 
-            final BeanMapping<?> beanMapping) {
+    public CallbackMethod(final Method method, final Class<?> beanType) {
+        this(method);
+        Objects.requireNonNull(beanType);
+        
+        this.bindings = resolveBindings(method, beanType);
+    }
+    
+    /**
+     * メソッドを呼び出すハンドルを作成します。
+     * @param method 呼び出すメソッド
+     * @return 呼び出し先のオブジェクトと引数を全てObject型として受け取るハンドル
+     */
+    private static MethodHandle createHandle(final Method method) {
+        
+        MethodHandle mh;
+        try {
+            mh = MethodHandles.lookup().unreflect(method);
+        } catch (IllegalAccessException e) {
+            throw new SuperCsvReflectionException(
+                    String.format("Fail access method '%s#%s'.", method.getDeclaringClass().getName(), method.getName()),
+                    e);
+        }
+        
+        if(Modifier.isStatic(method.getModifiers())) {
+            // 呼び出し先のオブジェクトは使用しない
+            mh = MethodHandles.dropArguments(mh, 0, Object.class);
+        }
+        
+        final int paramSize = method.getParameterCount();
+        mh = mh.asType(MethodType.genericMethodType(paramSize + 1).changeReturnType(void.class));
+        
+        if(paramSize > MAX_DIRECT_ARGUMENTS) {
+            mh = mh.asSpreader(Object[].class, paramSize);
+        }
+        
+        return mh;
+    }
+    
+    /**
+     * サブクラスで、{@link #execute(Object, Object[])}をオーバーライドしているかどうか判定します。
+     * @param type 判定対象のクラス
+     * @return trueの場合、オーバーライドしています。
+     */
+    private static boolean isOverriddenExecute(final Class<?> type) {
+        
+        for(Class<?> clazz = type; clazz != CallbackMethod.class; clazz = clazz.getSuperclass()) {
+            try {
+                clazz.getDeclaredMethod("execute", Object.class, Object[].class);
+                return true;
+            } catch(NoSuchMethodException e) {
+                // 親クラスを判定する
+            }
+        }
+        
+        return false;
+    }
+    
+    /**
+     * 引数の型から、渡す値の種類を決定します。
+     * @param method 呼び出すメソッド
+     * @param beanType Beanのクラスタイプ
+     * @return 引数ごとに渡す値の種類
+     */
+    private static Binding[] resolveBindings(final Method method, final Class<?> beanType) {
         
-        // 引数の組み立て
         final Class<?>[] paramTypes = method.getParameterTypes();
-        final Object[] paramValues =  new Object[paramTypes.length];
+        final Binding[] bindings = new Binding[paramTypes.length];
         
         for(int i=0; i < paramTypes.length; i++) {
             
             if(CsvContext.class.isAssignableFrom(paramTypes[i])) {
-                paramValues[i] = csvContext;
+                bindings[i] = Binding.CSV_CONTEXT;
                 
             } else if(CsvBindingErrors.class.isAssignableFrom(paramTypes[i])) {
-                paramValues[i] = bindingErrors;
+                bindings[i] = Binding.BINDING_ERRORS;
                 
             } else if(paramTypes[i].isArray() && Class.class.isAssignableFrom(paramTypes[i].getComponentType())) {
-                paramValues[i] = beanMapping.getGroups();
+                bindings[i] = Binding.GROUPS;
                 
             } else if(ValidationContext.class.isAssignableFrom(paramTypes[i])) {
-                paramValues[i] = new ValidationContext<>(csvContext, beanMapping);
+                bindings[i] = Binding.VALIDATION_CONTEXT;
                 
-            } else if(beanMapping.getType().isAssignableFrom(paramTypes[i])) {
-                paramValues[i] = record;
+            } else if(beanType.isAssignableFrom(paramTypes[i])) {
+                bindings[i] = Binding.RECORD;
                 
             } else {
-                paramValues[i] = null;
+                bindings[i] = Binding.NULL;
             }
             
         }
         
-        execute(record, paramValues);
+        return bindings;
+    }
+    
+    /**
+     * メソッドの実行
+     * @param record Beanのオブジェクト
+     * @param csvContext 現在のCSVのレコード情報
+     * @param bindingErrors エラー情報。
+     * @param beanMapping マッピング情報
+     * @throws SuperCsvReflectionException メソッドの実行に失敗した場合。
+     */
+    public void invoke(final Object record, final CsvContext csvContext, final CsvBindingErrors bindingErrors, 
+            final BeanMapping<?> beanMapping) {
+        
+        Binding[] bindings = this.bindings;
+        if(bindings == null) {
+            bindings = resolveBindings(method, beanMapping.getType());
+            this.bindings = bindings;
+        }
+        
+        if(overriddenExecute) {
+            final Object[] paramValues = new Object[bindings.length];
+            for(int i=0; i < bindings.length; i++) {
+                paramValues[i] = bind(bindings[i], record, csvContext, bindingErrors, beanMapping);
+            }
+            execute(record, paramValues);
+            return;
+        }
+        
+        final Object target = getTarget(record);
+        
+        try {
+            switch(bindings.length) {
+                case 0:
+                    handle.invokeExact(target);
+                    break;
+                case 1:
+                    handle.invokeExact(target,
+                            bind(bindings[0], record, csvContext, bindingErrors, beanMapping));
+                    break;
+                case 2:
+                    handle.invokeExact(target,
+                            bind(bindings[0], record, csvContext, bindingErrors, beanMapping),
+                            bind(bindings[1], record, csvContext, bindingErrors, beanMapping));
+                    break;
+                case 3:
+                    handle.invokeExact(target,
+                            bind(bindings[0], record, csvContext, bindingErrors, beanMapping),
+                            bind(bindings[1], record, csvContext, bindingErrors, beanMapping),
+                            bind(bindings[2], record, csvContext, bindingErrors, beanMapping));
+                    break;
+                case 4:
+                    handle.invokeExact(target,
+                            bind(bindings[0], record, csvContext, bindingErrors, beanMapping),
+                            bind(bindings[1], record, csvContext, bindingErrors, beanMapping),
+                            bind(bindings[2], record, csvContext, bindingErrors, beanMapping),
+                            bind(bindings[3], record, csvContext, bindingErrors, beanMapping));
+                    break;
+                default:
+                    final Object[] paramValues = new Object[bindings.length];
+                    for(int i=0; i < bindings.length; i++) {
+                        paramValues[i] = bind(bindings[i], record, csvContext, bindingErrors, beanMapping);
+                    }
+                    handle.invokeExact(target, paramValues);
+                    break;
+            }
+            
+        } catch(Throwable e) {
+            throw new SuperCsvReflectionException(
+                    String.format("Fail execute method '%s#%s'.", target.getClass().getName(), method.getName()),
+                    e);
+        }
         
     }
     
+    /**
+     * 組み立てた引数で、メソッドを実行します。
+     * <p>サブクラスでこのメソッドをオーバーライドした場合は、{@link #invoke(Object, CsvContext, CsvBindingErrors, BeanMapping)}から、
+     *   レコードごとに引数の配列を作成して呼び出されます。
+     * </p>
+     * 
+     * @deprecated 呼び出す対象のオブジェクトを変更する場合は、{@link #getTarget(Object)}をオーバーライドしてください。
+     * @param record Beanのオブジェクト
+     * @param paramValues メソッドの引数
+     * @throws SuperCsvReflectionException メソッドの実行に失敗した場合。
+     */
+    @Deprecated
     protected void execute(final Object record, final Object[] paramValues) {
+        
+        final Object target = getTarget(record);
+        
         try {
-            method.invoke(record, paramValues);
+            switch(paramValues.length) {
+                case 0:
+                    handle.invokeExact(target);
+                    break;
+                case 1:
+                    handle.invokeExact(target, paramValues[0]);
+                    break;
+                case 2:
+                    handle.invokeExact(target, paramValues[0], paramValues[1]);
+                    break;
+                case 3:
+                    handle.invokeExact(target, paramValues[0], paramValues[1], paramValues[2]);
+                    break;
+                case 4:
+                    handle.invokeExact(target, paramValues[0], paramValues[1], paramValues[2], paramValues[3]);
+                    break;
+                default:
+                    handle.invokeExact(target, paramValues);
+                    break;
+            }
             
-        } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
-            Throwable t = e.getCause() == null ? e : e.getCause();
+        } catch(Throwable e) {
             throw new SuperCsvReflectionException(
-                    String.format("Fail execute method '%s#%s'.", record.getClass().getName(), method.getName()),
-                    t);
+                    String.format("Fail execute method '%s#%s'.", target.getClass().getName(), method.getName()),
+                    e);
         }
+    }
+    
+    /**
+     * 引数に渡す値を取得します。
+     */
+    private static Object bind(final Binding binding, final Object record, final CsvContext csvContext,
+            final CsvBindingErrors bindingErrors, final BeanMapping<?> beanMapping) {
         
-        
+        switch(binding) {
+            case CSV_CONTEXT:
+                return csvContext;
+            case BINDING_ERRORS:
+                return bindingErrors;
+            case GROUPS:
+                return beanMapping.getGroups();
+            case VALIDATION_CONTEXT:
+                return new ValidationContext<>(csvContext, beanMapping);
+            case RECORD:
+                return record;
+            default:
+                return null;
+        }
+    }
+    
+    /**
+     * メソッドを呼び出す対象のオブジェクトを取得します。
+     * 
+     * @since 2.3
+     * @param record Beanのオブジェクト
+     * @return メソッドを呼び出す対象のオブジェクト。
+     */
+    protected Object getTarget(final Object record) {
+        return record;
     }
     
     /**
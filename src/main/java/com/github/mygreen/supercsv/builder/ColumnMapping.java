@@ -1,7 +1,11 @@
 package com.github.mygreen.supercsv.builder;
 
+import java.util.Collections;
+import java.util.List;
+
 import org.supercsv.cellprocessor.ift.CellProcessor;
 
+import com.github.mygreen.supercsv.cellprocessor.StatefulCellProcessor;
 import com.github.mygreen.supercsv.cellprocessor.format.TextFormatter;
 
 /**
@@ -28,6 +32,16 @@ public class ColumnMapping implements Comparable<ColumnMapping> {
     
     private CellProcessor cellProcessorForWriting;
     
+    /**
+     * 読み込み用のCellProcessorのうち、状態を持つもの。
+     */
+    private List<StatefulCellProcessor> statefulProcessorsForReading = Collections.emptyList();
+    
+    /**
+     * 書き込み用のCellProcessorのうち、状態を持つもの。
+     */
+    private List<StatefulCellProcessor> statefulProcessorsForWriting = Collections.emptyList();
+    
     private TextFormatter<?> formatter;
     
     /**
@@ -140,6 +154,42 @@ public class ColumnMapping implements Comparable<ColumnMapping> {
         this.cellProcessorForWriting = cellProcessorForWriting;
     }
     
+    /**
+     * 読み込み用のCellProcessorのチェインに含まれる、{@link StatefulCellProcessor}を取得する。
+     * @since 2.3
+     * @return チェインの末尾から順に格納されている一覧。含まない場合は空のリストを返す。
+     */
+    public List<StatefulCellProcessor> getStatefulProcessorsForReading() {
+        return statefulProcessorsForReading;
+    }
+    
+    /**
+     * 読み込み用のCellProcessorのチェインに含まれる、{@link StatefulCellProcessor}を設定する。
+     * @since 2.3
+     * @param statefulProcessorsForReading CellProcessorを組み立てる際に記録した一覧。
+     */
+    public void setStatefulProcessorsForReading(List<StatefulCellProcessor> statefulProcessorsForReading) {
+        this.statefulProcessorsForReading = Collections.unmodifiableList(statefulProcessorsForReading);
+    }
+    
+    /**
+     * 書き込み用のCellProcessorのチェインに含まれる、{@link StatefulCellProcessor}を取得する。
+     * @since 2.3
+     * @return チェインの末尾から順に格納されている一覧。含まない場合は空のリストを返す。
+     */
+    public List<StatefulCellProcessor> getStatefulProcessorsForWriting() {
+        return statefulProcessorsForWriting;
+    }
+    
+    /**
+     * 書き込み用のCellProcessorのチェインに含まれる、{@link StatefulCellProcessor}を設定する。
+     * @since 2.3
+     * @param statefulProcessorsForWriting CellProcessorを組み立てる際に記録した一覧。
+     */
+    public void setStatefulProcessorsForWriting(List<StatefulCellProcessor> statefulProcessorsForWriting) {
+        this.statefulProcessorsForWriting = Collections.unmodifiableList(statefulProcessorsForWriting);
+    }
+    
     /**
      * フィールドのオブジェクトに対するフォーマッタ。
      * @return 部分的なカラムの場合、nullを返す。
@@ -5,9 +5,14 @@ import java.util.Comparator;
 
 import org.supercsv.cellprocessor.ift.CellProcessor;
 
+import com.github.mygreen.supercsv.annotation.conversion.CsvIntern;
+import com.github.mygreen.supercsv.annotation.format.CsvParseCache;
+import com.github.mygreen.supercsv.cellprocessor.conversion.StringPool;
+
 /**
  * {@link CellProcessor}を組み立てる際の設定を保持するクラス。
  *
+ * @version 2.3
  * @since 2.0
  * @author T.TSUCHIE
  *
@@ -34,6 +39,16 @@ public class Configuration {
      */
     private boolean skipValidationOnWrite = false;
     
+    /**
+     * 読み込み時にパースした結果をキャッシュする件数の初期値。
+     */
+    private int parseCacheSize = 0;
+    
+    /**
+     * 読み込み時に文字列のインスタンスを共有するためのプール。
+     */
+    private StringPool stringPool = new StringPool();
+    
     public Configuration() {
         
     }
@@ -111,4 +126,46 @@ public class Configuration {
     public void setSkipValidationOnWrite(boolean skipValidationOnWrite) {
         this.skipValidationOnWrite = skipValidationOnWrite;
     }
+    
+    /**
+     * 読み込み時にパースした結果をキャッシュする、カラムごとの最大件数を取得します。
+     * <p>初期値は、{@literal 0}で、キャッシュを行いません。</p>
+     * <p>アノテーション{@link CsvParseCache}が付与されているカラムは、アノテーションの設定が優先されます。</p>
+     * @since 2.3
+     * @return 0以下の場合は、キャッシュを行いません。
+     */
+    public int getParseCacheSize() {
+        return parseCacheSize;
+    }
+    
+    /**
+     * 読み込み時にパースした結果をキャッシュする、カラムごとの最大件数を設定します。
+     * <p>日付や列挙型など、同じ値が繰り返し出現するカラムが多い場合に設定します。</p>
+     * @since 2.3
+     * @param parseCacheSize 0以下の場合は、キャッシュを行いません。
+     */
+    public void setParseCacheSize(int parseCacheSize) {
+        this.parseCacheSize = parseCacheSize;
+    }
+    
+    /**
+     * 読み込み時に文字列のインスタンスを共有するためのプールを取得します。
+     * <p>アノテーション{@link CsvIntern}を付与したカラムで共有して利用します。</p>
+     * <p>デフォルトでは、件数の上限が{@link StringPool#DEFAULT_MAX_SIZE}のプールが設定されています。</p>
+     * @since 2.3
+     * @return 文字列のプール。
+     */
+    public StringPool getStringPool() {
+        return stringPool;
+    }
+    
+    /**
+     * 読み込み時に文字列のインスタンスを共有するためのプールを設定します。
+     * <p>アノテーション{@link CsvIntern}を付与したカラムで共有して利用します。</p>
+     * @since 2.3
+     * @param stringPool 文字列のプール。
+     */
+    public void setStringPool(StringPool stringPool) {
+        this.stringPool = stringPool;
+    }
 }
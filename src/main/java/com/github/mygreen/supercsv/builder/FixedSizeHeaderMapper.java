@@ -1,6 +1,8 @@
 package com.github.mygreen.supercsv.builder;
 
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.github.mygreen.supercsv.annotation.conversion.CsvFixedSize;
 import com.github.mygreen.supercsv.cellprocessor.conversion.PaddingProcessor;
@@ -10,13 +12,20 @@ import com.github.mygreen.supercsv.cellprocessor.conversion.PaddingProcessor;
  * <p>パディング文字がゼロ埋めのときや、文字数を超えたとき切り出す設定の場合、
  *    意図した結果とならない場合があるため、このクラスを参考に各自実装してください。
  * </p>
+ * <p>パディング処理のインスタンスは、クラスごとに1度だけ作成して使い回します。</p>
  * 
+ * @version 2.3
  * @since 2.1
  * @author T.TSUCHIE
  *
  */
 public class FixedSizeHeaderMapper implements HeaderMapper {
     
+    /**
+     * 作成したパディング処理のインスタンス
+     */
+    private final Map<Class<?>, PaddingProcessor> paddingProcessors = new ConcurrentHashMap<>();
+    
     @Override
     public String toMap(final ColumnMapping column, final Configuration config, final Class<?>[] groups) {
         
@@ -28,8 +37,8 @@ public class FixedSizeHeaderMapper implements HeaderMapper {
             return column.getLabel();
         }
         
-        final PaddingProcessor paddingProcessor = (PaddingProcessor)config.getBeanFactory()
-                .create(fixedLengthAnno.get().paddingProcessor());
+        final PaddingProcessor paddingProcessor = paddingProcessors.computeIfAbsent(fixedLengthAnno.get().paddingProcessor(),
+                type -> (PaddingProcessor)config.getBeanFactory().create(type));
         
         // アノテーションが存在する場合は、その情報を使ってパディングする。
         String label = fixedLengthAnno.map(anno -> paddingProcessor.pad(column.getLabel(),
@@ -1,14 +1,12 @@
 package com.github.mygreen.supercsv.builder;
 
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.Objects;
 
-import org.supercsv.exception.SuperCsvReflectionException;
-
 /**
  * Listenerクラス用のコールバック用メソッドの実行
  *
+ * @version 2.3
  * @since 2.0
  * @author T.TSUCHIE
  *
@@ -23,19 +21,24 @@ public class ListenerCallbackMethod extends CallbackMethod {
         this.listener = listener;
     }
     
+    /**
+     * Beanのクラスタイプを指定してインスタンスを作成します。
+     * 
+     * @since 2.3
+     * @param listener リスナーのインスタンス
+     * @param method 呼び出すメソッド
+     * @param beanType Beanのクラスタイプ
+     * @throws NullPointerException {@literal listener or method or beanType is null.}
+     */
+    public ListenerCallbackMethod(final Object listener, final Method method, final Class<?> beanType) {
+        super(method, beanType);
+        Objects.requireNonNull(listener);
+        this.listener = listener;
+    }
+    
     @Override
-    protected void execute(final Object record, final Object[] paramValues) {
-        try {
-            method.invoke(listener, paramValues);
-            
-        } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
-            Throwable t = e.getCause() == null ? e : e.getCause();
-            throw new SuperCsvReflectionException(
-                    String.format("Fail execute method '%s#%s'.", listener.getClass().getName(), method.getName()),
-                    t);
-        }
-        
-        
+    protected Object getTarget(final Object record) {
+        return listener;
     }
     
 }
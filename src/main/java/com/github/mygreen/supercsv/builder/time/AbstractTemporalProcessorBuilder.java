@@ -18,6 +18,7 @@ import com.github.mygreen.supercsv.builder.FieldAccessor;
 import com.github.mygreen.supercsv.cellprocessor.constraint.DateTimeRangeFactory;
 import com.github.mygreen.supercsv.cellprocessor.constraint.DateTimeMinFactory;
 import com.github.mygreen.supercsv.cellprocessor.constraint.DateTimeMaxFactory;
+import com.github.mygreen.supercsv.cellprocessor.format.NumericTemporalFormat;
 import com.github.mygreen.supercsv.cellprocessor.format.TemporalFormatWrapper;
 import com.github.mygreen.supercsv.cellprocessor.format.TextFormatter;
 import com.github.mygreen.supercsv.util.Utils;
@@ -26,8 +27,9 @@ import com.github.mygreen.supercsv.util.Utils;
 /**
  * JSR-310 'Date and Time API' の{@link TemporalAccessor}のテンプレートクラス。
  * <p>基本的に、{@link TemporalAccessor}のサブクラスのビルダは、このクラスを継承して作成する。</p>
+ * <p>{@literal uuuu-MM-dd}などの数字のみの書式の場合は、{@link NumericTemporalFormat}で処理する。</p>
  * 
- * @version 2.0
+ * @version 2.3
  * @since 1.2
  * @author T.TSUCHIE
  *
@@ -90,6 +92,8 @@ public abstract class AbstractTemporalProcessorBuilder<T extends TemporalAccesso
         
         final TemporalFormatWrapper<T> wrapper = new TemporalFormatWrapper<>(formatter, (Class<T>)field.getType());
         wrapper.setPattern(pattern);
+        NumericTemporalFormat.compile(pattern, formatter, (Class<T>)field.getType())
+                .ifPresent(wrapper::setNumericFormat);
         formatAnno.ifPresent(a -> wrapper.setValidationMessage(a.message()));
         return wrapper;
         
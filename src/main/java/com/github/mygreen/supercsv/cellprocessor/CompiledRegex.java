@@ -0,0 +1,1008 @@
+package com.github.mygreen.supercsv.cellprocessor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * 正規表現を解析し、単純なパターンを高速に判定するためのクラス。
+ * <p>{@link Pattern}を作成時に解析し、次のように判定方法を切り替えます。
+ *   いずれの場合も、判定結果は{@link java.util.regex.Matcher#matches()}、{@link java.util.regex.Matcher#find()}と同じです。
+ * </p>
+ * <ul>
+ *   <li>文字、文字クラス（{@literal [...]}、{@literal \d}、{@literal .}など）と量指定子のみから成るパターンは、
+ *       バックトラックを行わないビット並列のNFA（非決定性オートマトン）で判定します。
+ *       <br>グループ、選択（{@literal |}）、後方参照、先読み、強欲な量指定子、フラグなどを含む場合は、{@link Pattern}で判定します。
+ *   </li>
+ *   <li>一致するために必ず含まれる固定の文字列を抽出できる場合は、{@link String#indexOf(String)}で事前に判定し、
+ *       含まれない場合は直ちに不一致とします。
+ *   </li>
+ * </ul>
+ * <p>作成後は状態を持たないため、複数のスレッドから同時に利用できます。</p>
+ *
+ * @since 2.3
+ * @author T.TSUCHIE
+ *
+ */
+public final class CompiledRegex {
+
+    /** NFAで扱う要素の最大数。受理状態と合わせてlongのビットに収まる数。 */
+    private static final int MAX_ELEMENTS = 63;
+
+    /** 事前判定に使う文字列の最小の長さ */
+    private static final int MIN_LITERAL_LENGTH = 1;
+
+    private final Pattern pattern;
+
+    /** 必ず含まれる固定の文字列。抽出できない場合はnull。 */
+    private final String requiredLiteral;
+
+    /** 単純なパターンの場合のNFA。そうでない場合はnull。 */
+    private final Nfa nfa;
+
+    private CompiledRegex(final Pattern pattern, final String requiredLiteral, final Nfa nfa) {
+        this.pattern = pattern;
+        this.requiredLiteral = requiredLiteral;
+        this.nfa = nfa;
+    }
+
+    /**
+     * 正規表現を解析します。
+     * @param pattern コンパイル済みの正規表現。
+     * @return 解析した正規表現。
+     * @throws NullPointerException {@literal pattern is null.}
+     */
+    public static CompiledRegex compile(final Pattern pattern) {
+        Objects.requireNonNull(pattern, "pattern should not be null.");
+
+        if(pattern.flags() != 0) {
+            // 大文字・小文字の無視などは、java.util.regexに任せる。
+            return new CompiledRegex(pattern, null, null);
+        }
+
+        final String regex = pattern.pattern();
+        final Nfa nfa = new Parser(regex).parse();
+        final String literal = nfa != null ? nfa.requiredLiteral() : extractRequiredLiteral(regex);
+
+        return new CompiledRegex(pattern, literal != null && literal.length() >= MIN_LITERAL_LENGTH ? literal : null, nfa);
+    }
+
+    /**
+     * 文字列全体が正規表現に一致するか判定します。
+     * @param input 判定する文字列。
+     * @return {@literal pattern.matcher(input).matches()}と同じ結果を返します。
+     */
+    public boolean matches(final String input) {
+
+        if(requiredLiteral != null && input.indexOf(requiredLiteral) < 0) {
+            return false;
+        }
+
+        if(nfa != null) {
+            return nfa.matches(input);
+        }
+
+        return pattern.matcher(input).matches();
+    }
+
+    /**
+     * 文字列中に、正規表現に一致する部分が存在するか判定します。
+     * @param input 判定する文字列。
+     * @return {@literal pattern.matcher(input).find()}と同じ結果を返します。
+     */
+    public boolean find(final String input) {
+
+        if(requiredLiteral != null && input.indexOf(requiredLiteral) < 0) {
+            return false;
+        }
+
+        if(nfa != null && nfa.findable) {
+            return nfa.find(input);
+        }
+
+        return pattern.matcher(input).find();
+    }
+
+    /**
+     * 元の正規表現を取得します。
+     * @return コンパイル済みの正規表現。
+     */
+    public Pattern getPattern() {
+        return pattern;
+    }
+
+    /**
+     * NFAで判定するかどうか。
+     * @return trueの場合、{@link Pattern}を使わずに判定します。
+     */
+    public boolean isAutomaton() {
+        return nfa != null;
+    }
+
+    /**
+     * 事前判定に使う、一致するために必ず含まれる文字列を取得します。
+     * @return 抽出できない場合は空を返します。
+     */
+    public Optional<String> getRequiredLiteral() {
+        return Optional.ofNullable(requiredLiteral);
+    }
+
+    /**
+     * NFAで扱えないパターンから、一致するために必ず含まれる文字列を抽出します。
+     * <p>選択（{@literal |}）を含まない最上位の階層の、省略されない連続した文字のうち、最長のものを抽出します。
+     *   判断できない構文を含む場合は抽出しません。
+     * </p>
+     * @param regex 正規表現
+     * @return 抽出できない場合はnull。
+     */
+    static String extractRequiredLiteral(final String regex) {
+
+        final LiteralRun run = new LiteralRun();
+        final int length = regex.length();
+        int depth = 0;
+        int i = 0;
+
+        while(i < length) {
+            final char c = regex.charAt(i);
+
+            if(c == '\\') {
+                if(i + 1 >= length) {
+                    return null;
+                }
+
+                final char e = regex.charAt(i + 1);
+                if(!isAsciiLetterOrDigit(e)) {
+                    if(Character.isSurrogate(e)) {
+                        return null;
+                    }
+                    if(depth > 0) {
+                        i += 2;
+                        continue;
+                    }
+                    i = appendLiteral(regex, i + 2, e, run);
+                    if(i < 0) {
+                        return null;
+                    }
+                    continue;
+                }
+
+                final int end = skipEscape(regex, i);
+                if(end < 0) {
+                    return null;
+                }
+                run.end();
+                i = end;
+                continue;
+            }
+
+            if(c == '[') {
+                run.end();
+                i = skipCharClass(regex, i);
+                if(i < 0) {
+                    return null;
+                }
+                continue;
+            }
+
+            if(c == '(') {
+                if(i + 1 < length && regex.charAt(i + 1) == '?') {
+                    // (?i)などのフラグの指定は、以降の文字の解釈を変える
+                    final char next = i + 2 < length ? regex.charAt(i + 2) : 0;
+                    if(next != ':' && next != '=' && next != '!' && next != '<' && next != '>') {
+                        return null;
+                    }
+                }
+                run.end();
+                depth++;
+                i++;
+                continue;
+            }
+
+            if(c == ')') {
+                run.end();
+                depth--;
+                i = skipQuantifier(regex, i + 1);
+                if(i < 0) {
+                    return null;
+                }
+                continue;
+            }
+
+            if(c == '|') {
+                if(depth == 0) {
+                    return null;
+                }
+                i++;
+                continue;
+            }
+
+            if(isQuantifierStart(c)) {
+                // 文字以外に付いた量指定子
+                run.end();
+                i = skipQuantifier(regex, i);
+                if(i < 0) {
+                    return null;
+                }
+                continue;
+            }
+
+            if(depth > 0 || c == '.' || c == '^' || c == '$') {
+                run.end();
+                i++;
+                continue;
+            }
+
+            final int codePoint = regex.codePointAt(i);
+            i = appendLiteral(regex, i + Character.charCount(codePoint), codePoint, run);
+            if(i < 0) {
+                return null;
+            }
+        }
+
+        return run.longest();
+    }
+
+    private static boolean isAsciiLetterOrDigit(final char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
+    }
+
+    private static boolean isQuantifierStart(final char c) {
+        return c == '*' || c == '+' || c == '?' || c == '{';
+    }
+
+    /**
+     * 連続した文字に1文字を追加します。
+     * <p>省略可能になる量指定子が付く場合は追加せず、量指定子が付く場合は以降の文字と連続しないため区切ります。</p>
+     * @return 次の位置。解析できない場合は-1。
+     */
+    private static int appendLiteral(final String regex, final int index, final int codePoint, final LiteralRun run) {
+
+        if(index >= regex.length() || !isQuantifierStart(regex.charAt(index))) {
+            run.append(codePoint);
+            return index;
+        }
+
+        final char q = regex.charAt(index);
+        boolean required = q == '+';
+        if(q == '{') {
+            final int end = regex.indexOf('}', index);
+            if(end < 0) {
+                return -1;
+            }
+            final String body = regex.substring(index + 1, end);
+            final int comma = body.indexOf(',');
+            try {
+                required = Integer.parseInt(comma < 0 ? body : body.substring(0, comma)) > 0;
+            } catch(NumberFormatException e) {
+                return -1;
+            }
+        }
+
+        if(required) {
+            run.append(codePoint);
+        }
+        run.end();
+
+        return skipQuantifier(regex, index);
+    }
+
+    /**
+     * 英数字のエスケープを読み飛ばします。
+     * @return 次の位置。判断できない場合は-1。
+     */
+    private static int skipEscape(final String regex, final int index) {
+
+        final char e = regex.charAt(index + 1);
+        final int next = index + 2;
+        switch(e) {
+            case 'Q':
+            case 'E':
+            case 'k':
+                return -1;
+            case 'c':
+                return next + 1 <= regex.length() ? next + 1 : -1;
+            case 'u':
+                return next + 4 <= regex.length() ? next + 4 : -1;
+            case 'x':
+            case 'p':
+            case 'P':
+                if(next < regex.length() && regex.charAt(next) == '{') {
+                    final int end = regex.indexOf('}', next);
+                    return end < 0 ? -1 : end + 1;
+                }
+                return e == 'x' ? next + 2 : next + 1;
+            case '0':
+                int end = next;
+                while(end < regex.length() && end < next + 3 && regex.charAt(end) >= '0' && regex.charAt(end) <= '7') {
+                    end++;
+                }
+                return end;
+            default:
+                if(e >= '1' && e <= '9') {
+                    // 後方参照は、一致した文字列が入力に含まれるとは限らない
+                    return -1;
+                }
+                return next;
+        }
+    }
+
+    private static int skipQuantifier(final String regex, final int index) {
+
+        int i = index;
+        if(i >= regex.length()) {
+            return i;
+        }
+
+        final char q = regex.charAt(i);
+        if(q == '{') {
+            final int end = regex.indexOf('}', i);
+            if(end < 0) {
+                return -1;
+            }
+            i = end + 1;
+        } else if(q == '*' || q == '+' || q == '?') {
+            i++;
+        } else {
+            return i;
+        }
+
+        if(i < regex.length() && (regex.charAt(i) == '?' || regex.charAt(i) == '+')) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * 文字クラスを読み飛ばします。
+     * @return 次の位置。入れ子の文字クラスなど判断できない場合は-1。
+     */
+    private static int skipCharClass(final String regex, final int index) {
+
+        int i = index + 1;
+        if(i < regex.length() && regex.charAt(i) == '^') {
+            i++;
+        }
+        if(i < regex.length() && regex.charAt(i) == ']') {
+            // 先頭の]は文字として扱われる
+            i++;
+        }
+
+        while(i < regex.length()) {
+            final char c = regex.charAt(i);
+            if(c == '\\') {
+                if(i + 1 >= regex.length()) {
+                    return -1;
+                }
+                if(isAsciiLetterOrDigit(regex.charAt(i + 1))) {
+                    i = skipEscape(regex, i);
+                    if(i < 0) {
+                        return -1;
+                    }
+                } else {
+                    i += 2;
+                }
+                continue;
+
+            } else if(c == '[') {
+                return -1;
+
+            } else if(c == ']') {
+                return skipQuantifier(regex, i + 1);
+            }
+            i++;
+        }
+
+        return -1;
+    }
+
+    /**
+     * 連続した文字と、その最長のものを保持するクラス。
+     */
+    private static final class LiteralRun {
+
+        private final StringBuilder current = new StringBuilder();
+
+        private String longest;
+
+        void append(final int codePoint) {
+            current.appendCodePoint(codePoint);
+        }
+
+        void end() {
+            if(current.length() > 0 && (longest == null || current.length() > longest.length())) {
+                longest = current.toString();
+            }
+            current.setLength(0);
+        }
+
+        String longest() {
+            end();
+            return longest;
+        }
+
+    }
+
+    /**
+     * 文字の集合。
+     */
+    private static final class CharSet {
+
+        /** 範囲の開始と終了（両端を含む）の組 */
+        private final int[] ranges;
+
+        private final boolean negated;
+
+        CharSet(final int[] ranges, final boolean negated) {
+            this.ranges = ranges;
+            this.negated = negated;
+        }
+
+        static CharSet single(final int codePoint) {
+            return new CharSet(new int[]{codePoint, codePoint}, false);
+        }
+
+        boolean contains(final int codePoint) {
+            boolean found = false;
+            for(int i=0; i < ranges.length; i += 2) {
+                if(codePoint >= ranges[i] && codePoint <= ranges[i + 1]) {
+                    found = true;
+                    break;
+                }
+            }
+            return found != negated;
+        }
+
+        /**
+         * 1文字のみを表す場合は、その文字を返します。
+         */
+        int singleCodePoint() {
+            if(!negated && ranges.length == 2 && ranges[0] == ranges[1]) {
+                return ranges[0];
+            }
+            return -1;
+        }
+
+    }
+
+    /** 1回だけ出現する要素 */
+    private static final int KIND_ONE = 0;
+
+    /** 省略可能な要素 */
+    private static final int KIND_OPTIONAL = 1;
+
+    /** 0回以上繰り返す要素 */
+    private static final int KIND_STAR = 2;
+
+    /**
+     * 文字クラスと量指定子の並びを、ビット並列で判定するNFA。
+     * <p>i番目のビットは、i番目の要素の手前にいる状態を表し、要素数の位置のビットは受理状態を表します。</p>
+     */
+    private static final class Nfa {
+
+        private final CharSet[] sets;
+
+        private final int[] kinds;
+
+        private final long acceptBit;
+
+        /** 読み飛ばせる要素のビット */
+        private final long skippable;
+
+        /** 繰り返す要素のビット */
+        private final long stars;
+
+        /** ASCII文字ごとの、その文字を受け付ける要素のビット */
+        private final long[] asciiMasks = new long[128];
+
+        /** 全ての要素が1回だけ出現するかどうか */
+        private final boolean fixedLength;
+
+        /** 初期状態 */
+        private final long initial;
+
+        /** 部分一致の判定に対応するかどうか */
+        private final boolean findable;
+
+        /** 先頭が^で始まるかどうか */
+        private final boolean anchoredStart;
+
+        Nfa(final List<CharSet> sets, final List<Integer> kinds, final boolean anchoredStart, final boolean anchoredEnd) {
+            this.sets = sets.toArray(new CharSet[sets.size()]);
+            this.kinds = kinds.stream().mapToInt(Integer::intValue).toArray();
+            this.acceptBit = 1L << this.sets.length;
+            this.anchoredStart = anchoredStart;
+            // 行末の$は、末尾の改行の手前でも一致するため、部分一致の判定はjava.util.regexに任せる。
+            this.findable = !anchoredEnd;
+
+            long skippable = 0L;
+            long stars = 0L;
+            boolean fixedLength = true;
+            for(int i=0; i < this.kinds.length; i++) {
+                if(this.kinds[i] != KIND_ONE) {
+                    skippable |= 1L << i;
+                    fixedLength = false;
+                }
+                if(this.kinds[i] == KIND_STAR) {
+                    stars |= 1L << i;
+                }
+            }
+            this.skippable = skippable;
+            this.stars = stars;
+            this.fixedLength = fixedLength;
+
+            for(int c=0; c < 128; c++) {
+                asciiMasks[c] = computeMask(c);
+            }
+
+            this.initial = closure(1L);
+        }
+
+        private long computeMask(final int codePoint) {
+            long mask = 0L;
+            for(int i=0; i < sets.length; i++) {
+                if(sets[i].contains(codePoint)) {
+                    mask |= 1L << i;
+                }
+            }
+            return mask;
+        }
+
+        private long mask(final int codePoint) {
+            return codePoint < 128 ? asciiMasks[codePoint] : computeMask(codePoint);
+        }
+
+        /**
+         * 読み飛ばせる要素を越えた状態を加えます。
+         */
+        private long closure(final long state) {
+            long current = state;
+            while(true) {
+                final long next = current | ((current & skippable) << 1);
+                if(next == current) {
+                    return current;
+                }
+                current = next;
+            }
+        }
+
+        private long step(final long state, final int codePoint) {
+            final long consumed = state & mask(codePoint);
+            return closure(((consumed & ~stars) << 1) | (consumed & stars));
+        }
+
+        boolean matches(final String input) {
+
+            final int length = input.length();
+            if(fixedLength) {
+                // 固定長の場合は、長さと各位置の文字のみを判定する
+                if(length < sets.length || length > sets.length * 2) {
+                    return false;
+                }
+
+                int index = 0;
+                for(int i=0; i < sets.length; i++) {
+                    if(index >= length) {
+                        return false;
+                    }
+                    final char c = input.charAt(index);
+                    if(c < 128) {
+                        if((asciiMasks[c] & (1L << i)) == 0L) {
+                            return false;
+                        }
+                        index++;
+                    } else {
+                        final int codePoint = input.codePointAt(index);
+                        if(!sets[i].contains(codePoint)) {
+                            return false;
+                        }
+                        index += Character.charCount(codePoint);
+                    }
+                }
+                return index == length;
+            }
+
+            long state = initial;
+            int index = 0;
+            while(index < length) {
+                final int codePoint = input.codePointAt(index);
+                state = step(state, codePoint);
+                if(state == 0L) {
+                    return false;
+                }
+                index += Character.charCount(codePoint);
+            }
+
+            return (state & acceptBit) != 0L;
+        }
+
+        boolean find(final String input) {
+
+            long state = initial;
+            if((state & acceptBit) != 0L) {
+                return true;
+            }
+
+            final int length = input.length();
+            int index = 0;
+            while(index < length) {
+                final int codePoint = input.codePointAt(index);
+                state = step(state, codePoint);
+                if((state & acceptBit) != 0L) {
+                    return true;
+                }
+
+                if(anchoredStart) {
+                    if(state == 0L) {
+                        return false;
+                    }
+                } else {
+                    // 次の位置から始まる一致の候補を加える
+                    state |= initial;
+                }
+
+                index += Character.charCount(codePoint);
+            }
+
+            return false;
+        }
+
+        /**
+         * 連続した1文字のみの要素から、最長の文字列を抽出します。
+         */
+        String requiredLiteral() {
+
+            final LiteralRun run = new LiteralRun();
+            for(int i=0; i < sets.length; i++) {
+                final int codePoint = sets[i].singleCodePoint();
+                if(kinds[i] == KIND_ONE && codePoint >= 0) {
+                    run.append(codePoint);
+                } else {
+                    run.end();
+                }
+            }
+
+            return run.longest();
+        }
+
+    }
+
+    /**
+     * NFAで扱える正規表現を解析するクラス。
+     */
+    private static final class Parser {
+
+        private static final int[] DIGIT = {'0', '9'};
+
+        private static final int[] WORD = {'0', '9', 'A', 'Z', '_', '_', 'a', 'z'};
+
+        private static final int[] SPACE = {'\t', '\r', ' ', ' '};
+
+        /** 「.」が一致しない行末文字 */
+        private static final int[] LINE_TERMINATORS = {'\n', '\n', '\r', '\r', 0x85, 0x85, 0x2028, 0x2029};
+
+        private final String regex;
+
+        private int index;
+
+        private final List<CharSet> sets = new ArrayList<>();
+
+        private final List<Integer> kinds = new ArrayList<>();
+
+        Parser(final String regex) {
+            this.regex = regex;
+        }
+
+        /**
+         * 解析します。
+         * @return NFAで扱えない場合はnull。
+         */
+        Nfa parse() {
+
+            boolean anchoredStart = false;
+            boolean anchoredEnd = false;
+
+            final int length = regex.length();
+            if(index < length && regex.charAt(index) == '^') {
+                anchoredStart = true;
+                index++;
+            }
+
+            while(index < length) {
+                final char c = regex.charAt(index);
+
+                if(c == '$' && index == length - 1) {
+                    anchoredEnd = true;
+                    index++;
+                    break;
+                }
+
+                final CharSet set;
+                if(c == '(' || c == ')' || c == '|' || c == '^' || c == '$'
+                        || c == '*' || c == '+' || c == '?' || c == '{') {
+                    return null;
+
+                } else if(c == '.') {
+                    set = new CharSet(LINE_TERMINATORS, true);
+                    index++;
+
+                } else if(c == '[') {
+                    set = parseCharClass();
+
+                } else if(c == '\\') {
+                    set = parseEscape(false);
+
+                } else {
+                    final int codePoint = regex.codePointAt(index);
+                    set = CharSet.single(codePoint);
+                    index += Character.charCount(codePoint);
+                }
+
+                if(set == null || !parseQuantifier(set)) {
+                    return null;
+                }
+            }
+
+            if(sets.size() > MAX_ELEMENTS) {
+                return null;
+            }
+
+            return new Nfa(sets, kinds, anchoredStart, anchoredEnd);
+        }
+
+        /**
+         * 量指定子を解析し、要素を追加します。
+         * @return 扱えない量指定子の場合はfalse。
+         */
+        private boolean parseQuantifier(final CharSet set) {
+
+            final int length = regex.length();
+            int min = 1;
+            int max = 1;
+            boolean quantified = false;
+            if(index < length) {
+                final char q = regex.charAt(index);
+                if(q == '*') {
+                    quantified = true;
+                    min = 0;
+                    max = -1;
+                    index++;
+
+                } else if(q == '+') {
+                    quantified = true;
+                    min = 1;
+                    max = -1;
+                    index++;
+
+                } else if(q == '?') {
+                    quantified = true;
+                    min = 0;
+                    max = 1;
+                    index++;
+
+                } else if(q == '{') {
+                    final int end = regex.indexOf('}', index);
+                    if(end < 0) {
+                        return false;
+                    }
+                    final String body = regex.substring(index + 1, end);
+                    final int comma = body.indexOf(',');
+                    try {
+                        if(comma < 0) {
+                            min = max = Integer.parseInt(body);
+                        } else {
+                            min = Integer.parseInt(body.substring(0, comma));
+                            max = comma == body.length() - 1 ? -1 : Integer.parseInt(body.substring(comma + 1));
+                        }
+                    } catch(NumberFormatException e) {
+                        return false;
+                    }
+
+                    if(min < 0 || min > MAX_ELEMENTS || max > MAX_ELEMENTS || (max >= 0 && max < min)) {
+                        return false;
+                    }
+                    index = end + 1;
+                    quantified = true;
+                }
+
+                if(quantified && index < length) {
+                    final char modifier = regex.charAt(index);
+                    if(modifier == '+') {
+                        // 強欲な量指定子は、一致する文字列の集合が変わる
+                        return false;
+                    } else if(modifier == '?') {
+                        // 最短一致は、一致するかどうかの結果を変えない
+                        index++;
+                    }
+                }
+            }
+
+            for(int i=0; i < min; i++) {
+                sets.add(set);
+                kinds.add(KIND_ONE);
+            }
+
+            if(max < 0) {
+                sets.add(set);
+                kinds.add(KIND_STAR);
+
+            } else {
+                for(int i=min; i < max; i++) {
+                    sets.add(set);
+                    kinds.add(KIND_OPTIONAL);
+                }
+            }
+
+            return sets.size() <= MAX_ELEMENTS;
+        }
+
+        /**
+         * エスケープを解析します。
+         * @param inClass 文字クラスの中かどうか。
+         * @return 扱えない場合はnull。
+         */
+        private CharSet parseEscape(final boolean inClass) {
+
+            if(index + 1 >= regex.length()) {
+                return null;
+            }
+
+            final char e = regex.charAt(index + 1);
+            index += 2;
+            switch(e) {
+                case 'd': return new CharSet(DIGIT, false);
+                case 'D': return new CharSet(DIGIT, true);
+                case 'w': return new CharSet(WORD, false);
+                case 'W': return new CharSet(WORD, true);
+                case 's': return new CharSet(SPACE, false);
+                case 'S': return new CharSet(SPACE, true);
+                case 't': return CharSet.single('\t');
+                case 'n': return CharSet.single('\n');
+                case 'r': return CharSet.single('\r');
+                case 'f': return CharSet.single('\f');
+                case 'e': return CharSet.single(0x1B);
+                case 'a': return CharSet.single(0x07);
+                case 'x': return parseHex(2);
+                case 'u': return parseHex(4);
+                default:
+                    if(isAsciiLetterOrDigit(e)) {
+                        // 後方参照、境界、Unicodeのプロパティなど
+                        return null;
+                    }
+                    if(Character.isSurrogate(e)) {
+                        return null;
+                    }
+                    return CharSet.single(e);
+            }
+        }
+
+        private CharSet parseHex(final int digits) {
+
+            if(index + digits > regex.length()) {
+                return null;
+            }
+
+            final String hex = regex.substring(index, index + digits);
+            for(int i=0; i < hex.length(); i++) {
+                if(Character.digit(hex.charAt(i), 16) < 0) {
+                    return null;
+                }
+            }
+
+            final int value = Integer.parseInt(hex, 16);
+            if(Character.isSurrogate((char)value)) {
+                return null;
+            }
+
+            index += digits;
+            return CharSet.single(value);
+        }
+
+        /**
+         * 文字クラスを解析します。
+         * <p>入れ子、積集合（{@literal &&}）、先頭の{@literal ]}などを含む場合は扱いません。</p>
+         * @return 扱えない場合はnull。
+         */
+        private CharSet parseCharClass() {
+
+            index++;
+            boolean negated = false;
+            if(index < regex.length() && regex.charAt(index) == '^') {
+                negated = true;
+                index++;
+            }
+
+            if(index < regex.length() && regex.charAt(index) == ']') {
+                return null;
+            }
+
+            final List<int[]> ranges = new ArrayList<>();
+            while(true) {
+                if(index >= regex.length()) {
+                    return null;
+                }
+
+                final char c = regex.charAt(index);
+                if(c == ']') {
+                    index++;
+                    break;
+
+                } else if(c == '[' || (c == '&' && index + 1 < regex.length() && regex.charAt(index + 1) == '&')) {
+                    return null;
+                }
+
+                final int start;
+                if(c == '\\') {
+                    final CharSet escaped = parseEscape(true);
+                    if(escaped == null) {
+                        return null;
+                    }
+
+                    if(escaped.negated || escaped.singleCodePoint() < 0) {
+                        // \dなどのクラス。範囲の端には使えない。
+                        if(escaped.negated) {
+                            return null;
+                        }
+                        if(index < regex.length() && regex.charAt(index) == '-'
+                                && index + 1 < regex.length() && regex.charAt(index + 1) != ']') {
+                            return null;
+                        }
+                        ranges.add(escaped.ranges);
+                        continue;
+                    }
+                    start = escaped.singleCodePoint();
+
+                } else {
+                    start = regex.codePointAt(index);
+                    index += Character.charCount(start);
+                }
+
+                // 範囲の指定
+                if(index + 1 < regex.length() && regex.charAt(index) == '-' && regex.charAt(index + 1) != ']') {
+                    index++;
+                    final int end;
+                    final char ec = regex.charAt(index);
+                    if(ec == '[' || ec == '&') {
+                        return null;
+
+                    } else if(ec == '\\') {
+                        final CharSet escaped = parseEscape(true);
+                        if(escaped == null || escaped.singleCodePoint() < 0) {
+                            return null;
+                        }
+                        end = escaped.singleCodePoint();
+
+                    } else {
+                        end = regex.codePointAt(index);
+                        index += Character.charCount(end);
+                    }
+
+                    if(end < start) {
+                        return null;
+                    }
+                    ranges.add(new int[]{start, end});
+
+                } else {
+                    ranges.add(new int[]{start, start});
+                }
+            }
+
+            int size = 0;
+            for(int[] range : ranges) {
+                size += range.length;
+            }
+
+            final int[] merged = new int[size];
+            int position = 0;
+            for(int[] range : ranges) {
+                System.arraycopy(range, 0, merged, position, range.length);
+                position += range.length;
+            }
+
+            return new CharSet(merged, negated);
+        }
+
+    }
+
+}
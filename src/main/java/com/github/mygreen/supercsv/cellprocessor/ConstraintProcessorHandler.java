@@ -55,7 +55,7 @@ public class ConstraintProcessorHandler implements ProcessorFactory {
             if(factoryMap.containsKey(anno.annotationType())) {
                 // 登録済みのものから取得する。
                 final ConstraintProcessorFactory factory = factoryMap.get(anno.annotationType());
-                cp = factory.create(anno, cp, field, formatter, config);
+                cp = StatefulProcessorRecorder.record(factory.create(anno, cp, field, formatter, config));
                 
             } else if(constraintAnno.value().length > 0) {
                 /*
@@ -65,7 +65,7 @@ public class ConstraintProcessorHandler implements ProcessorFactory {
                 for(Class<? extends ConstraintProcessorFactory> factoryClass : constraintAnno.value()) {
                     final ConstraintProcessorFactory factory = 
                             (ConstraintProcessorFactory) config.getBeanFactory().create(factoryClass);
-                    cp = factory.create(anno, cp, field, formatter, config);
+                    cp = StatefulProcessorRecorder.record(factory.create(anno, cp, field, formatter, config));
                 }
                 
             } else {
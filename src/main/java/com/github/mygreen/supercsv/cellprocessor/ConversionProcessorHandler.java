@@ -55,7 +55,7 @@ public class ConversionProcessorHandler implements ProcessorFactory {
             if(factoryMap.containsKey(anno.annotationType())) {
                 // 登録済みのものから取得する。
                 final ConversionProcessorFactory factory = factoryMap.get(anno.annotationType());
-                cp = factory.create(anno, cp, field, formatter, config);
+                cp = StatefulProcessorRecorder.record(factory.create(anno, cp, field, formatter, config));
                 
             } else if(conversionAnno.value().length > 0) {
                 /*
@@ -65,7 +65,7 @@ public class ConversionProcessorHandler implements ProcessorFactory {
                 for(Class<? extends ConversionProcessorFactory> factoryClass : conversionAnno.value()) {
                     final ConversionProcessorFactory factory = 
                             (ConversionProcessorFactory) config.getBeanFactory().create(factoryClass);
-                    cp = factory.create(anno, cp, field, formatter, config);
+                    cp = StatefulProcessorRecorder.record(factory.create(anno, cp, field, formatter, config));
                 }
                 
             } else {
@@ -0,0 +1,43 @@
+package com.github.mygreen.supercsv.cellprocessor;
+
+import java.io.Serializable;
+
+import org.supercsv.cellprocessor.ift.CellProcessor;
+
+/**
+ * 処理済みのレコードの情報を内部に保持する{@link CellProcessor}のインタフェース。
+ * <p>値の重複チェックなど、前のレコードの処理結果に依存するCellProcessorが実装します。
+ *   <br>{@link com.github.mygreen.supercsv.io.CsvCheckpoint}を利用して読み込みを中断・再開する際に、
+ *   保持している状態を保存・復元するために利用します。
+ * </p>
+ * <p>実装したCellProcessorは、{@link StatefulProcessorRecorder}により、組み立てる際にカラムのマッピング情報に記録されます。
+ *   <br>独自の{@link ProcessorFactory}で、他のCellProcessorのチェインの途中に連結する場合は、
+ *   {@link StatefulProcessorRecorder#record(java.util.Optional)}で記録する必要があります。
+ * </p>
+ * <p>状態を変更した場合は、{@link TentativeExecution#addRollback(Runnable)}で、変更を元に戻す処理を登録する必要があります。</p>
+ *
+ * @since 2.3
+ * @author T.TSUCHIE
+ *
+ */
+public interface StatefulCellProcessor {
+
+    /**
+     * 現在の状態のスナップショットを作成します。
+     * <p>スナップショットの作成後に処理を続けても、スナップショットの内容は変わらないようにする必要があります。</p>
+     *
+     * @return シリアライズ可能な状態のスナップショット。
+     */
+    Serializable snapshotState();
+
+    /**
+     * スナップショットから状態を復元します。
+     * <p>現在保持している状態は破棄されます。</p>
+     *
+     * @param state {@link #snapshotState()}で作成したスナップショット。
+     * @throws NullPointerException {@literal state is null.}
+     * @throws IllegalArgumentException サポートしていない形式のスナップショットの場合。
+     */
+    void restoreState(Serializable state);
+
+}
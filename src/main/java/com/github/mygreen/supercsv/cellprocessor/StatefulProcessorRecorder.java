@@ -0,0 +1,81 @@
+package com.github.mygreen.supercsv.cellprocessor;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import org.supercsv.cellprocessor.ift.CellProcessor;
+
+/**
+ * CellProcessorを組み立てる際に、{@link StatefulCellProcessor}を実装したものを記録するクラス。
+ * <p>{@link com.github.mygreen.supercsv.builder.BeanMappingFactory}がカラムごとのCellProcessorを組み立てる間、
+ *   {@link ProcessorFactory}などが作成したCellProcessorを記録します。
+ *   <br>CellProcessorのチェインは、作成後にたどることができないため、組み立てる時点で記録します。
+ * </p>
+ * <p>記録する対象は、{@link #record(Optional)}に渡したチェインの先頭のCellProcessorです。
+ *   <br>1回の作成で複数のCellProcessorを連結する場合は、それぞれを渡す必要があります。
+ * </p>
+ *
+ * @since 2.3
+ * @author T.TSUCHIE
+ *
+ */
+public final class StatefulProcessorRecorder {
+
+    /**
+     * 記録中の場合の、記録先のリスト。
+     */
+    private static final ThreadLocal<List<StatefulCellProcessor>> RECORDING = new ThreadLocal<>();
+
+    private StatefulProcessorRecorder() {
+        // インスタンスの作成を禁止する
+    }
+
+    /**
+     * CellProcessorを組み立てる処理を実行し、その間に作成された{@link StatefulCellProcessor}を記録します。
+     * @param <R> 組み立てる処理の戻り値のタイプ
+     * @param destination 記録先のリスト。チェインの末尾から、作成された順に追加します。
+     * @param build CellProcessorを組み立てる処理。
+     * @return 組み立てる処理の戻り値。
+     */
+    public static <R> R recording(final List<StatefulCellProcessor> destination, final Supplier<R> build) {
+
+        final List<StatefulCellProcessor> previous = RECORDING.get();
+        RECORDING.set(destination);
+        try {
+            return build.get();
+
+        } finally {
+            if(previous == null) {
+                RECORDING.remove();
+            } else {
+                RECORDING.set(previous);
+            }
+        }
+    }
+
+    /**
+     * 作成したチェインの先頭のCellProcessorが、{@link StatefulCellProcessor}を実装している場合に記録します。
+     * <p>記録中でない場合は、何もしません。</p>
+     * @param processor 作成したチェインの先頭のCellProcessor。
+     * @return 引数の値をそのまま返します。
+     */
+    public static Optional<CellProcessor> record(final Optional<CellProcessor> processor) {
+
+        final List<StatefulCellProcessor> destination = RECORDING.get();
+        if(destination == null || !processor.isPresent() || !(processor.get() instanceof StatefulCellProcessor)) {
+            return processor;
+        }
+
+        final StatefulCellProcessor stateful = (StatefulCellProcessor)processor.get();
+        for(StatefulCellProcessor recorded : destination) {
+            if(recorded == stateful) {
+                return processor;
+            }
+        }
+
+        destination.add(stateful);
+        return processor;
+    }
+
+}
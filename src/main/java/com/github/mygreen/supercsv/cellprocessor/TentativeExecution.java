@@ -0,0 +1,87 @@
+package com.github.mygreen.supercsv.cellprocessor;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * 処理結果を後から取り消す可能性がある場合に、CellProcessorを実行するクラス。
+ * <p>{@link com.github.mygreen.supercsv.io.CsvRowFilter}で判定する際などに利用します。
+ *   <br>{@link StatefulCellProcessor}は、状態を変更した場合、その変更を元に戻す処理を{@link #addRollback(Runnable)}で登録します。
+ *   登録した処理は、{@link #execute(List, Supplier)}に渡したリストに追加されます。
+ * </p>
+ *
+ * @since 2.3
+ * @author T.TSUCHIE
+ *
+ */
+public final class TentativeExecution {
+
+    /** 実行中の場合の、取り消す処理の登録先のリスト。 */
+    private static final ThreadLocal<List<Runnable>> ROLLBACKS = new ThreadLocal<>();
+
+    private TentativeExecution() {
+        // インスタンスの作成を禁止する
+    }
+
+    /**
+     * CellProcessorの処理を実行し、その間に登録された状態の変更を元に戻す処理を記録します。
+     * @param <R> 処理の戻り値のタイプ
+     * @param rollbacks 取り消す処理の登録先のリスト。登録された順に追加します。
+     * @param action CellProcessorの処理。
+     * @return 処理の戻り値。
+     */
+    public static <R> R execute(final List<Runnable> rollbacks, final Supplier<R> action) {
+
+        final List<Runnable> previous = ROLLBACKS.get();
+        ROLLBACKS.set(rollbacks);
+        try {
+            return action.get();
+
+        } finally {
+            if(previous == null) {
+                ROLLBACKS.remove();
+            } else {
+                ROLLBACKS.set(previous);
+            }
+        }
+    }
+
+    /**
+     * {@link #execute(List, Supplier)}で実行中かどうか判定します。
+     * <p>取り消す処理を作成する前に判定することで、実行中でない場合の負荷を抑えます。</p>
+     * @return trueの場合、実行中です。
+     */
+    public static boolean isActive() {
+        return ROLLBACKS.get() != null;
+    }
+
+    /**
+     * 状態の変更を元に戻す処理を登録します。
+     * <p>{@link #execute(List, Supplier)}で実行中でない場合は、何もしません。</p>
+     * @param rollback 状態の変更を元に戻す処理。
+     * @throws NullPointerException {@literal rollback is null.}
+     */
+    public static void addRollback(final Runnable rollback) {
+        Objects.requireNonNull(rollback, "rollback should not be null.");
+
+        final List<Runnable> rollbacks = ROLLBACKS.get();
+        if(rollbacks != null) {
+            rollbacks.add(rollback);
+        }
+    }
+
+    /**
+     * 登録された処理を、登録した順とは逆に実行して、状態の変更を元に戻します。
+     * <p>実行後は、リストを空にします。</p>
+     * @param rollbacks {@link #execute(List, Supplier)}に渡したリスト。
+     */
+    public static void rollback(final List<Runnable> rollbacks) {
+
+        for(int i=rollbacks.size()-1; i >= 0; i--) {
+            rollbacks.get(i).run();
+        }
+        rollbacks.clear();
+    }
+
+}
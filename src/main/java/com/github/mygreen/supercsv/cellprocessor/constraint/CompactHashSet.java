@@ -0,0 +1,221 @@
+package com.github.mygreen.supercsv.cellprocessor.constraint;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 大量の値を、少ないメモリで保持する読み取り専用のセット。
+ * <p>オープンアドレス法のハッシュテーブルで値を保持するため、{@link java.util.HashSet}のように
+ *   値ごとにエントリのオブジェクトを作成しません。値の有無の判定は、件数に依らず定数時間で行います。
+ * </p>
+ * <p>ブルームフィルタを有効にした場合は、ハッシュテーブルを参照する前にビット列で判定し、
+ *   含まれない値の多くを値の比較なしに除外します。
+ * </p>
+ * <p>作成後は変更できないため、複数のスレッドから同時に参照できます。</p>
+ *
+ * @param <T> 値のクラスタイプ
+ * @since 2.3
+ * @author T.TSUCHIE
+ *
+ */
+public final class CompactHashSet<T> {
+
+    /** ハッシュテーブルの最大の使用率 */
+    private static final double LOAD_FACTOR = 0.6;
+
+    /** ブルームフィルタの、値1件あたりのビット数 */
+    private static final int BLOOM_BITS_PER_VALUE = 10;
+
+    /** ブルームフィルタのハッシュ関数の数 */
+    private static final int BLOOM_HASHES = 4;
+
+    private final Object[] table;
+
+    private final int mask;
+
+    private final int size;
+
+    /** ブルームフィルタのビット列。無効な場合はnull。 */
+    private final long[] bloom;
+
+    private final int bloomMask;
+
+    /**
+     * 値を指定してセットを作成します。
+     * <p>null及び重複した値は除外します。</p>
+     *
+     * @param values 保持する値。
+     * @param bloomFilter ブルームフィルタを有効にするかどうか。
+     * @throws NullPointerException {@literal values is null.}
+     */
+    public CompactHashSet(final Collection<? extends T> values, final boolean bloomFilter) {
+        Objects.requireNonNull(values, "values should not be null.");
+
+        this.table = new Object[tableSize(values.size())];
+        this.mask = table.length - 1;
+
+        int count = 0;
+        for(T value : values) {
+            if(value != null && insert(value)) {
+                count++;
+            }
+        }
+        this.size = count;
+
+        if(bloomFilter && count > 0) {
+            final int bits = Integer.highestOneBit((int)Math.min((long)count * BLOOM_BITS_PER_VALUE, 1L << 30) - 1) << 1;
+            this.bloom = new long[Math.max(bits >>> 6, 1)];
+            this.bloomMask = bloom.length * 64 - 1;
+            for(Object value : table) {
+                if(value != null) {
+                    addBloom(value.hashCode());
+                }
+            }
+
+        } else {
+            this.bloom = null;
+            this.bloomMask = 0;
+        }
+    }
+
+    /**
+     * 件数に対する、ハッシュテーブルのサイズ（2の累乗）を計算します。
+     */
+    private static int tableSize(final int expectedSize) {
+        final long required = (long)Math.ceil(Math.max(expectedSize, 1) / LOAD_FACTOR);
+        if(required > (1 << 30)) {
+            throw new IllegalArgumentException(String.format("too many values : %d", expectedSize));
+        }
+        return Math.max(Integer.highestOneBit((int)required - 1) << 1, 2);
+    }
+
+    /**
+     * ハッシュ値のビットを攪拌します。
+     */
+    private static int mix(final int hashCode) {
+        final int h = hashCode * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private boolean insert(final T value) {
+
+        int index = mix(value.hashCode()) & mask;
+        while(true) {
+            final Object current = table[index];
+            if(current == null) {
+                table[index] = value;
+                return true;
+
+            } else if(current.equals(value)) {
+                return false;
+            }
+
+            index = (index + 1) & mask;
+        }
+    }
+
+    private void addBloom(final int hashCode) {
+        final int h1 = mix(hashCode);
+        final int h2 = (h1 >>> 17) | (h1 << 15);
+        for(int i=0; i < BLOOM_HASHES; i++) {
+            final int bit = (h1 + i * h2) & bloomMask;
+            bloom[bit >>> 6] |= 1L << bit;
+        }
+    }
+
+    private boolean mightContain(final int hashCode) {
+        final int h1 = mix(hashCode);
+        final int h2 = (h1 >>> 17) | (h1 << 15);
+        for(int i=0; i < BLOOM_HASHES; i++) {
+            final int bit = (h1 + i * h2) & bloomMask;
+            if((bloom[bit >>> 6] & (1L << bit)) == 0L) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 値が含まれるかどうか判定します。
+     * @param value 判定する値。
+     * @return 含まれる場合はtrueを返します。nullの場合はfalseを返します。
+     */
+    public boolean contains(final Object value) {
+
+        if(value == null || size == 0) {
+            return false;
+        }
+
+        final int hashCode = value.hashCode();
+        if(bloom != null && !mightContain(hashCode)) {
+            return false;
+        }
+
+        int index = mix(hashCode) & mask;
+        while(true) {
+            final Object current = table[index];
+            if(current == null) {
+                return false;
+
+            } else if(current.equals(value)) {
+                return true;
+            }
+
+            index = (index + 1) & mask;
+        }
+    }
+
+    /**
+     * 保持している値の件数を取得します。
+     * @return 重複を除いた件数。
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 値を保持していないかどうか。
+     * @return 値を保持していない場合は、trueを返します。
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * ブルームフィルタが有効かどうか。
+     * @return 有効な場合は、trueを返します。
+     */
+    public boolean isBloomFilterEnabled() {
+        return bloom != null;
+    }
+
+    /**
+     * エラーメッセージなどに表示するため、先頭から指定した件数の値を取得します。
+     * <p>値の並び順は、追加した順ではありません。</p>
+     * @param maxSize 取得する最大件数。
+     * @return 値のリスト。
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> sample(final int maxSize) {
+
+        if(size == 0 || maxSize <= 0) {
+            return Collections.emptyList();
+        }
+
+        final List<T> list = new ArrayList<>(Math.min(maxSize, size));
+        for(Object value : table) {
+            if(value != null) {
+                list.add((T)value);
+                if(list.size() >= maxSize) {
+                    break;
+                }
+            }
+        }
+
+        return list;
+    }
+
+}
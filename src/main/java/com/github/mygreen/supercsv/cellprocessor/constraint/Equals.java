@@ -1,6 +1,8 @@
 package com.github.mygreen.supercsv.cellprocessor.constraint;
 
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.supercsv.cellprocessor.ift.CellProcessor;
@@ -12,17 +14,28 @@ import com.github.mygreen.supercsv.cellprocessor.format.TextPrinter;
 
 /**
  * 指定した値と等しいか検証するCellProcessor
+ * <p>値はハッシュで保持するため、件数に依らず定数時間で判定します。
+ *   <br>ただし、エラーメッセージの変数equalsValuesには全ての値を渡すため、マスタデータなどの大量の値と照合する場合は、
+ *   {@link ReferenceSet}を利用してください。
+ * </p>
  * 
+ * @version 2.3
  * @since 2.0
  * @author T.TSUCHIE
  *
  */
 public class Equals<T> extends ValidationCellProcessor {
     
+    /** 例外のメッセージに出力する値の最大件数 */
+    private static final int MAX_FORMATTED_VALUES = 10;
+    
     private final Class<T> type;
     
     private final Collection<T> equaledValues;
     
+    /** 判定用のセット */
+    private final Set<T> equaledValueSet;
+    
     private final TextPrinter<T> printer; 
     
     public Equals(final Class<T> type, final Collection<T> equaledValues, final TextPrinter<T> printer) {
@@ -32,6 +45,7 @@ public class Equals<T> extends ValidationCellProcessor {
         this.equaledValues = equaledValues.stream()
                 .distinct()
                 .collect(Collectors.toList());
+        this.equaledValueSet = new HashSet<>(this.equaledValues);
         this.printer = printer;
     }
     
@@ -42,6 +56,7 @@ public class Equals<T> extends ValidationCellProcessor {
         this.equaledValues = equaledValues.stream()
                 .distinct()
                 .collect(Collectors.toList());
+        this.equaledValueSet = new HashSet<>(this.equaledValues);
         this.printer = printer;
     }
     
@@ -64,11 +79,13 @@ public class Equals<T> extends ValidationCellProcessor {
         
         final T result = (T) value;
         
-        if(!equaledValues.isEmpty() && !equaledValues.contains(value)) {
+        if(!equaledValues.isEmpty() && !equaledValueSet.contains(value)) {
             final String formattedValue = printer.print(result);
             final String joinedFormattedValues = equaledValues.stream()
+                    .limit(MAX_FORMATTED_VALUES)
                     .map(v -> printer.print(v))
-                    .collect(Collectors.joining(", "));
+                    .collect(Collectors.joining(", "))
+                    + (equaledValues.size() > MAX_FORMATTED_VALUES ? String.format(", ... (%d values)", equaledValues.size()) : "");
             
             throw createValidationException(context)
                 .rejectedValue(result)
@@ -3,12 +3,15 @@ package com.github.mygreen.supercsv.cellprocessor.constraint;
 import org.supercsv.cellprocessor.ift.StringCellProcessor;
 import org.supercsv.util.CsvContext;
 
+import com.github.mygreen.supercsv.cellprocessor.CompiledRegex;
 import com.github.mygreen.supercsv.cellprocessor.ValidationCellProcessor;
 
 
 /**
  * 文字列に対して、正規表現に一致するか検証するCellProcessor.
+ * <p>単純な正規表現は、{@link CompiledRegex}により{@link java.util.regex.Matcher}を使わずに判定します。</p>
  *
+ * @version 2.3
  * @since 2.0
  * @author T.TSUCHIE
  *
@@ -17,12 +20,15 @@ public class Pattern extends ValidationCellProcessor implements StringCellProces
     
     private final java.util.regex.Pattern pattern;
     
+    private final CompiledRegex compiledRegex;
+    
     private final String description;
     
     public Pattern(final java.util.regex.Pattern regexPattern, final String regexDescriptoin) {
         super();
         checkPreconditions(regexPattern);
         this.pattern = regexPattern;
+        this.compiledRegex = CompiledRegex.compile(regexPattern);
         this.description = regexDescriptoin;
     }
     
@@ -30,6 +36,7 @@ public class Pattern extends ValidationCellProcessor implements StringCellProces
         super(next);
         checkPreconditions(regexPattern);
         this.pattern = regexPattern;
+        this.compiledRegex = CompiledRegex.compile(regexPattern);
         this.description = regexDescriptoin;
     }
     
@@ -47,7 +54,7 @@ public class Pattern extends ValidationCellProcessor implements StringCellProces
             return next.execute(value, context);
         }
         
-        final boolean matches = pattern.matcher((String) value).matches();
+        final boolean matches = compiledRegex.matches((String) value);
         if(!matches) {
             throw createValidationException(context)
                 .messageFormat("'%s' does not match the regular expression '%s'", value, getRegex())
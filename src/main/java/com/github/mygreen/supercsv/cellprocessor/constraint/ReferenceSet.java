@@ -0,0 +1,169 @@
+package com.github.mygreen.supercsv.cellprocessor.constraint;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.supercsv.cellprocessor.ift.CellProcessor;
+import org.supercsv.exception.SuperCsvCellProcessorException;
+import org.supercsv.util.CsvContext;
+
+import com.github.mygreen.supercsv.cellprocessor.ValidationCellProcessor;
+import com.github.mygreen.supercsv.cellprocessor.format.TextPrinter;
+
+/**
+ * マスタデータなど、大量の参照値のいずれかと等しいか検証するCellProcessor。
+ * <p>参照値は{@link ReferenceValues}で作成時に一度だけ読み込み、{@link CompactHashSet}に保持するため、件数に依らず定数時間で判定します。
+ *   <br>エラーメッセージには全ての参照値を出力せず、件数と一部の値のみを出力します。
+ * </p>
+ * <p>更新間隔を指定した場合は、間隔を過ぎた後の最初の判定時に、別スレッドで参照値を読み込み直します。
+ *   読み込みが終わるまでは、以前の参照値で判定します。読み込みに失敗した場合は、以前の参照値を使い続け、次の間隔で再度読み込みます。
+ * </p>
+ *
+ * @param <T> 値のクラスタイプ
+ * @since 2.3
+ * @author T.TSUCHIE
+ *
+ */
+public class ReferenceSet<T> extends ValidationCellProcessor {
+
+    /**
+     * エラーメッセージに出力する参照値の件数の初期値
+     */
+    public static final int DEFAULT_MAX_PRINTED_VALUES = 10;
+
+    private final Class<T> type;
+
+    private final ReferenceValues<T> referenceValues;
+
+    private final TextPrinter<T> printer;
+
+    private int maxPrintedValues = DEFAULT_MAX_PRINTED_VALUES;
+
+    public ReferenceSet(final Class<T> type, final Supplier<? extends Collection<T>> loader,
+            final long refreshInterval, final TimeUnit unit, final boolean bloomFilter, final TextPrinter<T> printer) {
+        this(type, new ReferenceValues<>(loader, refreshInterval, unit, bloomFilter), printer);
+    }
+
+    public ReferenceSet(final Class<T> type, final Supplier<? extends Collection<T>> loader,
+            final long refreshInterval, final TimeUnit unit, final boolean bloomFilter, final TextPrinter<T> printer,
+            final CellProcessor next) {
+        this(type, new ReferenceValues<>(loader, refreshInterval, unit, bloomFilter), printer, next);
+    }
+
+    public ReferenceSet(final Class<T> type, final ReferenceValues<T> referenceValues, final TextPrinter<T> printer) {
+        super();
+        checkPreconditions(type, referenceValues, printer);
+        this.type = type;
+        this.referenceValues = referenceValues;
+        this.printer = printer;
+    }
+
+    public ReferenceSet(final Class<T> type, final ReferenceValues<T> referenceValues, final TextPrinter<T> printer,
+            final CellProcessor next) {
+        super(next);
+        checkPreconditions(type, referenceValues, printer);
+        this.type = type;
+        this.referenceValues = referenceValues;
+        this.printer = printer;
+    }
+
+    private static <T> void checkPreconditions(final Class<T> type, final ReferenceValues<T> referenceValues,
+            final TextPrinter<T> printer) {
+        if(type == null || referenceValues == null || printer == null) {
+            throw new NullPointerException("type or referenceValues or printer should not be null.");
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <R> R execute(final Object value, final CsvContext context) {
+        if(value == null) {
+            return next.execute(value, context);
+        }
+
+        if(!type.isAssignableFrom(value.getClass())) {
+            throw new SuperCsvCellProcessorException(type, value, context, this);
+        }
+
+        final CompactHashSet<T> current = referenceValues.get();
+        if(!current.contains(value)) {
+            final T result = (T) value;
+            final String formattedValue = printer.print(result);
+            final List<T> sampleValues = current.sample(maxPrintedValues);
+            final String joinedSampleValues = sampleValues.stream()
+                    .map(v -> printer.print(v))
+                    .collect(Collectors.joining(", "));
+
+            throw createValidationException(context)
+                .rejectedValue(result)
+                .messageFormat("'%s' is not contained in the reference set (size=%d, e.g. [%s]).",
+                        formattedValue, current.size(), joinedSampleValues)
+                .messageVariables("referenceSize", current.size())
+                .messageVariables("sampleValues", sampleValues)
+                .messageVariables("printer", getPrinter())
+                .build();
+        }
+
+        return next.execute(value, context);
+    }
+
+    /**
+     * 参照値を直ちに読み込み直します。
+     * <p>呼び出し元のスレッドで読み込みます。</p>
+     */
+    public void refresh() {
+        referenceValues.refresh();
+    }
+
+    /**
+     * 現在の参照値を取得します。
+     * @return 参照値のセット。
+     */
+    public CompactHashSet<T> getValues() {
+        return referenceValues.getValues();
+    }
+
+    /**
+     * 参照値を保持するインスタンスを取得します。
+     * @return コンストラクタで渡された、または作成したインスタンス。
+     */
+    public ReferenceValues<T> getReferenceValues() {
+        return referenceValues;
+    }
+
+    /**
+     * 参照値を読み込み直す間隔を取得します。
+     * @return ミリ秒単位の間隔。0以下の場合は、読み込み直しません。
+     */
+    public long getRefreshIntervalMillis() {
+        return referenceValues.getRefreshIntervalMillis();
+    }
+
+    /**
+     * エラーメッセージに出力する参照値の最大件数を設定します。
+     * @param maxPrintedValues 最大件数。初期値は{@value #DEFAULT_MAX_PRINTED_VALUES}です。
+     */
+    public void setMaxPrintedValues(final int maxPrintedValues) {
+        this.maxPrintedValues = maxPrintedValues;
+    }
+
+    /**
+     * エラーメッセージに出力する参照値の最大件数を取得します。
+     * @return 最大件数。
+     */
+    public int getMaxPrintedValues() {
+        return maxPrintedValues;
+    }
+
+    /**
+     * フォーマッタを取得する
+     * @return コンストラクタで渡されたフォーマッタ。
+     */
+    public TextPrinter<T> getPrinter() {
+        return printer;
+    }
+
+}
@@ -0,0 +1,155 @@
+package com.github.mygreen.supercsv.cellprocessor.constraint;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.ref.WeakReference;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.supercsv.cellprocessor.ift.CellProcessor;
+
+import com.github.mygreen.supercsv.annotation.constraint.CsvReferenceSet;
+import com.github.mygreen.supercsv.builder.Configuration;
+import com.github.mygreen.supercsv.builder.FieldAccessor;
+import com.github.mygreen.supercsv.cellprocessor.ConstraintProcessorFactory;
+import com.github.mygreen.supercsv.cellprocessor.format.TextFormatter;
+import com.github.mygreen.supercsv.cellprocessor.format.TextParseException;
+import com.github.mygreen.supercsv.exception.SuperCsvInvalidAnnotationException;
+import com.github.mygreen.supercsv.localization.MessageBuilder;
+
+/**
+ * アノテーション{@link CsvReferenceSet}をハンドリングして、CellProcessorの{@link ReferenceSet}を作成する。
+ * <p>読み込んだ参照値は、フィールドとアノテーションごとにキャッシュし、読み込み用と書き込み用のCellProcessorや、
+ *   {@link com.github.mygreen.supercsv.builder.BeanMapping}を作成し直した場合に共有します。
+ *   <br>キャッシュは弱参照で保持するため、参照値を使うCellProcessorがどこからも参照されなくなると、GCにより破棄されます。
+ * </p>
+ *
+ * @since 2.3
+ * @author T.TSUCHIE
+ *
+ */
+public class ReferenceSetFactory<T> implements ConstraintProcessorFactory<CsvReferenceSet> {
+
+    /**
+     * 読み込んだ参照値のキャッシュ。キーは、フィールドの定義元のクラス、フィールド名、アノテーションのリスト。
+     */
+    private static final Map<List<Object>, WeakReference<ReferenceValues<?>>> CACHE = new HashMap<>();
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    @Override
+    public Optional<CellProcessor> create(final CsvReferenceSet anno, final Optional<CellProcessor> next,
+            final FieldAccessor field, final TextFormatter<?> formatter, final Configuration config) {
+
+        final TextFormatter<T> typeFormatter = (TextFormatter<T>)formatter;
+
+        if(anno.provider().length == 0 && anno.file().isEmpty()) {
+            throw new SuperCsvInvalidAnnotationException(anno, MessageBuilder.create("anno.attr.required")
+                    .var("property", field.getNameWithClass())
+                    .varWithAnno("anno", anno.annotationType())
+                    .var("attrName", "file or provider")
+                    .format());
+        }
+
+        final ReferenceValues<T> referenceValues = getReferenceValues(anno, field, () -> {
+            final Supplier<Collection<T>> loader;
+            if(anno.provider().length > 0) {
+                final EqualedValueProvider provider = (EqualedValueProvider) config.getBeanFactory().create(anno.provider()[0]);
+                loader = () -> (Collection<T>)provider.getEqualedValues(field);
+
+            } else {
+                final Path file = Paths.get(anno.file());
+                final Charset charset = Charset.forName(anno.encoding());
+                loader = () -> loadFile(file, charset, anno, field, typeFormatter);
+            }
+
+            return new ReferenceValues<>(loader, anno.refreshSeconds(), TimeUnit.SECONDS, anno.bloomFilter());
+        });
+
+        final Class<T> fieldType = (Class<T>)field.getType();
+        final ReferenceSet<T> processor = next.map(n -> new ReferenceSet<>(fieldType, referenceValues, typeFormatter, n))
+                .orElseGet(() -> new ReferenceSet<>(fieldType, referenceValues, typeFormatter));
+
+        processor.setMaxPrintedValues(anno.maxPrintedValues());
+        processor.setValidationMessage(anno.message());
+
+        return Optional.of(processor);
+    }
+
+    /**
+     * キャッシュから参照値を取得します。
+     * <p>キャッシュにない場合、またはGCにより破棄されている場合は、読み込んでキャッシュします。</p>
+     * @param anno アノテーション。
+     * @param field フィールド。
+     * @param creator 参照値を読み込む処理。
+     * @return 参照値。
+     */
+    @SuppressWarnings("unchecked")
+    private ReferenceValues<T> getReferenceValues(final CsvReferenceSet anno, final FieldAccessor field,
+            final Supplier<ReferenceValues<T>> creator) {
+
+        final List<Object> key = Arrays.asList(field.getDeclaredClass(), field.getName(), anno);
+        synchronized(CACHE) {
+            // GCにより破棄されたキャッシュを取り除く
+            CACHE.values().removeIf(ref -> ref.get() == null);
+
+            final WeakReference<ReferenceValues<?>> ref = CACHE.get(key);
+            ReferenceValues<T> referenceValues = (ref == null) ? null : (ReferenceValues<T>) ref.get();
+            if(referenceValues == null) {
+                referenceValues = creator.get();
+                CACHE.put(key, new WeakReference<>(referenceValues));
+            }
+
+            return referenceValues;
+        }
+    }
+
+    /**
+     * ファイルから参照値を読み込みます。
+     * <p>1行を1件の値として、フィールドの型に変換します。空行は無視します。</p>
+     */
+    private List<T> loadFile(final Path file, final Charset charset, final CsvReferenceSet anno,
+            final FieldAccessor field, final TextFormatter<T> typeFormatter) {
+
+        final List<T> values = new ArrayList<>();
+        try(BufferedReader reader = Files.newBufferedReader(file, charset)) {
+            String line;
+            while((line = reader.readLine()) != null) {
+                if(line.isEmpty()) {
+                    continue;
+                }
+
+                try {
+                    values.add(typeFormatter.parse(line));
+
+                } catch(TextParseException e) {
+                    throw new SuperCsvInvalidAnnotationException(anno, MessageBuilder.create("anno.attr.invalidType")
+                            .var("property", field.getNameWithClass())
+                            .varWithAnno("anno", anno.annotationType())
+                            .var("attrName", "file")
+                            .var("attrValue", line)
+                            .varWithClass("type", field.getType())
+                            .var("pattern", typeFormatter.getPattern().orElse(null))
+                            .format(), e);
+                }
+            }
+
+        } catch(IOException e) {
+            throw new UncheckedIOException(String.format("fail reading the reference set file '%s'.", file), e);
+        }
+
+        return values;
+    }
+
+}
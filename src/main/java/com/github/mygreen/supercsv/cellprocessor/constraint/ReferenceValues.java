@@ -0,0 +1,144 @@
+package com.github.mygreen.supercsv.cellprocessor.constraint;
+
+import java.util.Collection;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link ReferenceSet}で判定する参照値を保持するクラス。
+ * <p>参照値は作成時に一度だけ読み込み、{@link CompactHashSet}に保持します。
+ *   <br>読み込み用と書き込み用など、複数の{@link ReferenceSet}で共有することで、同じ参照値を何度も読み込まないようにします。
+ * </p>
+ * <p>更新間隔を指定した場合は、間隔を過ぎた後の最初の取得時に、別スレッドで参照値を読み込み直します。
+ *   読み込みが終わるまでは、以前の参照値を返します。読み込みに失敗した場合は、以前の参照値を使い続け、次の間隔で再度読み込みます。
+ * </p>
+ *
+ * @param <T> 値のクラスタイプ
+ * @since 2.3
+ * @author T.TSUCHIE
+ *
+ */
+public class ReferenceValues<T> {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReferenceValues.class);
+
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    /** 参照値を読み込み直すスレッド */
+    private static final Executor REFRESH_EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+        final Thread thread = new Thread(runnable, "csv-reference-set-refresh-" + THREAD_COUNT.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Supplier<? extends Collection<T>> loader;
+
+    private final long refreshIntervalMillis;
+
+    private final boolean bloomFilter;
+
+    private volatile CompactHashSet<T> values;
+
+    /** 次に読み込み直す時刻 */
+    private volatile long nextRefreshTime;
+
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    /**
+     * 参照値を読み込んで、インスタンスを作成します。
+     * @param loader 参照値を読み込む処理。
+     * @param refreshInterval 参照値を読み込み直す間隔。0以下の場合は、読み込み直しません。
+     * @param unit 間隔の単位。
+     * @param bloomFilter trueの場合、ブルームフィルタで事前に判定します。
+     * @throws NullPointerException {@literal loader or unit is null.}
+     */
+    public ReferenceValues(final Supplier<? extends Collection<T>> loader,
+            final long refreshInterval, final TimeUnit unit, final boolean bloomFilter) {
+        if(loader == null || unit == null) {
+            throw new NullPointerException("loader or unit should not be null.");
+        }
+        this.loader = loader;
+        this.refreshIntervalMillis = unit.toMillis(refreshInterval);
+        this.bloomFilter = bloomFilter;
+        this.values = load();
+        this.nextRefreshTime = System.currentTimeMillis() + refreshIntervalMillis;
+    }
+
+    private CompactHashSet<T> load() {
+        final Collection<T> loaded = loader.get();
+        if(loaded == null) {
+            throw new NullPointerException("the loaded values should not be null.");
+        }
+        return new CompactHashSet<>(loaded, bloomFilter);
+    }
+
+    /**
+     * 判定に使用する参照値を取得します。
+     * <p>更新間隔を過ぎている場合は、別スレッドで読み込み直します。</p>
+     * @return 参照値のセット。
+     */
+    public CompactHashSet<T> get() {
+        if(refreshIntervalMillis > 0L && System.currentTimeMillis() >= nextRefreshTime) {
+            refreshAsync();
+        }
+        return values;
+    }
+
+    /**
+     * 別スレッドで参照値を読み込み直します。
+     * <p>既に読み込み中の場合は何もしません。</p>
+     */
+    private void refreshAsync() {
+
+        if(!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+
+        REFRESH_EXECUTOR.execute(() -> {
+            try {
+                this.values = load();
+
+            } catch(RuntimeException e) {
+                logger.warn("fail refreshing the reference set. the previous values are used.", e);
+
+            } finally {
+                this.nextRefreshTime = System.currentTimeMillis() + refreshIntervalMillis;
+                refreshing.set(false);
+            }
+        });
+    }
+
+    /**
+     * 参照値を直ちに読み込み直します。
+     * <p>呼び出し元のスレッドで読み込みます。</p>
+     */
+    public void refresh() {
+        this.values = load();
+        this.nextRefreshTime = System.currentTimeMillis() + refreshIntervalMillis;
+    }
+
+    /**
+     * 現在の参照値を取得します。
+     * <p>{@link #get()}と異なり、読み込み直しません。</p>
+     * @return 参照値のセット。
+     */
+    public CompactHashSet<T> getValues() {
+        return values;
+    }
+
+    /**
+     * 参照値を読み込み直す間隔を取得します。
+     * @return ミリ秒単位の間隔。0以下の場合は、読み込み直しません。
+     */
+    public long getRefreshIntervalMillis() {
+        return refreshIntervalMillis;
+    }
+
+}
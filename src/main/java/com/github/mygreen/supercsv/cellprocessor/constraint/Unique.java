@@ -1,24 +1,31 @@
 package com.github.mygreen.supercsv.cellprocessor.constraint;
 
+import java.io.Serializable;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.supercsv.cellprocessor.ift.CellProcessor;
 import org.supercsv.util.CsvContext;
 
+import com.github.mygreen.supercsv.cellprocessor.StatefulCellProcessor;
+import com.github.mygreen.supercsv.cellprocessor.TentativeExecution;
 import com.github.mygreen.supercsv.cellprocessor.ValidationCellProcessor;
 import com.github.mygreen.supercsv.cellprocessor.format.TextPrinter;
 
 /**
  * 値がユニークかチェックするCellProcessor.
+ * <p>読み込み済みの値はスレッドセーフに保持するため、複数のスレッドから同時に実行できます。</p>
  * 
+ * @version 2.3
  * @since 2.0
  * @author T.TSUCHIE
  *
  */
-public class Unique<T> extends ValidationCellProcessor {
+public class Unique<T> extends ValidationCellProcessor implements StatefulCellProcessor {
     
-    private final Map<T, ValueObject> encounteredElements = new HashMap<>();
+    private final Map<T, ValueObject> encounteredElements = new ConcurrentHashMap<>();
     
     private final TextPrinter<T> printer;
     
@@ -50,10 +57,11 @@ public class Unique<T> extends ValidationCellProcessor {
         
         final T result = (T)value;
         
-        if(encounteredElements.containsKey(result)) {
+        final ValueObject object = new ValueObject(result, context.getLineNumber(), context.getRowNumber());
+        final ValueObject duplicatedObject = encounteredElements.putIfAbsent(result, object);
+        if(duplicatedObject != null) {
             
             final String formattedValue = printer.print(result);
-            final ValueObject duplicatedObject = encounteredElements.get(result);
             throw createValidationException(context)
                 .messageFormat("duplicate value '%s' encountered.", formattedValue)
                 .rejectedValue(result)
@@ -62,9 +70,11 @@ public class Unique<T> extends ValidationCellProcessor {
                 .messageVariables("printer", getPrinter())
                 .build();
             
-        } else {
-            final ValueObject object = new ValueObject(result, context.getLineNumber(), context.getRowNumber());
-            encounteredElements.put(object.value, object);
+        }
+        
+        if(TentativeExecution.isActive()) {
+            // 処理結果が取り消された場合は、記録した値を除く。
+            TentativeExecution.addRollback(() -> encounteredElements.remove(result, object));
         }
         
         return next.execute(value, context);
@@ -86,6 +96,41 @@ public class Unique<T> extends ValidationCellProcessor {
         }
     }
     
+    /**
+     * {@inheritDoc}
+     * <p>読み込み済みの値と、その値の行番号とレコード番号のマップを返します。</p>
+     * @since 2.3
+     */
+    @Override
+    public Serializable snapshotState() {
+        
+        final HashMap<Object, int[]> state = new HashMap<>(encounteredElements.size() * 4 / 3 + 1);
+        for(ValueObject object : encounteredElements.values()) {
+            state.put(object.value, new int[]{object.lineNumber, object.rowNumber});
+        }
+        
+        return state;
+    }
+    
+    /**
+     * {@inheritDoc}
+     * @since 2.3
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public void restoreState(final Serializable state) {
+        Objects.requireNonNull(state, "state should not be null.");
+        if(!(state instanceof Map)) {
+            throw new IllegalArgumentException(String.format("not supported state : %s", state.getClass().getName()));
+        }
+        
+        encounteredElements.clear();
+        for(Map.Entry<Object, int[]> entry : ((Map<Object, int[]>)state).entrySet()) {
+            final T value = (T)entry.getKey();
+            encounteredElements.put(value, new ValueObject(value, entry.getValue()[0], entry.getValue()[1]));
+        }
+    }
+    
     /**
      * 
      * @return 値のフォーマッタを取得する。
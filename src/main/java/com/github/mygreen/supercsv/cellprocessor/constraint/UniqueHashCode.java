@@ -1,24 +1,31 @@
 package com.github.mygreen.supercsv.cellprocessor.constraint;
 
+import java.io.Serializable;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.supercsv.cellprocessor.ift.CellProcessor;
 import org.supercsv.util.CsvContext;
 
+import com.github.mygreen.supercsv.cellprocessor.StatefulCellProcessor;
+import com.github.mygreen.supercsv.cellprocessor.TentativeExecution;
 import com.github.mygreen.supercsv.cellprocessor.ValidationCellProcessor;
 import com.github.mygreen.supercsv.cellprocessor.format.TextPrinter;
 
 /**
  * 値がユニークかハッシュコードを元にチェックするCellProcessor.
+ * <p>読み込み済みの値はスレッドセーフに保持するため、複数のスレッドから同時に実行できます。</p>
  * 
+ * @version 2.3
  * @since 2.0
  * @author T.TSUCHIE
  *
  */
-public class UniqueHashCode<T> extends ValidationCellProcessor {
+public class UniqueHashCode<T> extends ValidationCellProcessor implements StatefulCellProcessor {
     
-    private final Map<Integer, ValueObject> encounteredElements = new HashMap<>();
+    private final Map<Integer, ValueObject> encounteredElements = new ConcurrentHashMap<>();
     
     private final TextPrinter<T> printer;
     
@@ -51,9 +58,10 @@ public class UniqueHashCode<T> extends ValidationCellProcessor {
         final T result = (T)value;
         final int hashCode = value.hashCode();
         
-        if(encounteredElements.containsKey(hashCode)) {
+        final ValueObject object = new ValueObject(hashCode, context.getRowNumber(), context.getLineNumber());
+        final ValueObject duplicatedObject = encounteredElements.putIfAbsent(hashCode, object);
+        if(duplicatedObject != null) {
             
-            final ValueObject duplicatedObject = encounteredElements.get(result);
             throw createValidationException(context)
                 .messageFormat("duplicate hashCode '%s' encountered.", hashCode)
                 .rejectedValue(result)
@@ -63,9 +71,11 @@ public class UniqueHashCode<T> extends ValidationCellProcessor {
                 .messageVariables("printer", getPrinter())
                 .build();
             
-        } else {
-            final ValueObject object = new ValueObject(hashCode, context.getRowNumber(), context.getLineNumber());
-            encounteredElements.put(object.hashCode, object);
+        }
+        
+        if(TentativeExecution.isActive()) {
+            // 処理結果が取り消された場合は、記録した値を除く。
+            TentativeExecution.addRollback(() -> encounteredElements.remove(hashCode, object));
         }
         
         return next.execute(value, context);
@@ -87,6 +97,41 @@ public class UniqueHashCode<T> extends ValidationCellProcessor {
         
     }
     
+    /**
+     * {@inheritDoc}
+     * <p>読み込み済みの値のハッシュコードと、その値の行番号とレコード番号のマップを返します。</p>
+     * @since 2.3
+     */
+    @Override
+    public Serializable snapshotState() {
+        
+        final HashMap<Integer, int[]> state = new HashMap<>(encounteredElements.size() * 4 / 3 + 1);
+        for(ValueObject object : encounteredElements.values()) {
+            state.put(object.hashCode, new int[]{object.lineNumber, object.rowNumber});
+        }
+        
+        return state;
+    }
+    
+    /**
+     * {@inheritDoc}
+     * @since 2.3
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public void restoreState(final Serializable state) {
+        Objects.requireNonNull(state, "state should not be null.");
+        if(!(state instanceof Map)) {
+            throw new IllegalArgumentException(String.format("not supported state : %s", state.getClass().getName()));
+        }
+        
+        encounteredElements.clear();
+        for(Map.Entry<Integer, int[]> entry : ((Map<Integer, int[]>)state).entrySet()) {
+            final int hashCode = entry.getKey();
+            encounteredElements.put(hashCode, new ValueObject(hashCode, entry.getValue()[1], entry.getValue()[0]));
+        }
+    }
+    
     /**
      * 
      * @return 値のフォーマッタを取得する。
@@ -0,0 +1,54 @@
+package com.github.mygreen.supercsv.cellprocessor.conversion;
+
+import java.util.Objects;
+
+import org.supercsv.cellprocessor.CellProcessorAdaptor;
+import org.supercsv.cellprocessor.ift.StringCellProcessor;
+import org.supercsv.util.CsvContext;
+
+/**
+ * 同じ値の文字列のインスタンスを共有するCellProcessor
+ *
+ * @since 2.3
+ * @author T.TSUCHIE
+ *
+ */
+public class Intern extends CellProcessorAdaptor implements StringCellProcessor {
+
+    private final StringPool pool;
+
+    public Intern(final StringPool pool) {
+        super();
+        checkPreconditions(pool);
+        this.pool = pool;
+    }
+
+    public Intern(final StringPool pool, final StringCellProcessor next) {
+        super(next);
+        checkPreconditions(pool);
+        this.pool = pool;
+    }
+
+    private static void checkPreconditions(final StringPool pool) {
+        Objects.requireNonNull(pool, "pool should not be null.");
+    }
+
+    @Override
+    public <T> T execute(final Object value, final CsvContext context) {
+        if(value == null) {
+            return next.execute(value, context);
+        }
+
+        final String result = pool.intern(value.toString());
+        return next.execute(result, context);
+    }
+
+    /**
+     * 文字列を共有するプールを取得します。
+     * @return コンストラクタで指定したプール。
+     */
+    public StringPool getPool() {
+        return pool;
+    }
+
+}
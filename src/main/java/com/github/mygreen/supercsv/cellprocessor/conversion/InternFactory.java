@@ -0,0 +1,35 @@
+package com.github.mygreen.supercsv.cellprocessor.conversion;
+
+import java.util.Optional;
+
+import org.supercsv.cellprocessor.ift.CellProcessor;
+import org.supercsv.cellprocessor.ift.StringCellProcessor;
+
+import com.github.mygreen.supercsv.annotation.conversion.CsvIntern;
+import com.github.mygreen.supercsv.builder.Configuration;
+import com.github.mygreen.supercsv.builder.FieldAccessor;
+import com.github.mygreen.supercsv.cellprocessor.ConversionProcessorFactory;
+import com.github.mygreen.supercsv.cellprocessor.format.TextFormatter;
+
+/**
+ * アノテーション{@link CsvIntern}をハンドリングして、{@link Intern}を作成する。
+ * <p>文字列のプールは、{@link Configuration#getStringPool()}で取得したものを全てのカラムで共有します。</p>
+ *
+ * @since 2.3
+ * @author T.TSUCHIE
+ *
+ */
+public class InternFactory implements ConversionProcessorFactory<CsvIntern> {
+
+    @Override
+    public Optional<CellProcessor> create(final CsvIntern anno, final Optional<CellProcessor> next,
+            final FieldAccessor field, final TextFormatter<?> formatter, final Configuration config) {
+
+        final StringPool pool = config.getStringPool();
+        final Intern processor = next.map(n ->  new Intern(pool, (StringCellProcessor) n))
+                .orElseGet(() -> new Intern(pool));
+
+        return Optional.of(processor);
+    }
+
+}
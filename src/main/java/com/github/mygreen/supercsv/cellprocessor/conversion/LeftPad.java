@@ -46,7 +46,7 @@ public class LeftPad extends CellProcessorAdaptor implements StringCellProcessor
             return next.execute(value, context);
         }
         
-        final String result = padding((String)value);
+        final String result = padding(value.toString());
         
         return next.execute(result, context);
     }
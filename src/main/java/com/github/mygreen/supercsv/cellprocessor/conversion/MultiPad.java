@@ -104,7 +104,7 @@ public class MultiPad extends CellProcessorAdaptor implements StringCellProcesso
     @Override
     public <T> T execute(final Object value, final CsvContext context) {
 
-        final String result = paddingProcessor.pad(value == null ? "" : (String) value,
+        final String result = paddingProcessor.pad(value == null ? "" : value.toString(),
                 size, padChar, rightAlign, chopped);
         return next.execute(result, context);
 
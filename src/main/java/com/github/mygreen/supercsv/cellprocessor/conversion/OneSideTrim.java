@@ -8,6 +8,7 @@ import org.supercsv.util.CsvContext;
 /**
  * 片方だけトリムするCellProcessor。
  *
+ * @version 2.3
  * @since 2.1
  * @author T.TSUCHIE
  *
@@ -60,7 +61,12 @@ public class OneSideTrim extends CellProcessorAdaptor implements StringCellProce
             return next.execute(value,  context);
         }
         
-        final String result = trim(value.toString());
+        if(value instanceof CharSequence) {
+            // 文字列に変換せずにトリムする
+            return next.execute(trim((CharSequence)value), context);
+        }
+        
+        final CharSequence result = trim(value.toString());
         return next.execute(result, context);
     }
 
@@ -69,7 +75,7 @@ public class OneSideTrim extends CellProcessorAdaptor implements StringCellProce
      * @param str トリミング対象の文字
      * @return トリムした結果
      */
-    private String trim(final String str) {
+    private CharSequence trim(final CharSequence str) {
 
         final int length = str.length();
         if(length == 0) {
@@ -87,7 +93,7 @@ public class OneSideTrim extends CellProcessorAdaptor implements StringCellProce
             for(int i=0; i < length; i++) {
                 char c = str.charAt(i);
                 if(c != trimChar) {
-                    return str.substring(i);
+                    return str.subSequence(i, length);
                 }
             }
 
@@ -105,7 +111,7 @@ public class OneSideTrim extends CellProcessorAdaptor implements StringCellProce
             for(int i=length - 1; i >= 0; i--) {
                 char c = str.charAt(i);
                 if(c != trimChar) {
-                    return str.substring(0, i + 1);
+                    return str.subSequence(0, i + 1);
                 }
             }
 
@@ -1,6 +1,5 @@
 package com.github.mygreen.supercsv.cellprocessor.conversion;
 
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.supercsv.cellprocessor.CellProcessorAdaptor;
@@ -8,10 +7,13 @@ import org.supercsv.cellprocessor.ift.CellProcessor;
 import org.supercsv.cellprocessor.ift.StringCellProcessor;
 import org.supercsv.util.CsvContext;
 
+import com.github.mygreen.supercsv.cellprocessor.CompiledRegex;
+
 /**
  * 文字列を置換する{@link CellProcessor}です。
+ * <p>正規表現に一致するかどうかは{@link CompiledRegex}で判定し、一致する場合のみ置換します。</p>
  * 
- * @version 2.2
+ * @version 2.3
  * @since 1.2
  * @author T.TSUCHIE
  *
@@ -20,6 +22,8 @@ public class RegexReplace extends CellProcessorAdaptor implements StringCellProc
     
     private final Pattern pattern;
     
+    private final CompiledRegex compiledRegex;
+    
     private final String replacement;
     
     private final boolean partialMatched;
@@ -36,6 +40,7 @@ public class RegexReplace extends CellProcessorAdaptor implements StringCellProc
         super();
         checkPreconditions(pattern, replacement);
         this.pattern = pattern;
+        this.compiledRegex = CompiledRegex.compile(pattern);
         this.replacement = replacement;
         this.partialMatched = partialMatched;
     }
@@ -54,6 +59,7 @@ public class RegexReplace extends CellProcessorAdaptor implements StringCellProc
         super(next);
         checkPreconditions(pattern, replacement);
         this.pattern = pattern;
+        this.compiledRegex = CompiledRegex.compile(pattern);
         this.replacement = replacement;
         this.partialMatched = partialMatched;
     }
@@ -82,10 +88,10 @@ public class RegexReplace extends CellProcessorAdaptor implements StringCellProc
             return next.execute(value, context);
         }
         
-        final Matcher matcher = pattern.matcher(value.toString());
-        final boolean matched = partialMatched ? matcher.find() : matcher.matches();
+        final String text = value.toString();
+        final boolean matched = partialMatched ? compiledRegex.find(text) : compiledRegex.matches(text);
         if(matched) {
-            final String result = matcher.replaceAll(replacement);
+            final String result = pattern.matcher(text).replaceAll(replacement);
             return next.execute(result, context);
         }
         
@@ -46,7 +46,7 @@ public class RightPad extends CellProcessorAdaptor implements StringCellProcesso
             return next.execute(value, context);
         }
         
-        final String result = padding((String)value);
+        final String result = padding(value.toString());
         
         return next.execute(result, context);
     }
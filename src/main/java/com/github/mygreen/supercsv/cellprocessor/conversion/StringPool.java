@@ -0,0 +1,194 @@
+package com.github.mygreen.supercsv.cellprocessor.conversion;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 同じ値の文字列のインスタンスを共有するためのプール。
+ * <p>{@link String#intern()}と異なり、プールする件数に上限を設けることができます。
+ *   <br>プールした文字列は弱参照で保持するため、どこからも参照されなくなるとGCにより破棄されます。
+ *   <br>件数が上限に達した場合は、それ以降の値はプールせずにそのまま返します。
+ * </p>
+ * <p>内部を複数の領域に分割してロックを行うため、複数のスレッドから同時に利用することができます。</p>
+ *
+ * @since 2.3
+ * @author T.TSUCHIE
+ *
+ */
+public class StringPool {
+
+    /**
+     * プールする件数の上限の初期値
+     */
+    public static final int DEFAULT_MAX_SIZE = 100_000;
+
+    /**
+     * 分割する領域の数。2の累乗である必要がある。
+     */
+    private static final int SEGMENT_SIZE = 16;
+
+    private final int maxSize;
+
+    /**
+     * 全ての領域でプールしている件数の合計
+     */
+    private final AtomicInteger poolSize = new AtomicInteger();
+
+    private final Segment[] segments;
+
+    /**
+     * 件数の上限を{@link #DEFAULT_MAX_SIZE}としてインスタンスを作成します。
+     */
+    public StringPool() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * プールする件数の上限を指定するコンストラクタ。
+     * @param maxSize プールする件数の上限。
+     * @throws IllegalArgumentException {@literal maxSize <= 0.}
+     */
+    public StringPool(final int maxSize) {
+        if(maxSize <= 0) {
+            throw new IllegalArgumentException(String.format("maxSize should be greater than 0 : %d", maxSize));
+        }
+
+        this.maxSize = maxSize;
+        this.segments = new Segment[SEGMENT_SIZE];
+        for(int i=0; i < SEGMENT_SIZE; i++) {
+            segments[i] = new Segment();
+        }
+    }
+
+    /**
+     * 同じ値の文字列がプールされている場合は、そのインスタンスを返します。
+     * <p>プールされていない場合は、引数の文字列をプールして返します。</p>
+     * @param value 対象の文字列
+     * @return プールされている文字列。引数がnullの場合はnullを返します。
+     */
+    public String intern(final String value) {
+        if(value == null) {
+            return null;
+        }
+
+        return segmentFor(value).intern(value);
+    }
+
+    private Segment segmentFor(final String value) {
+        int hash = value.hashCode();
+        hash ^= (hash >>> 16);
+        return segments[hash & (SEGMENT_SIZE - 1)];
+    }
+
+    /**
+     * プールする件数の上限を取得します。
+     * @return コンストラクタで指定した件数の上限。
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * 現在プールされている文字列の件数を取得します。
+     * <p>GCにより破棄された文字列は含みません。</p>
+     * @return プールされている件数。
+     */
+    public int size() {
+        int size = 0;
+        for(Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    /**
+     * プールした文字列を全て破棄します。
+     */
+    public void clear() {
+        for(Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    /**
+     * 全体の件数の上限を超えない場合に、1件分の枠を確保します。
+     * @return trueの場合、枠を確保できました。
+     */
+    private boolean tryAcquire() {
+        while(true) {
+            final int current = poolSize.get();
+            if(current >= maxSize) {
+                return false;
+            }
+
+            if(poolSize.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * ロックの単位となる領域
+     */
+    private class Segment {
+
+        /**
+         * 値自身を弱参照で保持することで、キーと値の両方がGCの対象となる。
+         */
+        private final Map<String, WeakReference<String>> map = new WeakHashMap<>();
+
+        /**
+         * 全体の件数に計上している、この領域の件数
+         */
+        private int count;
+
+        synchronized String intern(final String value) {
+
+            final WeakReference<String> ref = map.get(value);
+            if(ref != null) {
+                final String pooled = ref.get();
+                if(pooled != null) {
+                    return pooled;
+                }
+
+                // GCにより破棄される途中のエントリは、計上済みの枠をそのまま利用する
+                map.put(value, new WeakReference<>(value));
+                return value;
+            }
+
+            release();
+            if(tryAcquire()) {
+                map.put(value, new WeakReference<>(value));
+                count++;
+            }
+
+            return value;
+        }
+
+        /**
+         * GCにより破棄された件数を、全体の件数から差し引きます。
+         */
+        private void release() {
+            final int current = map.size();
+            if(current < count) {
+                poolSize.addAndGet(current - count);
+                count = current;
+            }
+        }
+
+        synchronized int size() {
+            release();
+            return count;
+        }
+
+        synchronized void clear() {
+            map.clear();
+            poolSize.addAndGet(-count);
+            count = 0;
+        }
+
+    }
+
+}
@@ -9,6 +9,7 @@ import org.supercsv.util.CsvContext;
  * 文字列をトリムするCellProcessor。
  * <p>値がNullの時も処理を続行する</p>
  * 
+ * @version 2.3
  * @since 1.0.2
  * @author T.TSUCHIE
  *
@@ -40,8 +41,33 @@ public class Trim extends CellProcessorAdaptor implements StringCellProcessor {
             return next.execute(value, context);
         }
         
+        if(value instanceof CharSequence && !(value instanceof String)) {
+            // 文字列に変換せずにトリムする
+            return next.execute(trim((CharSequence)value), context);
+        }
+        
         final String result = value.toString().trim();
         return next.execute(result, context);
     }
     
+    /**
+     * {@link String#trim()}と同じ規則でトリムします。
+     * @param value トリム対象の値
+     * @return トリムした結果の部分シーケンス
+     */
+    private static CharSequence trim(final CharSequence value) {
+        
+        int start = 0;
+        int end = value.length();
+        while(start < end && value.charAt(start) <= ' ') {
+            start++;
+        }
+        
+        while(start < end && value.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        
+        return value.subSequence(start, end);
+    }
+    
 }
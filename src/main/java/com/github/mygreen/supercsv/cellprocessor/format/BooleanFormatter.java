@@ -10,6 +10,7 @@ import java.util.Set;
 /**
  * Boolean型に対するフォーマッタ。
  * 
+ * @version 2.3
  * @since 2.0
  * @author T.TSUCHIE
  *
@@ -82,6 +83,71 @@ public class BooleanFormatter extends AbstractTextFormatter<Boolean> {
         }
     }
     
+    /**
+     * {@inheritDoc}
+     * <p>文字列を作成せずに、候補の値と比較します。</p>
+     */
+    @Override
+    public Boolean parse(final CharSequence text) {
+        
+        if(contains(readTrueValues, text, ignoreCase) ) {
+            return Boolean.TRUE;
+            
+        } else if(contains(readFalseValues, text, ignoreCase) ) {
+            return Boolean.FALSE;
+            
+        } else {
+            if(failToFalse) {
+                return Boolean.FALSE;
+            } else {
+                throw new TextParseException(text.toString(), Boolean.class,
+                        String.format("'%s' could not be parsed as a Boolean", text));
+            }
+        }
+    }
+    
+    private static boolean contains(final Set<String> set, final CharSequence value, final boolean ignoreCase) {
+        
+        for(String element : set) {
+            if(equals(element, value, ignoreCase)) {
+                return true;
+            }
+        }
+        
+        return false;
+    }
+    
+    /**
+     * {@link String#equals(Object)}、{@link String#equalsIgnoreCase(String)}と同じ規則で比較します。
+     */
+    private static boolean equals(final String element, final CharSequence value, final boolean ignoreCase) {
+        
+        final int length = element.length();
+        if(length != value.length()) {
+            return false;
+        }
+        
+        for(int i=0; i < length; i++) {
+            final char c1 = element.charAt(i);
+            final char c2 = value.charAt(i);
+            if(c1 == c2) {
+                continue;
+            }
+            
+            if(!ignoreCase) {
+                return false;
+            }
+            
+            final char u1 = Character.toUpperCase(c1);
+            final char u2 = Character.toUpperCase(c2);
+            if(u1 != u2 && Character.toLowerCase(u1) != Character.toLowerCase(u2)) {
+                return false;
+            }
+        }
+        
+        return true;
+    }
+    
     private static boolean contains(final Set<String> set, final String value, final boolean ignoreCase) {
         
         if(ignoreCase) {
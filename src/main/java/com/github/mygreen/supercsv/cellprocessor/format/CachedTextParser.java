@@ -0,0 +1,324 @@
+package com.github.mygreen.supercsv.cellprocessor.format;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Calendar;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.UnaryOperator;
+
+import com.github.mygreen.supercsv.annotation.format.CsvParseCache;
+
+/**
+ * パースした結果をキャッシュする{@link TextParser}。
+ * <p>パース前の文字列をキーとして、パースした結果を保持します。
+ *   <br>{@link CharSequence}でパースする場合は、文字列を作成せずにキャッシュを参照し、キャッシュに追加するときのみ文字列を作成します。
+ *   <br>キャッシュの件数が上限に達した場合、それ以降の値はキャッシュせずに毎回パースします。
+ *   <br>パースに失敗した値はキャッシュしません。
+ * </p>
+ * <p>複数のスレッドから同時に利用することができます。</p>
+ *
+ * @param <T> オブジェクトのタイプ
+ * @see CsvParseCache
+ * @since 2.3
+ * @author T.TSUCHIE
+ *
+ */
+public class CachedTextParser<T> implements TextParser<T> {
+
+    private final TextParser<T> parser;
+
+    private final int maxSize;
+
+    /**
+     * キャッシュから取り出した値のコピーを作成する処理
+     */
+    private final UnaryOperator<T> copier;
+
+    private final Map<Key, T> cache = new ConcurrentHashMap<>();
+
+    private final LongAdder hitCount = new LongAdder();
+
+    private final LongAdder missCount = new LongAdder();
+
+    /**
+     * コンストラクタ
+     * @param parser キャッシュ対象のパーサ
+     * @param maxSize キャッシュする値の最大件数。
+     * @param copier キャッシュから取り出した値のコピーを作成する処理。不変な値の場合は、{@link UnaryOperator#identity()}を指定します。
+     * @throws NullPointerException {@literal if parser or copier is null.}
+     * @throws IllegalArgumentException {@literal maxSize <= 0.}
+     */
+    public CachedTextParser(final TextParser<T> parser, final int maxSize, final UnaryOperator<T> copier) {
+        Objects.requireNonNull(parser, "parser should not be null.");
+        Objects.requireNonNull(copier, "copier should not be null.");
+        if(maxSize <= 0) {
+            throw new IllegalArgumentException(String.format("maxSize should be greater than 0 : %d", maxSize));
+        }
+
+        this.parser = parser;
+        this.maxSize = maxSize;
+        this.copier = copier;
+    }
+
+    /**
+     * クラスタイプに応じて、キャッシュ可能なパーサを作成します。
+     * @param type パース後のクラスタイプ
+     * @param parser キャッシュ対象のパーサ
+     * @param maxSize キャッシュする値の最大件数。
+     * @return キャッシュできないクラスタイプの場合や、最大件数が0以下の場合は空を返します。
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Optional<TextParser<T>> create(final Class<T> type, final TextParser<T> parser, final int maxSize) {
+
+        if(maxSize <= 0 || parser instanceof CachedTextParser) {
+            return Optional.empty();
+        }
+
+        if(isImmutableType(type)) {
+            return Optional.of(new CachedTextParser<>(parser, maxSize, UnaryOperator.identity()));
+
+        } else if(Date.class.isAssignableFrom(type)) {
+            // Timestampのナノ秒も含めてコピーされる
+            return Optional.of(new CachedTextParser<>(parser, maxSize, v -> (T)((Date)v).clone()));
+
+        } else if(Calendar.class.isAssignableFrom(type)) {
+            return Optional.of(new CachedTextParser<>(parser, maxSize, v -> (T)((Calendar)v).clone()));
+
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * 不変なDate and Time API / Joda-Timeのクラス名。
+     * <p>Joda-Timeはライブラリが存在しない場合もあるため、クラス名で判定します。
+     *   <br>{@literal MutableDateTime}などの可変なクラスは含めません。
+     * </p>
+     */
+    private static final Set<String> IMMUTABLE_TEMPORAL_TYPES = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            "java.time.Instant",
+            "java.time.LocalDate",
+            "java.time.LocalDateTime",
+            "java.time.LocalTime",
+            "java.time.MonthDay",
+            "java.time.OffsetDateTime",
+            "java.time.OffsetTime",
+            "java.time.Year",
+            "java.time.YearMonth",
+            "java.time.ZonedDateTime",
+            "java.time.Duration",
+            "java.time.Period",
+            "org.joda.time.DateTime",
+            "org.joda.time.Instant",
+            "org.joda.time.LocalDate",
+            "org.joda.time.LocalDateTime",
+            "org.joda.time.LocalTime",
+            "org.joda.time.MonthDay",
+            "org.joda.time.YearMonth")));
+
+    /**
+     * 不変なクラスタイプかどうか判定します。
+     * @param type 判定対象のクラスタイプ
+     * @return trueの場合、不変なクラスタイプです。
+     */
+    private static boolean isImmutableType(final Class<?> type) {
+
+        if(type.isPrimitive() || type.isEnum()) {
+            return true;
+        }
+
+        if(Boolean.class.equals(type) || Character.class.equals(type)
+                || Byte.class.equals(type) || Short.class.equals(type)
+                || Integer.class.equals(type) || Long.class.equals(type)
+                || Float.class.equals(type) || Double.class.equals(type)
+                || BigDecimal.class.equals(type) || BigInteger.class.equals(type)) {
+            return true;
+        }
+
+        return IMMUTABLE_TEMPORAL_TYPES.contains(type.getName());
+
+    }
+
+    @Override
+    public T parse(final String text) {
+
+        if(text == null) {
+            return parser.parse(text);
+        }
+
+        final Key key = new Key(text);
+        final T cached = cache.get(key);
+        if(cached != null) {
+            hitCount.increment();
+            return copier.apply(cached);
+        }
+
+        missCount.increment();
+        final T value = parser.parse(text);
+        if(value != null && cache.size() < maxSize) {
+            cache.putIfAbsent(key, copier.apply(value));
+        }
+
+        return value;
+    }
+
+    @Override
+    public T parse(final CharSequence text) {
+
+        if(text instanceof String) {
+            return parse((String)text);
+        }
+
+        // 文字シーケンスは内容が変わる可能性があるため、キャッシュに追加するときに文字列に変換する
+        final T cached = cache.get(new Key(text));
+        if(cached != null) {
+            hitCount.increment();
+            return copier.apply(cached);
+        }
+
+        missCount.increment();
+        final T value = parser.parse(text);
+        if(value != null && cache.size() < maxSize) {
+            cache.putIfAbsent(new Key(text.toString()), copier.apply(value));
+        }
+
+        return value;
+    }
+
+    @Override
+    public Optional<String> getPattern() {
+        return parser.getPattern();
+    }
+
+    @Override
+    public Map<String, Object> getMessageVariables() {
+        return parser.getMessageVariables();
+    }
+
+    @Override
+    public Optional<String> getValidationMessage() {
+        return parser.getValidationMessage();
+    }
+
+    /**
+     * キャッシュ対象のパーサを取得します。
+     * @return コンストラクタで指定したパーサ。
+     */
+    public TextParser<T> getParser() {
+        return parser;
+    }
+
+    /**
+     * キャッシュする値の最大件数を取得します。
+     * @return キャッシュする値の最大件数。
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * 現在キャッシュしている値の件数を取得します。
+     * @return キャッシュしている値の件数。
+     */
+    public int getSize() {
+        return cache.size();
+    }
+
+    /**
+     * キャッシュから値を取得できた回数を取得します。
+     * @return キャッシュのヒット数。
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * キャッシュから値を取得できず、パースした回数を取得します。
+     * @return キャッシュのミス数。
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * キャッシュした値と統計情報をクリアします。
+     */
+    public void clear() {
+        cache.clear();
+        hitCount.reset();
+        missCount.reset();
+    }
+
+    /**
+     * キャッシュのキー。
+     * <p>文字列と文字シーケンスを、内容で比較します。ハッシュ値は{@link String#hashCode()}と同じ値です。</p>
+     *
+     */
+    private static final class Key {
+
+        private final CharSequence text;
+
+        private final int hash;
+
+        Key(final CharSequence text) {
+            this.text = text;
+
+            if(text instanceof String) {
+                this.hash = text.hashCode();
+                return;
+            }
+
+            int h = 0;
+            final int length = text.length();
+            for(int i=0; i < length; i++) {
+                h = 31 * h + text.charAt(i);
+            }
+            this.hash = h;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if(this == obj) {
+                return true;
+            }
+
+            if(!(obj instanceof Key)) {
+                return false;
+            }
+
+            final Key other = (Key)obj;
+            if(hash != other.hash) {
+                return false;
+            }
+
+            final int length = text.length();
+            if(length != other.text.length()) {
+                return false;
+            }
+
+            for(int i=0; i < length; i++) {
+                if(text.charAt(i) != other.text.charAt(i)) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+    }
+
+}
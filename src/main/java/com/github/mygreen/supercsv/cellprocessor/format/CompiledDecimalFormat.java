@@ -0,0 +1,669 @@
+package com.github.mygreen.supercsv.cellprocessor.format;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.ParsePosition;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link DecimalFormat}の書式を元に、{@link DecimalFormat}を使わずに数値をフォーマット・解析するクラス。
+ * <p>{@literal #,##0}、{@literal #,##0.00}、{@literal 0000}、{@literal '\'#,##0'円'}などの、
+ *   桁区切り、小数部の桁数、ゼロ埋め、接頭語・接尾語、丸め方法から成る書式が対象です。
+ *   {@link #compile(DecimalFormat)}で対象の書式かどうか判定します。
+ * </p>
+ * <p>{@link DecimalFormat}の内部処理と同じ手順で、long型または{@link BigDecimal}の桁から文字列を組み立てます。
+ *   対象外の値の場合はnullを返すため、その場合は{@link DecimalFormat}で処理します。
+ * </p>
+ * <ul>
+ *   <li>フォーマットは、{@link Byte}、{@link Short}、{@link Integer}、{@link Long}、{@link BigDecimal}、
+ *       64ビット未満の{@link BigInteger}に対応しています。{@link Double}などの浮動小数は対象外です。</li>
+ *   <li>解析は、{@link DecimalFormat#isParseBigDecimal()}がtrueのときに、フォーマットした形式と同じ文字列のみ対応しています。
+ *       桁区切りは、省略するか書式と同じ位置に指定する必要があります。</li>
+ * </ul>
+ *
+ * @since 2.3
+ * @author T.TSUCHIE
+ *
+ */
+public final class CompiledDecimalFormat {
+
+    /**
+     * long型をフォーマットする際の、整数部の最大桁数（{@literal DecimalFormat.DOUBLE_INTEGER_DIGITS}）
+     */
+    private static final int LONG_INTEGER_DIGITS = 309;
+
+    /**
+     * long型をフォーマットする際の、小数部の最大桁数（{@literal DecimalFormat.DOUBLE_FRACTION_DIGITS}）
+     */
+    private static final int LONG_FRACTION_DIGITS = 340;
+
+    private final String pattern;
+
+    private final String positivePrefix;
+
+    private final String positiveSuffix;
+
+    private final String negativePrefix;
+
+    private final String negativeSuffix;
+
+    private final char decimalSeparator;
+
+    private final char groupingSeparator;
+
+    /** 桁区切りのサイズ。桁区切りを使用しない場合は0。 */
+    private final int groupingSize;
+
+    private final int minimumIntegerDigits;
+
+    private final int minimumFractionDigits;
+
+    private final int maximumFractionDigits;
+
+    private final boolean decimalSeparatorAlwaysShown;
+
+    private final RoundingMode roundingMode;
+
+    /** 解析に対応しているかどうか */
+    private final boolean parsable;
+
+    private CompiledDecimalFormat(final DecimalFormat format) {
+
+        final DecimalFormatSymbols symbols = format.getDecimalFormatSymbols();
+
+        this.pattern = format.toPattern();
+        this.positivePrefix = format.getPositivePrefix();
+        this.positiveSuffix = format.getPositiveSuffix();
+        this.negativePrefix = format.getNegativePrefix();
+        this.negativeSuffix = format.getNegativeSuffix();
+        this.decimalSeparator = symbols.getDecimalSeparator();
+        this.groupingSeparator = symbols.getGroupingSeparator();
+        this.groupingSize = format.isGroupingUsed() ? format.getGroupingSize() : 0;
+        this.minimumIntegerDigits = format.getMinimumIntegerDigits();
+        this.minimumFractionDigits = format.getMinimumFractionDigits();
+        this.maximumFractionDigits = format.getMaximumFractionDigits();
+        this.decimalSeparatorAlwaysShown = format.isDecimalSeparatorAlwaysShown();
+        this.roundingMode = format.getRoundingMode();
+        this.parsable = format.isParseBigDecimal() && !format.isParseIntegerOnly() && !decimalSeparatorAlwaysShown;
+
+    }
+
+    /**
+     * 書式を解析し、対応している場合はインスタンスを作成します。
+     * <p>次の条件を満たす場合に対応しています。</p>
+     * <ul>
+     *   <li>クラスが{@link DecimalFormat}そのもので、指数表記（{@literal E}）、通貨記号（{@literal ¤}）、
+     *       パーセント・パーミルなどの乗数を使用していないこと。</li>
+     *   <li>負の数の書式を独自に指定していないこと。</li>
+     *   <li>数字の0が{@literal '0'}で、桁区切りと小数点が数字以外の異なる文字であること。</li>
+     *   <li>接頭語・接尾語に、数字、桁区切り、小数点、マイナス記号、指数の記号などを含まないこと。</li>
+     *   <li>代表的な値を{@link DecimalFormat}で処理した結果と一致すること。</li>
+     * </ul>
+     *
+     * @param format 元となる書式。
+     * @return 対応していない書式の場合は空を返します。
+     * @throws NullPointerException {@literal format is null.}
+     */
+    public static Optional<CompiledDecimalFormat> compile(final DecimalFormat format) {
+
+        Objects.requireNonNull(format, "format should not be null.");
+
+        if(!isSupported(format)) {
+            return Optional.empty();
+        }
+
+        final CompiledDecimalFormat compiled = new CompiledDecimalFormat(format);
+        if(!compiled.verify((DecimalFormat)format.clone())) {
+            return Optional.empty();
+        }
+
+        return Optional.of(compiled);
+
+    }
+
+    private static boolean isSupported(final DecimalFormat format) {
+
+        if(format.getClass() != DecimalFormat.class || format.getMultiplier() != 1) {
+            return false;
+        }
+
+        // 引用符で囲まれていない特殊文字
+        final String pattern = format.toPattern();
+        boolean quoted = false;
+        for(int i=0; i < pattern.length(); i++) {
+            final char c = pattern.charAt(i);
+            if(c == '\'') {
+                quoted = !quoted;
+            } else if(!quoted && (c == 'E' || c == '¤' || c == '%' || c == '‰')) {
+                return false;
+            }
+        }
+
+        if(format.getMaximumIntegerDigits() != Integer.MAX_VALUE
+                || format.getMinimumIntegerDigits() > LONG_INTEGER_DIGITS
+                || format.getMaximumFractionDigits() > LONG_FRACTION_DIGITS) {
+            return false;
+        }
+
+        if(format.isGroupingUsed() && format.getGroupingSize() <= 0) {
+            return false;
+        }
+
+        final DecimalFormatSymbols symbols = format.getDecimalFormatSymbols();
+        final char decimal = symbols.getDecimalSeparator();
+        final char grouping = symbols.getGroupingSeparator();
+        if(symbols.getZeroDigit() != '0' || Character.isDigit(decimal) || Character.isDigit(grouping) || decimal == grouping) {
+            return false;
+        }
+
+        // 負の数の書式は、暗黙的なもの（マイナス記号＋正の数の書式）のみ
+        final String positivePrefix = format.getPositivePrefix();
+        final String positiveSuffix = format.getPositiveSuffix();
+        if(!format.getNegativePrefix().equals(symbols.getMinusSign() + positivePrefix)
+                || !format.getNegativeSuffix().equals(positiveSuffix)) {
+            return false;
+        }
+
+        return isPlainAffix(positivePrefix, symbols) && isPlainAffix(positiveSuffix, symbols);
+
+    }
+
+    /**
+     * 解析する際に、数値の一部とみなされる文字を含まないかどうか。
+     */
+    private static boolean isPlainAffix(final String affix, final DecimalFormatSymbols symbols) {
+
+        for(int i=0; i < affix.length(); i++) {
+            final char c = affix.charAt(i);
+            if(Character.isDigit(c) || c == symbols.getDecimalSeparator() || c == symbols.getGroupingSeparator()
+                    || c == symbols.getMinusSign()) {
+                return false;
+            }
+        }
+
+        return !containsSymbol(affix, symbols.getExponentSeparator())
+                && !containsSymbol(affix, symbols.getInfinity())
+                && !containsSymbol(affix, symbols.getNaN());
+
+    }
+
+    private static boolean containsSymbol(final String affix, final String symbol) {
+        return symbol != null && !symbol.isEmpty() && affix.contains(symbol);
+    }
+
+    /**
+     * 丸めの境界となる代表的な値を、{@link DecimalFormat}で処理した結果と比較します。
+     * <p>実行環境のJavaのバージョンによって{@link DecimalFormat}の処理が異なる場合は、対象外とするためのものです。</p>
+     */
+    private boolean verify(final DecimalFormat format) {
+
+        final long[] longs = {0L, 1L, -1L, 7L, 10L, 999L, -1000L, 1234567L, 1000000000000L, Long.MAX_VALUE, Long.MIN_VALUE + 1L};
+        for(long value : longs) {
+            if(!verify(format, value)) {
+                return false;
+            }
+        }
+
+        final long[] unscaledValues = {0L, 1L, 5L, 15L, 25L, 50L, 51L, 95L, 99L, 449L, 450L, 500L, 995L, 1005L, 9995L, 12345L, 99999L};
+        for(int offset = -1; offset <= 3; offset++) {
+            final int scale = Math.max(maximumFractionDigits + offset, 0);
+            for(long unscaled : unscaledValues) {
+                if(!verify(format, BigDecimal.valueOf(unscaled, scale)) || !verify(format, BigDecimal.valueOf(-unscaled, scale))) {
+                    return false;
+                }
+            }
+        }
+
+        return verify(format, new BigDecimal("123456789012345678901234567890.5"))
+                && verify(format, new BigDecimal("1E+3"))
+                && verify(format, new BigDecimal("-0E-5"));
+
+    }
+
+    private boolean verify(final DecimalFormat format, final Number value) {
+
+        final String expected;
+        try {
+            expected = format.format(value);
+        } catch(ArithmeticException e) {
+            // RoundingMode.UNNECESSARYで丸めが必要な場合
+            try {
+                print(value);
+                return false;
+            } catch(ArithmeticException e2) {
+                return true;
+            }
+        }
+
+        if(!expected.equals(print(value))) {
+            return false;
+        }
+
+        if(parsable) {
+            final ParsePosition position = new ParsePosition(0);
+            final Object parsed = format.parse(expected, position);
+            final BigDecimal actual = parse(expected);
+            if(position.getIndex() != expected.length() || actual == null || !actual.equals(parsed)) {
+                return false;
+            }
+        }
+
+        return true;
+
+    }
+
+    /**
+     * 数値をフォーマットします。
+     *
+     * @param number フォーマット対象の数値。
+     * @return 対応していない型の場合はnullを返します。
+     * @throws ArithmeticException 丸め方法が{@link RoundingMode#UNNECESSARY}で、丸めが必要な場合。
+     */
+    public String print(final Number number) {
+
+        if(number instanceof Long || number instanceof Integer || number instanceof Short || number instanceof Byte
+                || number instanceof AtomicInteger || number instanceof AtomicLong) {
+            return printLong(number.longValue());
+
+        } else if(number instanceof BigInteger && ((BigInteger)number).bitLength() < 64) {
+            return printLong(number.longValue());
+
+        } else if(number instanceof BigDecimal) {
+            return printBigDecimal((BigDecimal)number);
+        }
+
+        return null;
+    }
+
+    private String printLong(final long number) {
+
+        if(number == Long.MIN_VALUE) {
+            return null;
+        }
+
+        final boolean negative = number < 0L;
+        long value = negative ? -number : number;
+
+        // DigitList#set(boolean, long, int)と同様に、末尾の0を除く
+        final char[] digits = new char[19];
+        int left = digits.length;
+        while(value > 0L) {
+            digits[--left] = (char)('0' + (value % 10L));
+            value /= 10L;
+        }
+
+        final int decimalAt = digits.length - left;
+        int right = digits.length - 1;
+        while(right >= left && digits[right] == '0') {
+            right--;
+        }
+
+        final Digits list = new Digits(negative);
+        list.digits = new char[decimalAt];
+        System.arraycopy(digits, left, list.digits, 0, right - left + 1);
+        list.count = right - left + 1;
+        list.decimalAt = decimalAt;
+
+        return format(list, true);
+
+    }
+
+    private String printBigDecimal(final BigDecimal number) {
+
+        final boolean negative = number.signum() < 0;
+        final Digits list = new Digits(negative);
+
+        if(number.signum() == 0) {
+            list.digits = new char[1];
+            list.count = 0;
+            list.decimalAt = 0;
+
+        } else {
+            final String unscaled = number.unscaledValue().abs().toString();
+            list.digits = unscaled.toCharArray();
+            list.count = list.digits.length;
+            list.decimalAt = list.count - number.scale();
+        }
+
+        list.setFixedPoint(maximumFractionDigits);
+
+        return format(list, false);
+
+    }
+
+    /**
+     * 桁の情報を元に、文字列を組み立てます。
+     * <p>{@literal DecimalFormat#subformat}の、指数表記以外の処理と同じです。</p>
+     */
+    private String format(final Digits list, final boolean isInteger) {
+
+        final StringBuilder result = new StringBuilder(positivePrefix.length() + positiveSuffix.length() + 24);
+        result.append(list.negative ? negativePrefix : positivePrefix);
+
+        final char[] digits = list.digits;
+
+        // 整数部
+        int count = minimumIntegerDigits;
+        int digitIndex = 0;
+        if(list.decimalAt > 0 && count < list.decimalAt) {
+            count = list.decimalAt;
+        }
+
+        final int sizeBeforeIntegerPart = result.length();
+        for(int i = count - 1; i >= 0; i--) {
+            if(i < list.decimalAt && digitIndex < list.count) {
+                result.append(digits[digitIndex++]);
+            } else {
+                result.append('0');
+            }
+
+            if(groupingSize > 0 && i > 0 && i % groupingSize == 0) {
+                result.append(groupingSeparator);
+            }
+        }
+
+        final boolean fractionPresent = minimumFractionDigits > 0 || (!isInteger && digitIndex < list.count);
+        if(!fractionPresent && result.length() == sizeBeforeIntegerPart) {
+            result.append('0');
+        }
+
+        if(decimalSeparatorAlwaysShown || fractionPresent) {
+            result.append(decimalSeparator);
+        }
+
+        // 小数部
+        for(int i=0; i < maximumFractionDigits; i++) {
+            if(i >= minimumFractionDigits && (isInteger || digitIndex >= list.count)) {
+                break;
+            }
+
+            if(-1 - i > list.decimalAt - 1) {
+                result.append('0');
+                continue;
+            }
+
+            if(!isInteger && digitIndex < list.count) {
+                result.append(digits[digitIndex++]);
+            } else {
+                result.append('0');
+            }
+        }
+
+        result.append(list.negative ? negativeSuffix : positiveSuffix);
+
+        return result.toString();
+    }
+
+    /**
+     * フォーマットした形式の文字列を解析します。
+     * <p>{@link DecimalFormat#parse(String, ParsePosition)}と同じ値の{@link BigDecimal}を返します。</p>
+     *
+     * @param text 解析対象の文字列。
+     * @return 対応していない形式の場合はnullを返します。
+     */
+    public BigDecimal parse(final CharSequence text) {
+
+        if(!parsable) {
+            return null;
+        }
+
+        final int length = text.length();
+        int position;
+        final boolean negative;
+        final String suffix;
+        if(startsWith(text, 0, negativePrefix)) {
+            negative = true;
+            position = negativePrefix.length();
+            suffix = negativeSuffix;
+        } else if(startsWith(text, 0, positivePrefix)) {
+            negative = false;
+            position = positivePrefix.length();
+            suffix = positiveSuffix;
+        } else {
+            return null;
+        }
+
+        final int end = length - suffix.length();
+        if(end <= position || !startsWith(text, end, suffix)) {
+            return null;
+        }
+
+        // 整数部。桁区切りは、省略するか書式と同じ位置にあること。
+        final int integerStart = position;
+        int integerEnd = position;
+        while(integerEnd < end && text.charAt(integerEnd) != decimalSeparator) {
+            integerEnd++;
+        }
+
+        final char[] digits = new char[end - integerStart];
+        int count = 0;
+        final boolean grouped = groupingSize > 0 && indexOf(text, groupingSeparator, integerStart, integerEnd) >= 0;
+        for(int i = integerStart; i < integerEnd; i++) {
+            final char c = text.charAt(i);
+            if(grouped && (integerEnd - i) % (groupingSize + 1) == 0) {
+                if(c != groupingSeparator || i == integerStart) {
+                    return null;
+                }
+                continue;
+            }
+
+            if(c < '0' || c > '9') {
+                return null;
+            }
+            digits[count++] = c;
+        }
+
+        if(count == 0) {
+            return null;
+        }
+
+        // 小数部
+        int scale = 0;
+        if(integerEnd < end) {
+            for(int i = integerEnd + 1; i < end; i++) {
+                final char c = text.charAt(i);
+                if(c < '0' || c > '9') {
+                    return null;
+                }
+                digits[count++] = c;
+                scale++;
+            }
+
+            if(scale == 0) {
+                return null;
+            }
+        }
+
+        BigDecimal result;
+        if(count <= 18) {
+            long unscaled = 0L;
+            for(int i=0; i < count; i++) {
+                unscaled = unscaled * 10L + (digits[i] - '0');
+            }
+            result = BigDecimal.valueOf(unscaled, scale);
+        } else {
+            result = new BigDecimal(new BigInteger(new String(digits, 0, count)), scale);
+        }
+
+        return negative ? result.negate() : result;
+
+    }
+
+    private static boolean startsWith(final CharSequence text, final int offset, final String str) {
+
+        if(offset < 0 || text.length() - offset < str.length()) {
+            return false;
+        }
+
+        for(int i=0; i < str.length(); i++) {
+            if(text.charAt(offset + i) != str.charAt(i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static int indexOf(final CharSequence text, final char c, final int start, final int end) {
+        for(int i = start; i < end; i++) {
+            if(text.charAt(i) == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 元となる書式を取得します。
+     * @return {@link DecimalFormat#toPattern()}の値。
+     */
+    public String getPattern() {
+        return pattern;
+    }
+
+    /**
+     * 解析に対応しているかどうか。
+     * @return trueの場合、{@link #parse(CharSequence)}で解析できます。
+     */
+    public boolean isParsable() {
+        return parsable;
+    }
+
+    /**
+     * フォーマット対象の桁の情報。
+     * <p>{@literal java.text.DigitList}と同じく、有効な桁と小数点の位置を保持します。</p>
+     */
+    private final class Digits {
+
+        private final boolean negative;
+
+        private char[] digits;
+
+        private int count;
+
+        private int decimalAt;
+
+        private Digits(final boolean negative) {
+            this.negative = negative;
+        }
+
+        /**
+         * 小数部の桁数に合わせて丸めます。
+         * <p>{@literal DigitList#set(boolean, String, boolean, boolean, int, boolean)}の固定小数点の処理と同じです。</p>
+         */
+        void setFixedPoint(final int maximumDigits) {
+
+            if(-decimalAt > maximumDigits) {
+                count = 0;
+                return;
+
+            } else if(-decimalAt == maximumDigits) {
+                if(shouldRoundUp(0)) {
+                    count = 1;
+                    decimalAt++;
+                    digits[0] = '1';
+                } else {
+                    count = 0;
+                }
+                return;
+            }
+
+            while(count > 1 && digits[count - 1] == '0') {
+                count--;
+            }
+
+            round(maximumDigits + decimalAt);
+        }
+
+        private void round(int maximumDigits) {
+
+            if(maximumDigits >= 0 && maximumDigits < count) {
+                if(shouldRoundUp(maximumDigits)) {
+                    while(true) {
+                        maximumDigits--;
+                        if(maximumDigits < 0) {
+                            digits[0] = '1';
+                            decimalAt++;
+                            maximumDigits = 0;
+                            break;
+                        }
+
+                        digits[maximumDigits]++;
+                        if(digits[maximumDigits] <= '9') {
+                            break;
+                        }
+                    }
+                    maximumDigits++;
+                }
+
+                count = maximumDigits;
+                while(count > 1 && digits[count - 1] == '0') {
+                    count--;
+                }
+            }
+        }
+
+        /**
+         * {@literal DigitList#shouldRoundUp}の、10進数として正確な値の場合と同じ判定を行います。
+         */
+        private boolean shouldRoundUp(final int maximumDigits) {
+
+            if(maximumDigits >= count) {
+                return false;
+            }
+
+            switch(roundingMode) {
+                case UP:
+                    return hasNonZero(maximumDigits);
+                case DOWN:
+                    return false;
+                case CEILING:
+                    return hasNonZero(maximumDigits) && !negative;
+                case FLOOR:
+                    return hasNonZero(maximumDigits) && negative;
+                case HALF_UP:
+                case HALF_DOWN:
+                    if(digits[maximumDigits] > '5') {
+                        return true;
+                    } else if(digits[maximumDigits] == '5') {
+                        return maximumDigits != count - 1 || roundingMode == RoundingMode.HALF_UP;
+                    }
+                    return false;
+                case HALF_EVEN:
+                    if(digits[maximumDigits] > '5') {
+                        return true;
+                    } else if(digits[maximumDigits] == '5') {
+                        if(maximumDigits == count - 1) {
+                            return maximumDigits > 0 && (digits[maximumDigits - 1] % 2 != 0);
+                        }
+                        return hasNonZero(maximumDigits + 1);
+                    }
+                    return false;
+                case UNNECESSARY:
+                    if(hasNonZero(maximumDigits)) {
+                        throw new ArithmeticException("Rounding needed with the rounding mode being set to RoundingMode.UNNECESSARY");
+                    }
+                    return false;
+                default:
+                    return false;
+            }
+        }
+
+        private boolean hasNonZero(final int start) {
+            for(int i = start; i < count; i++) {
+                if(digits[i] != '0') {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+    }
+
+}
@@ -3,17 +3,36 @@ package com.github.mygreen.supercsv.cellprocessor.format;
 import java.sql.Time;
 import java.sql.Timestamp;
 import java.text.DateFormat;
+import java.text.DecimalFormat;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.ResolverStyle;
+import java.time.zone.ZoneRules;
 import java.util.Date;
+import java.util.GregorianCalendar;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.TimeZone;
 
 /**
  * スレッドセーフな{@link DateFormat}。
+ * <p>{@literal yyyy-MM-dd HH:mm:ss.SSS}などの数字のみの固定長の書式の場合は、
+ *   Date and Time APIに変換した書式（{@link NumericTemporalFormat}）で、ロックせずに処理します。
+ *   <br>桁数が異なる値、1900年より前の値、夏時間の切り替え時刻などの場合は、
+ *   {@link DateFormat}で処理することで、{@link SimpleDateFormat}と同じ結果を返します。
+ * </p>
  *
+ * @version 2.3
  * @since 1.2
  * @author T.TSUCHIE
  *
@@ -24,6 +43,11 @@ public class DateFormatWrapper<T extends Date> extends AbstractTextFormatter<T>
     
     private final Class<T> type;
     
+    /**
+     * ロックせずに処理するための書式。対応していない書式の場合はnull。
+     */
+    private final NumericDateFormat numericFormat;
+    
     /**
      * フォーマッタを指定してインスタンスを作成するコンストラクタ。
      * @param formatter 日時のフォーマッタ。
@@ -36,6 +60,7 @@ public class DateFormatWrapper<T extends Date> extends AbstractTextFormatter<T>
         
         this.formatter = (DateFormat) formatter.clone();
         this.type = type;
+        this.numericFormat = NumericDateFormat.create(this.formatter);
         
     }
     
@@ -71,6 +96,7 @@ public class DateFormatWrapper<T extends Date> extends AbstractTextFormatter<T>
         }
         
         this.formatter = new SimpleDateFormat(pattern);
+        this.numericFormat = NumericDateFormat.create(this.formatter);
     }
     
     /**
@@ -79,20 +105,52 @@ public class DateFormatWrapper<T extends Date> extends AbstractTextFormatter<T>
      * @return フォーマットした文字列。
      */
     @Override
-    public synchronized String print(final Date date) {
-        return formatter.format(date);
+    public String print(final Date date) {
+        
+        if(numericFormat != null) {
+            final String text = numericFormat.print(date.getTime());
+            if(text != null) {
+                return text;
+            }
+        }
+        
+        synchronized(formatter) {
+            return formatter.format(date);
+        }
         
     }
     
+    @Override
+    public T parse(final String text) throws TextParseException {
+        return parse((CharSequence)text);
+    }
+    
+    /**
+     * {@inheritDoc}
+     * <p>数字のみの書式の場合は、文字列に変換せずに処理します。</p>
+     */
     @SuppressWarnings("unchecked")
     @Override
-    public synchronized T parse(final String text) throws TextParseException {
+    public T parse(final CharSequence text) throws TextParseException {
+        
+        long time = NumericDateFormat.NOT_PARSED;
+        if(numericFormat != null) {
+            time = numericFormat.parse(text);
+        }
         
         final Date date;
-        try {
-            date = formatter.parse(text);
-        } catch (ParseException e) {
-            throw new TextParseException(text, Date.class);
+        if(time != NumericDateFormat.NOT_PARSED) {
+            date = new Date(time);
+            
+        } else {
+            final String str = text.toString();
+            try {
+                synchronized(formatter) {
+                    date = formatter.parse(str);
+                }
+            } catch (ParseException e) {
+                throw new TextParseException(str, Date.class);
+            }
         }
         
         if(Timestamp.class.isAssignableFrom(type)) {
@@ -108,10 +166,19 @@ public class DateFormatWrapper<T extends Date> extends AbstractTextFormatter<T>
             return (T)date;
             
         } else {
-            throw new TextParseException(text, type, "Cannot support type.");
+            throw new TextParseException(text.toString(), type, "Cannot support type.");
         }
     }
     
+    /**
+     * ロックせずに処理する書式が適用されているかどうか。
+     * @since 2.3
+     * @return 数字のみの固定長の書式の場合、trueを返します。
+     */
+    public boolean isLockFree() {
+        return numericFormat != null;
+    }
+    
     @Override
     public Optional<String> getPattern() {
         
@@ -132,4 +199,209 @@ public class DateFormatWrapper<T extends Date> extends AbstractTextFormatter<T>
         return vars;
     }
     
+    /**
+     * {@link SimpleDateFormat}の数字のみの書式を、Date and Time APIで処理するクラス。
+     * <p>{@link SimpleDateFormat}と同じ結果になることが確実な値のみ処理し、それ以外は呼び出し元で{@link DateFormat}で処理します。</p>
+     */
+    private static final class NumericDateFormat {
+        
+        /** 解析できなかったことを表す値 */
+        static final long NOT_PARSED = Long.MIN_VALUE;
+        
+        /**
+         * 処理する最小の年。
+         * <p>グレゴリオ暦への切り替えや、地方平均時など、{@link java.util.Calendar}と扱いが異なる可能性がある期間を除くため。</p>
+         */
+        private static final int MIN_YEAR = 1900;
+        
+        private static final int MAX_YEAR = 9999;
+        
+        /** 1900-01-01T00:00:00Zのエポックミリ秒 */
+        private static final long MIN_YEAR_EPOCH_MILLI = -2208988800000L;
+        
+        private static final LocalDate EPOCH_DATE = LocalDate.of(1970, 1, 1);
+        
+        private final NumericTemporalFormat<LocalDateTime> dateTimeFormat;
+        
+        private final NumericTemporalFormat<LocalDate> dateFormat;
+        
+        private final NumericTemporalFormat<LocalTime> timeFormat;
+        
+        private final ZoneRules rules;
+        
+        private NumericDateFormat(final NumericTemporalFormat<LocalDateTime> dateTimeFormat,
+                final NumericTemporalFormat<LocalDate> dateFormat, final NumericTemporalFormat<LocalTime> timeFormat,
+                final ZoneRules rules) {
+            this.dateTimeFormat = dateTimeFormat;
+            this.dateFormat = dateFormat;
+            this.timeFormat = timeFormat;
+            this.rules = rules;
+        }
+        
+        /**
+         * {@link DateFormat}の書式を変換します。
+         * @return 対応していない場合はnull。
+         */
+        static NumericDateFormat create(final DateFormat formatter) {
+            
+            if(!(formatter instanceof SimpleDateFormat)) {
+                return null;
+            }
+            
+            // 和暦やタイ仏暦などのカレンダー、数字の表記が異なる場合は対象外
+            final SimpleDateFormat sdf = (SimpleDateFormat) formatter;
+            if(sdf.getCalendar().getClass() != GregorianCalendar.class
+                    || ((GregorianCalendar)sdf.getCalendar()).getGregorianChange().getTime() > MIN_YEAR_EPOCH_MILLI) {
+                return null;
+            }
+            
+            if(!(sdf.getNumberFormat() instanceof DecimalFormat)
+                    || ((DecimalFormat)sdf.getNumberFormat()).getDecimalFormatSymbols().getZeroDigit() != '0') {
+                return null;
+            }
+            
+            final TimeZone timeZone = sdf.getTimeZone();
+            final ZoneId zoneId;
+            try {
+                zoneId = timeZone.toZoneId();
+            } catch(RuntimeException e) {
+                return null;
+            }
+            
+            if(!timeZone.hasSameRules(TimeZone.getTimeZone(zoneId))) {
+                return null;
+            }
+            
+            final String pattern = translatePattern(sdf.toPattern());
+            if(pattern == null) {
+                return null;
+            }
+            
+            final DateTimeFormatter temporalFormatter = DateTimeFormatter.ofPattern(pattern)
+                    .withResolverStyle(ResolverStyle.STRICT);
+            
+            final Optional<NumericTemporalFormat<LocalDateTime>> dateTimeFormat =
+                    NumericTemporalFormat.compile(pattern, temporalFormatter, LocalDateTime.class);
+            final Optional<NumericTemporalFormat<LocalDate>> dateFormat = dateTimeFormat.isPresent() ? Optional.empty()
+                    : NumericTemporalFormat.compile(pattern, temporalFormatter, LocalDate.class);
+            final Optional<NumericTemporalFormat<LocalTime>> timeFormat = dateTimeFormat.isPresent() || dateFormat.isPresent()
+                    ? Optional.empty() : NumericTemporalFormat.compile(pattern, temporalFormatter, LocalTime.class);
+            
+            if(!dateTimeFormat.isPresent() && !dateFormat.isPresent() && !timeFormat.isPresent()) {
+                return null;
+            }
+            
+            return new NumericDateFormat(dateTimeFormat.orElse(null), dateFormat.orElse(null), timeFormat.orElse(null),
+                    zoneId.getRules());
+        }
+        
+        /**
+         * {@link SimpleDateFormat}の書式を、{@link DateTimeFormatter}の書式に変換します。
+         * @return 変換できない書式の場合はnull。
+         */
+        private static String translatePattern(final String pattern) {
+            
+            final StringBuilder result = new StringBuilder(pattern.length());
+            final int length = pattern.length();
+            int i = 0;
+            while(i < length) {
+                final char c = pattern.charAt(i);
+                if(c == '\'') {
+                    final int end = pattern.indexOf('\'', i + 1);
+                    if(end <= i + 1) {
+                        return null;
+                    }
+                    result.append(pattern, i, end + 1);
+                    i = end + 1;
+                    continue;
+                }
+                
+                if((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')) {
+                    int end = i;
+                    while(end < length && pattern.charAt(end) == c) {
+                        end++;
+                    }
+                    
+                    final int count = end - i;
+                    if(c == 'y' && count == 4) {
+                        result.append("uuuu");
+                    } else if((c == 'M' || c == 'd' || c == 'H' || c == 'm' || c == 's') && count == 2) {
+                        result.append(c).append(c);
+                    } else if(c == 'S' && count == 3) {
+                        // SimpleDateFormatのミリ秒は、3桁の場合のみ秒の小数と同じ
+                        result.append("SSS");
+                    } else {
+                        return null;
+                    }
+                    
+                    i = end;
+                    continue;
+                }
+                
+                result.append(c);
+                i++;
+            }
+            
+            return result.toString();
+        }
+        
+        /**
+         * 文字列を解析します。
+         * @return エポックミリ秒。処理できない場合は、{@link #NOT_PARSED}を返します。
+         */
+        long parse(final CharSequence text) {
+            
+            final LocalDateTime dateTime;
+            if(dateTimeFormat != null) {
+                dateTime = dateTimeFormat.parse(text);
+                
+            } else if(dateFormat != null) {
+                final LocalDate date = dateFormat.parse(text);
+                dateTime = date != null ? date.atStartOfDay() : null;
+                
+            } else {
+                final LocalTime time = timeFormat.parse(text);
+                dateTime = time != null ? time.atDate(EPOCH_DATE) : null;
+            }
+            
+            if(dateTime == null || dateTime.getYear() < MIN_YEAR) {
+                return NOT_PARSED;
+            }
+            
+            // 夏時間の切り替えなど、オフセットが一意に決まらない場合は対象外
+            final List<ZoneOffset> offsets = rules.getValidOffsets(dateTime);
+            if(offsets.size() != 1) {
+                return NOT_PARSED;
+            }
+            
+            return dateTime.toEpochSecond(offsets.get(0)) * 1000L + dateTime.getNano() / 1_000_000;
+        }
+        
+        /**
+         * エポックミリ秒をフォーマットします。
+         * @return 処理できない場合はnull。
+         */
+        String print(final long time) {
+            
+            final long second = Math.floorDiv(time, 1000L);
+            final int nano = (int)Math.floorMod(time, 1000L) * 1_000_000;
+            final ZoneOffset offset = rules.getOffset(Instant.ofEpochSecond(second));
+            final LocalDateTime dateTime = LocalDateTime.ofEpochSecond(second, nano, offset);
+            if(dateTime.getYear() < MIN_YEAR || dateTime.getYear() > MAX_YEAR) {
+                return null;
+            }
+            
+            if(dateTimeFormat != null) {
+                return dateTimeFormat.print(dateTime);
+                
+            } else if(dateFormat != null) {
+                return dateFormat.print(dateTime.toLocalDate());
+                
+            } else {
+                return timeFormat.print(dateTime.toLocalTime());
+            }
+        }
+        
+    }
+    
 }
@@ -14,6 +14,7 @@ import com.github.mygreen.supercsv.util.ArgUtils;
 /**
  * 列挙型をフォーマットするクラス。
  * 
+ * @version 2.3
  * @since 2.0
  * @author T.TSUCHIE
  *
@@ -162,6 +163,45 @@ public class EnumFormatter<T extends Enum<T>> extends AbstractTextFormatter<T> {
         
     }
     
+    /**
+     * {@inheritDoc}
+     * <p>大文字・小文字を区別する場合は、文字列を作成せずに列挙型の値と比較します。</p>
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public T parse(final CharSequence text) {
+        
+        if(ignoreCase) {
+            // 小文字への変換はロケールに依存するため、文字列として処理する。
+            return parse(text.toString());
+        }
+        
+        for(Map.Entry<String, Enum<?>> entry : toObjectMap.entrySet()) {
+            if(equalsKey(entry.getKey(), text)) {
+                return (T)entry.getValue();
+            }
+        }
+        
+        throw new TextParseException(text.toString(), type);
+        
+    }
+    
+    private boolean equalsKey(final String key, final CharSequence text) {
+        
+        final int length = key.length();
+        if(length != text.length()) {
+            return false;
+        }
+        
+        for(int i=0; i < length; i++) {
+            if(key.charAt(i) != text.charAt(i)) {
+                return false;
+            }
+        }
+        
+        return true;
+    }
+    
     @Override
     public String print(final T object) {
         
@@ -13,8 +13,12 @@ import java.util.Optional;
 
 /**
  * 書式を指定した数値のフォーマッタ。
+ * <p>{@link DecimalFormat}の書式が{@link CompiledDecimalFormat}で処理できる場合は、
+ *   {@link DecimalFormat}を使わずに、ロックなしでフォーマット・解析します。
+ * </p>
  * 
  * @since 1.2
+ * @version 2.3
  * @author T.TSUCHIE
  *
  */
@@ -26,6 +30,11 @@ public class NumberFormatWrapper<T extends Number> extends AbstractTextFormatter
     
     private final boolean lenient;
     
+    /**
+     * {@link DecimalFormat}を使わずに処理するフォーマッタ。対応していない書式の場合はnull。
+     */
+    private final CompiledDecimalFormat compiledFormat;
+    
     public NumberFormatWrapper(final NumberFormat formatter, final Class<T> type) {
         this(formatter, type, false);
     }
@@ -37,12 +46,24 @@ public class NumberFormatWrapper<T extends Number> extends AbstractTextFormatter
         this.formatter = (NumberFormat) formatter.clone();
         this.type = type;
         this.lenient = lenient;
+        this.compiledFormat = this.formatter instanceof DecimalFormat
+                ? CompiledDecimalFormat.compile((DecimalFormat) this.formatter).orElse(null) : null;
         
     }
     
     @Override
-    public synchronized String print(final Number number) {
-        return formatter.format(number);
+    public String print(final Number number) {
+        
+        if(compiledFormat != null) {
+            final String text = compiledFormat.print(number);
+            if(text != null) {
+                return text;
+            }
+        }
+        
+        synchronized(formatter) {
+            return formatter.format(number);
+        }
     }
     
     @Override
@@ -61,23 +82,9 @@ public class NumberFormatWrapper<T extends Number> extends AbstractTextFormatter
      * @throws TextParseException fail convert Number or BigDecimal.
      */
     @SuppressWarnings("unchecked")
-    synchronized <N extends Number> N parse(final Class<N> type, final String text) {
-        
-        final Number result;
-        if(lenient) {
-            try {
-                result = formatter.parse(text);
-            } catch(ParseException e) {
-                throw new TextParseException(text, type, e);
-            }
-        } else {
-            ParsePosition position = new ParsePosition(0);
-            result = formatter.parse(text, position);
-            
-            if(position.getIndex() != text.length()) {
-                throw new TextParseException(text, type, String.format("Cannot parse '%s' using fromat %s", text, getPattern()));
-            }
-        }
+    <N extends Number> N parse(final Class<N> type, final String text) {
+        
+        final Number result = parseNumber(type, text);
         
         try {
             if(result instanceof BigDecimal) {
@@ -93,6 +100,40 @@ public class NumberFormatWrapper<T extends Number> extends AbstractTextFormatter
         
     }
     
+    /**
+     * 文字列を数値に変換します。
+     * <p>{@link CompiledDecimalFormat}で解析できない場合は、{@link NumberFormat}で解析します。</p>
+     */
+    private Number parseNumber(final Class<? extends Number> type, final String text) {
+        
+        if(compiledFormat != null) {
+            final BigDecimal result = compiledFormat.parse(text);
+            if(result != null) {
+                return result;
+            }
+        }
+        
+        synchronized(formatter) {
+            if(lenient) {
+                try {
+                    return formatter.parse(text);
+                } catch(ParseException e) {
+                    throw new TextParseException(text, type, e);
+                }
+            }
+            
+            ParsePosition position = new ParsePosition(0);
+            final Number result = formatter.parse(text, position);
+            
+            if(position.getIndex() != text.length()) {
+                throw new TextParseException(text, type, String.format("Cannot parse '%s' using fromat %s", text, getPattern()));
+            }
+            
+            return result;
+        }
+        
+    }
+    
     private Number convertWithNumber(final Class<? extends Number> type, final Number number, final String str) {
         
         if(Byte.class.isAssignableFrom(type) || byte.class.isAssignableFrom(type)) {
@@ -168,6 +209,16 @@ public class NumberFormatWrapper<T extends Number> extends AbstractTextFormatter
         
     }
     
+    /**
+     * {@link DecimalFormat}を使わずに、フォーマット・解析するかどうか。
+     * 
+     * @since 2.3
+     * @return trueの場合、書式が{@link CompiledDecimalFormat}に対応しています。
+     */
+    public boolean isCompiled() {
+        return compiledFormat != null;
+    }
+    
     /**
      * パースする際に、数値に変換可能な部分のみ変換するかどうか。
      * <p>例えば、trueのときは、{@literal 123abc} をパースする際に{@literal 123}を数値としてパースします。
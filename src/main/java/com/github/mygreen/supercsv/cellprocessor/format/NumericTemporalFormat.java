@@ -0,0 +1,503 @@
+package com.github.mygreen.supercsv.cellprocessor.format;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Month;
+import java.time.MonthDay;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.Year;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.chrono.IsoChronology;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DecimalStyle;
+import java.time.format.ResolverStyle;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * 数字と区切り文字のみから成る固定長の書式を、{@link DateTimeFormatter}を使わずに解析・フォーマットするクラス。
+ * <p>{@literal uuuu-MM-dd}、{@literal uuuuMMdd}、{@literal uuuu/MM/dd HH:mm:ss}、{@literal uuuu-MM-dd'T'HH:mm:ssxxx}などの
+ *   書式が対象です。{@link #compile(String, DateTimeFormatter, Class)}で対象の書式かどうか判定します。
+ * </p>
+ * <p>各項目が範囲内の値の場合のみ処理し、それ以外の場合はnullを返します。
+ *   その場合は、{@link DateTimeFormatter}で処理することで、エラーメッセージや日付の補正などの結果を同じにします。
+ * </p>
+ *
+ * @param <T> 日時のクラスタイプ
+ * @since 2.3
+ * @author T.TSUCHIE
+ *
+ */
+public final class NumericTemporalFormat<T extends TemporalAccessor> {
+
+    private static final int FIELD_YEAR = 0;
+    private static final int FIELD_MONTH = 1;
+    private static final int FIELD_DAY = 2;
+    private static final int FIELD_HOUR = 3;
+    private static final int FIELD_MINUTE = 4;
+    private static final int FIELD_SECOND = 5;
+    private static final int FIELD_OFFSET = 6;
+    private static final int FIELD_MILLI = 7;
+
+    /** オフセット「+HH:MM」の文字数 */
+    private static final int OFFSET_WIDTH = 6;
+
+    /**
+     * 対応するクラスタイプ
+     */
+    private enum Kind {
+
+        LOCAL_DATE(LocalDate.class, mask(FIELD_YEAR, FIELD_MONTH, FIELD_DAY)),
+        LOCAL_DATE_TIME(LocalDateTime.class, mask(FIELD_YEAR, FIELD_MONTH, FIELD_DAY, FIELD_HOUR, FIELD_MINUTE)),
+        LOCAL_TIME(LocalTime.class, mask(FIELD_HOUR, FIELD_MINUTE)),
+        OFFSET_DATE_TIME(OffsetDateTime.class, mask(FIELD_YEAR, FIELD_MONTH, FIELD_DAY, FIELD_HOUR, FIELD_MINUTE, FIELD_OFFSET)),
+        OFFSET_TIME(OffsetTime.class, mask(FIELD_HOUR, FIELD_MINUTE, FIELD_OFFSET)),
+        YEAR_MONTH(YearMonth.class, mask(FIELD_YEAR, FIELD_MONTH)),
+        YEAR(Year.class, mask(FIELD_YEAR)),
+        MONTH_DAY(MonthDay.class, mask(FIELD_MONTH, FIELD_DAY));
+
+        private final Class<?> type;
+
+        /** 必須の項目 */
+        private final int requiredFields;
+
+        private Kind(final Class<?> type, final int requiredFields) {
+            this.type = type;
+            this.requiredFields = requiredFields;
+        }
+
+        /**
+         * 時刻を持つ場合は、秒とミリ秒を省略できる。
+         */
+        int allowedFields() {
+            return (requiredFields & mask(FIELD_HOUR)) != 0 ? requiredFields | mask(FIELD_SECOND, FIELD_MILLI) : requiredFields;
+        }
+
+        static Optional<Kind> of(final Class<?> type) {
+            for(Kind kind : values()) {
+                if(kind.type.equals(type)) {
+                    return Optional.of(kind);
+                }
+            }
+            return Optional.empty();
+        }
+
+    }
+
+    private static int mask(final int... fields) {
+        int mask = 0;
+        for(int field : fields) {
+            mask |= 1 << field;
+        }
+        return mask;
+    }
+
+    private final Kind kind;
+
+    /** 区切り文字を埋め込んだ、書式のひな形 */
+    private final char[] template;
+
+    /** 区切り文字の位置 */
+    private final int[] literalPositions;
+
+    /** 項目ごとの開始位置。項目がない場合は-1。 */
+    private final int[] positions;
+
+    /** 年を、紀元の年（yyyy）で指定しているかどうか */
+    private final boolean yearOfEra;
+
+    /** オフセットが0のとき、「Z」とするかどうか（XXX） */
+    private final boolean zeroOffsetAsZ;
+
+    /**
+     * フォーマットに対応するかどうか。
+     * <p>{@link DateTimeFormatter#withZone(java.time.ZoneId)}でタイムゾーンを指定した場合、
+     *   時点を持つ値はそのタイムゾーンに変換してフォーマットされるため対象外とします。</p>
+     */
+    private final boolean printable;
+
+    /**
+     * {@link DateTimeFormatter#withZone(java.time.ZoneId)}で、固定のオフセットを指定した場合のオフセット。
+     * <p>{@link OffsetTime}のオフセットが異なる場合、{@link DateTimeFormatter}は例外をスローするため、
+     *   フォーマットの対象外とします。</p>
+     */
+    private final ZoneOffset overrideOffset;
+
+    private NumericTemporalFormat(final Kind kind, final char[] template, final int[] literalPositions,
+            final int[] positions, final boolean yearOfEra, final boolean zeroOffsetAsZ, final boolean printable,
+            final ZoneOffset overrideOffset) {
+        this.kind = kind;
+        this.template = template;
+        this.literalPositions = literalPositions;
+        this.positions = positions;
+        this.yearOfEra = yearOfEra;
+        this.zeroOffsetAsZ = zeroOffsetAsZ;
+        this.printable = printable;
+        this.overrideOffset = overrideOffset;
+    }
+
+    /**
+     * 書式を解析し、対応している場合はインスタンスを作成します。
+     * <p>次の条件を満たす場合に対応しています。</p>
+     * <ul>
+     *   <li>クラスタイプが、{@link LocalDate}、{@link LocalDateTime}、{@link LocalTime}、{@link OffsetDateTime}、
+     *       {@link OffsetTime}、{@link YearMonth}、{@link Year}、{@link MonthDay}のいずれか。</li>
+     *   <li>書式が、{@literal uuuu}、{@literal MM}、{@literal dd}、{@literal HH}、{@literal mm}、{@literal ss}、
+     *       {@literal SSS}、{@literal xxx}、{@literal XXX}と、数字以外の区切り文字のみから成る。
+     *       <br>{@literal yyyy}は、{@link ResolverStyle#STRICT}以外の場合のみ対応します。
+     *   </li>
+     *   <li>フォーマッタが、ISO暦かつ標準の数字の表記（{@link DecimalStyle#STANDARD}）である。</li>
+     * </ul>
+     *
+     * @param pattern 書式
+     * @param formatter 書式から作成したフォーマッタ
+     * @param type クラスタイプ
+     * @return 対応していない場合は空を返します。
+     * @throws NullPointerException {@literal pattern or formatter or type is null.}
+     */
+    public static <T extends TemporalAccessor> Optional<NumericTemporalFormat<T>> compile(final String pattern,
+            final DateTimeFormatter formatter, final Class<T> type) {
+
+        Objects.requireNonNull(pattern);
+        Objects.requireNonNull(formatter);
+        Objects.requireNonNull(type);
+
+        final Optional<Kind> kind = Kind.of(type);
+        if(!kind.isPresent()) {
+            return Optional.empty();
+        }
+
+        if(!formatter.getDecimalStyle().equals(DecimalStyle.STANDARD)
+                || (formatter.getChronology() != null && !formatter.getChronology().equals(IsoChronology.INSTANCE))) {
+            return Optional.empty();
+        }
+
+        final StringBuilder template = new StringBuilder();
+        final List<Integer> literals = new ArrayList<>();
+        final int[] positions = {-1, -1, -1, -1, -1, -1, -1, -1};
+        boolean yearOfEra = false;
+        boolean zeroOffsetAsZ = false;
+        int fields = 0;
+
+        final int length = pattern.length();
+        int i = 0;
+        while(i < length) {
+            final char c = pattern.charAt(i);
+
+            if(c == '\'') {
+                // 引用符で囲った区切り文字
+                final int end = pattern.indexOf('\'', i + 1);
+                if(end <= i + 1) {
+                    return Optional.empty();
+                }
+                for(int j=i + 1; j < end; j++) {
+                    if(!appendLiteral(pattern.charAt(j), template, literals)) {
+                        return Optional.empty();
+                    }
+                }
+                i = end + 1;
+                continue;
+            }
+
+            if((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')) {
+                int end = i;
+                while(end < length && pattern.charAt(end) == c) {
+                    end++;
+                }
+
+                final int count = end - i;
+                final int field;
+                final int width;
+                if(c == 'u' && count == 4) {
+                    field = FIELD_YEAR;
+                    width = 4;
+                } else if(c == 'y' && count == 4 && formatter.getResolverStyle() != ResolverStyle.STRICT) {
+                    // 厳密な解析では、紀元の年は紀元がないと解決できない
+                    field = FIELD_YEAR;
+                    width = 4;
+                    yearOfEra = true;
+                } else if(c == 'M' && count == 2) {
+                    field = FIELD_MONTH;
+                    width = 2;
+                } else if(c == 'd' && count == 2) {
+                    field = FIELD_DAY;
+                    width = 2;
+                } else if(c == 'H' && count == 2) {
+                    field = FIELD_HOUR;
+                    width = 2;
+                } else if(c == 'm' && count == 2) {
+                    field = FIELD_MINUTE;
+                    width = 2;
+                } else if(c == 's' && count == 2) {
+                    field = FIELD_SECOND;
+                    width = 2;
+                } else if(c == 'S' && count == 3) {
+                    field = FIELD_MILLI;
+                    width = 3;
+                } else if((c == 'x' || c == 'X') && count == 3) {
+                    field = FIELD_OFFSET;
+                    width = OFFSET_WIDTH;
+                    zeroOffsetAsZ = c == 'X';
+                } else {
+                    return Optional.empty();
+                }
+
+                if((fields & mask(field)) != 0) {
+                    return Optional.empty();
+                }
+                fields |= mask(field);
+                positions[field] = template.length();
+                for(int j=0; j < width; j++) {
+                    template.append('0');
+                }
+
+                i = end;
+                continue;
+            }
+
+            if(!appendLiteral(c, template, literals)) {
+                return Optional.empty();
+            }
+            i++;
+        }
+
+        if((fields & kind.get().requiredFields) != kind.get().requiredFields
+                || (fields & ~kind.get().allowedFields()) != 0) {
+            return Optional.empty();
+        }
+
+        final int[] literalPositions = literals.stream().mapToInt(Integer::intValue).toArray();
+
+        final char[] chars = new char[template.length()];
+        template.getChars(0, chars.length, chars, 0);
+
+        final ZoneOffset overrideOffset = (formatter.getZone() != null && formatter.getZone().normalized() instanceof ZoneOffset)
+                ? (ZoneOffset)formatter.getZone().normalized() : null;
+
+        return Optional.of(new NumericTemporalFormat<>(kind.get(), chars, literalPositions, positions,
+                yearOfEra, zeroOffsetAsZ, kind.get() != Kind.OFFSET_DATE_TIME || formatter.getZone() == null,
+                overrideOffset));
+    }
+
+    /**
+     * 区切り文字を追加します。
+     * @param literals 区切り文字の位置
+     * @return 対応していない文字の場合はfalse。
+     */
+    private static boolean appendLiteral(final char c, final StringBuilder template, final List<Integer> literals) {
+
+        if((c >= '0' && c <= '9') || c == '[' || c == ']' || c == '{' || c == '}' || c == '#' || c == '\'') {
+            // 数字は、年の桁数の解釈を変えるため対象外とする
+            return false;
+        }
+
+        literals.add(template.length());
+        template.append(c);
+        return true;
+    }
+
+    /**
+     * 文字列を解析します。
+     * @param text 解析対象の文字列。
+     * @return 書式に一致しない、または範囲外の値の場合はnullを返します。
+     */
+    @SuppressWarnings("unchecked")
+    public T parse(final CharSequence text) {
+
+        if(text.length() != template.length) {
+            return null;
+        }
+
+        for(int position : literalPositions) {
+            if(text.charAt(position) != template[position]) {
+                return null;
+            }
+        }
+
+        final int year = positions[FIELD_YEAR] < 0 ? 0 : parseDigits(text, positions[FIELD_YEAR], 4);
+        final int month = positions[FIELD_MONTH] < 0 ? 1 : parseDigits(text, positions[FIELD_MONTH], 2);
+        final int day = positions[FIELD_DAY] < 0 ? 1 : parseDigits(text, positions[FIELD_DAY], 2);
+        final int hour = positions[FIELD_HOUR] < 0 ? 0 : parseDigits(text, positions[FIELD_HOUR], 2);
+        final int minute = positions[FIELD_MINUTE] < 0 ? 0 : parseDigits(text, positions[FIELD_MINUTE], 2);
+        final int second = positions[FIELD_SECOND] < 0 ? 0 : parseDigits(text, positions[FIELD_SECOND], 2);
+        final int milli = positions[FIELD_MILLI] < 0 ? 0 : parseDigits(text, positions[FIELD_MILLI], 3);
+
+        if(year < 0 || (yearOfEra && year < 1)
+                || month < 1 || month > 12
+                || hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59 || milli < 0) {
+            return null;
+        }
+
+        if(day < 1 || day > 28) {
+            // 月の日数を確認する
+            final int maxDay = positions[FIELD_YEAR] < 0 ? Month.of(month).maxLength()
+                    : Month.of(month).length(IsoChronology.INSTANCE.isLeapYear(year));
+            if(day < 1 || day > maxDay) {
+                return null;
+            }
+        }
+
+        ZoneOffset offset = null;
+        if(positions[FIELD_OFFSET] >= 0) {
+            offset = parseOffset(text, positions[FIELD_OFFSET]);
+            if(offset == null) {
+                return null;
+            }
+        }
+
+        final int nano = milli * 1_000_000;
+        switch(kind) {
+            case LOCAL_DATE:
+                return (T) LocalDate.of(year, month, day);
+            case LOCAL_DATE_TIME:
+                return (T) LocalDateTime.of(year, month, day, hour, minute, second, nano);
+            case LOCAL_TIME:
+                return (T) LocalTime.of(hour, minute, second, nano);
+            case OFFSET_DATE_TIME:
+                return (T) OffsetDateTime.of(year, month, day, hour, minute, second, nano, offset);
+            case OFFSET_TIME:
+                return (T) OffsetTime.of(hour, minute, second, nano, offset);
+            case YEAR_MONTH:
+                return (T) YearMonth.of(year, month);
+            case YEAR:
+                return (T) Year.of(year);
+            case MONTH_DAY:
+                return (T) MonthDay.of(month, day);
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * 数字を解析します。
+     * @return 数字以外を含む場合は-1。
+     */
+    private static int parseDigits(final CharSequence text, final int start, final int width) {
+
+        int value = 0;
+        for(int i=start; i < start + width; i++) {
+            final int digit = text.charAt(i) - '0';
+            if(digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    /**
+     * オフセット「+HH:MM」を解析します。
+     * <p>「Z」は、ひな形と長さが異なるため、フォーマッタで解析します。</p>
+     * @return 解析できない場合はnull。
+     */
+    private ZoneOffset parseOffset(final CharSequence text, final int start) {
+
+        final char sign = text.charAt(start);
+        if(sign != '+' && sign != '-' || text.charAt(start + 3) != ':') {
+            return null;
+        }
+
+        final int hours = parseDigits(text, start + 1, 2);
+        final int minutes = parseDigits(text, start + 4, 2);
+        if(hours < 0 || minutes < 0 || minutes > 59 || hours * 60 + minutes > 18 * 60
+                || (hours == 0 && minutes == 0 && sign == '-')) {
+            return null;
+        }
+
+        final int totalSeconds = (hours * 3600 + minutes * 60) * (sign == '-' ? -1 : 1);
+        return ZoneOffset.ofTotalSeconds(totalSeconds);
+    }
+
+    /**
+     * 値をフォーマットします。
+     * @param value フォーマット対象の値。
+     * @return 書式で表現できない値（年が4桁を超えるなど）の場合はnullを返します。
+     */
+    public String print(final T value) {
+
+        if(!printable) {
+            return null;
+        }
+
+        if(kind == Kind.OFFSET_TIME && overrideOffset != null
+                && value.get(ChronoField.OFFSET_SECONDS) != overrideOffset.getTotalSeconds()) {
+            // DateTimeFormatterで、オフセットが異なるエラーとする。
+            return null;
+        }
+
+        final char[] chars = template.clone();
+
+        if(positions[FIELD_YEAR] >= 0) {
+            final int year = value.get(ChronoField.YEAR);
+            if(year < (yearOfEra ? 1 : 0) || year > 9999) {
+                return null;
+            }
+            printDigits(chars, positions[FIELD_YEAR], 4, year);
+        }
+
+        if(positions[FIELD_MONTH] >= 0) {
+            printDigits(chars, positions[FIELD_MONTH], 2, value.get(ChronoField.MONTH_OF_YEAR));
+        }
+
+        if(positions[FIELD_DAY] >= 0) {
+            printDigits(chars, positions[FIELD_DAY], 2, value.get(ChronoField.DAY_OF_MONTH));
+        }
+
+        if(positions[FIELD_HOUR] >= 0) {
+            printDigits(chars, positions[FIELD_HOUR], 2, value.get(ChronoField.HOUR_OF_DAY));
+        }
+
+        if(positions[FIELD_MINUTE] >= 0) {
+            printDigits(chars, positions[FIELD_MINUTE], 2, value.get(ChronoField.MINUTE_OF_HOUR));
+        }
+
+        if(positions[FIELD_SECOND] >= 0) {
+            printDigits(chars, positions[FIELD_SECOND], 2, value.get(ChronoField.SECOND_OF_MINUTE));
+        }
+
+        if(positions[FIELD_MILLI] >= 0) {
+            printDigits(chars, positions[FIELD_MILLI], 3, value.get(ChronoField.MILLI_OF_SECOND));
+        }
+
+        if(positions[FIELD_OFFSET] >= 0) {
+            final int totalSeconds = value.get(ChronoField.OFFSET_SECONDS);
+            if(totalSeconds % 60 != 0) {
+                return null;
+            }
+
+            if(totalSeconds == 0 && zeroOffsetAsZ) {
+                // 「Z」の場合は、ひな形の長さと異なる
+                final StringBuilder sb = new StringBuilder(chars.length - OFFSET_WIDTH + 1);
+                sb.append(chars, 0, positions[FIELD_OFFSET])
+                    .append('Z')
+                    .append(chars, positions[FIELD_OFFSET] + OFFSET_WIDTH, chars.length - positions[FIELD_OFFSET] - OFFSET_WIDTH);
+                return sb.toString();
+            }
+
+            final int absMinutes = Math.abs(totalSeconds) / 60;
+            chars[positions[FIELD_OFFSET]] = totalSeconds < 0 ? '-' : '+';
+            printDigits(chars, positions[FIELD_OFFSET] + 1, 2, absMinutes / 60);
+            chars[positions[FIELD_OFFSET] + 3] = ':';
+            printDigits(chars, positions[FIELD_OFFSET] + 4, 2, absMinutes % 60);
+        }
+
+        return new String(chars);
+    }
+
+    private static void printDigits(final char[] chars, final int start, final int width, final int value) {
+
+        int remain = value;
+        for(int i=start + width - 1; i >= start; i--) {
+            chars[i] = (char)('0' + remain % 10);
+            remain /= 10;
+        }
+    }
+
+}
@@ -11,6 +11,7 @@ import com.github.mygreen.supercsv.util.Utils;
  * 文字列を解析して、各オブジェクト型に変換するCellProcessor。
  * <p>各オブジェクトに実装された{@link TextParser}で処理を行う。</p>
  *
+ * @version 2.3
  * @since 2.0
  * @author T.TSUCHIE
  *
@@ -54,7 +55,7 @@ public class ParseProcessor<T> extends ValidationCellProcessor implements String
     @Override
     public Object execute(final Object value, final CsvContext context) {
         
-        final String text = (String)value;
+        final CharSequence text = (CharSequence)value;
         if(Utils.isEmpty(text)) {
             if(type.isPrimitive()) {
                 // プリミティブ型の場合
@@ -68,14 +69,16 @@ public class ParseProcessor<T> extends ValidationCellProcessor implements String
         }
         
         try {
-            final T result = parser.parse((String) value);
+            final T result = (text == null || text instanceof String) ? parser.parse((String)text) : parser.parse(text);
             return next.execute(result, context);
             
         } catch(TextParseException e) {
+            // ビューの場合は、後から参照できるよう文字列に変換しておく。
+            final String rejectedValue = (text == null) ? null : text.toString();
             throw createValidationException(context)
-                .messageFormat("'%s' could not parse to %s.", value, getType().getName())
+                .messageFormat("'%s' could not parse to %s.", rejectedValue, getType().getName())
                 .exception(e)
-                .rejectedValue(value)
+                .rejectedValue(rejectedValue)
                 .validationMessageIfPresent(parser.getValidationMessage())
                 .messageVariables(parser.getMessageVariables())
                 .parsedError(true)
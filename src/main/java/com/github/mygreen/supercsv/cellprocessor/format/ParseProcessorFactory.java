@@ -4,6 +4,7 @@ import java.util.Optional;
 
 import org.supercsv.cellprocessor.ift.CellProcessor;
 
+import com.github.mygreen.supercsv.annotation.format.CsvParseCache;
 import com.github.mygreen.supercsv.builder.BuildCase;
 import com.github.mygreen.supercsv.builder.Configuration;
 import com.github.mygreen.supercsv.builder.FieldAccessor;
@@ -11,7 +12,11 @@ import com.github.mygreen.supercsv.cellprocessor.ProcessorFactory;
 
 /**
  * 文字列をパースして、各オブジェクト型に変換するCellProcessor {@link ParseProcessor}を作成する。
+ * <p>アノテーション{@link CsvParseCache}が付与されている場合、または{@link Configuration#getParseCacheSize()}が1以上の場合、
+ *   パースした結果をキャッシュする{@link CachedTextParser}でラップします。
+ * </p>
  * 
+ * @version 2.3
  * @since 2.0
  * @author T.TSUCHIE
  *
@@ -25,13 +30,34 @@ public class ParseProcessorFactory<T> implements ProcessorFactory {
             final BuildCase buildCase, final Class<?>[] groups) {
         
         final Class<T> fieldType = (Class<T>)field.getType();
-        final TextFormatter<T> typeFormatter = (TextFormatter<T>)formatter;
+        final TextParser<T> parser = createParser(fieldType, (TextFormatter<T>)formatter, field, config);
         
-        final ParseProcessor<T> processor = next.map(n -> new ParseProcessor<>(fieldType, typeFormatter, n))
-                .orElseGet(() -> new ParseProcessor<>(fieldType, typeFormatter));
+        final ParseProcessor<T> processor = next.map(n -> new ParseProcessor<>(fieldType, parser, n))
+                .orElseGet(() -> new ParseProcessor<>(fieldType, parser));
         
         return Optional.of(processor);
         
     }
     
+    /**
+     * パーサを作成します。
+     * <p>キャッシュが有効な場合は、{@link CachedTextParser}でラップします。</p>
+     * @since 2.3
+     * @param fieldType フィールドのクラスタイプ
+     * @param formatter フォーマッタ
+     * @param field フィールド情報
+     * @param config システム設定
+     * @return パーサ
+     */
+    protected TextParser<T> createParser(final Class<T> fieldType, final TextFormatter<T> formatter,
+            final FieldAccessor field, final Configuration config) {
+        
+        final int cacheSize = field.getAnnotation(CsvParseCache.class)
+                .map(a -> a.size())
+                .orElse(config.getParseCacheSize());
+        
+        return CachedTextParser.create(fieldType, formatter, cacheSize)
+                .orElse(formatter);
+    }
+    
 }
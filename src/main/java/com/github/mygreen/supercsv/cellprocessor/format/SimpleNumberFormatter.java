@@ -10,6 +10,7 @@ import java.util.Objects;
 /**
  * 書式がない数値のフォーマッタ。
  *
+ * @version 2.3
  * @since 2.0
  * @author T.TSUCHIE
  *
@@ -64,6 +65,103 @@ public class SimpleNumberFormatter<T extends Number> extends AbstractTextFormatt
         }
     }
     
+    /**
+     * {@inheritDoc}
+     * <p>整数型の場合、符号と数字のみで構成される値は、文字列やBigDecimalを作成せずに直接パースします。</p>
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public T parse(final CharSequence text) {
+        
+        if(mathContext == null && isIntegerType(type)) {
+            final long value = parsePlainLong(text);
+            if(value != Long.MIN_VALUE) {
+                return (T) parseFromLong(type, value, text);
+            }
+        }
+        
+        final char[] chars = new char[text.length()];
+        for(int i=0; i < chars.length; i++) {
+            chars[i] = text.charAt(i);
+        }
+        
+        try {
+            final BigDecimal number = mathContext == null ? new BigDecimal(chars, 0, chars.length)
+                    : new BigDecimal(chars, 0, chars.length, mathContext);
+            return (T) parseFromBigDecimal(type, number);
+            
+        } catch(NumberFormatException | ArithmeticException e) {
+            throw new TextParseException(text.toString(), type, e);
+        }
+    }
+    
+    private static boolean isIntegerType(final Class<?> type) {
+        return Byte.class.isAssignableFrom(type) || byte.class.isAssignableFrom(type)
+                || Short.class.isAssignableFrom(type) || short.class.isAssignableFrom(type)
+                || Integer.class.isAssignableFrom(type) || int.class.isAssignableFrom(type)
+                || Long.class.isAssignableFrom(type) || long.class.isAssignableFrom(type);
+    }
+    
+    /**
+     * 符号と18桁以下の数字のみで構成される値をパースします。
+     * @param text パース対象の値
+     * @return 対象外の形式の場合は、{@link Long#MIN_VALUE}を返します。
+     */
+    private static long parsePlainLong(final CharSequence text) {
+        
+        final int length = text.length();
+        int index = 0;
+        boolean negative = false;
+        if(length > 0) {
+            final char first = text.charAt(0);
+            if(first == '-' || first == '+') {
+                negative = (first == '-');
+                index++;
+            }
+        }
+        
+        final int digits = length - index;
+        if(digits <= 0 || digits > 18) {
+            return Long.MIN_VALUE;
+        }
+        
+        long value = 0;
+        for(; index < length; index++) {
+            final char c = text.charAt(index);
+            if(c < '0' || c > '9') {
+                return Long.MIN_VALUE;
+            }
+            value = value * 10 + (c - '0');
+        }
+        
+        return negative ? -value : value;
+    }
+    
+    private Number parseFromLong(final Class<? extends Number> type, final long value, final CharSequence text) {
+        
+        if(Byte.class.isAssignableFrom(type) || byte.class.isAssignableFrom(type)) {
+            if(!lenient && (value < Byte.MIN_VALUE || value > Byte.MAX_VALUE)) {
+                throw new TextParseException(text.toString(), type, new ArithmeticException("Overflow"));
+            }
+            return (byte)value;
+            
+        } else if(Short.class.isAssignableFrom(type) || short.class.isAssignableFrom(type)) {
+            if(!lenient && (value < Short.MIN_VALUE || value > Short.MAX_VALUE)) {
+                throw new TextParseException(text.toString(), type, new ArithmeticException("Overflow"));
+            }
+            return (short)value;
+            
+        } else if(Integer.class.isAssignableFrom(type) || int.class.isAssignableFrom(type)) {
+            if(!lenient && (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE)) {
+                throw new TextParseException(text.toString(), type, new ArithmeticException("Overflow"));
+            }
+            return (int)value;
+            
+        } else {
+            return value;
+        }
+    }
+    
     private Number parseFromBigDecimal(final Class<? extends Number> type, final BigDecimal number) {
         
         if(Byte.class.isAssignableFrom(type) || byte.class.isAssignableFrom(type)) {
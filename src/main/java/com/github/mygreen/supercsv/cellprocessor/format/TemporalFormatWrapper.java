@@ -3,6 +3,14 @@ package com.github.mygreen.supercsv.cellprocessor.format;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.MonthDay;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.Year;
+import java.time.YearMonth;
+import java.time.ZonedDateTime;
 import java.time.chrono.JapaneseDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
@@ -11,24 +19,48 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.BiFunction;
 
 import com.github.mygreen.supercsv.util.Utils;
 
 /**
  * Date and Time APIの{@link DateTimeFormatter}をラップしたクラス。
+ * <p>Date and Time APIの標準のクラスは、メソッド参照で{@literal parse(CharSequence, DateTimeFormatter)}を呼び出します。
+ *   <br>{@link #setNumericFormat(NumericTemporalFormat)}を設定した場合は、{@link DateTimeFormatter}を使わずに処理します。
+ * </p>
  *
- * @version 2.1
+ * @version 2.3
  * @since 2.0
  * @author T.TSUCHIE
  *
  */
 public class TemporalFormatWrapper<T extends TemporalAccessor> extends AbstractTextFormatter<T> {
     
+    /**
+     * クラスタイプごとの、{@literal parse(CharSequence, DateTimeFormatter)}のメソッド参照
+     */
+    private static final Map<Class<?>, BiFunction<CharSequence, DateTimeFormatter, ? extends TemporalAccessor>> PARSERS;
+    static {
+        final Map<Class<?>, BiFunction<CharSequence, DateTimeFormatter, ? extends TemporalAccessor>> parsers = new HashMap<>();
+        parsers.put(LocalDate.class, LocalDate::parse);
+        parsers.put(LocalDateTime.class, LocalDateTime::parse);
+        parsers.put(LocalTime.class, LocalTime::parse);
+        parsers.put(OffsetDateTime.class, OffsetDateTime::parse);
+        parsers.put(OffsetTime.class, OffsetTime::parse);
+        parsers.put(ZonedDateTime.class, ZonedDateTime::parse);
+        parsers.put(YearMonth.class, YearMonth::parse);
+        parsers.put(Year.class, Year::parse);
+        parsers.put(MonthDay.class, MonthDay::parse);
+        PARSERS = parsers;
+    }
+    
     private final DateTimeFormatter formatter;
     
     private final Class<T> type;
     
-    private final Method parseMethod;
+    private final BiFunction<CharSequence, DateTimeFormatter, T> parser;
+    
+    private NumericTemporalFormat<T> numericFormat;
     
     private String pattern;
     
@@ -39,6 +71,7 @@ public class TemporalFormatWrapper<T extends TemporalAccessor> extends AbstractT
      * @throws NullPointerException {@literal if formatter or type is null.}
      * @throws IllegalArgumentException {@literal type is not support class type.}
      */
+    @SuppressWarnings("unchecked")
     public TemporalFormatWrapper(final DateTimeFormatter formatter, final Class<T> type) {
         Objects.requireNonNull(formatter);
         Objects.requireNonNull(type);
@@ -46,14 +79,42 @@ public class TemporalFormatWrapper<T extends TemporalAccessor> extends AbstractT
         this.formatter = formatter;
         this.type = type;
         
+        final BiFunction<CharSequence, DateTimeFormatter, ? extends TemporalAccessor> methodRef = PARSERS.get(type);
+        if(methodRef != null) {
+            this.parser = (BiFunction<CharSequence, DateTimeFormatter, T>) methodRef;
+            
+        } else {
+            // 標準以外のクラスは、リフレクションで呼び出す。
+            this.parser = createReflectionParser(type);
+        }
+        
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static <T> BiFunction<CharSequence, DateTimeFormatter, T> createReflectionParser(final Class<T> type) {
         
+        final Method parseMethod;
         try {
-            this.parseMethod = type.getMethod("parse", CharSequence.class, DateTimeFormatter.class);
+            parseMethod = type.getMethod("parse", CharSequence.class, DateTimeFormatter.class);
             
         } catch (NoSuchMethodException | SecurityException e) {
             throw new IllegalArgumentException(String.format("Cannot suuport type : %s.", type.getName()));
         }
         
+        return (text, formatter) -> {
+            try {
+                return (T) parseMethod.invoke(type, text, formatter);
+                
+            } catch(IllegalAccessException | IllegalArgumentException e) {
+                throw new TextParseException(text.toString(), type, "Cannot suuport type.");
+                
+            } catch(InvocationTargetException e) {
+                if(e.getCause() instanceof DateTimeParseException) {
+                    throw (DateTimeParseException)e.getCause();
+                }
+                throw new TextParseException(text.toString(), type, "Cannot suuport type.");
+            }
+        };
     }
     
     /**
@@ -61,18 +122,30 @@ public class TemporalFormatWrapper<T extends TemporalAccessor> extends AbstractT
      * 
      * サポートしていないクラスタイプの場合、例外{@link TextParseException}がスローされます。
      */
-    @SuppressWarnings("unchecked")
     @Override
     public T parse(final String text) {
+        return parse((CharSequence)text);
+    }
+    
+    /**
+     * {@inheritDoc}
+     * <p>{@link DateTimeFormatter}は{@link CharSequence}を直接パースできるため、文字列に変換せずに処理します。</p>
+     */
+    @Override
+    public T parse(final CharSequence text) {
+        
+        if(numericFormat != null) {
+            final T value = numericFormat.parse(text);
+            if(value != null) {
+                return value;
+            }
+        }
         
         try {
-            return (T) parseMethod.invoke(type, text, formatter);
-            
-        } catch(IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
-            throw new TextParseException(text, type, "Cannot suuport type.");
+            return parser.apply(text, formatter);
             
         } catch(DateTimeParseException e) {
-            throw new TextParseException(text, type, e);
+            throw new TextParseException(text.toString(), type, e);
         }
         
     }
@@ -80,6 +153,13 @@ public class TemporalFormatWrapper<T extends TemporalAccessor> extends AbstractT
     @Override
     public String print(final T object) {
         
+        if(numericFormat != null) {
+            final String text = numericFormat.print(object);
+            if(text != null) {
+                return text;
+            }
+        }
+        
         if(pattern.contains("G") && formatter.getLocale().getLanguage().equals("ja")) {
             if(LocalDate.class.isAssignableFrom(type)) {
                 JapaneseDate date = JapaneseDate.from((LocalDate)object);
@@ -108,6 +188,25 @@ public class TemporalFormatWrapper<T extends TemporalAccessor> extends AbstractT
         this.pattern = pattern;
     }
     
+    /**
+     * {@link DateTimeFormatter}を使わずに処理するための、数字のみの書式を設定します。
+     * <p>書式で処理できない値の場合は、{@link DateTimeFormatter}で処理します。</p>
+     * @since 2.3
+     * @param numericFormat コンストラクタで指定した{@link DateTimeFormatter}と同じ書式。
+     */
+    public void setNumericFormat(NumericTemporalFormat<T> numericFormat) {
+        this.numericFormat = numericFormat;
+    }
+    
+    /**
+     * {@link DateTimeFormatter}を使わずに処理するための、数字のみの書式を取得します。
+     * @since 2.3
+     * @return 設定されていない場合は空を返します。
+     */
+    public Optional<NumericTemporalFormat<T>> getNumericFormat() {
+        return Optional.ofNullable(numericFormat);
+    }
+    
     @Override
     public Map<String, Object> getMessageVariables() {
         final Map<String, Object> vars = new HashMap<>();
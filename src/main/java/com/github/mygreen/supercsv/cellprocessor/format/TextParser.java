@@ -7,6 +7,7 @@ import java.util.Optional;
 /**
  * 文字列をパースしてオブジェクトに変換するインタフェース。
  * 
+ * @version 2.3
  * @since 2.0
  * @param <T> オブジェクトのタイプ
  * @author T.TSUCHIE
@@ -51,4 +52,21 @@ public interface TextParser<T> {
      */
     T parse(String text);
     
+    /**
+     * 文字シーケンスをパースして、オブジェクトに変換する。
+     * <p>{@link CharSequence}のまま読み込む場合に、{@link ParseProcessor}から呼ばれます。
+     *   <br>デフォルトの実装では、文字列に変換して{@link #parse(String)}を呼びます。
+     *   <br>文字列を作成せずに直接パースできる場合は、このメソッドをオーバーライドしてください。
+     *   ただし、{@link #parse(String)}と同じ結果を返す必要があります。
+     * </p>
+     * 
+     * @since 2.3
+     * @param text パース対象の文字シーケンス。呼び出し後に内容が変わる可能性があるため、保持してはいけません。
+     * @return 変換された値。
+     * @throws TextParseException パースに失敗した際にスローされます。
+     */
+    default T parse(CharSequence text) {
+        return parse(text.toString());
+    }
+    
 }
@@ -2,11 +2,18 @@ package com.github.mygreen.supercsv.io;
 
 import java.io.IOException;
 import java.io.Reader;
+import java.io.Serializable;
 import java.lang.reflect.Method;
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Random;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import org.supercsv.cellprocessor.ift.CellProcessor;
@@ -23,6 +30,9 @@ import org.supercsv.util.MethodCache;
 
 import com.github.mygreen.supercsv.builder.BeanMapping;
 import com.github.mygreen.supercsv.builder.CallbackMethod;
+import com.github.mygreen.supercsv.builder.ColumnMapping;
+import com.github.mygreen.supercsv.cellprocessor.StatefulCellProcessor;
+import com.github.mygreen.supercsv.cellprocessor.TentativeExecution;
 import com.github.mygreen.supercsv.exception.SuperCsvBindingException;
 import com.github.mygreen.supercsv.exception.SuperCsvNoMatchColumnSizeException;
 import com.github.mygreen.supercsv.exception.SuperCsvNoMatchHeaderException;
@@ -39,6 +49,7 @@ import com.github.mygreen.supercsv.validation.ValidationContext;
  * @param <T> マッピング対象のBeanのクラスタイプ
  *
  * @see CsvBeanReader
+ * @version 2.3
  * @since 2.1
  * @author T.TSUCHIE
  *
@@ -66,12 +77,88 @@ public abstract class AbstractCsvAnnotationBeanReader<T> extends AbstractCsvRead
     /** validator */
     protected final List<CsvValidator<T>> validators = new ArrayList<>();
     
+    /**
+     * コンストラクタで{@link CsvTokenizer}が渡された場合のTokenizer。
+     * @since 2.3
+     */
+    protected final CsvTokenizer csvTokenizer;
+    
+    /**
+     * temporary storage of column views.
+     * @since 2.3
+     */
+    protected final List<CharSequence> columnSequences = new ArrayList<>();
+    
+    /**
+     * カラムの値を{@link CharSequence}のままCellProcessorに渡すかどうか。
+     * @since 2.3
+     */
+    private boolean charSequenceMode;
+    
+    /**
+     * 行番号の補正値。
+     * <p>{@link #readRow()}を経由せずに読み込んだ行数を保持します。</p>
+     * @since 2.3
+     */
+    protected int rowNumberOffset;
+    
+    /**
+     * チェックポイントを作成するレコードの間隔。
+     * @since 2.3
+     */
+    private int checkpointInterval;
+    
+    /**
+     * 作成したチェックポイントの通知先。
+     * @since 2.3
+     */
+    private Consumer<CsvCheckpoint> checkpointListener;
+    
+    /**
+     * 最後にチェックポイントを作成した時点のレコード番号。
+     * @since 2.3
+     */
+    private int lastCheckpointRowNumber;
+    
+    /**
+     * レコードを絞り込むフィルタ。
+     * @since 2.3
+     */
+    private CsvRowFilter rowFilter;
+    
+    /**
+     * フィルタで判定中のレコード。
+     * <p>判定時に処理したカラムの値を、{@link #executeCellProcessor(List, List, CellProcessor[], CsvContext)}で再利用します。</p>
+     * @since 2.3
+     */
+    private FilterRow filterRow;
+    
+    /**
+     * フィルタで除外したレコード数。
+     * @since 2.3
+     */
+    private int filteredRowCount;
+    
+    /**
+     * 射影するフィールド名。射影しない場合はnull。
+     * @since 2.3
+     */
+    private List<String> projectedFields;
+    
+    /**
+     * レコードを標本抽出する処理。
+     * @since 2.3
+     */
+    private CsvSampler sampler;
+    
     public AbstractCsvAnnotationBeanReader(final Reader reader, final CsvPreference preference) {
         super(reader, preference);
+        this.csvTokenizer = null;
     }
     
     public AbstractCsvAnnotationBeanReader(final ITokenizer tokenizer, final CsvPreference preference) {
         super(tokenizer, preference);
+        this.csvTokenizer = (tokenizer instanceof CsvTokenizer) ? (CsvTokenizer)tokenizer : null;
     }
     
     /**
@@ -87,17 +174,17 @@ public abstract class AbstractCsvAnnotationBeanReader<T> extends AbstractCsvRead
      */
     public T read() throws IOException {
         
-        if(readRow()) {
+        if(readRecord()) {
             
             final T bean = instantiateBean(beanMappingCache.getOriginal().getType());
-            final CsvBindingErrors bindingErrors = new CsvBindingErrors(beanMappingCache.getOriginal().getType());
+            final CsvBindingErrors bindingErrors = beanMappingCache.createBindingErrors();
             
             final CsvContext context = new CsvContext(getLineNumber(), getRowNumber(), 1);
             context.setRowSource(new ArrayList<Object>(processedColumns));
             
             Optional<SuperCsvRowException> rowException = Optional.empty();
             try {
-                executeCellProcessor(processedColumns, getColumns(), beanMappingCache.getCellProcessorsForReading(), context);
+                executeCellProcessor(processedColumns, getRecordColumns(), beanMappingCache.getCellProcessorsForReading(), context);
                 
             } catch(SuperCsvRowException e) {
                 /*
@@ -144,6 +231,462 @@ public abstract class AbstractCsvAnnotationBeanReader<T> extends AbstractCsvRead
         
     }
     
+    /**
+     * 1レコード分を読み込み、値の検証のみを行います。
+     * <p>{@link #read()}と同様に各カラムのCellProcessorを適用して検証しますが、エラーがあっても例外はスローせずに、
+     *   エラー情報として返します。
+     *   <br>カラム数が定義と一致しない場合も、エラー情報として返します。
+     * </p>
+     * <p>レコードの入力値検証（{@link CsvValidator}）や、読み込み時のコールバックメソッドが定義されていない場合は、
+     *   Beanのインスタンスの作成とフィールドへの値の設定を省略します。
+     *   <br>定義されている場合は、{@link #read()}と同様にBeanを作成してそれらを実行します。
+     * </p>
+     * <p>大量のレコードを検証することを想定し、エラーメッセージは{@link #getErrorMessages()}には追加しません。</p>
+     * 
+     * @since 2.3
+     * @return 検証結果のエラー情報。エラーがない場合は、空のエラー情報を返します。
+     *         読み込むレコードがない場合は、nullを返します。
+     * @throws IOException レコードの読み込みに失敗した場合。
+     * @throws SuperCsvException 設定など、その他に問題がある場合
+     */
+    public CsvBindingErrors validate() throws IOException {
+        
+        if(!readRecord()) {
+            return null; // EOF
+        }
+        
+        final BeanMapping<T> beanMapping = beanMappingCache.getOriginal();
+        final CsvBindingErrors bindingErrors = beanMappingCache.createBindingErrors();
+        
+        final CsvContext context = new CsvContext(getLineNumber(), getRowNumber(), 1);
+        context.setRowSource(new ArrayList<Object>(processedColumns));
+        
+        try {
+            executeCellProcessor(processedColumns, getRecordColumns(), beanMappingCache.getCellProcessorsForReading(), context);
+            
+        } catch(SuperCsvRowException e) {
+            bindingErrors.addAllErrors(exceptionConverter.convert(e, beanMapping));
+            
+        } catch(SuperCsvNoMatchColumnSizeException e) {
+            // カラム数が異なる場合は、値の検証ができないため終了する。
+            bindingErrors.addAllErrors(exceptionConverter.convert(e, beanMapping));
+            return bindingErrors;
+        }
+        
+        if(!isRequiredBeanForValidation()) {
+            return bindingErrors;
+        }
+        
+        final T bean = instantiateBean(beanMapping.getType());
+        
+        for(CallbackMethod callback : beanMapping.getPreReadMethods()) {
+            callback.invoke(bean, context, bindingErrors, beanMapping);
+        }
+        
+        populateBean(bean, beanMappingCache.getNameMapping(), bindingErrors);
+        
+        for(CsvValidator<T> recordValidator : validators) {
+            recordValidator.validate(bean, bindingErrors, new ValidationContext<>(context, beanMapping));
+        }
+        
+        for(CallbackMethod callback : beanMapping.getPostReadMethods()) {
+            callback.invoke(bean, context, bindingErrors, beanMapping);
+        }
+        
+        return bindingErrors;
+        
+    }
+    
+    /**
+     * 値の検証時に、Beanのインスタンスが必要かどうか判定します。
+     * <p>レコードの入力値検証、または読み込み時のコールバックメソッドが定義されている場合に必要となります。</p>
+     * 
+     * @since 2.3
+     * @return trueの場合、Beanのインスタンスが必要です。
+     */
+    protected boolean isRequiredBeanForValidation() {
+        final BeanMapping<T> beanMapping = beanMappingCache.getOriginal();
+        return !validators.isEmpty()
+                || !beanMapping.getPreReadMethods().isEmpty()
+                || !beanMapping.getPostReadMethods().isEmpty();
+    }
+    
+    /**
+     * {@link #readBatch(ColumnBatch)}で利用する、カラムごとの値を保持するバッチを作成します。
+     * 
+     * @since 2.3
+     * @param capacity 1回で読み込むレコードの最大件数。
+     * @return 空のバッチ。
+     * @throws IllegalArgumentException {@literal capacity <= 0.}
+     */
+    public ColumnBatch createColumnBatch(final int capacity) {
+        return new ColumnBatch(beanMappingCache.getOriginal().getColumns(), capacity);
+    }
+    
+    /**
+     * Beanのインスタンスを作成せずに、複数レコード分を読み込みカラムごとの配列に格納します。
+     * <p>各カラムのCellProcessorは適用されますが、Beanを対象とする処理である、
+     *   コールバックメソッドやレコードの入力値検証（{@link CsvValidator}）は実行されません。
+     * </p>
+     * <p>カラムの値に問題がある場合は例外をスローせずに、レコードのインデックスごとのエラー情報としてバッチに格納します。
+     *   <br>エラーとなったカラムの値はnullとして格納します。
+     *   <br>エラーメッセージは、{@link #getErrorMessages()}にも追加されます。
+     * </p>
+     * 
+     * @since 2.3
+     * @param batch 格納先のバッチ。格納前にクリアされます。
+     * @return 読み込んだレコードの件数。ファイルの終端に達した場合は0を返します。
+     * @throws NullPointerException {@literal batch is null.}
+     * @throws IOException レコードの読み込みに失敗した場合。
+     * @throws SuperCsvNoMatchColumnSizeException レコードのカラムサイズに問題がある場合
+     * @throws SuperCsvException 設定など、その他に問題がある場合
+     */
+    public int readBatch(final ColumnBatch batch) throws IOException {
+        
+        Objects.requireNonNull(batch, "batch should not be null.");
+        batch.clear();
+        
+        while(!batch.isFull() && readRecord()) {
+            
+            final List<? extends CharSequence> columns = getRecordColumns();
+            
+            // 文字列への変換は、CellProcessorやエラー情報の作成で参照されたときのみ行う。
+            final CsvContext context = new CsvContext(getLineNumber(), getRowNumber(), 1);
+            context.setRowSource(new LazyRowSource(columns));
+            
+            CsvBindingErrors bindingErrors = null;
+            try {
+                executeCellProcessor(processedColumns, columns, beanMappingCache.getCellProcessorsForReading(), context);
+                
+            } catch(SuperCsvRowException e) {
+                bindingErrors = new CsvBindingErrors(beanMappingCache.getOriginal().getType());
+                bindingErrors.addAllErrors(exceptionConverter.convert(e, beanMappingCache.getOriginal()));
+                
+                for(CsvError error : bindingErrors.getAllErrors()) {
+                    errorMessages.add(error.format(exceptionConverter.getMessageResolver(), exceptionConverter.getMessageInterpolator()));
+                }
+                
+            } catch(SuperCsvException e) {
+                errorMessages.addAll(exceptionConverter.convertAndFormat(e, beanMappingCache.getOriginal()));
+                throw e;
+            }
+            
+            batch.add(processedColumns, bindingErrors, context.getLineNumber(), context.getRowNumber());
+        }
+        
+        return batch.getSize();
+        
+    }
+    
+    /**
+     * 1レコード分のカラムを読み込みます。
+     * <p>{@link #isCharSequenceMode()}がtrueの場合、カラムの値を文字列に変換せずに読み込みます。</p>
+     * 
+     * @since 2.3
+     * @return 読み込むレコードがない場合は、falseを返します。
+     * @throws IOException レコードの読み込みに失敗した場合。
+     */
+    protected boolean readRecord() throws IOException {
+        
+        while(true) {
+            if(checkpointListener != null && getRowNumber() - lastCheckpointRowNumber >= checkpointInterval) {
+                final CsvCheckpoint checkpoint = createCheckpoint();
+                lastCheckpointRowNumber = checkpoint.getRowNumber();
+                checkpointListener.accept(checkpoint);
+            }
+            
+            if(sampler != null) {
+                final long skip = sampler.nextSkip();
+                if(skipRecords(skip) < skip) {
+                    return false;
+                }
+            }
+            
+            if(!readNextRecord()) {
+                return false;
+            }
+            
+            if(rowFilter == null || filterRow.accept(getRecordColumns())) {
+                return true;
+            }
+            
+            filteredRowCount++;
+        }
+        
+    }
+    
+    /**
+     * フィルタを適用せずに、1レコード分のカラムを読み込みます。
+     * @return 読み込むレコードがない場合は、falseを返します。
+     * @throws IOException レコードの読み込みに失敗した場合。
+     */
+    private boolean readNextRecord() throws IOException {
+        
+        if(!charSequenceMode) {
+            return readRow();
+        }
+        
+        if(csvTokenizer.readColumnSequences(columnSequences)) {
+            rowNumberOffset++;
+            return true;
+        }
+        
+        return false;
+    }
+    
+    /**
+     * 指定した件数のレコードを、カラムに分割せずに読み飛ばします。
+     * <p>読み飛ばしたレコードに対しては、CellProcessorや入力値検証、フィルタは実行されません。
+     *   <br>行番号、レコード番号は、読み飛ばしたレコードも含めて数えます。
+     * </p>
+     * <p>{@link CsvTokenizer}を利用している場合は、クォートの対応のみを判定しながら高速に読み飛ばします。
+     *   それ以外の場合は、カラムに分割して読み飛ばします。
+     * </p>
+     * 
+     * @since 2.3
+     * @param count 読み飛ばすレコード数。
+     * @return 読み飛ばしたレコード数。ファイルの終端に達した場合は、{@literal count}より小さい値を返します。
+     * @throws IllegalArgumentException {@literal count < 0.}
+     * @throws IOException レコードの読み込みに失敗した場合。
+     * @throws SuperCsvException CSVの形式が不正な場合。
+     */
+    public long skipRecords(final long count) throws IOException {
+        if(count < 0L) {
+            throw new IllegalArgumentException(String.format("count should be greater than or equal to 0 : %d", count));
+        }
+        
+        long skipped = 0L;
+        while(skipped < count) {
+            if(csvTokenizer != null) {
+                if(!csvTokenizer.skipRecord()) {
+                    break;
+                }
+                rowNumberOffset++;
+                
+            } else if(!readRow()) {
+                break;
+            }
+            
+            skipped++;
+        }
+        
+        return skipped;
+    }
+    
+    /**
+     * リザーバーサンプリングにより、指定した件数のレコードを無作為に抽出します。
+     * <p>最初の{@literal size}件を読み込んだ後は、置き換え対象となるレコードまでの間隔を乱数で決定し、
+     *   その間のレコードは{@link #skipRecords(long)}で読み飛ばします（Algorithm L）。
+     *   <br>そのため、全てのレコードを処理する場合と比べて、ごく一部のレコードのみを読み込みます。
+     * </p>
+     * <p>{@link #setRowFilter(CsvRowFilter)}でフィルタを設定している場合は、フィルタで絞り込んだレコードから抽出します。
+     *   <br>その場合、読み飛ばすレコードもフィルタで判定します。
+     * </p>
+     * 
+     * @since 2.3
+     * @param size 抽出する件数。
+     * @param random 乱数の生成器。
+     * @param continueOnError trueの場合、レコードの値に問題があっても、そのレコードを除いて処理を続けます。
+     * @return 抽出したレコード。ファイル上の順序で返します。
+     * @throws NullPointerException {@literal random is null.}
+     * @throws IllegalArgumentException {@literal size <= 0.}
+     * @throws IllegalStateException {@link #setSampler(CsvSampler)}で標本抽出する処理を設定している場合。
+     * @throws IOException レコードの読み込みに失敗した場合。
+     * @throws SuperCsvNoMatchColumnSizeException レコードのカラムサイズに問題がある場合
+     * @throws SuperCsvBindingException セルの値に問題がある場合
+     * @throws SuperCsvException 設定など、その他に問題がある場合
+     */
+    protected List<T> readReservoir(final int size, final Random random, final boolean continueOnError) throws IOException {
+        
+        Objects.requireNonNull(random, "random should not be null.");
+        if(size <= 0) {
+            throw new IllegalArgumentException(String.format("size should be greater than 0 : %d", size));
+        }
+        
+        if(sampler != null) {
+            // 読み飛ばす件数が変わり、無作為に抽出できないため。
+            throw new IllegalStateException("the sampler should not be set when reading the sample by reservoir sampling.");
+        }
+        
+        final List<T> reservoir = new ArrayList<>();
+        final List<Integer> rowNumbers = new ArrayList<>();
+        
+        // 最初のレコードで満たす
+        boolean eof = false;
+        while(reservoir.size() < size) {
+            final Optional<T> record = readForSampling(continueOnError);
+            if(record == null) {
+                eof = true;
+                break;
+            }
+            
+            if(record.isPresent()) {
+                reservoir.add(record.get());
+                rowNumbers.add(getRowNumber());
+            }
+        }
+        
+        // 置き換えるレコードまでの間隔を決定して、読み飛ばす
+        double weight = Math.exp(Math.log(1.0d - random.nextDouble()) / size);
+        while(!eof) {
+            final long skip = (long)Math.floor(Math.log(1.0d - random.nextDouble()) / Math.log1p(-weight));
+            if(skip < 0L || (rowFilter == null ? skipRecords(skip) : skipFilteredRecords(skip)) < skip) {
+                break;
+            }
+            
+            final Optional<T> record = readForSampling(continueOnError);
+            if(record == null) {
+                break;
+            }
+            
+            if(record.isPresent()) {
+                final int index = random.nextInt(size);
+                reservoir.set(index, record.get());
+                rowNumbers.set(index, getRowNumber());
+            }
+            
+            weight *= Math.exp(Math.log(1.0d - random.nextDouble()) / size);
+        }
+        
+        final Integer[] indexes = new Integer[reservoir.size()];
+        for(int i=0; i < indexes.length; i++) {
+            indexes[i] = i;
+        }
+        Arrays.sort(indexes, (i1, i2) -> Integer.compare(rowNumbers.get(i1), rowNumbers.get(i2)));
+        
+        return Arrays.stream(indexes)
+                .map(reservoir::get)
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * フィルタで絞り込んだレコードを、指定した件数分読み飛ばします。
+     * <p>フィルタで除外したレコードは、件数に含めません。</p>
+     * @param count 読み飛ばすレコードの件数。
+     * @return 実際に読み飛ばしたレコードの件数。
+     * @throws IOException レコードの読み込みに失敗した場合。
+     */
+    private long skipFilteredRecords(final long count) throws IOException {
+        
+        long skipped = 0L;
+        while(skipped < count && readNextRecord()) {
+            if(filterRow.accept(getRecordColumns())) {
+                // 読み込まないレコードのため、値の重複チェックなどの状態を取り消す。
+                filterRow.discard();
+                skipped++;
+            } else {
+                filteredRowCount++;
+            }
+        }
+        
+        return skipped;
+    }
+    
+    /**
+     * 標本抽出のために、1レコード分を読み込みます。
+     * @param continueOnError trueの場合、レコードの値に問題があれば空を返します。
+     * @return 読み込むレコードがない場合は、nullを返します。
+     */
+    private Optional<T> readForSampling(final boolean continueOnError) throws IOException {
+        try {
+            final T record = read();
+            return record == null ? null : Optional.of(record);
+            
+        } catch(SuperCsvNoMatchColumnSizeException | SuperCsvBindingException e) {
+            if(!continueOnError) {
+                throw e;
+            }
+            return Optional.empty();
+        }
+    }
+    
+    /**
+     * {@link #readRecord()}で読み込んだカラムの値を取得します。
+     * @since 2.3
+     * @return カラムの値の一覧。
+     */
+    protected List<? extends CharSequence> getRecordColumns() {
+        return charSequenceMode ? columnSequences : getColumns();
+    }
+    
+    /**
+     * {@inheritDoc}
+     * <p>{@link #readRow()}を経由せずに読み込んだ行も含めた行番号を返します。</p>
+     */
+    @Override
+    public int getRowNumber() {
+        return super.getRowNumber() + rowNumberOffset;
+    }
+    
+    /**
+     * 現在の読み込み位置と状態を保持するチェックポイントを作成します。
+     * <p>チェックポイントは、直前に読み込んだレコードの処理が完了した時点で作成する必要があります。
+     *   <br>作成したチェックポイントから、{@link CsvCheckpointReaderFactory#resume(CsvCheckpoint)}で読み込みを再開できます。
+     * </p>
+     * 
+     * @since 2.3
+     * @return チェックポイント。
+     * @throws IllegalStateException {@link CsvTokenizer}を利用していない、またはバイト数の計測を開始していない場合。
+     * @see CsvCheckpointReaderFactory
+     */
+    public CsvCheckpoint createCheckpoint() {
+        
+        if(csvTokenizer == null) {
+            throw new IllegalStateException(String.format("the tokenizer should be %s.", CsvTokenizer.class.getName()));
+        }
+        
+        final Map<String, Serializable> states = new HashMap<>();
+        CsvCheckpoint.findStatefulProcessors(beanMappingCache.getOriginal())
+            .forEach((key, processor) -> states.put(key, processor.snapshotState()));
+        
+        return new CsvCheckpoint(csvTokenizer.getBytePosition(), csvTokenizer.getLineNumber(), getRowNumber(),
+                csvTokenizer.isPendingLineFeed(), states);
+    }
+    
+    /**
+     * チェックポイントから、レコード番号とCellProcessorの状態を復元します。
+     * <p>Tokenizerは、チェックポイントの位置から読み込むように作成されている必要があります。</p>
+     * 
+     * @since 2.3
+     * @param checkpoint 復元するチェックポイント。
+     * @throws IllegalArgumentException チェックポイントの状態が、Beanのマッピング情報と一致しない場合。
+     */
+    protected void restoreCheckpoint(final CsvCheckpoint checkpoint) {
+        
+        final Map<String, StatefulCellProcessor> processors =
+                CsvCheckpoint.findStatefulProcessors(beanMappingCache.getOriginal());
+        if(!processors.keySet().equals(checkpoint.getProcessorStates().keySet())) {
+            throw new IllegalArgumentException(String.format(
+                    "checkpoint does not match the bean mapping. processors of checkpoint=%s, processors of bean=%s",
+                    checkpoint.getProcessorStates().keySet(), processors.keySet()));
+        }
+        
+        processors.forEach((key, processor) -> processor.restoreState(checkpoint.getProcessorStates().get(key)));
+        
+        this.rowNumberOffset = checkpoint.getRowNumber() - super.getRowNumber();
+        this.lastCheckpointRowNumber = checkpoint.getRowNumber();
+    }
+    
+    /**
+     * 一定のレコード数ごとに、チェックポイントを作成して通知するよう設定します。
+     * <p>チェックポイントは、前回の作成時から指定したレコード数を処理した後、次のレコードを読み込む直前に作成します。</p>
+     * 
+     * @since 2.3
+     * @param interval チェックポイントを作成するレコードの間隔。
+     * @param listener 作成したチェックポイントの通知先。nullの場合は、作成しません。
+     * @throws IllegalArgumentException {@literal interval <= 0.}
+     * @see #createCheckpoint()
+     */
+    public void setCheckpointListener(final int interval, final Consumer<CsvCheckpoint> listener) {
+        if(interval <= 0) {
+            throw new IllegalArgumentException(String.format("interval should be greater than 0 : %d", interval));
+        }
+        
+        this.checkpointInterval = interval;
+        this.checkpointListener = listener;
+        this.lastCheckpointRowNumber = getRowNumber();
+    }
+    
     /**
      * CSVのヘッダーの検証を行います。
      * 
@@ -228,7 +771,7 @@ public abstract class AbstractCsvAnnotationBeanReader<T> extends AbstractCsvRead
      * @throws SuperCsvNoMatchColumnSizeException カラムサイズが定義と一致しない場合
      * @throws SuperCsvRowException CellProcessor内で発生した例外
      */
-    protected void executeCellProcessor(final List<Object> destination, final List<String> source,
+    protected void executeCellProcessor(final List<Object> destination, final List<? extends CharSequence> source,
             final CellProcessor[] processors, final CsvContext context) {
         
         if(source.size() != processors.length) {
@@ -243,19 +786,38 @@ public abstract class AbstractCsvAnnotationBeanReader<T> extends AbstractCsvRead
         
         for( int i = 0; i < source.size(); i++ ) {
             
+            // 文字列以外のフィールドのカラムのみ、CharSequenceのまま渡す。
+            final CharSequence column = source.get(i);
+            final Object value = (column == null || beanMappingCache.isCharSequenceColumn(i)) ? column : column.toString();
+            
+            // フィルタの判定時に処理済みのカラムは、その結果を利用する。
+            if(filterRow != null && filterRow.isProcessed(i)) {
+                final SuperCsvCellProcessorException error = filterRow.getError(i);
+                if(error != null) {
+                    rowException.addError(error);
+                    destination.add(value == null ? null : value.toString());
+                    continue;
+                    
+                } else if(processors[i] == beanMappingCache.getUnprojected().getCellProcessorsForReading()[i]) {
+                    // 射影の対象のカラムのみ、処理済みの値を利用する。
+                    destination.add(filterRow.getProcessedValue(i));
+                    continue;
+                }
+            }
+            
             try {
                 context.setColumnNumber(i + 1); // update context (columns start at 1)
                 
                 if( processors[i] == null ) {
-                    destination.add(source.get(i)); // no processing required
+                    destination.add(value); // no processing required
                 } else {
-                    destination.add(processors[i].execute(source.get(i), context)); // execute the processor chain
+                    destination.add(processors[i].execute(value, context)); // execute the processor chain
                 }
             } catch(SuperCsvCellProcessorException e) {
                 rowException.addError(e);
                 
                 // 各カラムでエラーがあっても、後の入力値検証で処理を続けるために、仮に値を設定する。
-                destination.add(source.get(i));
+                destination.add(value == null ? null : value.toString());
                 
             } catch(SuperCsvException e) {
                 
@@ -358,4 +920,396 @@ public abstract class AbstractCsvAnnotationBeanReader<T> extends AbstractCsvRead
         return validators;
     }
     
+    /**
+     * カラムの値を{@link CharSequence}のままCellProcessorに渡すかどうかを取得します。
+     * @since 2.3
+     * @return trueの場合、文字列以外のフィールドに対するカラムの値を文字列に変換せずに処理します。
+     */
+    public boolean isCharSequenceMode() {
+        return charSequenceMode;
+    }
+    
+    /**
+     * カラムの値を{@link CharSequence}のままCellProcessorに渡すかどうかを設定します。
+     * <p>trueの場合、{@link CsvTokenizer}の行のバッファ上のビューを、数値や日時など文字列以外のフィールドに対するCellProcessorに渡します。
+     *   <br>文字列のフィールドに対するカラムは、これまでどおり文字列に変換して渡します。
+     * </p>
+     * <p>独自のCellProcessorを利用する場合は、{@link String}にキャストせずに、{@link CharSequence}として扱う必要があります。
+     *   <br>また、このモードで読み込んだ場合、{@link #getColumns()}、{@link #get(int)}、{@link #length()}の値は更新されません。
+     * </p>
+     * 
+     * @since 2.3
+     * @param charSequenceMode trueの場合、文字列に変換せずに処理します。
+     * @throws IllegalStateException コンストラクタで{@link CsvTokenizer}を渡していない場合。
+     */
+    public void setCharSequenceMode(final boolean charSequenceMode) {
+        if(charSequenceMode && csvTokenizer == null) {
+            throw new IllegalStateException(String.format("the tokenizer should be %s.", CsvTokenizer.class.getName()));
+        }
+        this.charSequenceMode = charSequenceMode;
+    }
+    
+    /**
+     * 指定したフィールドのカラムのみを処理するよう射影します。
+     * <p>射影の対象外のカラムは、トークンに分割しますが、CellProcessorによる変換と検証を行わず、Beanのフィールドにも値を設定しません。
+     *   <br>{@link #readBatch(ColumnBatch)}では、対象外のカラムの値はnullとなります。
+     *   <br>レコードの入力値検証（{@link CsvValidator}）とコールバックメソッドは、射影に関わらず実行されますが、
+     *   値が設定されていない対象外のフィールドに対するフィールドエラーは無視します。
+     * </p>
+     * <p>射影したマッピング情報は、フィールド名の組み合わせごとにキャッシュして再利用します。
+     *   <br>ヘッダーを読み込んでからマッピング情報を決定する場合は、決定した時点で射影します。
+     * </p>
+     * 
+     * @since 2.3
+     * @param fieldNames 処理対象のフィールド名。
+     * @throws NullPointerException {@literal fieldNames is null.}
+     * @throws IllegalArgumentException 指定したフィールドのカラムが存在しない場合。
+     */
+    public void project(final String... fieldNames) {
+        Objects.requireNonNull(fieldNames, "fieldNames should not be null.");
+        this.projectedFields = Arrays.asList(fieldNames.clone());
+        applyProjection();
+    }
+    
+    /**
+     * 射影を解除し、全てのカラムを処理するようにします。
+     * @since 2.3
+     */
+    public void clearProjection() {
+        this.projectedFields = null;
+        applyProjection();
+    }
+    
+    /**
+     * {@link #project(String...)}で指定した射影を、Beanのマッピング情報に適用します。
+     * <p>マッピング情報を作成、または変更した後に呼び出す必要があります。</p>
+     * 
+     * @since 2.3
+     * @throws IllegalArgumentException 指定したフィールドのカラムが存在しない場合。
+     */
+    protected void applyProjection() {
+        if(beanMappingCache == null) {
+            return;
+        }
+        
+        this.beanMappingCache = (projectedFields == null) ? beanMappingCache.getUnprojected()
+                : beanMappingCache.project(projectedFields);
+    }
+    
+    /**
+     * レコードを標本抽出する処理を取得します。
+     * @since 2.3
+     * @return 設定されていない場合は、nullを返します。
+     */
+    public CsvSampler getSampler() {
+        return sampler;
+    }
+    
+    /**
+     * レコードを標本抽出する処理を設定します。
+     * <p>{@link #read()}、{@link #validate()}、{@link #readBatch(ColumnBatch)}など、レコードを読み込む全ての処理に適用されます。
+     *   <br>レコードを読み込む前に、{@link CsvSampler#nextSkip()}の件数を{@link #skipRecords(long)}で読み飛ばします。
+     *   <br>フィルタを設定している場合は、抽出したレコードに対してフィルタを適用します。
+     * </p>
+     * 
+     * @since 2.3
+     * @param sampler レコードを標本抽出する処理。nullの場合は、全てのレコードを読み込みます。
+     */
+    public void setSampler(final CsvSampler sampler) {
+        this.sampler = sampler;
+    }
+    
+    /**
+     * レコードを絞り込むフィルタを取得します。
+     * @since 2.3
+     * @return 設定されていない場合は、nullを返します。
+     */
+    public CsvRowFilter getRowFilter() {
+        return rowFilter;
+    }
+    
+    /**
+     * レコードを絞り込むフィルタを設定します。
+     * <p>フィルタは、{@link #read()}、{@link #validate()}、{@link #readBatch(ColumnBatch)}など、
+     *   レコードを読み込む全ての処理に適用されます。
+     *   <br>除外したレコードは、Beanの作成、フィルタで参照していないカラムのCellProcessor、レコードの入力値検証を行わずに読み飛ばします。
+     *   行番号、レコード番号は、除外したレコードも含めて数えます。
+     * </p>
+     * <p>カラム数が定義と一致しないレコードは、エラーを通知するためにフィルタを適用せずに読み込みます。</p>
+     * 
+     * @since 2.3
+     * @param rowFilter レコードを絞り込むフィルタ。nullの場合は、全てのレコードを読み込みます。
+     */
+    public void setRowFilter(final CsvRowFilter rowFilter) {
+        this.rowFilter = rowFilter;
+        this.filterRow = (rowFilter == null) ? null : new FilterRow();
+    }
+    
+    /**
+     * フィルタで除外したレコード数を取得します。
+     * @since 2.3
+     * @return フィルタを設定していない場合は、0を返します。
+     */
+    public int getFilteredRowCount() {
+        return filteredRowCount;
+    }
+    
+    /**
+     * CellProcessorのRowSourceとして渡す、カラムの値を文字列としたリスト。
+     * <p>文字列への変換は、最初に値を参照したときにまとめて行います。
+     *   <br>変換前のカラムは次のレコードを読み込むと内容が変わるため、同じレコードの処理中のみ利用できます。
+     * </p>
+     *
+     * @since 2.3
+     */
+    private static final class LazyRowSource extends AbstractList<Object> {
+        
+        private final List<? extends CharSequence> columns;
+        
+        private Object[] values;
+        
+        LazyRowSource(final List<? extends CharSequence> columns) {
+            this.columns = columns;
+        }
+        
+        @Override
+        public Object get(final int index) {
+            if(values == null) {
+                final Object[] converted = new Object[columns.size()];
+                for(int i=0; i < converted.length; i++) {
+                    final CharSequence column = columns.get(i);
+                    converted[i] = column == null ? null : column.toString();
+                }
+                this.values = converted;
+            }
+            return values[index];
+        }
+        
+        @Override
+        public int size() {
+            return values == null ? columns.size() : values.length;
+        }
+        
+    }
+    
+    /**
+     * フィルタで判定するレコード。
+     * <p>参照されたカラムのみCellProcessorで処理し、その結果を保持します。</p>
+     *
+     * @since 2.3
+     */
+    private final class FilterRow implements CsvRowFilter.Row {
+        
+        /** フィールド名とカラムのインデックスのマップ。 */
+        private Map<String, Integer> columnIndexes;
+        
+        /** マップを作成したときのBeanのマッピング情報。 */
+        private BeanMappingCache<T> mappingOfIndexes;
+        
+        /** 判定中のレコードのカラム。 */
+        private List<? extends CharSequence> columns;
+        
+        /** CellProcessorのRowSourceとして渡す値。 */
+        private List<Object> rowSource;
+        
+        private boolean[] processed = new boolean[0];
+        
+        private Object[] processedValues = new Object[0];
+        
+        private SuperCsvCellProcessorException[] errors = new SuperCsvCellProcessorException[0];
+        
+        /** 除外したレコードの、値の重複チェックなどの状態を取り消す処理。 */
+        private final List<Runnable> rollbacks = new ArrayList<>();
+        
+        /** 1つ以上のカラムを処理したかどうか。 */
+        private boolean dirty;
+        
+        /** CellProcessorの処理でエラーとなったカラムがあるかどうか。 */
+        private boolean hasError;
+        
+        /**
+         * レコードを読み込むかどうか判定します。
+         * @param recordColumns 判定するレコードのカラム。
+         * @return trueの場合、レコードを読み込みます。
+         */
+        boolean accept(final List<? extends CharSequence> recordColumns) {
+            
+            clear();
+            
+            final int size = beanMappingCache.getCellProcessorsForReading().length;
+            if(recordColumns.size() != size) {
+                // カラム数が異なるエラーは、読み込み時に通知する。
+                return true;
+            }
+            
+            if(processed.length != size) {
+                this.processed = new boolean[size];
+                this.processedValues = new Object[size];
+                this.errors = new SuperCsvCellProcessorException[size];
+            }
+            
+            this.columns = recordColumns;
+            
+            final boolean accepted;
+            try {
+                accepted = rowFilter.test(this);
+                
+            } catch(RuntimeException | Error e) {
+                // 判定を中断したレコードの、値の重複チェックなどの状態を取り消す。
+                TentativeExecution.rollback(rollbacks);
+                clear();
+                throw e;
+            }
+            if(accepted || hasError) {
+                return true;
+            }
+            
+            // 除外したレコードの処理結果は不要なため破棄し、記録された値の重複チェックなどの状態を取り消す。
+            TentativeExecution.rollback(rollbacks);
+            clear();
+            return false;
+        }
+        
+        /**
+         * 判定したレコードを読み込まない場合に、処理結果を破棄し、値の重複チェックなどの状態を取り消します。
+         */
+        void discard() {
+            TentativeExecution.rollback(rollbacks);
+            clear();
+        }
+        
+        private void clear() {
+            if(dirty) {
+                Arrays.fill(processed, false);
+                Arrays.fill(processedValues, null);
+                Arrays.fill(errors, null);
+                this.dirty = false;
+            }
+            this.columns = null;
+            this.rowSource = null;
+            this.hasError = false;
+            rollbacks.clear();
+        }
+        
+        boolean isProcessed(final int columnIndex) {
+            return dirty && processed[columnIndex];
+        }
+        
+        Object getProcessedValue(final int columnIndex) {
+            return processedValues[columnIndex];
+        }
+        
+        SuperCsvCellProcessorException getError(final int columnIndex) {
+            return errors[columnIndex];
+        }
+        
+        private int toColumnIndex(final String fieldName) {
+            
+            if(columnIndexes == null || mappingOfIndexes != beanMappingCache.getUnprojected()) {
+                final Map<String, Integer> map = new HashMap<>();
+                for(ColumnMapping column : beanMappingCache.getOriginal().getColumns()) {
+                    if(column.getName() != null) {
+                        map.put(column.getName(), column.getNumber() - 1);
+                    }
+                }
+                this.columnIndexes = map;
+                this.mappingOfIndexes = beanMappingCache.getUnprojected();
+            }
+            
+            final Integer index = columnIndexes.get(fieldName);
+            if(index == null) {
+                throw new IllegalArgumentException(String.format("not found column of field '%s'.", fieldName));
+            }
+            return index;
+        }
+        
+        private int toColumnIndex(final int columnNumber) {
+            if(columnNumber <= 0 || columnNumber > columns.size()) {
+                throw new IllegalArgumentException(String.format("columnNumber should be between 1 and %d : %d",
+                        columns.size(), columnNumber));
+            }
+            return columnNumber - 1;
+        }
+        
+        private String getTextAt(final int columnIndex) {
+            final CharSequence column = columns.get(columnIndex);
+            return column == null ? null : column.toString();
+        }
+        
+        @SuppressWarnings("unchecked")
+        private <V> V getValueAt(final int columnIndex) {
+            
+            if(processed[columnIndex]) {
+                return (V)processedValues[columnIndex];
+            }
+            
+            // 射影の対象外のカラムも判定できるよう、射影する前のCellProcessorで処理する。
+            final BeanMappingCache<T> mapping = beanMappingCache.getUnprojected();
+            final CharSequence column = columns.get(columnIndex);
+            final Object value = (column == null || mapping.isCharSequenceColumn(columnIndex)) ? column : column.toString();
+            final CellProcessor processor = mapping.getCellProcessorsForReading()[columnIndex];
+            
+            Object result;
+            if(processor == null) {
+                result = value;
+                
+            } else {
+                if(rowSource == null) {
+                    this.rowSource = new ArrayList<>(columns.size());
+                    for(CharSequence c : columns) {
+                        rowSource.add(c == null ? null : c.toString());
+                    }
+                }
+                
+                final CsvContext context = new CsvContext(getLineNumber(), getRowNumber(), columnIndex + 1);
+                context.setRowSource(rowSource);
+                
+                try {
+                    result = TentativeExecution.execute(rollbacks, () -> processor.execute(value, context));
+                } catch(SuperCsvCellProcessorException e) {
+                    errors[columnIndex] = e;
+                    this.hasError = true;
+                    result = null;
+                }
+            }
+            
+            processed[columnIndex] = true;
+            processedValues[columnIndex] = result;
+            this.dirty = true;
+            
+            return (V)result;
+        }
+        
+        @Override
+        public String getText(final String fieldName) {
+            return getTextAt(toColumnIndex(fieldName));
+        }
+        
+        @Override
+        public String getText(final int columnNumber) {
+            return getTextAt(toColumnIndex(columnNumber));
+        }
+        
+        @Override
+        public <V> V getValue(final String fieldName) {
+            return getValueAt(toColumnIndex(fieldName));
+        }
+        
+        @Override
+        public <V> V getValue(final int columnNumber) {
+            return getValueAt(toColumnIndex(columnNumber));
+        }
+        
+        @Override
+        public int getLineNumber() {
+            return AbstractCsvAnnotationBeanReader.this.getLineNumber();
+        }
+        
+        @Override
+        public int getRowNumber() {
+            return AbstractCsvAnnotationBeanReader.this.getRowNumber();
+        }
+        
+    }
+    
 }
@@ -1,8 +1,10 @@
 package com.github.mygreen.supercsv.io;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.Writer;
 import java.lang.reflect.Method;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -38,6 +40,7 @@ import com.github.mygreen.supercsv.validation.ValidationContext;
  * 
  * @see CsvBeanWriter
  * @since 2.1
+ * @version 2.3
  * @author T.TSUCHIE
  *
  */
@@ -67,11 +70,49 @@ public abstract class AbstractCsvAnnotationBeanWriter<T> extends AbstractCsvWrit
     /** validator */
     protected final List<CsvValidator<T>> validators = new ArrayList<>();
     
+    /**
+     * レコードをバイト列として直接出力するエンコーダ。
+     * <p>{@link OutputStream}を指定して作成した場合のみ設定されます。</p>
+     * @since 2.3
+     */
+    protected final CsvRowEncoder rowEncoder;
+    
+    /** エンコーダで出力したレコードの値に含まれる改行の数 */
+    private int encodedLineBreaks;
+    
+    /**
+     * 射影するフィールド名。射影しない場合はnull。
+     * @since 2.3
+     */
+    private List<String> projectedFields;
+    
     public AbstractCsvAnnotationBeanWriter(final Writer writer, final CsvPreference preference) {
         super(writer, preference);
+        this.rowEncoder = null;
         
     }
     
+    /**
+     * 出力先のストリームを指定するコンストラクタ。
+     * <p>{@link CsvRowEncoder}により、レコードを文字列を介さずにバイト列として出力します。
+     *   ただし、{@link CsvPreference}のエンコーダが独自の実装の場合は、{@link Writer}を経由して出力します。
+     * </p>
+     * 
+     * @since 2.3
+     * @param out 出力先のストリーム。
+     * @param charset 文字コード。
+     * @param preference CSV preferences.
+     * @throws NullPointerException {@literal if out or charset or preference are null.}
+     */
+    public AbstractCsvAnnotationBeanWriter(final OutputStream out, final Charset charset, final CsvPreference preference) {
+        this(new CsvRowEncoder(out, charset, preference), preference);
+    }
+    
+    private AbstractCsvAnnotationBeanWriter(final CsvRowEncoder rowEncoder, final CsvPreference preference) {
+        super(rowEncoder.asWriter(), preference);
+        this.rowEncoder = rowEncoder;
+    }
+    
     /**
      * レコードを書き込みます。
      * 
@@ -91,7 +132,7 @@ public abstract class AbstractCsvAnnotationBeanWriter<T> extends AbstractCsvWrit
         final CsvContext context = new CsvContext(getLineNumber(), getRowNumber(), 1);
         context.setRowSource(Collections.emptyList());  // 空の値を入れる
         
-        final CsvBindingErrors bindingErrors = new CsvBindingErrors(beanMappingCache.getOriginal().getType());
+        final CsvBindingErrors bindingErrors = beanMappingCache.createBindingErrors();
         
         // コールバックメソッドの実行（書き込み前）
         for(CallbackMethod callback : beanMappingCache.getOriginal().getPreWriteMethods()) {
@@ -133,7 +174,7 @@ public abstract class AbstractCsvAnnotationBeanWriter<T> extends AbstractCsvWrit
         processErrors(bindingErrors, context, rowException);
         
         // write the list
-        super.writeRow(processedColumns);
+        writeProcessedRow(processedColumns);
         
         // コールバックメソッドの実行（書き込み後）
         for(CallbackMethod callback : beanMappingCache.getOriginal().getPostWriteMethods()) {
@@ -145,6 +186,67 @@ public abstract class AbstractCsvAnnotationBeanWriter<T> extends AbstractCsvWrit
         
     }
     
+    /**
+     * CellProcessorで変換したレコードの値を書き込みます。
+     * <p>{@link CsvRowEncoder}が利用できる場合は、バイト列として直接出力します。</p>
+     * 
+     * @since 2.3
+     * @param columns 書き込むカラムの値。
+     * @throws IOException レコードの出力に失敗した場合。
+     */
+    protected void writeProcessedRow(final List<Object> columns) throws IOException {
+        
+        if(rowEncoder == null || !rowEncoder.isDirectEncoding()) {
+            super.writeRow(columns);
+            return;
+        }
+        
+        final int lineNumber = getLineNumber();
+        encodedLineBreaks += rowEncoder.encodeRow(columns, lineNumber, getRowNumber()) - lineNumber;
+        
+    }
+    
+    /**
+     * {@inheritDoc}
+     * <p>{@link CsvRowEncoder}で出力したレコードの値に含まれる改行も、行数に含めます。</p>
+     */
+    @Override
+    public int getLineNumber() {
+        return super.getLineNumber() + encodedLineBreaks;
+    }
+    
+    /**
+     * {@inheritDoc}
+     * <p>{@link CsvRowEncoder}で出力するレコードと順序を保つために、バッファに溜めずにエンコーダに渡します。</p>
+     */
+    @Override
+    public void writeHeader(final String... header) throws IOException {
+        super.writeHeader(header);
+        if(rowEncoder != null) {
+            super.flush();
+        }
+    }
+    
+    /**
+     * {@inheritDoc}
+     * <p>{@link CsvRowEncoder}で出力するレコードと順序を保つために、バッファに溜めずにエンコーダに渡します。</p>
+     */
+    @Override
+    public void writeComment(final String comment) throws IOException {
+        super.writeComment(comment);
+        if(rowEncoder != null) {
+            super.flush();
+        }
+    }
+    
+    @Override
+    public void flush() throws IOException {
+        super.flush();
+        if(rowEncoder != null) {
+            rowEncoder.flush();
+        }
+    }
+    
     /**
      * 行の例外情報をメッセージに変換したりします。
      * @param bindingErrors
@@ -308,6 +410,49 @@ public abstract class AbstractCsvAnnotationBeanWriter<T> extends AbstractCsvWrit
         return validators;
     }
     
+    /**
+     * 指定したフィールドのカラムのみを書き込むよう射影します。
+     * <p>射影の対象外のカラムは、フィールドの値を取得せず、CellProcessorによる変換と検証も行わずに、空の値を出力します。
+     *   <br>ヘッダーは、射影に関わらず全てのカラムを出力します。
+     *   <br>レコードの入力値検証（{@link CsvValidator}）とコールバックメソッドは、射影に関わらず実行されますが、
+     *   出力しない対象外のフィールドに対するフィールドエラーは無視します。
+     * </p>
+     * <p>射影したマッピング情報は、フィールド名の組み合わせごとにキャッシュして再利用します。</p>
+     * 
+     * @since 2.3
+     * @param fieldNames 書き込み対象のフィールド名。
+     * @throws NullPointerException {@literal fieldNames is null.}
+     * @throws IllegalArgumentException 指定したフィールドのカラムが存在しない場合。
+     */
+    public void project(final String... fieldNames) {
+        Objects.requireNonNull(fieldNames, "fieldNames should not be null.");
+        this.projectedFields = Arrays.asList(fieldNames.clone());
+        applyProjection();
+    }
+    
+    /**
+     * 射影を解除し、全てのカラムを書き込むようにします。
+     * @since 2.3
+     */
+    public void clearProjection() {
+        this.projectedFields = null;
+        applyProjection();
+    }
     
+    /**
+     * {@link #project(String...)}で指定した射影を、Beanのマッピング情報に適用します。
+     * <p>マッピング情報を作成、または変更した後に呼び出す必要があります。</p>
+     * 
+     * @since 2.3
+     * @throws IllegalArgumentException 指定したフィールドのカラムが存在しない場合。
+     */
+    protected void applyProjection() {
+        if(beanMappingCache == null) {
+            return;
+        }
+        
+        this.beanMappingCache = (projectedFields == null) ? beanMappingCache.getUnprojected()
+                : beanMappingCache.project(projectedFields);
+    }
     
 }
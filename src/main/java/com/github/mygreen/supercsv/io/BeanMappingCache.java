@@ -1,15 +1,30 @@
 package com.github.mygreen.supercsv.io;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 import org.supercsv.cellprocessor.ift.CellProcessor;
+import org.supercsv.util.CsvContext;
 
 import com.github.mygreen.supercsv.builder.BeanMapping;
+import com.github.mygreen.supercsv.builder.ColumnMapping;
+import com.github.mygreen.supercsv.validation.CsvBindingErrors;
 
 
 /**
  * Beanのマッピング情報のキャッシュ。
  * <p>レコードの実行ごとに、</p>
  *
- * @version 2.0
+ * @version 2.3
  * @author T.TSUCHIE
  *
  */
@@ -25,8 +40,55 @@ public class BeanMappingCache<T> {
     
     private CellProcessor[] cellProcessorsForWriting;
     
+    private boolean[] charSequenceColumns;
+    
+    /**
+     * 射影する前のキャッシュ。射影していない場合は、自身のインスタンス。
+     * @since 2.3
+     */
+    private final BeanMappingCache<T> unprojected;
+    
+    /**
+     * 射影したフィールド名。射影していない場合はnull。
+     * @since 2.3
+     */
+    private Set<String> projectedFields;
+    
+    /**
+     * 射影の対象外のカラムのフィールド名。射影していない場合はnull。
+     * @since 2.3
+     */
+    private Set<String> unprojectedFields;
+    
+    /**
+     * フィールド名の組み合わせごとの、射影したキャッシュ。
+     * @since 2.3
+     */
+    private final ConcurrentMap<Set<String>, BeanMappingCache<T>> projections;
+    
+    /**
+     * 射影の対象外のカラムに対する、読み込み用のCellProcessor。
+     * <p>値を処理せずに、nullを返します。</p>
+     * @since 2.3
+     */
+    private static final CellProcessor SKIP_COLUMN = new CellProcessor() {
+        
+        @Override
+        public <R> R execute(final Object value, final CsvContext context) {
+            return null;
+        }
+    };
+    
     private BeanMappingCache(final BeanMapping<T> beanMapping) {
         this.beanMapping = beanMapping;
+        this.unprojected = this;
+        this.projections = new ConcurrentHashMap<>();
+    }
+    
+    private BeanMappingCache(final BeanMappingCache<T> unprojected) {
+        this.beanMapping = unprojected.beanMapping;
+        this.unprojected = unprojected;
+        this.projections = null;
     }
     
     public static <T> BeanMappingCache<T> create(final BeanMapping<T> beanMapping) {
@@ -37,10 +99,120 @@ public class BeanMappingCache<T> {
         cache.nameMapping = beanMapping.getNameMapping();
         cache.cellProcessorsForReading = beanMapping.getCellProcessorsForReading();
         cache.cellProcessorsForWriting = beanMapping.getCellProcessorsForWriting();
+        cache.charSequenceColumns = createCharSequenceColumns(beanMapping.getColumns());
         
         return cache;
     }
     
+    /**
+     * 読み込み時に、文字列に変換せずに{@link CharSequence}のまま処理できるカラムかどうかを判定する。
+     * <p>フィールドのタイプが文字列以外で、読み込み用のCellProcessorを持つカラムが対象となります。</p>
+     * @param columns カラムのマッピング情報
+     * @return カラムの位置順の判定結果。
+     */
+    private static boolean[] createCharSequenceColumns(final List<ColumnMapping> columns) {
+        
+        final boolean[] result = new boolean[columns.size()];
+        for(int i=0; i < result.length; i++) {
+            final ColumnMapping column = columns.get(i);
+            result[i] = column.getField() != null
+                    && column.getCellProcessorForReading() != null
+                    && !column.getField().getType().isAssignableFrom(String.class);
+        }
+        
+        return result;
+    }
+    
+    /**
+     * 指定したフィールドのカラムのみを処理するように射影したキャッシュを取得する。
+     * <p>射影の対象外のカラムは、読み込み時はCellProcessorを実行せずにnullとして扱い、Beanのフィールドにも値を設定しません。
+     *   書き込み時は、フィールドの値を取得せずに空の値を出力します。
+     * </p>
+     * <p>射影したキャッシュは、フィールド名の組み合わせごとに再利用します。</p>
+     * 
+     * @since 2.3
+     * @param fieldNames 処理対象のフィールド名。
+     * @return 射影したキャッシュ。
+     * @throws NullPointerException {@literal fieldNames is null.}
+     * @throws IllegalArgumentException 指定したフィールドのカラムが存在しない場合。
+     */
+    public BeanMappingCache<T> project(final Collection<String> fieldNames) {
+        
+        Objects.requireNonNull(fieldNames, "fieldNames should not be null.");
+        
+        final Set<String> key = Collections.unmodifiableSet(new LinkedHashSet<>(fieldNames));
+        final Set<String> existingNames = new HashSet<>(Arrays.asList(unprojected.nameMapping));
+        for(String fieldName : key) {
+            if(fieldName == null || !existingNames.contains(fieldName)) {
+                throw new IllegalArgumentException(String.format("not found column of field '%s'.", fieldName));
+            }
+        }
+        
+        return unprojected.projections.computeIfAbsent(key, k -> unprojected.createProjection(k));
+    }
+    
+    private BeanMappingCache<T> createProjection(final Set<String> fieldNames) {
+        
+        final BeanMappingCache<T> cache = new BeanMappingCache<>(this);
+        cache.projectedFields = fieldNames;
+        cache.header = header;
+        cache.nameMapping = nameMapping.clone();
+        cache.cellProcessorsForReading = cellProcessorsForReading.clone();
+        cache.cellProcessorsForWriting = cellProcessorsForWriting.clone();
+        cache.charSequenceColumns = charSequenceColumns.clone();
+        cache.unprojectedFields = new HashSet<>();
+        
+        for(int i=0; i < nameMapping.length; i++) {
+            if(nameMapping[i] == null || fieldNames.contains(nameMapping[i])) {
+                continue;
+            }
+            
+            // 射影の対象外のカラムは、文字列に変換せずに読み飛ばす。
+            cache.unprojectedFields.add(nameMapping[i]);
+            cache.nameMapping[i] = null;
+            cache.cellProcessorsForReading[i] = SKIP_COLUMN;
+            cache.cellProcessorsForWriting[i] = null;
+            if(i < cache.charSequenceColumns.length) {
+                cache.charSequenceColumns[i] = true;
+            }
+        }
+        
+        return cache;
+    }
+    
+    /**
+     * 射影する前のキャッシュを取得する。
+     * @since 2.3
+     * @return 射影していない場合は、自身のインスタンスを返します。
+     */
+    public BeanMappingCache<T> getUnprojected() {
+        return unprojected;
+    }
+    
+    /**
+     * 射影したフィールド名を取得する。
+     * @since 2.3
+     * @return 射影していない場合は、空を返します。
+     */
+    public Optional<Set<String>> getProjectedFields() {
+        return Optional.ofNullable(projectedFields);
+    }
+    
+    /**
+     * レコードのエラー情報を作成する。
+     * <p>射影している場合は、射影の対象外のフィールドに対するフィールドエラーを無視するエラー情報を作成します。
+     *   <br>対象外のフィールドは値が設定されないため、レコードの入力値検証などで誤ってエラーとならないようにします。
+     * </p>
+     * @since 2.3
+     * @return 空のエラー情報。
+     */
+    public CsvBindingErrors createBindingErrors() {
+        if(unprojectedFields == null) {
+            return new CsvBindingErrors(beanMapping.getType());
+        }
+        return new ProjectedBindingErrors(beanMapping.getType(), unprojectedFields);
+    }
+    
     /**
      * キャッシュ元のデータを取得する。
      * @return キャッシュ元となったマッピング情報。
@@ -66,4 +238,14 @@ public class BeanMappingCache<T> {
         return cellProcessorsForWriting;
     }
     
+    /**
+     * 読み込み時に、{@link CharSequence}のまま処理できるカラムかどうか。
+     * @since 2.3
+     * @param columnIndex カラムのインデックス。0から始まる。
+     * @return trueの場合、文字列に変換せずにCellProcessorに渡すことができます。
+     */
+    public boolean isCharSequenceColumn(final int columnIndex) {
+        return columnIndex < charSequenceColumns.length && charSequenceColumns[columnIndex];
+    }
+    
 }
@@ -0,0 +1,547 @@
+package com.github.mygreen.supercsv.io;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import com.github.mygreen.supercsv.builder.ColumnMapping;
+import com.github.mygreen.supercsv.validation.CsvBindingErrors;
+
+/**
+ * 複数レコード分の値を、カラムごとの配列として保持するバッチ。
+ * <p>{@link AbstractCsvAnnotationBeanReader#readBatch(ColumnBatch)}で、Beanを作成せずに読み込む際に利用します。
+ *   <br>インスタンスは再利用することを想定しており、読み込むたびに前回の値はクリアされます。
+ * </p>
+ * <p>フィールドのタイプに応じて、次の配列で値を保持します。</p>
+ * <ul>
+ *   <li>int/Integer型の場合、{@link IntVector}で保持します。</li>
+ *   <li>long/Long型の場合、{@link LongVector}で保持します。</li>
+ *   <li>double/Double型の場合、{@link DoubleVector}で保持します。</li>
+ *   <li>その他の型、またはフィールドがない部分的なカラムの場合、{@link ObjectVector}で保持します。</li>
+ * </ul>
+ *
+ * @since 2.3
+ * @author T.TSUCHIE
+ *
+ */
+public class ColumnBatch {
+
+    private final int capacity;
+
+    private final ColumnVector[] vectors;
+
+    private final int[] lineNumbers;
+
+    private final int[] rowNumbers;
+
+    /**
+     * レコードのインデックス順のエラー情報。エラーがない場合はnull。
+     */
+    private final CsvBindingErrors[] bindingErrors;
+
+    private int size;
+
+    private int errorCount;
+
+    /**
+     * コンストラクタ
+     * @param columns カラムのマッピング情報。
+     * @param capacity 保持するレコードの最大件数。
+     * @throws NullPointerException {@literal columns is null.}
+     * @throws IllegalArgumentException {@literal capacity <= 0.}
+     */
+    public ColumnBatch(final List<ColumnMapping> columns, final int capacity) {
+        Objects.requireNonNull(columns, "columns should not be null.");
+        if(capacity <= 0) {
+            throw new IllegalArgumentException(String.format("capacity should be greater than 0 : %d", capacity));
+        }
+
+        this.capacity = capacity;
+        this.vectors = new ColumnVector[columns.size()];
+        for(int i=0; i < vectors.length; i++) {
+            vectors[i] = createVector(columns.get(i), capacity);
+        }
+
+        this.lineNumbers = new int[capacity];
+        this.rowNumbers = new int[capacity];
+        this.bindingErrors = new CsvBindingErrors[capacity];
+    }
+
+    private static ColumnVector createVector(final ColumnMapping column, final int capacity) {
+
+        final Class<?> type = column.getField() != null ? column.getField().getType() : String.class;
+        if(type == int.class || type == Integer.class) {
+            return new IntVector(column, capacity);
+
+        } else if(type == long.class || type == Long.class) {
+            return new LongVector(column, capacity);
+
+        } else if(type == double.class || type == Double.class) {
+            return new DoubleVector(column, capacity);
+
+        }
+
+        return new ObjectVector(column, capacity);
+    }
+
+    /**
+     * 保持している値とエラー情報をクリアします。
+     */
+    public void clear() {
+        for(ColumnVector vector : vectors) {
+            vector.clear(size);
+        }
+
+        Arrays.fill(bindingErrors, 0, size, null);
+        this.size = 0;
+        this.errorCount = 0;
+    }
+
+    /**
+     * 1レコード分の値を追加します。
+     * @param values カラムの位置順の値。
+     * @param errors レコードのエラー情報。エラーがない場合はnull。
+     * @param lineNumber 行番号
+     * @param rowNumber レコード番号
+     * @throws IllegalStateException 最大件数に達している場合。
+     */
+    void add(final List<Object> values, final CsvBindingErrors errors, final int lineNumber, final int rowNumber) {
+
+        if(size >= capacity) {
+            throw new IllegalStateException(String.format("batch is full : capacity=%d", capacity));
+        }
+
+        for(int i=0; i < vectors.length; i++) {
+            final ColumnVector vector = vectors[i];
+            final Object value = values.get(i);
+            if(value == null || (errors != null && vector.getName() != null && errors.hasFieldErrors(vector.getName()))) {
+                // エラーのカラムは、nullとして扱う
+                vector.setNull(size);
+            } else {
+                vector.set(size, value);
+            }
+        }
+
+        lineNumbers[size] = lineNumber;
+        rowNumbers[size] = rowNumber;
+        if(errors != null) {
+            bindingErrors[size] = errors;
+            errorCount++;
+        }
+
+        size++;
+    }
+
+    /**
+     * 保持するレコードの最大件数を取得します。
+     * @return コンストラクタで指定した件数。
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * 保持しているレコードの件数を取得します。
+     * @return レコードの件数。
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * レコードを保持していないかどうか。
+     * @return trueの場合、レコードを保持していません。
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * 最大件数までレコードを保持しているかどうか。
+     * @return trueの場合、最大件数に達しています。
+     */
+    public boolean isFull() {
+        return size >= capacity;
+    }
+
+    /**
+     * カラムの個数を取得します。
+     * @return カラムの個数。
+     */
+    public int getColumnCount() {
+        return vectors.length;
+    }
+
+    /**
+     * カラムの番号を指定して、カラムの値を取得します。
+     * @param columnNumber カラムの番号。1から始まります。
+     * @return カラムの値。
+     * @throws IndexOutOfBoundsException カラムの番号が範囲外の場合。
+     */
+    public ColumnVector getColumn(final int columnNumber) {
+        return vectors[columnNumber - 1];
+    }
+
+    /**
+     * フィールド名を指定して、カラムの値を取得します。
+     * @param name フィールド名。
+     * @return カラムの値。
+     * @throws IllegalArgumentException 該当するカラムが存在しない場合。
+     */
+    public ColumnVector getColumn(final String name) {
+        for(ColumnVector vector : vectors) {
+            if(name.equals(vector.getName())) {
+                return vector;
+            }
+        }
+
+        throw new IllegalArgumentException(String.format("not found column with name '%s'.", name));
+    }
+
+    /**
+     * レコードの行番号を取得します。
+     * @param rowIndex バッチ内のレコードのインデックス。0から始まります。
+     * @return 行番号。
+     */
+    public int getLineNumber(final int rowIndex) {
+        checkRowIndex(rowIndex);
+        return lineNumbers[rowIndex];
+    }
+
+    /**
+     * レコードの番号を取得します。
+     * @param rowIndex バッチ内のレコードのインデックス。0から始まります。
+     * @return レコード番号。
+     */
+    public int getRowNumber(final int rowIndex) {
+        checkRowIndex(rowIndex);
+        return rowNumbers[rowIndex];
+    }
+
+    /**
+     * エラーがあるかどうか。
+     * @return trueの場合、いずれかのレコードにエラーがあります。
+     */
+    public boolean hasErrors() {
+        return errorCount > 0;
+    }
+
+    /**
+     * 指定したレコードにエラーがあるかどうか。
+     * @param rowIndex バッチ内のレコードのインデックス。0から始まります。
+     * @return trueの場合、エラーがあります。
+     */
+    public boolean hasErrors(final int rowIndex) {
+        checkRowIndex(rowIndex);
+        return bindingErrors[rowIndex] != null;
+    }
+
+    /**
+     * 指定したレコードのエラー情報を取得します。
+     * @param rowIndex バッチ内のレコードのインデックス。0から始まります。
+     * @return エラーがない場合はnullを返します。
+     */
+    public CsvBindingErrors getBindingErrors(final int rowIndex) {
+        checkRowIndex(rowIndex);
+        return bindingErrors[rowIndex];
+    }
+
+    /**
+     * エラーがあるレコードのインデックスを取得します。
+     * @return インデックスの昇順の一覧。エラーがない場合は空を返します。
+     */
+    public List<Integer> getErrorRowIndexes() {
+        if(errorCount == 0) {
+            return Collections.emptyList();
+        }
+
+        final List<Integer> list = new ArrayList<>(errorCount);
+        for(int i=0; i < size; i++) {
+            if(bindingErrors[i] != null) {
+                list.add(i);
+            }
+        }
+
+        return list;
+    }
+
+    private void checkRowIndex(final int rowIndex) {
+        if(rowIndex < 0 || rowIndex >= size) {
+            throw new IndexOutOfBoundsException(String.format("rowIndex=%d, size=%d", rowIndex, size));
+        }
+    }
+
+    /**
+     * 1カラム分の値を保持する配列。
+     * <p>nullかどうかは、ビット列として保持します。</p>
+     */
+    public static abstract class ColumnVector {
+
+        private final ColumnMapping column;
+
+        /**
+         * nullかどうかのビット列。
+         */
+        protected final long[] nulls;
+
+        protected ColumnVector(final ColumnMapping column, final int capacity) {
+            this.column = column;
+            this.nulls = new long[(capacity + 63) / 64];
+        }
+
+        /**
+         * 値を設定します。
+         * @param rowIndex バッチ内のレコードのインデックス。
+         * @param value 設定する値。nullではない。
+         */
+        protected abstract void set(int rowIndex, Object value);
+
+        /**
+         * 値をnullとして設定します。
+         * @param rowIndex バッチ内のレコードのインデックス。
+         */
+        protected void setNull(final int rowIndex) {
+            nulls[rowIndex >>> 6] |= (1L << rowIndex);
+        }
+
+        /**
+         * 値をクリアします。
+         * @param size クリアするレコードの件数。
+         */
+        protected void clear(final int size) {
+            Arrays.fill(nulls, 0L);
+        }
+
+        /**
+         * 値がnullかどうか。
+         * @param rowIndex バッチ内のレコードのインデックス。0から始まります。
+         * @return trueの場合、値はnullです。
+         */
+        public boolean isNull(final int rowIndex) {
+            return (nulls[rowIndex >>> 6] & (1L << rowIndex)) != 0L;
+        }
+
+        /**
+         * nullかどうかのビット列を取得します。
+         * <p>レコードのインデックス{@literal i}の値がnullの場合、
+         *   {@literal (nulls[i >>> 6] & (1L << i)) != 0}となります。</p>
+         * @return ビット列。
+         */
+        public long[] getNulls() {
+            return nulls;
+        }
+
+        /**
+         * 値をオブジェクトとして取得します。
+         * @param rowIndex バッチ内のレコードのインデックス。0から始まります。
+         * @return 値がnullの場合は、nullを返します。
+         */
+        public abstract Object getObject(int rowIndex);
+
+        /**
+         * カラムのマッピング情報を取得します。
+         * @return カラムのマッピング情報。
+         */
+        public ColumnMapping getColumnMapping() {
+            return column;
+        }
+
+        /**
+         * カラムに対応するフィールド名を取得します。
+         * @return 部分的なカラムの場合は、nullを返します。
+         */
+        public String getName() {
+            return column.getName();
+        }
+
+    }
+
+    /**
+     * int型の値を保持する配列。
+     */
+    public static class IntVector extends ColumnVector {
+
+        private final int[] values;
+
+        protected IntVector(final ColumnMapping column, final int capacity) {
+            super(column, capacity);
+            this.values = new int[capacity];
+        }
+
+        @Override
+        protected void set(final int rowIndex, final Object value) {
+            values[rowIndex] = ((Number)value).intValue();
+        }
+
+        @Override
+        protected void setNull(final int rowIndex) {
+            super.setNull(rowIndex);
+            values[rowIndex] = 0;
+        }
+
+        /**
+         * 値を取得します。
+         * @param rowIndex バッチ内のレコードのインデックス。0から始まります。
+         * @return 値がnullの場合は、0を返します。
+         */
+        public int getInt(final int rowIndex) {
+            return values[rowIndex];
+        }
+
+        @Override
+        public Object getObject(final int rowIndex) {
+            return isNull(rowIndex) ? null : values[rowIndex];
+        }
+
+        /**
+         * 値の配列を取得します。
+         * @return 値の配列。長さは最大件数です。
+         */
+        public int[] getValues() {
+            return values;
+        }
+
+    }
+
+    /**
+     * long型の値を保持する配列。
+     */
+    public static class LongVector extends ColumnVector {
+
+        private final long[] values;
+
+        protected LongVector(final ColumnMapping column, final int capacity) {
+            super(column, capacity);
+            this.values = new long[capacity];
+        }
+
+        @Override
+        protected void set(final int rowIndex, final Object value) {
+            values[rowIndex] = ((Number)value).longValue();
+        }
+
+        @Override
+        protected void setNull(final int rowIndex) {
+            super.setNull(rowIndex);
+            values[rowIndex] = 0L;
+        }
+
+        /**
+         * 値を取得します。
+         * @param rowIndex バッチ内のレコードのインデックス。0から始まります。
+         * @return 値がnullの場合は、0を返します。
+         */
+        public long getLong(final int rowIndex) {
+            return values[rowIndex];
+        }
+
+        @Override
+        public Object getObject(final int rowIndex) {
+            return isNull(rowIndex) ? null : values[rowIndex];
+        }
+
+        /**
+         * 値の配列を取得します。
+         * @return 値の配列。長さは最大件数です。
+         */
+        public long[] getValues() {
+            return values;
+        }
+
+    }
+
+    /**
+     * double型の値を保持する配列。
+     */
+    public static class DoubleVector extends ColumnVector {
+
+        private final double[] values;
+
+        protected DoubleVector(final ColumnMapping column, final int capacity) {
+            super(column, capacity);
+            this.values = new double[capacity];
+        }
+
+        @Override
+        protected void set(final int rowIndex, final Object value) {
+            values[rowIndex] = ((Number)value).doubleValue();
+        }
+
+        @Override
+        protected void setNull(final int rowIndex) {
+            super.setNull(rowIndex);
+            values[rowIndex] = 0.0;
+        }
+
+        /**
+         * 値を取得します。
+         * @param rowIndex バッチ内のレコードのインデックス。0から始まります。
+         * @return 値がnullの場合は、0を返します。
+         */
+        public double getDouble(final int rowIndex) {
+            return values[rowIndex];
+        }
+
+        @Override
+        public Object getObject(final int rowIndex) {
+            return isNull(rowIndex) ? null : values[rowIndex];
+        }
+
+        /**
+         * 値の配列を取得します。
+         * @return 値の配列。長さは最大件数です。
+         */
+        public double[] getValues() {
+            return values;
+        }
+
+    }
+
+    /**
+     * オブジェクトの値を保持する配列。
+     */
+    public static class ObjectVector extends ColumnVector {
+
+        private final Object[] values;
+
+        protected ObjectVector(final ColumnMapping column, final int capacity) {
+            super(column, capacity);
+            this.values = new Object[capacity];
+        }
+
+        @Override
+        protected void set(final int rowIndex, final Object value) {
+            values[rowIndex] = value;
+        }
+
+        @Override
+        protected void setNull(final int rowIndex) {
+            super.setNull(rowIndex);
+            values[rowIndex] = null;
+        }
+
+        @Override
+        protected void clear(final int size) {
+            super.clear(size);
+            // 参照を残さないようにする
+            Arrays.fill(values, 0, size, null);
+        }
+
+        @Override
+        public Object getObject(final int rowIndex) {
+            return values[rowIndex];
+        }
+
+        /**
+         * 値の配列を取得します。
+         * @return 値の配列。長さは最大件数です。
+         */
+        public Object[] getValues() {
+            return values;
+        }
+
+    }
+
+}
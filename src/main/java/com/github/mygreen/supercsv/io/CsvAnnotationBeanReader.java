@@ -2,26 +2,34 @@ package com.github.mygreen.supercsv.io;
 
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.Random;
+import java.util.function.BiConsumer;
 
 import org.supercsv.exception.SuperCsvException;
 import org.supercsv.io.ITokenizer;
 import org.supercsv.prefs.CsvPreference;
+import org.supercsv.util.CsvContext;
 
 import com.github.mygreen.supercsv.builder.BeanMapping;
 import com.github.mygreen.supercsv.builder.BeanMappingFactory;
 import com.github.mygreen.supercsv.exception.SuperCsvBindingException;
 import com.github.mygreen.supercsv.exception.SuperCsvNoMatchColumnSizeException;
 import com.github.mygreen.supercsv.exception.SuperCsvNoMatchHeaderException;
+import com.github.mygreen.supercsv.validation.CsvBindingErrors;
 
 /**
  * アノテーションを元にCSVファイルを読み込むためのクラス。
  * 
  * @param <T> マッピング対象のBeanのクラスタイプ
- * @version 2.１
+ * @version 2.3
  * @author T.TSUCHIE
  *
  */
@@ -107,6 +115,42 @@ public class CsvAnnotationBeanReader<T> extends AbstractCsvAnnotationBeanReader<
         this.validators.addAll(beanMapping.getValidators());
     }
     
+    /**
+     * ファイルを指定して、{@link CsvAnnotationBeanReader}を作成します。
+     * <p>ファイルがgzip形式で圧縮されている場合は、先頭のマジックナンバーから判定し、別スレッドで展開しながら読み込みます。
+     *   <br>Tokenizerには、{@link CsvTokenizer}を利用します。
+     * </p>
+     * 
+     * @since 2.3
+     * @param <T> マッピング対象のBeanのクラスタイプ
+     * @param beanType Beanのクラスタイプ。
+     * @param file 読み込むファイル。
+     * @param charset ファイルの文字コード。
+     * @param preference the CSV preferences.
+     * @param groups グループ情報。適用するアノテーションを切り替える際に指定します。
+     * @return 作成した{@link CsvAnnotationBeanReader}。
+     * @throws NullPointerException {@literal if beanType or file or charset or preferences are null.}
+     * @throws IOException ファイルの読み込みに失敗した場合。
+     * @see GzipSupport
+     */
+    public static <T> CsvAnnotationBeanReader<T> open(final Class<T> beanType, final Path file, final Charset charset,
+            final CsvPreference preference, final Class<?>... groups) throws IOException {
+        
+        Objects.requireNonNull(beanType, "beanType should not be null.");
+        Objects.requireNonNull(charset, "charset should not be null.");
+        Objects.requireNonNull(preference, "preference should not be null.");
+        
+        final InputStream in = GzipSupport.newInputStream(file);
+        try {
+            return new CsvAnnotationBeanReader<>(beanType,
+                    new CsvTokenizer(new InputStreamReader(in, charset), preference), preference, groups);
+            
+        } catch(RuntimeException e) {
+            in.close();
+            throw e;
+        }
+    }
+    
     /**
      * {@inheritDoc}
      * 
@@ -200,4 +244,111 @@ public class CsvAnnotationBeanReader<T> extends AbstractCsvAnnotationBeanReader<
         return list;
     }
     
+    /**
+     * リザーバーサンプリングにより、指定した件数のレコードを無作為に抽出します。
+     * <p>ヘッダー行も自動的に処理されます。</p>
+     * <p>抽出対象とならないレコードは、カラムに分割せずに読み飛ばすため、CellProcessorや入力値検証は実行されません。
+     *   <br>抽出したBeanのエラーメッセージの行番号、レコード番号は、全てのレコードを読み込む場合と同じです。
+     * </p>
+     * <p>{@link #setRowFilter(CsvRowFilter)}でフィルタを設定している場合は、フィルタで絞り込んだレコードから抽出します。
+     *   <br>{@link #setSampler(CsvSampler)}で標本抽出する処理を設定している場合は、例外をスローします。
+     * </p>
+     * 
+     * @since 2.3
+     * @param size 抽出する件数。レコードの件数が少ない場合は、全てのレコードを返します。
+     * @param random 乱数の生成器。
+     * @return 抽出したレコード。ファイル上の順序で返します。
+     * 
+     * @throws NullPointerException {@literal random is null.}
+     * @throws IllegalArgumentException {@literal size <= 0.}
+     * @throws IllegalStateException {@link #setSampler(CsvSampler)}で標本抽出する処理を設定している場合。
+     * @throws IOException レコードの読み込みに失敗した場合。
+     * @throws SuperCsvNoMatchColumnSizeException レコードのカラムサイズに問題がある場合
+     * @throws SuperCsvBindingException セルの値に問題がある場合
+     * @throws SuperCsvException 設定など、その他に問題がある場合
+     */
+    public List<T> readSample(final int size, final Random random) throws IOException {
+        return readSample(size, random, false);
+    }
+    
+    /**
+     * リザーバーサンプリングにより、指定した件数のレコードを無作為に抽出します。
+     * <p>ヘッダー行も自動的に処理されます。</p>
+     * 
+     * @since 2.3
+     * @param size 抽出する件数。レコードの件数が少ない場合は、全てのレコードを返します。
+     * @param random 乱数の生成器。
+     * @param continueOnError レコードの処理中に、
+     *        例外{@link SuperCsvNoMatchColumnSizeException}、{@link SuperCsvBindingException}
+     *        が発生しても続行するかどう指定します。
+     *        trueの場合、例外が発生したレコードを除いて抽出します。
+     * @return 抽出したレコード。ファイル上の順序で返します。
+     * 
+     * @throws NullPointerException {@literal random is null.}
+     * @throws IllegalArgumentException {@literal size <= 0.}
+     * @throws IllegalStateException {@link #setSampler(CsvSampler)}で標本抽出する処理を設定している場合。
+     * @throws IOException レコードの読み込みに失敗した場合。
+     * @throws SuperCsvNoMatchColumnSizeException レコードのカラムサイズに問題がある場合
+     * @throws SuperCsvBindingException セルの値に問題がある場合
+     * @throws SuperCsvException 設定など、その他に問題がある場合
+     * @see #readSample(int, Random)
+     */
+    public List<T> readSample(final int size, final Random random, final boolean continueOnError) throws IOException {
+        
+        if(beanMappingCache.getOriginal().isHeader() && getLineNumber() == 0) {
+            try {
+                getHeader(true);
+            } catch(SuperCsvNoMatchColumnSizeException | SuperCsvNoMatchHeaderException e) {
+                if(!continueOnError) {
+                    throw e;
+                }
+            }
+        }
+        
+        return readReservoir(size, random, continueOnError);
+    }
+    
+    /**
+     * レコードを全て読み込み、値の検証のみを行います。
+     * <p>ヘッダー行も自動的に処理されます。</p>
+     * <p>Beanのリストは作成せずに、エラーがあるレコードごとにエラー情報をハンドラに渡します。
+     *   <br>エラーがあっても例外はスローせずに、最後のレコードまで処理を続けます。
+     * </p>
+     * 
+     * @since 2.3
+     * @param errorHandler エラーがあるレコードのエラー情報を受け取る処理。
+     *        第1引数には、レコードの行番号などの情報が渡されます。
+     * @return エラーがあったレコードの件数。ヘッダーのエラーも1件として含みます。
+     * @throws NullPointerException {@literal errorHandler is null.}
+     * @throws IOException レコードの読み込みに失敗した場合。
+     * @throws SuperCsvException 設定など、その他に問題がある場合
+     */
+    public int validateAll(final BiConsumer<CsvContext, CsvBindingErrors> errorHandler) throws IOException {
+        
+        Objects.requireNonNull(errorHandler, "errorHandler should not be null.");
+        
+        int headerErrorCount = 0;
+        if(beanMappingCache.getOriginal().isHeader()) {
+            try {
+                getHeader(true);
+            } catch(SuperCsvNoMatchColumnSizeException | SuperCsvNoMatchHeaderException e) {
+                final CsvBindingErrors bindingErrors = new CsvBindingErrors(beanMappingCache.getOriginal().getType());
+                bindingErrors.addAllErrors(exceptionConverter.convert(e, beanMappingCache.getOriginal()));
+                errorHandler.accept(e.getCsvContext(), bindingErrors);
+                headerErrorCount++;
+            }
+        }
+        
+        int errorCount = 0;
+        CsvBindingErrors bindingErrors;
+        while((bindingErrors = validate()) != null) {
+            if(bindingErrors.hasErrors()) {
+                errorCount++;
+                errorHandler.accept(new CsvContext(getLineNumber(), getRowNumber(), 1), bindingErrors);
+            }
+        }
+        
+        return headerErrorCount + errorCount;
+    }
+    
 }
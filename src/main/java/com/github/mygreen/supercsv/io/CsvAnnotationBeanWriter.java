@@ -2,7 +2,10 @@ package com.github.mygreen.supercsv.io;
 
 import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
 import java.util.Collection;
 import java.util.Objects;
 
@@ -17,7 +20,7 @@ import com.github.mygreen.supercsv.exception.SuperCsvBindingException;
  * アノテーションを元にCSVファイルを出力するためのクラス。
  *
  * @param <T> マッピング対象のBeanのクラスタイプ
- * @version 2.1
+ * @version 2.3
  * @author T.TSUCHIE
  *
  */
@@ -64,6 +67,86 @@ public class CsvAnnotationBeanWriter<T> extends AbstractCsvAnnotationBeanWriter<
         this.validators.addAll(beanMapping.getValidators());
     }
     
+    /**
+     * Beanのクラスタイプと出力先のストリームを指定して、{@link CsvAnnotationBeanWriter}を作成するコンストラクタ。
+     * <p>レコードは、{@link CsvRowEncoder}により文字列を介さずにバイト列として出力します。
+     *   内部でバッファリングするため、{@link java.io.BufferedOutputStream}にラップする必要はありません。
+     * </p>
+     * 
+     * @since 2.3
+     * @param beanType Beanのクラスタイプ。
+     * @param out 出力先のストリーム。
+     * @param charset 文字コード。
+     * @param preference CSV preferences.
+     * @param groups グループ情報。適用するアノテーションを切り替える際に指定します。
+     * @throws NullPointerException {@literal if beanType or out or charset or preferences are null.}
+     */
+    public CsvAnnotationBeanWriter(final Class<T> beanType, final OutputStream out, final Charset charset,
+            final CsvPreference preference, final Class<?>... groups) {
+        super(out, charset, preference);
+        
+        Objects.requireNonNull(beanType, "beanType should not be null.");
+        
+        BeanMappingFactory factory = new BeanMappingFactory();
+        this.beanMappingCache = BeanMappingCache.create(factory.create(beanType, groups));
+        this.validators.addAll(beanMappingCache.getOriginal().getValidators());
+        
+    }
+    
+    /**
+     * Beanのマッピング情報と出力先のストリームを指定して、{@link CsvAnnotationBeanWriter}を作成するコンストラクタ。
+     * <p>レコードは、{@link CsvRowEncoder}により文字列を介さずにバイト列として出力します。</p>
+     * 
+     * @since 2.3
+     * @param beanMapping Beanのマッピング情報。
+     * @param out 出力先のストリーム。
+     * @param charset 文字コード。
+     * @param preference the CSV preferences.
+     * @throws NullPointerException {@literal if beanMapping or out or charset or preferences are null.}
+     */
+    public CsvAnnotationBeanWriter(final BeanMapping<T> beanMapping, final OutputStream out, final Charset charset,
+            final CsvPreference preference) {
+        super(out, charset, preference);
+        
+        Objects.requireNonNull(beanMapping, "beanMapping should not be null.");
+        
+        this.beanMappingCache = BeanMappingCache.create(beanMapping);
+        this.validators.addAll(beanMapping.getValidators());
+    }
+    
+    /**
+     * ファイルを指定して、{@link CsvAnnotationBeanWriter}を作成します。
+     * <p>ファイル名の拡張子が{@literal .gz}の場合は、複数のスレッドで並列に圧縮しながら、gzip形式で書き込みます。</p>
+     * 
+     * @since 2.3
+     * @param <T> マッピング対象のBeanのクラスタイプ
+     * @param beanType Beanのクラスタイプ。
+     * @param file 書き込むファイル。
+     * @param charset ファイルの文字コード。
+     * @param preference CSV preferences.
+     * @param groups グループ情報。適用するアノテーションを切り替える際に指定します。
+     * @return 作成した{@link CsvAnnotationBeanWriter}。
+     * @throws NullPointerException {@literal if beanType or file or charset or preferences are null.}
+     * @throws IOException ファイルの作成に失敗した場合。
+     * @see GzipSupport
+     */
+    public static <T> CsvAnnotationBeanWriter<T> open(final Class<T> beanType, final Path file, final Charset charset,
+            final CsvPreference preference, final Class<?>... groups) throws IOException {
+        
+        Objects.requireNonNull(beanType, "beanType should not be null.");
+        Objects.requireNonNull(charset, "charset should not be null.");
+        Objects.requireNonNull(preference, "preference should not be null.");
+        
+        final OutputStream out = GzipSupport.newOutputStream(file);
+        try {
+            return new CsvAnnotationBeanWriter<>(beanType, out, charset, preference, groups);
+            
+        } catch(RuntimeException e) {
+            out.close();
+            throw e;
+        }
+    }
+    
     /**
      * ヘッダー情報を書き込みます。
      * <p>ただし、列番号を省略され、定義がされていないカラムは、{@literal column[カラム番号]}の形式となります。</p>
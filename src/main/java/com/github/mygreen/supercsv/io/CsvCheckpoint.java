@@ -0,0 +1,128 @@
+package com.github.mygreen.supercsv.io;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.github.mygreen.supercsv.builder.BeanMapping;
+import com.github.mygreen.supercsv.builder.ColumnMapping;
+import com.github.mygreen.supercsv.cellprocessor.StatefulCellProcessor;
+
+/**
+ * CSVファイルの読み込みを中断した位置と、その時点の状態を保持するチェックポイント。
+ * <p>{@link AbstractCsvAnnotationBeanReader#createCheckpoint()}で作成し、
+ *   {@link CsvCheckpointReaderFactory#resume(CsvCheckpoint)}で読み込みを再開します。
+ * </p>
+ * <p>次の情報を保持します。
+ *   <ul>
+ *     <li>次に読み込むレコードのファイル上の位置（バイト単位）。</li>
+ *     <li>読み込み済みの行数とレコード数。再開後のエラーメッセージの行番号・レコード番号は、中断しない場合と同じになります。</li>
+ *     <li>値の重複チェックなど、{@link StatefulCellProcessor}を実装したCellProcessorの状態。</li>
+ *   </ul>
+ * </p>
+ * <p>シリアライズ可能なため、{@link java.io.ObjectOutputStream}でファイルなどに保存できます。
+ *   <br>ただし、CellProcessorの状態に含まれる値が、シリアライズ可能である必要があります。
+ * </p>
+ *
+ * @see CsvCheckpointReaderFactory
+ * @since 2.3
+ * @author T.TSUCHIE
+ *
+ */
+public class CsvCheckpoint implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long byteOffset;
+
+    private final int lineNumber;
+
+    private final int rowNumber;
+
+    private final boolean pendingLineFeed;
+
+    /**
+     * CellProcessorの状態。
+     * <p>キーは、{@literal <カラム番号>:<カラム内のインデックス>}の形式。</p>
+     */
+    private final HashMap<String, Serializable> processorStates;
+
+    CsvCheckpoint(final long byteOffset, final int lineNumber, final int rowNumber, final boolean pendingLineFeed,
+            final Map<String, Serializable> processorStates) {
+        this.byteOffset = byteOffset;
+        this.lineNumber = lineNumber;
+        this.rowNumber = rowNumber;
+        this.pendingLineFeed = pendingLineFeed;
+        this.processorStates = new HashMap<>(processorStates);
+    }
+
+    /**
+     * 読み込み用のCellProcessorのうち、{@link StatefulCellProcessor}を実装したものを取得します。
+     * <p>CellProcessorを組み立てる際に、カラムのマッピング情報に記録したものを取得します。</p>
+     *
+     * @param beanMapping Beanのマッピング情報。
+     * @return キーがCellProcessorの位置を表すマップ。
+     */
+    static Map<String, StatefulCellProcessor> findStatefulProcessors(final BeanMapping<?> beanMapping) {
+
+        final Map<String, StatefulCellProcessor> result = new LinkedHashMap<>();
+        for(ColumnMapping column : beanMapping.getColumns()) {
+            final List<StatefulCellProcessor> processors = column.getStatefulProcessorsForReading();
+            for(int i=0; i < processors.size(); i++) {
+                result.put(String.format("%d:%d", column.getNumber(), i), processors.get(i));
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * 次に読み込むレコードのファイル上の位置を取得します。
+     * @return ファイルの先頭からのバイト数。
+     */
+    public long getByteOffset() {
+        return byteOffset;
+    }
+
+    /**
+     * 読み込み済みの行数を取得します。
+     * @return 中断した時点の{@link AbstractCsvAnnotationBeanReader#getLineNumber()}の値。
+     */
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * 読み込み済みのレコード数を取得します。
+     * @return 中断した時点の{@link AbstractCsvAnnotationBeanReader#getRowNumber()}の値。ヘッダー行も含みます。
+     */
+    public int getRowNumber() {
+        return rowNumber;
+    }
+
+    /**
+     * 中断した位置の直前の文字がCRで、続くLFを読み飛ばす必要があるかどうか。
+     * @return trueの場合、再開後の最初の文字がLFであれば読み飛ばします。
+     */
+    public boolean isPendingLineFeed() {
+        return pendingLineFeed;
+    }
+
+    /**
+     * CellProcessorの状態を取得します。
+     * @return キーが{@literal <カラム番号>:<チェイン内のインデックス>}の形式の、変更できないマップ。
+     */
+    public Map<String, Serializable> getProcessorStates() {
+        return Collections.unmodifiableMap(processorStates);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CsvCheckpoint [byteOffset=%d, lineNumber=%d, rowNumber=%d, processorStates=%s]",
+                byteOffset, lineNumber, rowNumber, processorStates.keySet());
+    }
+
+}
@@ -0,0 +1,151 @@
+package com.github.mygreen.supercsv.io;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+import org.supercsv.prefs.CsvPreference;
+
+import com.github.mygreen.supercsv.builder.BeanMapping;
+import com.github.mygreen.supercsv.builder.BeanMappingFactory;
+
+/**
+ * チェックポイントを作成しながら読み込み、中断した位置から再開できる{@link CsvAnnotationBeanReader}を作成します。
+ * <p>{@link #open()}で作成したReaderは、読み込んだバイト数を計測するため、
+ *   {@link CsvAnnotationBeanReader#createCheckpoint()}でチェックポイントを作成できます。
+ *   <br>{@link #resume(CsvCheckpoint)}で作成したReaderは、ファイルの先頭から読み直さずに、チェックポイントの位置から読み込みを再開します。
+ *   このとき、行番号・レコード番号と、値の重複チェックなどのCellProcessorの状態も復元されるため、
+ *   エラーメッセージなどは中断しない場合と同じになります。
+ * </p>
+ * <p>Readerを作成するたびに、Beanのマッピング情報を新たに作成します。
+ *   CellProcessorの状態を、Reader間で共有しないようにするためです。
+ * </p>
+ *
+ * <pre class="highlight"><code class="java">
+ * CsvCheckpointReaderFactory&lt;SampleCsv&gt; factory = new CsvCheckpointReaderFactory&lt;&gt;(
+ *         SampleCsv.class, file, charset, CsvPreference.STANDARD_PREFERENCE);
+ *
+ * try(CsvAnnotationBeanReader&lt;SampleCsv&gt; reader = (checkpoint == null ? factory.open() : factory.resume(checkpoint))) {
+ *     // 100万件ごとにチェックポイントを保存する
+ *     reader.setCheckpointListener(1_000_000, cp -&gt; save(cp));
+ *
+ *     SampleCsv record;
+ *     while((record = reader.read()) != null) {
+ *         // ...
+ *     }
+ * }
+ * </code></pre>
+ *
+ * @param <T> マッピング対象のBeanのクラスタイプ
+ * @see CsvCheckpoint
+ * @since 2.3
+ * @author T.TSUCHIE
+ *
+ */
+public class CsvCheckpointReaderFactory<T> {
+
+    private final Class<T> beanType;
+
+    private final Class<?>[] groups;
+
+    private final Path file;
+
+    private final Charset charset;
+
+    private final CsvPreference preference;
+
+    /**
+     * コンストラクタ。
+     *
+     * @param beanType Beanのクラスタイプ。
+     * @param file 読み込むCSVファイル。
+     * @param charset ファイルの文字コード。改行文字が1バイトで表現される、ステートレスな文字コードである必要があります。
+     * @param preference CSVの設定。
+     * @param groups グループ情報。適用するアノテーションを切り替える際に指定します。
+     * @throws NullPointerException {@literal if beanType or file or charset or preference is null.}
+     */
+    public CsvCheckpointReaderFactory(final Class<T> beanType, final Path file, final Charset charset,
+            final CsvPreference preference, final Class<?>... groups) {
+        this.beanType = Objects.requireNonNull(beanType, "beanType should not be null.");
+        this.file = Objects.requireNonNull(file, "file should not be null.");
+        this.charset = Objects.requireNonNull(charset, "charset should not be null.");
+        this.preference = Objects.requireNonNull(preference, "preference should not be null.");
+        this.groups = groups;
+    }
+
+    /**
+     * ファイルの先頭から読み込むReaderを作成します。
+     * @return 作成したReader。
+     * @throws IllegalArgumentException サポートしていない文字コードの場合。
+     * @throws IOException ファイルの読み込みに失敗した場合。
+     */
+    public CsvAnnotationBeanReader<T> open() throws IOException {
+
+        final CsvTokenizer tokenizer = new CsvTokenizer(
+                new InputStreamReader(Files.newInputStream(file), charset), preference);
+        try {
+            tokenizer.startByteCount(charset, 0L);
+        } catch(RuntimeException e) {
+            tokenizer.close();
+            throw e;
+        }
+
+        return new CsvAnnotationBeanReader<>(createBeanMapping(), tokenizer, preference);
+    }
+
+    /**
+     * チェックポイントの位置から読み込みを再開するReaderを作成します。
+     * <p>ヘッダー行の読み込み後に作成したチェックポイントの場合、ヘッダー行は読み込み済みとして扱います。</p>
+     *
+     * @param checkpoint 再開するチェックポイント。
+     * @return 作成したReader。
+     * @throws NullPointerException {@literal checkpoint is null.}
+     * @throws IllegalArgumentException チェックポイントの位置がファイルのサイズを超える場合。
+     *         または、チェックポイントの状態がBeanのマッピング情報と一致しない場合。
+     * @throws IOException ファイルの読み込みに失敗した場合。
+     */
+    public CsvAnnotationBeanReader<T> resume(final CsvCheckpoint checkpoint) throws IOException {
+        Objects.requireNonNull(checkpoint, "checkpoint should not be null.");
+
+        final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            if(checkpoint.getByteOffset() > channel.size()) {
+                throw new IllegalArgumentException(String.format(
+                        "checkpoint offset %d exceeds the size of file '%s'.", checkpoint.getByteOffset(), file));
+            }
+            channel.position(checkpoint.getByteOffset());
+
+            final CsvTokenizer tokenizer = new CsvTokenizer(
+                    new InputStreamReader(Channels.newInputStream(channel), charset), preference, checkpoint.getLineNumber());
+            tokenizer.setPendingLineFeed(checkpoint.isPendingLineFeed());
+            tokenizer.startByteCount(charset, checkpoint.getByteOffset());
+
+            final CsvAnnotationBeanReader<T> reader = new CsvAnnotationBeanReader<>(createBeanMapping(), tokenizer, preference);
+            reader.restoreCheckpoint(checkpoint);
+            return reader;
+
+        } catch(IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private BeanMapping<T> createBeanMapping() {
+        return new BeanMappingFactory().create(beanType, groups);
+    }
+
+    /**
+     * 読み込むCSVファイルを取得します。
+     * @return CSVファイル。
+     */
+    public Path getFile() {
+        return file;
+    }
+
+}
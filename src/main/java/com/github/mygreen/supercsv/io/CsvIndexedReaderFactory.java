@@ -0,0 +1,262 @@
+package com.github.mygreen.supercsv.io;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import org.supercsv.prefs.CsvPreference;
+
+import com.github.mygreen.supercsv.builder.BeanMapping;
+import com.github.mygreen.supercsv.builder.BeanMappingFactory;
+
+/**
+ * {@link CsvRowIndex}を利用して、CSVファイルの任意の位置から読み込む{@link CsvAnnotationBeanReader}を作成します。
+ * <p>作成したReaderの{@link CsvAnnotationBeanReader#getLineNumber()}と{@link CsvAnnotationBeanReader#getRowNumber()}は、
+ *   ファイルの先頭から読み込んだ場合と同じ値になります。
+ * </p>
+ * <p>Beanのマッピング情報は、作成する全てのReaderで共有します。</p>
+ *
+ * <pre class="highlight"><code class="java">
+ * CsvRowIndex index = CsvRowIndex.build(file, charset, CsvPreference.STANDARD_PREFERENCE, 10_000);
+ * CsvIndexedReaderFactory&lt;SampleCsv&gt; factory = new CsvIndexedReaderFactory&lt;&gt;(
+ *         SampleCsv.class, file, charset, CsvPreference.STANDARD_PREFERENCE, index);
+ *
+ * // 5,000,000番目のレコードから読み込む
+ * try(CsvAnnotationBeanReader&lt;SampleCsv&gt; reader = factory.open(5_000_000)) {
+ *     SampleCsv record = reader.read();
+ * }
+ *
+ * // 4つに分割して読み込む
+ * for(CsvRowIndex.Partition partition : factory.partition(4)) {
+ *     try(CsvAnnotationBeanReader&lt;SampleCsv&gt; reader = factory.open(partition)) {
+ *         List&lt;SampleCsv&gt; list = reader.readAll();
+ *     }
+ * }
+ * </code></pre>
+ *
+ * @param <T> マッピング対象のBeanのクラスタイプ
+ * @see CsvRowIndex
+ * @since 2.3
+ * @author T.TSUCHIE
+ *
+ */
+public class CsvIndexedReaderFactory<T> {
+
+    private final BeanMapping<T> beanMapping;
+
+    private final Path file;
+
+    private final Charset charset;
+
+    private final CsvPreference preference;
+
+    private final CsvRowIndex index;
+
+    /**
+     * Beanのクラスタイプを指定するコンストラクタ。
+     *
+     * @param beanType Beanのクラスタイプ。
+     * @param file 読み込むCSVファイル。
+     * @param charset ファイルの文字コード。
+     * @param preference CSVの設定。
+     * @param index ファイルの索引。
+     * @param groups グループ情報。適用するアノテーションを切り替える際に指定します。
+     * @throws NullPointerException {@literal if beanType or file or charset or preference or index is null.}
+     * @throws IllegalArgumentException 索引を作成したファイルとサイズが一致しない場合。
+     * @throws IOException ファイルのサイズの取得に失敗した場合。
+     */
+    public CsvIndexedReaderFactory(final Class<T> beanType, final Path file, final Charset charset,
+            final CsvPreference preference, final CsvRowIndex index, final Class<?>... groups) throws IOException {
+        this(new BeanMappingFactory().create(Objects.requireNonNull(beanType, "beanType should not be null."), groups),
+                file, charset, preference, index);
+    }
+
+    /**
+     * Beanのマッピング情報を指定するコンストラクタ。
+     *
+     * @param beanMapping Beanのマッピング情報。
+     * @param file 読み込むCSVファイル。
+     * @param charset ファイルの文字コード。
+     * @param preference CSVの設定。
+     * @param index ファイルの索引。
+     * @throws NullPointerException {@literal if beanMapping or file or charset or preference or index is null.}
+     * @throws IllegalArgumentException 索引を作成したファイルとサイズが一致しない場合。
+     * @throws IOException ファイルのサイズの取得に失敗した場合。
+     */
+    public CsvIndexedReaderFactory(final BeanMapping<T> beanMapping, final Path file, final Charset charset,
+            final CsvPreference preference, final CsvRowIndex index) throws IOException {
+        Objects.requireNonNull(beanMapping, "beanMapping should not be null.");
+        Objects.requireNonNull(file, "file should not be null.");
+        Objects.requireNonNull(charset, "charset should not be null.");
+        Objects.requireNonNull(preference, "preference should not be null.");
+        Objects.requireNonNull(index, "index should not be null.");
+
+        if(!index.isValidFor(file)) {
+            throw new IllegalArgumentException(String.format("index is not valid for file '%s'. file size is different.", file));
+        }
+
+        this.beanMapping = beanMapping;
+        this.file = file;
+        this.charset = charset;
+        this.preference = preference;
+        this.index = index;
+    }
+
+    /**
+     * 最初のデータ行のレコード番号を取得します。
+     * @return ヘッダー行がある場合は2、ない場合は1。
+     */
+    public int getFirstRowNumber() {
+        return beanMapping.isHeader() ? 2 : 1;
+    }
+
+    /**
+     * 指定したレコードから読み込むReaderを作成します。
+     * <p>最初に{@link CsvAnnotationBeanReader#read()}を呼んだときに、指定したレコードが返されます。
+     *   <br>レコード番号として1を指定した場合は、{@link CsvAnnotationBeanReader#getHeader(boolean)}でヘッダーを読み込めます。
+     * </p>
+     * @param rowNumber レコード番号。ヘッダー行も含めて1から始まります。
+     * @return 作成したReader。
+     * @throws IllegalArgumentException レコード番号が範囲外の場合。
+     * @throws IOException ファイルの読み込みに失敗した場合。
+     */
+    public CsvAnnotationBeanReader<T> open(final int rowNumber) throws IOException {
+        final CsvRowIndex.Position position = index.getPosition(rowNumber);
+        return open(position, rowNumber, -1L);
+    }
+
+    /**
+     * 分割した範囲を読み込むReaderを作成します。
+     * <p>範囲の最後のレコードを読み込むと、ファイルの終端と同じく{@link CsvAnnotationBeanReader#read()}はnullを返します。</p>
+     * @param partition {@link #partition(int)}で分割した範囲。
+     * @return 作成したReader。
+     * @throws NullPointerException {@literal partition is null.}
+     * @throws IOException ファイルの読み込みに失敗した場合。
+     */
+    public CsvAnnotationBeanReader<T> open(final CsvRowIndex.Partition partition) throws IOException {
+        Objects.requireNonNull(partition, "partition should not be null.");
+        return open(partition.getPosition(), partition.getStartRowNumber(), partition.getEndOffset());
+    }
+
+    /**
+     * ヘッダー行を除いたデータ行を、件数がおおよそ等しくなるように分割します。
+     * @param count 分割する個数。
+     * @return 分割した範囲。
+     * @throws IllegalArgumentException {@literal count <= 0.}
+     * @see CsvRowIndex#partition(int, int)
+     */
+    public List<CsvRowIndex.Partition> partition(final int count) {
+        return index.partition(count, getFirstRowNumber());
+    }
+
+    private CsvAnnotationBeanReader<T> open(final CsvRowIndex.Position position, final int rowNumber,
+            final long endOffset) throws IOException {
+
+        final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            channel.position(position.getOffset());
+
+            InputStream in = Channels.newInputStream(channel);
+            if(endOffset >= 0L) {
+                in = new LimitedInputStream(in, endOffset - position.getOffset());
+            }
+
+            final CsvTokenizer tokenizer = new CsvTokenizer(new InputStreamReader(in, charset), preference, position.getLineNumber());
+
+            // 索引の位置から、指定したレコードまで読み飛ばす。
+            final List<String> skipped = new ArrayList<>();
+            for(int i=position.getRowNumber(); i < rowNumber; i++) {
+                if(!tokenizer.readColumns(skipped)) {
+                    break;
+                }
+            }
+
+            final CsvAnnotationBeanReader<T> reader = new CsvAnnotationBeanReader<>(beanMapping, tokenizer, preference);
+            reader.rowNumberOffset = rowNumber - 1;
+            return reader;
+
+        } catch(IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+
+    }
+
+    /**
+     * 読み込むサイズを制限するInputStream。
+     */
+    private static class LimitedInputStream extends FilterInputStream {
+
+        private long remaining;
+
+        LimitedInputStream(final InputStream in, final long limit) {
+            super(in);
+            this.remaining = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if(remaining <= 0L) {
+                return -1;
+            }
+
+            final int b = super.read();
+            if(b >= 0) {
+                remaining--;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            if(remaining <= 0L) {
+                return -1;
+            }
+
+            final int size = super.read(b, off, (int)Math.min(len, remaining));
+            if(size > 0) {
+                remaining -= size;
+            }
+            return size;
+        }
+
+        @Override
+        public long skip(final long n) throws IOException {
+            final long size = super.skip(Math.min(n, remaining));
+            remaining -= size;
+            return size;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return (int)Math.min(super.available(), remaining);
+        }
+
+    }
+
+    /**
+     * Beanのマッピング情報を取得します。
+     * @return Beanのマッピング情報。
+     */
+    public BeanMapping<T> getBeanMapping() {
+        return beanMapping;
+    }
+
+    /**
+     * ファイルの索引を取得します。
+     * @return ファイルの索引。
+     */
+    public CsvRowIndex getIndex() {
+        return index;
+    }
+
+}
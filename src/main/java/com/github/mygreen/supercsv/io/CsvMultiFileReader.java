@@ -0,0 +1,543 @@
+package com.github.mygreen.supercsv.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.charset.Charset;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.supercsv.exception.SuperCsvException;
+import org.supercsv.prefs.CsvPreference;
+
+import com.github.mygreen.supercsv.builder.BeanMapping;
+import com.github.mygreen.supercsv.builder.BeanMappingFactory;
+import com.github.mygreen.supercsv.exception.SuperCsvBindingException;
+import com.github.mygreen.supercsv.validation.CsvExceptionConverter;
+
+/**
+ * 分割された複数のCSVファイルを、並列に読み込むためのクラス。
+ * <p>ファイルごとに{@link CsvAnnotationBeanReader}を作成し、指定したスレッド数で並列に読み込みます。
+ *   読み込んだレコードは、{@link #read()}を呼び出したスレッドで1件ずつ取得します。
+ * </p>
+ * <p>Beanのマッピング情報は全てのファイルで共有するため、{@link com.github.mygreen.supercsv.annotation.constraint.CsvUnique}などの
+ *   値の重複チェックは、ファイルをまたいで行われます。
+ *   <br>ヘッダー行がある場合は、ファイルごとにヘッダー行を読み込み、検証します。
+ * </p>
+ * <p>レコードの読み込み時にエラーが発生した場合は、単一のファイルを読み込む場合と同様に{@link #read()}から例外をスローします。
+ *   エラーメッセージは、ファイル名を付けて{@link #getErrorMessages()}に追加します。
+ * </p>
+ *
+ * <pre class="highlight"><code class="java">
+ * try(CsvMultiFileReader&lt;SampleCsv&gt; reader = new CsvMultiFileReader&lt;&gt;(SampleCsv.class,
+ *         CsvMultiFileReader.findFiles(dir, "part-*.csv"), charset, CsvPreference.STANDARD_PREFERENCE)) {
+ *     reader.setParallelism(4);
+ *     reader.setOrdered(true);
+ *
+ *     while(true) {
+ *         try {
+ *             SampleCsv record = reader.read();
+ *             if(record == null) {
+ *                 break;
+ *             }
+ *             // ...
+ *         } catch(SuperCsvBindingException e) {
+ *             // 次のレコードを読み込む
+ *         }
+ *     }
+ *
+ *     List&lt;String&gt; errors = reader.getErrorMessages();
+ * }
+ * </code></pre>
+ *
+ * @param <T> マッピング対象のBeanのクラスタイプ
+ * @since 2.3
+ * @author T.TSUCHIE
+ *
+ */
+public class CsvMultiFileReader<T> implements Closeable {
+
+    private final BeanMapping<T> beanMapping;
+
+    private final List<Path> files;
+
+    private final Charset charset;
+
+    private final CsvPreference preference;
+
+    /** 並列に読み込むファイル数 */
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    /** ファイルの順にレコードを返すかどうか */
+    private boolean ordered;
+
+    /** 読み込み済みで、取得されていないレコードの最大件数 */
+    private int queueSize = 1000;
+
+    private CsvExceptionConverter exceptionConverter = new CsvExceptionConverter();
+
+    private ExecutorService executor;
+
+    /** ファイルの順に返さない場合のキュー */
+    private BlockingQueue<Item<T>> sharedQueue;
+
+    /** ファイルの順に返す場合の、ファイルごとのキュー */
+    private List<BlockingQueue<Item<T>>> fileQueues;
+
+    /** 読み込みを終えたファイル数 */
+    private int finishedCount;
+
+    private boolean closed;
+
+    private Path currentFile;
+
+    private int lineNumber;
+
+    private int rowNumber;
+
+    private final List<String> errorMessages = new ArrayList<>();
+
+    private final Map<Path, List<String>> fileErrorMessages = new LinkedHashMap<>();
+
+    /**
+     * Beanのクラスタイプを指定するコンストラクタ。
+     *
+     * @param beanType Beanのクラスタイプ。
+     * @param files 読み込むCSVファイル。
+     * @param charset ファイルの文字コード。
+     * @param preference CSVの設定。
+     * @param groups グループ情報。適用するアノテーションを切り替える際に指定します。
+     * @throws NullPointerException {@literal if beanType or files or charset or preference is null.}
+     */
+    public CsvMultiFileReader(final Class<T> beanType, final List<Path> files, final Charset charset,
+            final CsvPreference preference, final Class<?>... groups) {
+        this(new BeanMappingFactory().create(Objects.requireNonNull(beanType, "beanType should not be null."), groups),
+                files, charset, preference);
+    }
+
+    /**
+     * Beanのマッピング情報を指定するコンストラクタ。
+     * <p>Beanのマッピング情報は、全てのファイルの読み込みで共有します。</p>
+     *
+     * @param beanMapping Beanのマッピング情報。
+     * @param files 読み込むCSVファイル。
+     * @param charset ファイルの文字コード。
+     * @param preference CSVの設定。
+     * @throws NullPointerException {@literal if beanMapping or files or charset or preference is null.}
+     */
+    public CsvMultiFileReader(final BeanMapping<T> beanMapping, final List<Path> files, final Charset charset,
+            final CsvPreference preference) {
+        this.beanMapping = Objects.requireNonNull(beanMapping, "beanMapping should not be null.");
+        this.files = Collections.unmodifiableList(new ArrayList<>(Objects.requireNonNull(files, "files should not be null.")));
+        this.charset = Objects.requireNonNull(charset, "charset should not be null.");
+        this.preference = Objects.requireNonNull(preference, "preference should not be null.");
+    }
+
+    /**
+     * ディレクトリ直下のファイルのうち、globパターンに一致するファイルを、ファイル名の順に取得します。
+     *
+     * @param dir 検索するディレクトリ。
+     * @param glob ファイル名のパターン。例えば、{@literal part-*.csv}。
+     * @return 一致したファイル。
+     * @throws IOException ディレクトリの読み込みに失敗した場合。
+     */
+    public static List<Path> findFiles(final Path dir, final String glob) throws IOException {
+
+        final List<Path> result = new ArrayList<>();
+        try(DirectoryStream<Path> stream = Files.newDirectoryStream(dir, glob)) {
+            for(Path file : stream) {
+                if(Files.isRegularFile(file)) {
+                    result.add(file);
+                }
+            }
+        }
+
+        result.sort((f1, f2) -> f1.getFileName().toString().compareTo(f2.getFileName().toString()));
+        return result;
+    }
+
+    /**
+     * 1レコード分を読み込みます。
+     * <p>ファイルの順に返す設定の場合は、ファイルの並び順と、ファイル内のレコードの順に返します。
+     *   そうでない場合は、読み込みが完了した順に返します。
+     * </p>
+     *
+     * @return Beanのレコード。全てのファイルを読み込み終えた場合は、nullを返します。
+     * @throws IOException ファイルの読み込みに失敗した場合。
+     * @throws SuperCsvBindingException セルの値に問題がある場合
+     * @throws SuperCsvException ヘッダーやカラムサイズなど、その他に問題がある場合
+     */
+    public T read() throws IOException {
+
+        if(closed) {
+            throw new IllegalStateException("the reader has already been closed.");
+        }
+
+        if(executor == null) {
+            start();
+        }
+
+        while(true) {
+            final Item<T> item = nextItem();
+            if(item == null) {
+                return null;
+            }
+
+            if(item.end) {
+                finishedCount++;
+                continue;
+            }
+
+            this.currentFile = item.file;
+            this.lineNumber = item.lineNumber;
+            this.rowNumber = item.rowNumber;
+
+            if(!item.errorMessages.isEmpty()) {
+                final List<String> messages = fileErrorMessages.computeIfAbsent(item.file, key -> new ArrayList<>());
+                for(String message : item.errorMessages) {
+                    messages.add(message);
+                    errorMessages.add(String.format("[%s] %s", item.file.getFileName(), message));
+                }
+            }
+
+            if(item.ioException != null) {
+                throw item.ioException;
+
+            } else if(item.csvException != null) {
+                throw item.csvException;
+            }
+
+            return item.bean;
+        }
+
+    }
+
+    private Item<T> nextItem() throws IOException {
+
+        try {
+            if(finishedCount >= files.size()) {
+                return null;
+
+            } else if(ordered) {
+                final Item<T> item = fileQueues.get(finishedCount).take();
+                if(item.end) {
+                    // 読み込み終えたファイルのキューは破棄する
+                    fileQueues.set(finishedCount, null);
+                }
+                return item;
+
+            } else {
+                return sharedQueue.take();
+            }
+
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("interrupted while waiting for the next record.");
+        }
+
+    }
+
+    /**
+     * ファイルの読み込みを開始します。
+     */
+    private void start() {
+
+        final AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.min(parallelism, Math.max(files.size(), 1)), runnable -> {
+            final Thread thread = new Thread(runnable, "csv-multi-file-reader-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        if(ordered) {
+            this.fileQueues = new ArrayList<>(files.size());
+            for(int i=0; i < files.size(); i++) {
+                fileQueues.add(new LinkedBlockingQueue<>(queueSize));
+            }
+        } else {
+            this.sharedQueue = new LinkedBlockingQueue<>(queueSize);
+        }
+
+        for(int i=0; i < files.size(); i++) {
+            final Path file = files.get(i);
+            final BlockingQueue<Item<T>> queue = ordered ? fileQueues.get(i) : sharedQueue;
+            executor.execute(() -> readFile(file, queue));
+        }
+
+        executor.shutdown();
+    }
+
+    /**
+     * 1ファイル分を読み込み、キューに追加します。
+     * @param file 読み込むファイル。
+     * @param queue 追加先のキュー。
+     */
+    private void readFile(final Path file, final BlockingQueue<Item<T>> queue) {
+
+        try {
+            try(CsvAnnotationBeanReader<T> reader = new CsvAnnotationBeanReader<>(beanMapping,
+                    Files.newBufferedReader(file, charset), preference)) {
+                reader.setExceptionConverter(exceptionConverter);
+
+                if(beanMapping.isHeader()) {
+                    try {
+                        if(reader.getHeader(true) == null) {
+                            return; // 空のファイル
+                        }
+
+                    } catch(SuperCsvException e) {
+                        // ヘッダーが一致しない場合は、値をマッピングできないため終了する。
+                        queue.put(Item.error(file, reader, e, reader.getErrorMessages()));
+                        return;
+                    }
+                }
+
+                while(true) {
+                    final int errorSize = reader.getErrorMessages().size();
+                    try {
+                        final T bean = reader.read();
+                        if(bean == null) {
+                            break;
+                        }
+                        queue.put(Item.record(file, reader, bean));
+
+                    } catch(SuperCsvException e) {
+                        queue.put(Item.error(file, reader, e,
+                                reader.getErrorMessages().subList(errorSize, reader.getErrorMessages().size())));
+                    }
+                }
+
+            } catch(IOException e) {
+                queue.put(Item.error(file, e));
+
+            } catch(RuntimeException e) {
+                queue.put(Item.error(file, new SuperCsvException(
+                        String.format("fail reading file '%s'.", file), null, e)));
+
+            } finally {
+                queue.put(Item.end(file));
+            }
+
+        } catch(InterruptedException e) {
+            // 読み込みを中断した場合
+            Thread.currentThread().interrupt();
+        }
+
+    }
+
+    /**
+     * 読み込みを中断し、全てのファイルを閉じます。
+     */
+    @Override
+    public void close() throws IOException {
+        if(closed) {
+            return;
+        }
+
+        this.closed = true;
+        if(executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private void checkNotStarted() {
+        if(executor != null) {
+            throw new IllegalStateException("the reader has already started reading.");
+        }
+    }
+
+    /**
+     * 並列に読み込むファイル数を設定します。
+     * <p>読み込みを開始する前に設定する必要があります。初期値は、利用可能なプロセッサ数です。</p>
+     * @param parallelism 並列に読み込むファイル数。
+     * @throws IllegalArgumentException {@literal parallelism <= 0.}
+     * @throws IllegalStateException 既に読み込みを開始している場合。
+     */
+    public void setParallelism(final int parallelism) {
+        checkNotStarted();
+        if(parallelism <= 0) {
+            throw new IllegalArgumentException(String.format("parallelism should be greater than 0 : %d", parallelism));
+        }
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * ファイルの順にレコードを返すかどうかを設定します。
+     * <p>trueの場合、後のファイルは先に読み込んでも、前のファイルのレコードを全て返すまでは保持したままになります。
+     *   初期値はfalseです。
+     * </p>
+     * @param ordered trueの場合、ファイルの並び順と、ファイル内のレコードの順に返します。
+     * @throws IllegalStateException 既に読み込みを開始している場合。
+     */
+    public void setOrdered(final boolean ordered) {
+        checkNotStarted();
+        this.ordered = ordered;
+    }
+
+    /**
+     * 読み込み済みで、まだ取得されていないレコードの最大件数を設定します。
+     * <p>ファイルの順に返す場合は、ファイルごとの件数となります。初期値は1000です。</p>
+     * @param queueSize レコードの件数。
+     * @throws IllegalArgumentException {@literal queueSize <= 0.}
+     * @throws IllegalStateException 既に読み込みを開始している場合。
+     */
+    public void setQueueSize(final int queueSize) {
+        checkNotStarted();
+        if(queueSize <= 0) {
+            throw new IllegalArgumentException(String.format("queueSize should be greater than 0 : %d", queueSize));
+        }
+        this.queueSize = queueSize;
+    }
+
+    /**
+     * 処理中に発生した例外をメッセージに変換するクラスを設定します。
+     * <p>全てのファイルの読み込みで共有されるため、スレッドセーフである必要があります。</p>
+     * @param exceptionConverter 独自にカスタマイズした値を設定します。
+     * @throws IllegalStateException 既に読み込みを開始している場合。
+     */
+    public void setExceptionConverter(final CsvExceptionConverter exceptionConverter) {
+        checkNotStarted();
+        this.exceptionConverter = Objects.requireNonNull(exceptionConverter, "exceptionConverter should not be null.");
+    }
+
+    /**
+     * 処理中に発生した例外をメッセージに変換するクラスを取得します。
+     * @return 例外の変換クラス。
+     */
+    public CsvExceptionConverter getExceptionConverter() {
+        return exceptionConverter;
+    }
+
+    /**
+     * Beanのマッピング情報を取得します。
+     * @return 全てのファイルで共有するマッピング情報。
+     */
+    public BeanMapping<T> getBeanMapping() {
+        return beanMapping;
+    }
+
+    /**
+     * 読み込むファイルを取得します。
+     * @return 変更できないファイルの一覧。
+     */
+    public List<Path> getFiles() {
+        return files;
+    }
+
+    /**
+     * 直前に{@link #read()}で読み込んだレコードのファイルを取得します。
+     * @return 読み込んだファイル。まだ読み込んでいない場合は、nullを返します。
+     */
+    public Path getCurrentFile() {
+        return currentFile;
+    }
+
+    /**
+     * 直前に{@link #read()}で読み込んだレコードの、ファイル内の行番号を取得します。
+     * @return 行番号。
+     */
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * 直前に{@link #read()}で読み込んだレコードの、ファイル内のレコード番号を取得します。
+     * @return レコード番号。ヘッダー行も含みます。
+     */
+    public int getRowNumber() {
+        return rowNumber;
+    }
+
+    /**
+     * エラーメッセージを取得します。
+     * <p>各メッセージの先頭には、{@literal [ファイル名]}の形式でファイル名が付与されます。</p>
+     * @return {@link #read()}で取得した順のエラーメッセージ。
+     */
+    public List<String> getErrorMessages() {
+        return errorMessages;
+    }
+
+    /**
+     * ファイルごとのエラーメッセージを取得します。
+     * @return キーがファイルで、値がファイル名を付与する前のエラーメッセージのマップ。
+     */
+    public Map<Path, List<String>> getErrorMessagesByFile() {
+        return fileErrorMessages;
+    }
+
+    /**
+     * キューに格納する読み込み結果。
+     */
+    private static class Item<T> {
+
+        private final Path file;
+
+        private final boolean end;
+
+        private T bean;
+
+        private int lineNumber;
+
+        private int rowNumber;
+
+        private SuperCsvException csvException;
+
+        private IOException ioException;
+
+        private List<String> errorMessages = Collections.emptyList();
+
+        private Item(final Path file, final boolean end) {
+            this.file = file;
+            this.end = end;
+        }
+
+        static <T> Item<T> record(final Path file, final CsvAnnotationBeanReader<T> reader, final T bean) {
+            final Item<T> item = new Item<>(file, false);
+            item.bean = bean;
+            item.lineNumber = reader.getLineNumber();
+            item.rowNumber = reader.getRowNumber();
+            return item;
+        }
+
+        static <T> Item<T> error(final Path file, final CsvAnnotationBeanReader<T> reader, final SuperCsvException exception,
+                final List<String> errorMessages) {
+            final Item<T> item = new Item<>(file, false);
+            item.csvException = exception;
+            item.lineNumber = reader.getLineNumber();
+            item.rowNumber = reader.getRowNumber();
+            item.errorMessages = new ArrayList<>(errorMessages);
+            return item;
+        }
+
+        static <T> Item<T> error(final Path file, final IOException exception) {
+            final Item<T> item = new Item<>(file, false);
+            item.ioException = exception;
+            return item;
+        }
+
+        static <T> Item<T> error(final Path file, final SuperCsvException exception) {
+            final Item<T> item = new Item<>(file, false);
+            item.csvException = exception;
+            item.errorMessages = Collections.singletonList(exception.getMessage());
+            return item;
+        }
+
+        static <T> Item<T> end(final Path file) {
+            return new Item<>(file, true);
+        }
+
+    }
+
+}
@@ -0,0 +1,846 @@
+package com.github.mygreen.supercsv.io;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.FilterOutputStream;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
+
+import org.supercsv.exception.SuperCsvException;
+import org.supercsv.prefs.CsvPreference;
+
+import com.github.mygreen.supercsv.builder.BeanMapping;
+import com.github.mygreen.supercsv.builder.BeanMappingFactory;
+import com.github.mygreen.supercsv.validation.CsvExceptionConverter;
+
+/**
+ * Beanを、キーごとに異なるCSVファイルに振り分けて並列に書き込むためのクラス。
+ * <p>Beanからキーを取得する関数と、ファイルのパスのテンプレートを指定します。
+ *   テンプレート中の{@literal {key}}はキーに、{@literal {part}}は分割したファイルの連番（0から開始）に置き換えます。
+ *   <br>ファイルは、キーが初めて現れた時点で作成します。親のディレクトリが存在しない場合は作成します。
+ *   拡張子が{@literal .gz}の場合は、gzip形式で圧縮して書き込みます。
+ * </p>
+ * <p>キーのハッシュ値に応じて、指定したスレッド数のワーカーに振り分け、CellProcessorの実行やファイルへの書き込みを行います。
+ *   同じキーのBeanは同じワーカーが処理するため、ファイル内のレコードの順序は{@link #write(Object)}を呼び出した順になります。
+ * </p>
+ * <p>同時に開くファイル数には上限があり、上限に達した場合は、最も長く書き込んでいないファイルを閉じます。
+ *   閉じたファイルに再度書き込む場合は、ヘッダー行を付けずに追記します。
+ *   上限はワーカーごとに均等に割り当てるため、スレッド数より小さい値を指定した場合は、スレッド数となります。
+ * </p>
+ * <p>1ファイルあたりの最大レコード数、または最大バイト数を指定すると、上限に達した時点で{@literal {part}}を進めた新しいファイルに切り替えます。
+ *   バイト数は、圧縮前かつ文字のバッファからストリームに出力した分で判定するため、目安となります。
+ * </p>
+ * <p>Beanのマッピング情報は全てのファイルで共有するため、{@link com.github.mygreen.supercsv.annotation.constraint.CsvUnique}などの
+ *   値の重複チェックは、ファイルをまたいで行われます。
+ * </p>
+ *
+ * <pre class="highlight"><code class="java">
+ * try(CsvPartitionedWriter&lt;SampleCsv&gt; writer = new CsvPartitionedWriter&lt;&gt;(SampleCsv.class,
+ *         SampleCsv::getCategory, "output/{key}/part-{part}.csv.gz", charset, CsvPreference.STANDARD_PREFERENCE)) {
+ *     writer.setMaxRowsPerFile(1_000_000);
+ *
+ *     for(SampleCsv record : records) {
+ *         writer.write(record);
+ *     }
+ * }
+ * </code></pre>
+ *
+ * @param <T> マッピング対象のBeanのクラスタイプ
+ * @since 2.3
+ * @author T.TSUCHIE
+ *
+ */
+public class CsvPartitionedWriter<T> implements Closeable, Flushable {
+
+    /**
+     * テンプレート中のキーのプレースホルダ
+     */
+    public static final String KEY_PLACEHOLDER = "{key}";
+
+    /**
+     * テンプレート中のファイルの連番のプレースホルダ
+     */
+    public static final String PART_PLACEHOLDER = "{part}";
+
+    /**
+     * ファイルごとのバッファのサイズの初期値
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 256 * 1024;
+
+    /**
+     * 同時に開くファイル数の上限の初期値
+     */
+    public static final int DEFAULT_MAX_OPEN_FILES = 32;
+
+    /** ワーカーの終了を表すタスク */
+    private static final Object CLOSE_TASK = new Object();
+
+    /** ワーカーの終了を確認しながら待つ際の間隔(ミリ秒) */
+    private static final long WAIT_INTERVAL_MILLIS = 100L;
+
+    private final BeanMapping<T> beanMapping;
+
+    private final Function<? super T, String> keyFunction;
+
+    private final String pathTemplate;
+
+    private final Charset charset;
+
+    private final CsvPreference preference;
+
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    private int maxOpenFiles = DEFAULT_MAX_OPEN_FILES;
+
+    private long maxRowsPerFile;
+
+    private long maxBytesPerFile;
+
+    private int bufferSize = DEFAULT_BUFFER_SIZE;
+
+    /** ワーカーごとの、書き込み待ちのレコードの最大件数 */
+    private int queueSize = 1000;
+
+    private boolean continueOnError;
+
+    private CsvExceptionConverter exceptionConverter = new CsvExceptionConverter();
+
+    private List<Worker> workers;
+
+    private boolean closed;
+
+    /** ワーカーで最初に発生したエラー */
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    private final List<String> errorMessages = Collections.synchronizedList(new ArrayList<>());
+
+    private final List<Path> writtenFiles = Collections.synchronizedList(new ArrayList<>());
+
+    /**
+     * Beanのクラスタイプを指定するコンストラクタ。
+     *
+     * @param beanType Beanのクラスタイプ。
+     * @param keyFunction Beanからファイルを振り分けるキーを取得する関数。
+     * @param pathTemplate ファイルのパスのテンプレート。{@literal {key}}を含む必要があります。
+     * @param charset ファイルの文字コード。
+     * @param preference CSVの設定。
+     * @param groups グループ情報。適用するアノテーションを切り替える際に指定します。
+     * @throws NullPointerException {@literal if beanType or keyFunction or pathTemplate or charset or preference is null.}
+     * @throws IllegalArgumentException {@literal pathTemplate does not contain '{key}'.}
+     */
+    public CsvPartitionedWriter(final Class<T> beanType, final Function<? super T, String> keyFunction,
+            final String pathTemplate, final Charset charset, final CsvPreference preference, final Class<?>... groups) {
+        this(new BeanMappingFactory().create(Objects.requireNonNull(beanType, "beanType should not be null."), groups),
+                keyFunction, pathTemplate, charset, preference);
+    }
+
+    /**
+     * Beanのマッピング情報を指定するコンストラクタ。
+     * <p>Beanのマッピング情報は、全てのファイルの書き込みで共有します。</p>
+     *
+     * @param beanMapping Beanのマッピング情報。
+     * @param keyFunction Beanからファイルを振り分けるキーを取得する関数。
+     * @param pathTemplate ファイルのパスのテンプレート。{@literal {key}}を含む必要があります。
+     * @param charset ファイルの文字コード。
+     * @param preference CSVの設定。
+     * @throws NullPointerException {@literal if beanMapping or keyFunction or pathTemplate or charset or preference is null.}
+     * @throws IllegalArgumentException {@literal pathTemplate does not contain '{key}'.}
+     */
+    public CsvPartitionedWriter(final BeanMapping<T> beanMapping, final Function<? super T, String> keyFunction,
+            final String pathTemplate, final Charset charset, final CsvPreference preference) {
+        this.beanMapping = Objects.requireNonNull(beanMapping, "beanMapping should not be null.");
+        this.keyFunction = Objects.requireNonNull(keyFunction, "keyFunction should not be null.");
+        this.pathTemplate = Objects.requireNonNull(pathTemplate, "pathTemplate should not be null.");
+        this.charset = Objects.requireNonNull(charset, "charset should not be null.");
+        this.preference = Objects.requireNonNull(preference, "preference should not be null.");
+
+        if(!pathTemplate.contains(KEY_PLACEHOLDER)) {
+            throw new IllegalArgumentException(String.format("pathTemplate should contain '%s' : %s", KEY_PLACEHOLDER, pathTemplate));
+        }
+    }
+
+    /**
+     * 1レコード分を、キーに対応するファイルに書き込みます。
+     * <p>書き込みはワーカーのスレッドで行うため、このメソッドの終了時点ではファイルに出力されていない場合があります。
+     *   ワーカーの書き込み待ちのレコードが上限に達している場合は、空きができるまで待ちます。
+     * </p>
+     *
+     * @param source 書き込むBean。
+     * @throws NullPointerException {@literal source is null.}
+     * @throws IllegalArgumentException キーがnull、またはファイル名として不正な場合。
+     * @throws IOException ワーカーで、ファイルの書き込みに失敗していた場合。
+     * @throws SuperCsvException ワーカーで、値の変換などに失敗していた場合。
+     */
+    public void write(final T source) throws IOException {
+        Objects.requireNonNull(source, "source should not be null.");
+
+        if(closed) {
+            throw new IllegalStateException("the writer has already been closed.");
+        }
+
+        if(workers == null) {
+            start();
+        }
+
+        checkFailure();
+
+        final String key = keyFunction.apply(source);
+        checkKey(key);
+
+        final Worker worker = workers.get((key.hashCode() & Integer.MAX_VALUE) % workers.size());
+        worker.put(new Row<>(key, source));
+    }
+
+    /**
+     * 複数のレコードを書き込みます。
+     * @param sources 書き込むBean。
+     * @throws NullPointerException {@literal sources is null.}
+     * @throws IOException ワーカーで、ファイルの書き込みに失敗していた場合。
+     * @throws SuperCsvException ワーカーで、値の変換などに失敗していた場合。
+     */
+    public void writeAll(final Collection<T> sources) throws IOException {
+        Objects.requireNonNull(sources, "sources should not be null.");
+
+        for(T record : sources) {
+            write(record);
+        }
+    }
+
+    /**
+     * 書き込み待ちのレコードを全て書き込み、開いている全てのファイルをフラッシュします。
+     * <p>全てのワーカーの処理が終わるまで待ちます。</p>
+     *
+     * @throws IOException ワーカーで、ファイルの書き込みに失敗していた場合。
+     * @throws SuperCsvException ワーカーで、値の変換などに失敗していた場合。
+     */
+    @Override
+    public void flush() throws IOException {
+
+        if(closed || workers == null) {
+            return;
+        }
+
+        final CountDownLatch latch = new CountDownLatch(workers.size());
+        for(Worker worker : workers) {
+            worker.put(latch);
+        }
+
+        try {
+            // 異常終了したワーカーは、カウントダウンしないため待たない。
+            while(!latch.await(WAIT_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+                if(workers.stream().anyMatch(worker -> worker.terminated)) {
+                    checkFailure();
+                    throw new IOException("the worker of partition has already terminated.");
+                }
+            }
+
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("interrupted while waiting for flushing.");
+        }
+
+        checkFailure();
+    }
+
+    /**
+     * 書き込み待ちのレコードを全て書き込み、全てのファイルを閉じます。
+     *
+     * @throws IOException ワーカーで、ファイルの書き込みに失敗していた場合。
+     * @throws SuperCsvException ワーカーで、値の変換などに失敗していた場合。
+     */
+    @Override
+    public void close() throws IOException {
+        if(closed) {
+            return;
+        }
+
+        this.closed = true;
+        if(workers == null) {
+            return;
+        }
+
+        try {
+            for(Worker worker : workers) {
+                worker.put(CLOSE_TASK);
+            }
+
+        } finally {
+            try {
+                for(Worker worker : workers) {
+                    worker.thread.join();
+                }
+
+            } catch(InterruptedException e) {
+                Thread.currentThread().interrupt();
+                for(Worker worker : workers) {
+                    worker.thread.interrupt();
+                }
+                throw new InterruptedIOException("interrupted while waiting for closing.");
+            }
+        }
+
+        checkFailure();
+    }
+
+    /**
+     * ワーカーを開始します。
+     */
+    private void start() {
+
+        if(maxRowsPerFile > 0 || maxBytesPerFile > 0) {
+            if(!pathTemplate.contains(PART_PLACEHOLDER)) {
+                throw new IllegalStateException(String.format("pathTemplate should contain '%s' when rolling files : %s",
+                        PART_PLACEHOLDER, pathTemplate));
+            }
+        }
+
+        final AtomicInteger threadCount = new AtomicInteger();
+        final int maxOpenFilesPerWorker = Math.max(maxOpenFiles / parallelism, 1);
+
+        final List<Worker> list = new ArrayList<>(parallelism);
+        for(int i=0; i < parallelism; i++) {
+            final Worker worker = new Worker(maxOpenFilesPerWorker);
+            worker.thread = new Thread(worker, "csv-partitioned-writer-" + threadCount.incrementAndGet());
+            worker.thread.setDaemon(true);
+            list.add(worker);
+        }
+
+        this.workers = Collections.unmodifiableList(list);
+        for(Worker worker : workers) {
+            worker.thread.start();
+        }
+    }
+
+    /**
+     * キーがファイル名として利用できるか検証します。
+     * @param key 検証するキー。
+     */
+    private void checkKey(final String key) {
+
+        if(key == null) {
+            throw new IllegalArgumentException("the key of partition should not be null.");
+        }
+
+        if(key.isEmpty() || key.equals(".") || key.equals("..")
+                || key.indexOf('/') >= 0 || key.indexOf('\\') >= 0 || key.indexOf('\0') >= 0) {
+            throw new IllegalArgumentException(String.format("the key of partition is invalid for the file name : '%s'", key));
+        }
+    }
+
+    /**
+     * ワーカーでエラーが発生していた場合は、スローします。
+     */
+    private void checkFailure() throws IOException {
+
+        final Throwable error = failure.get();
+        if(error == null) {
+            return;
+        }
+
+        if(error instanceof IOException) {
+            throw (IOException)error;
+        } else if(error instanceof RuntimeException) {
+            throw (RuntimeException)error;
+        }
+
+        throw new SuperCsvException("fail writing the partition.", null, error);
+    }
+
+    /**
+     * テンプレートから、書き込むファイルのパスを作成します。
+     * @param key ファイルのキー
+     * @param part ファイルの連番
+     * @return ファイルのパス
+     */
+    private Path resolvePath(final String key, final int part) {
+        return Paths.get(pathTemplate.replace(KEY_PLACEHOLDER, key).replace(PART_PLACEHOLDER, String.valueOf(part)));
+    }
+
+    private void checkNotStarted() {
+        if(workers != null || closed) {
+            throw new IllegalStateException("the writer has already started writing.");
+        }
+    }
+
+    /**
+     * 並列に書き込むスレッド数を設定します。
+     * <p>書き込みを開始する前に設定する必要があります。初期値は、利用可能なプロセッサ数です。</p>
+     * @param parallelism スレッド数。
+     * @throws IllegalArgumentException {@literal parallelism <= 0.}
+     * @throws IllegalStateException 既に書き込みを開始している場合。
+     */
+    public void setParallelism(final int parallelism) {
+        checkNotStarted();
+        if(parallelism <= 0) {
+            throw new IllegalArgumentException(String.format("parallelism should be greater than 0 : %d", parallelism));
+        }
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * 同時に開くファイル数の上限を設定します。
+     * <p>書き込みを開始する前に設定する必要があります。初期値は{@value #DEFAULT_MAX_OPEN_FILES}です。</p>
+     * @param maxOpenFiles ファイル数の上限。
+     * @throws IllegalArgumentException {@literal maxOpenFiles <= 0.}
+     * @throws IllegalStateException 既に書き込みを開始している場合。
+     */
+    public void setMaxOpenFiles(final int maxOpenFiles) {
+        checkNotStarted();
+        if(maxOpenFiles <= 0) {
+            throw new IllegalArgumentException(String.format("maxOpenFiles should be greater than 0 : %d", maxOpenFiles));
+        }
+        this.maxOpenFiles = maxOpenFiles;
+    }
+
+    /**
+     * 1ファイルあたりの最大レコード数を設定します。
+     * <p>書き込みを開始する前に設定する必要があります。初期値は0で、レコード数では切り替えません。
+     *   <br>0より大きい値を設定する場合は、テンプレートに{@literal {part}}を含む必要があります。
+     * </p>
+     * @param maxRowsPerFile レコード数。ヘッダー行は含みません。
+     * @throws IllegalArgumentException {@literal maxRowsPerFile < 0.}
+     * @throws IllegalStateException 既に書き込みを開始している場合。
+     */
+    public void setMaxRowsPerFile(final long maxRowsPerFile) {
+        checkNotStarted();
+        if(maxRowsPerFile < 0) {
+            throw new IllegalArgumentException(String.format("maxRowsPerFile should be greater than or equal to 0 : %d", maxRowsPerFile));
+        }
+        this.maxRowsPerFile = maxRowsPerFile;
+    }
+
+    /**
+     * 1ファイルあたりの最大バイト数の目安を設定します。
+     * <p>書き込みを開始する前に設定する必要があります。初期値は0で、バイト数では切り替えません。
+     *   <br>0より大きい値を設定する場合は、テンプレートに{@literal {part}}を含む必要があります。
+     * </p>
+     * @param maxBytesPerFile 圧縮前のバイト数。
+     * @throws IllegalArgumentException {@literal maxBytesPerFile < 0.}
+     * @throws IllegalStateException 既に書き込みを開始している場合。
+     */
+    public void setMaxBytesPerFile(final long maxBytesPerFile) {
+        checkNotStarted();
+        if(maxBytesPerFile < 0) {
+            throw new IllegalArgumentException(String.format("maxBytesPerFile should be greater than or equal to 0 : %d", maxBytesPerFile));
+        }
+        this.maxBytesPerFile = maxBytesPerFile;
+    }
+
+    /**
+     * ファイルごとの出力のバッファのサイズを設定します。
+     * <p>書き込みを開始する前に設定する必要があります。初期値は{@value #DEFAULT_BUFFER_SIZE}です。</p>
+     * @param bufferSize バッファのバイト数。
+     * @throws IllegalArgumentException {@literal bufferSize <= 0.}
+     * @throws IllegalStateException 既に書き込みを開始している場合。
+     */
+    public void setBufferSize(final int bufferSize) {
+        checkNotStarted();
+        if(bufferSize <= 0) {
+            throw new IllegalArgumentException(String.format("bufferSize should be greater than 0 : %d", bufferSize));
+        }
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * ワーカーごとの、書き込み待ちのレコードの最大件数を設定します。
+     * <p>書き込みを開始する前に設定する必要があります。初期値は1000です。</p>
+     * @param queueSize レコードの件数。
+     * @throws IllegalArgumentException {@literal queueSize <= 0.}
+     * @throws IllegalStateException 既に書き込みを開始している場合。
+     */
+    public void setQueueSize(final int queueSize) {
+        checkNotStarted();
+        if(queueSize <= 0) {
+            throw new IllegalArgumentException(String.format("queueSize should be greater than 0 : %d", queueSize));
+        }
+        this.queueSize = queueSize;
+    }
+
+    /**
+     * 値の変換などのエラーが発生したレコードを、読み飛ばすかどうかを設定します。
+     * <p>書き込みを開始する前に設定する必要があります。初期値はfalseで、最初のエラーで書き込みを中断し、
+     *   以降の{@link #write(Object)}などで例外をスローします。
+     *   <br>trueの場合、エラーが発生したレコードは書き込まず、エラーメッセージのみを{@link #getErrorMessages()}に追加します。
+     * </p>
+     * @param continueOnError trueの場合、エラーが発生したレコードを読み飛ばします。
+     * @throws IllegalStateException 既に書き込みを開始している場合。
+     */
+    public void setContinueOnError(final boolean continueOnError) {
+        checkNotStarted();
+        this.continueOnError = continueOnError;
+    }
+
+    /**
+     * 処理中に発生した例外をメッセージに変換するクラスを設定します。
+     * <p>全てのファイルの書き込みで共有されるため、スレッドセーフである必要があります。</p>
+     * @param exceptionConverter 独自にカスタマイズした値を設定します。
+     * @throws IllegalStateException 既に書き込みを開始している場合。
+     */
+    public void setExceptionConverter(final CsvExceptionConverter exceptionConverter) {
+        checkNotStarted();
+        this.exceptionConverter = Objects.requireNonNull(exceptionConverter, "exceptionConverter should not be null.");
+    }
+
+    /**
+     * 処理中に発生した例外をメッセージに変換するクラスを取得します。
+     * @return 例外の変換クラス。
+     */
+    public CsvExceptionConverter getExceptionConverter() {
+        return exceptionConverter;
+    }
+
+    /**
+     * Beanのマッピング情報を取得します。
+     * @return Beanのマッピング情報。
+     */
+    public BeanMapping<T> getBeanMapping() {
+        return beanMapping;
+    }
+
+    /**
+     * エラーメッセージを取得します。
+     * <p>メッセージの先頭には、ファイル名を付けます。</p>
+     * @return エラーメッセージのコピー。
+     */
+    public List<String> getErrorMessages() {
+        synchronized(errorMessages) {
+            return new ArrayList<>(errorMessages);
+        }
+    }
+
+    /**
+     * 作成したファイルを取得します。
+     * <p>ワーカーごとに作成した順に追加するため、全体としての並び順は保証しません。</p>
+     * @return 作成したファイルのコピー。
+     */
+    public List<Path> getWrittenFiles() {
+        synchronized(writtenFiles) {
+            return new ArrayList<>(writtenFiles);
+        }
+    }
+
+    /**
+     * キーごとの書き込み先の状態。
+     */
+    private static class Partition<T> {
+
+        private final String key;
+
+        /** ファイルの連番 */
+        private int part;
+
+        /** 現在のファイルに書き込んだレコード数 */
+        private long rows;
+
+        /** 現在のファイルに、閉じる前までに書き込んだバイト数 */
+        private long closedBytes;
+
+        /** 現在のファイルを一度でも開いたかどうか */
+        private boolean created;
+
+        private Path file;
+
+        private CountingOutputStream counter;
+
+        private CsvAnnotationBeanWriter<T> writer;
+
+        Partition(final String key) {
+            this.key = key;
+        }
+
+        long bytes() {
+            return closedBytes + (counter != null ? counter.count : 0L);
+        }
+
+    }
+
+    /**
+     * 書き込むレコードのタスク。
+     */
+    private static class Row<T> {
+
+        private final String key;
+
+        private final T bean;
+
+        Row(final String key, final T bean) {
+            this.key = key;
+            this.bean = bean;
+        }
+
+    }
+
+    /**
+     * 振り分けられたキーのファイルに書き込むワーカー。
+     */
+    private class Worker implements Runnable {
+
+        private final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(queueSize);
+
+        private final int maxOpenFiles;
+
+        private final Map<String, Partition<T>> partitions = new HashMap<>();
+
+        /** 開いているファイル。最も長く書き込んでいない順に保持する。 */
+        private final LinkedHashMap<String, Partition<T>> openPartitions = new LinkedHashMap<>(16, 0.75f, true);
+
+        private Thread thread;
+
+        /** ワーカーのスレッドが終了したかどうか */
+        private volatile boolean terminated;
+
+        Worker(final int maxOpenFiles) {
+            this.maxOpenFiles = maxOpenFiles;
+        }
+
+        void put(final Object task) throws IOException {
+            try {
+                // 終了したワーカーは、キューから取り出さないため待たない。
+                while(!queue.offer(task, WAIT_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+                    if(terminated) {
+                        checkFailure();
+                        throw new IOException("the worker of partition has already terminated.");
+                    }
+                }
+
+            } catch(InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("interrupted while waiting for the queue.");
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public void run() {
+
+            try {
+                while(true) {
+                    final Object task = queue.take();
+                    if(task == CLOSE_TASK) {
+                        break;
+
+                    } else if(task instanceof CountDownLatch) {
+                        if(failure.get() == null) {
+                            try {
+                                flushAll();
+                            } catch(Throwable e) {
+                                failure.compareAndSet(null, e);
+                            }
+                        }
+                        ((CountDownLatch)task).countDown();
+
+                    } else if(failure.get() == null) {
+                        // エラーの発生後は、呼び出し元が待たないように、タスクを読み捨てる。
+                        try {
+                            writeRow((Row<T>)task);
+                        } catch(Throwable e) {
+                            failure.compareAndSet(null, e);
+                        }
+                    }
+                }
+
+            } catch(InterruptedException e) {
+                // 終了処理による中断
+                failure.compareAndSet(null, new InterruptedIOException("interrupted while writing the partitions."));
+
+            } catch(Throwable e) {
+                failure.compareAndSet(null, e);
+
+            } finally {
+                closeAll();
+                this.terminated = true;
+            }
+
+        }
+
+        private void writeRow(final Row<T> row) throws IOException {
+
+            Partition<T> partition = partitions.get(row.key);
+            if(partition == null) {
+                partition = new Partition<>(row.key);
+                partitions.put(row.key, partition);
+            }
+
+            if(partition.rows > 0 && ((maxRowsPerFile > 0 && partition.rows >= maxRowsPerFile)
+                    || (maxBytesPerFile > 0 && partition.bytes() >= maxBytesPerFile))) {
+                // 次の連番のファイルに切り替える
+                closePartition(partition);
+                openPartitions.remove(partition.key);
+                partition.part++;
+                partition.rows = 0L;
+                partition.closedBytes = 0L;
+                partition.created = false;
+            }
+
+            if(partition.writer == null) {
+                openPartition(partition);
+            } else {
+                // 書き込んだ順序を更新する
+                openPartitions.get(partition.key);
+            }
+
+            final CsvAnnotationBeanWriter<T> writer = partition.writer;
+            final int errorSize = writer.getErrorMessages().size();
+            try {
+                writer.write(row.bean);
+                partition.rows++;
+
+            } catch(SuperCsvException e) {
+                final List<String> messages = writer.getErrorMessages();
+                for(int i=errorSize; i < messages.size(); i++) {
+                    errorMessages.add(String.format("[%s] %s", partition.file.getFileName(), messages.get(i)));
+                }
+
+                if(!continueOnError) {
+                    throw e;
+                }
+            }
+        }
+
+        /**
+         * ファイルを開きます。
+         * <p>開いているファイル数が上限に達している場合は、最も長く書き込んでいないファイルを閉じます。</p>
+         */
+        private void openPartition(final Partition<T> partition) throws IOException {
+
+            while(openPartitions.size() >= maxOpenFiles) {
+                final Iterator<Partition<T>> it = openPartitions.values().iterator();
+                final Partition<T> eldest = it.next();
+                it.remove();
+                closePartition(eldest);
+            }
+
+            final Path file = resolvePath(partition.key, partition.part);
+            final boolean append = partition.created;
+            if(!append) {
+                final Path parent = file.toAbsolutePath().getParent();
+                if(parent != null) {
+                    Files.createDirectories(parent);
+                }
+            }
+
+            OutputStream out = append
+                    ? Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND)
+                    : Files.newOutputStream(file);
+            try {
+                out = new BufferedOutputStream(out, bufferSize);
+                if(GzipSupport.isGzipFileName(file)) {
+                    // 追記した場合は、複数のメンバーから成るgzip形式のファイルとなる。
+                    out = new GZIPOutputStream(out, 8192);
+                }
+
+            } catch(IOException | RuntimeException e) {
+                out.close();
+                throw e;
+            }
+
+            final CountingOutputStream counter = new CountingOutputStream(out);
+            final CsvAnnotationBeanWriter<T> writer = new CsvAnnotationBeanWriter<>(beanMapping,
+                    counter, charset, preference);
+            writer.setExceptionConverter(exceptionConverter);
+
+            partition.file = file;
+            partition.counter = counter;
+            partition.writer = writer;
+            openPartitions.put(partition.key, partition);
+
+            if(!append) {
+                partition.created = true;
+                writtenFiles.add(file);
+                if(beanMapping.isHeader()) {
+                    writer.writeHeader();
+                }
+            }
+        }
+
+        /**
+         * ファイルを閉じます。
+         */
+        private void closePartition(final Partition<T> partition) throws IOException {
+
+            final CsvAnnotationBeanWriter<T> writer = partition.writer;
+            if(writer == null) {
+                return;
+            }
+
+            partition.writer = null;
+            try {
+                writer.close();
+
+            } finally {
+                partition.closedBytes += partition.counter.count;
+                partition.counter = null;
+            }
+        }
+
+        private void flushAll() throws IOException {
+            for(Partition<T> partition : openPartitions.values()) {
+                partition.writer.flush();
+            }
+        }
+
+        private void closeAll() {
+
+            for(Partition<T> partition : openPartitions.values()) {
+                try {
+                    closePartition(partition);
+                } catch(Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            }
+
+            openPartitions.clear();
+        }
+
+    }
+
+    /**
+     * 書き込んだバイト数を数えるストリーム。
+     */
+    private static class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+
+        CountingOutputStream(final OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+    }
+
+}
@@ -0,0 +1,669 @@
+package com.github.mygreen.supercsv.io;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import org.supercsv.encoder.DefaultCsvEncoder;
+import org.supercsv.prefs.CsvPreference;
+import org.supercsv.quote.AlwaysQuoteMode;
+import org.supercsv.quote.ColumnQuoteMode;
+import org.supercsv.quote.NormalQuoteMode;
+import org.supercsv.quote.QuoteMode;
+import org.supercsv.util.CsvContext;
+
+/**
+ * CSVのレコードを、文字列を介さずにバイト列として出力するエンコーダ。
+ * <p>{@link DefaultCsvEncoder}と{@link java.io.OutputStreamWriter}を組み合わせた場合と同じバイト列を出力します。
+ *   再利用するバイトのバッファに直接書き込むため、カラムごとの{@link StringBuilder}や、文字から文字コードへの変換処理を省略できます。
+ * </p>
+ * <p>クオートで囲むかどうかは、ASCII文字の種類を予め計算した表を元に、1回の走査で判定します。
+ *   ASCII文字は、UTF-8やWindows-31Jなど、ASCIIと互換性のある文字コードの場合、そのままバイトとして出力します。
+ *   UTF-8の場合は、ASCII以外の文字も{@link CharsetEncoder}を使用せずに出力します。
+ * </p>
+ * <p>レコード以外のヘッダーやコメントは、{@link #asWriter()}で取得した{@link Writer}を経由して出力します。</p>
+ *
+ * @since 2.3
+ * @author T.TSUCHIE
+ *
+ */
+public class CsvRowEncoder implements Flushable, Closeable {
+
+    /**
+     * バッファのサイズの初期値
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    /**
+     * ASCII文字を、そのままバイトとして出力できる文字コード
+     */
+    private static final Set<String> ASCII_COMPATIBLE_CHARSETS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            "US-ASCII", "ISO-8859-1", "windows-1252", "windows-31j", "Shift_JIS", "EUC-JP", "GBK", "GB18030", "EUC-KR", "Big5")));
+
+    private static final byte CLASS_PLAIN = 0;
+    private static final byte CLASS_DELIMITER = 1;
+    private static final byte CLASS_QUOTE = 2;
+    private static final byte CLASS_CR = 3;
+    private static final byte CLASS_LF = 4;
+
+    private static final byte REPLACEMENT = '?';
+
+    /**
+     * 文字の変換方法
+     */
+    private enum Mode {
+        /** UTF-8を直接出力する */
+        UTF8,
+        /** ASCII文字は直接出力し、それ以外は{@link CharsetEncoder}で変換する */
+        ASCII_COMPATIBLE,
+        /** 全ての文字を{@link CharsetEncoder}で変換する */
+        GENERIC;
+    }
+
+    private final OutputStream out;
+
+    private final CsvPreference preference;
+
+    private final Mode mode;
+
+    private final CharsetEncoder encoder;
+
+    private final byte[] buffer;
+
+    private final ByteBuffer byteBuffer;
+
+    /** {@link CharsetEncoder}で変換する文字 */
+    private final CharBuffer chars;
+
+    private int position;
+
+    /** UTF-8で出力する際の、対となる文字を待っている上位サロゲート */
+    private char highSurrogate;
+
+    /** ASCII文字の種類 */
+    private final byte[] charClasses = new byte[128];
+
+    private final char delimiter;
+
+    private final char quote;
+
+    private final String endOfLineSymbols;
+
+    /** {@link DefaultCsvEncoder}と同じ処理かどうか */
+    private final boolean directEncoding;
+
+    private final QuoteMode quoteMode;
+
+    /** 組み込みの{@link QuoteMode}に渡すための再利用するコンテキスト */
+    private final CsvContext context = new CsvContext(0, 0, 0);
+
+    /** {@link Object#toString()}で変換したカラムの値 */
+    private String[] values = new String[16];
+
+    private final Writer writer = new EncoderWriter();
+
+    private boolean closed;
+
+    /**
+     * バッファのサイズを初期値で作成するコンストラクタ。
+     *
+     * @param out 出力先のストリーム。
+     * @param charset 文字コード。
+     * @param preference CSV preferences.
+     * @throws NullPointerException {@literal if out or charset or preference are null.}
+     */
+    public CsvRowEncoder(final OutputStream out, final Charset charset, final CsvPreference preference) {
+        this(out, charset, preference, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * バッファのサイズを指定するコンストラクタ。
+     *
+     * @param out 出力先のストリーム。
+     * @param charset 文字コード。
+     * @param preference CSV preferences.
+     * @param bufferSize バッファのサイズ（バイト数）。
+     * @throws NullPointerException {@literal if out or charset or preference are null.}
+     * @throws IllegalArgumentException {@literal bufferSize < 16}
+     */
+    public CsvRowEncoder(final OutputStream out, final Charset charset, final CsvPreference preference,
+            final int bufferSize) {
+
+        Objects.requireNonNull(out, "out should not be null.");
+        Objects.requireNonNull(charset, "charset should not be null.");
+        Objects.requireNonNull(preference, "preference should not be null.");
+        if(bufferSize < 16) {
+            throw new IllegalArgumentException(String.format("bufferSize should be greater than or equal to 16, but %d.", bufferSize));
+        }
+
+        this.out = out;
+        this.preference = preference;
+
+        this.encoder = charset.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+        if(StandardCharsets.UTF_8.equals(charset)) {
+            this.mode = Mode.UTF8;
+        } else if(ASCII_COMPATIBLE_CHARSETS.contains(charset.name()) && isAsciiCompatible(charset)) {
+            this.mode = Mode.ASCII_COMPATIBLE;
+        } else {
+            this.mode = Mode.GENERIC;
+        }
+
+        this.buffer = new byte[bufferSize];
+        this.byteBuffer = ByteBuffer.wrap(buffer);
+        this.chars = CharBuffer.allocate(1024);
+
+        this.delimiter = (char)preference.getDelimiterChar();
+        this.quote = preference.getQuoteChar();
+        this.endOfLineSymbols = preference.getEndOfLineSymbols();
+        this.quoteMode = preference.getQuoteMode();
+        this.directEncoding = preference.getEncoder() != null && preference.getEncoder().getClass() == DefaultCsvEncoder.class;
+
+        // DefaultCsvEncoderの判定順に合わせて、後から設定した種類を優先する
+        setCharClass('\n', CLASS_LF);
+        setCharClass('\r', CLASS_CR);
+        setCharClass(quote, CLASS_QUOTE);
+        setCharClass(delimiter, CLASS_DELIMITER);
+
+    }
+
+    private static boolean isAsciiCompatible(final Charset charset) {
+
+        final char[] ascii = new char[128];
+        for(int i=0; i < ascii.length; i++) {
+            ascii[i] = (char)i;
+        }
+
+        final byte[] bytes = new String(ascii).getBytes(charset);
+        if(bytes.length != ascii.length) {
+            return false;
+        }
+
+        for(int i=0; i < bytes.length; i++) {
+            if(bytes[i] != i) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private void setCharClass(final char c, final byte charClass) {
+        if(c < 128) {
+            charClasses[c] = charClass;
+        }
+    }
+
+    /**
+     * 文字の種類を取得します。
+     * <p>区切り文字やクオート文字がASCII文字以外の場合も考慮します。</p>
+     */
+    private byte charClass(final char c) {
+
+        if(c < 128) {
+            return charClasses[c];
+        } else if(c == delimiter) {
+            return CLASS_DELIMITER;
+        } else if(c == quote) {
+            return CLASS_QUOTE;
+        }
+
+        return CLASS_PLAIN;
+    }
+
+    /**
+     * {@link #encodeRow(List, int, int)}で、レコードを直接出力できるかどうか。
+     * <p>{@link CsvPreference}のエンコーダが、{@link DefaultCsvEncoder}の場合に出力できます。
+     *   独自のエンコーダの場合は、{@link #asWriter()}を経由して出力する必要があります。
+     * </p>
+     * @return trueの場合、直接出力できます。
+     */
+    public boolean isDirectEncoding() {
+        return directEncoding;
+    }
+
+    /**
+     * 文字を出力する{@link Writer}を取得します。
+     * <p>{@link Writer#flush()}は、出力先のストリームをフラッシュしません。
+     *   {@link Writer#close()}は、このエンコーダを閉じます。
+     * </p>
+     * @return このエンコーダに書き込む{@link Writer}。
+     */
+    public Writer asWriter() {
+        return writer;
+    }
+
+    /**
+     * レコードを出力します。
+     * <p>{@link org.supercsv.io.AbstractCsvWriter}の{@literal writeRow}と同様に、カラムの値は{@link Object#toString()}で文字列に変換し、
+     *   nullの場合は空のカラムとして出力します。
+     * </p>
+     *
+     * @param columns 書き込むカラムの値。
+     * @param lineNumber 現在の行番号。
+     * @param rowNumber 現在のレコード番号。
+     * @return 書き込んだ後の行番号。値に改行を含む場合は、増加します。
+     * @throws NullPointerException {@literal columns is null.}
+     * @throws IllegalArgumentException {@literal columns is empty.}
+     * @throws IllegalStateException {@link #isDirectEncoding()}がfalseの場合。
+     * @throws IOException 出力に失敗した場合。
+     */
+    public int encodeRow(final List<?> columns, final int lineNumber, final int rowNumber) throws IOException {
+
+        if(columns == null) {
+            throw new NullPointerException(String.format("columns to write should not be null on line %d", lineNumber));
+        } else if(columns.isEmpty()) {
+            throw new IllegalArgumentException(String.format("columns to write should not be empty on line %d", lineNumber));
+        } else if(!directEncoding) {
+            throw new IllegalStateException("the encoder of preference is not DefaultCsvEncoder.");
+        }
+
+        ensureOpen();
+
+        final int size = columns.size();
+        if(values.length < size) {
+            values = new String[Math.max(size, values.length * 2)];
+        }
+
+        // 出力する前に、全てのカラムを文字列に変換する
+        for(int i=0; i < size; i++) {
+            final Object column = columns.get(i);
+            values[i] = column == null ? null : column.toString();
+        }
+
+        int currentLine = lineNumber;
+        try {
+            for(int i=0; i < size; i++) {
+                if(i > 0) {
+                    writeChar(delimiter);
+                }
+
+                final String value = values[i];
+                values[i] = null;
+                if(value != null) {
+                    currentLine = encodeColumn(value, currentLine, rowNumber, i + 1);
+                }
+            }
+
+            writeString(endOfLineSymbols);
+
+        } catch(EncoderIOException e) {
+            throw e.getCause();
+        }
+
+        return currentLine;
+    }
+
+    /**
+     * カラムの値を、{@link DefaultCsvEncoder}と同じ規則でエスケープして出力します。
+     * @return 書き込んだ後の行番号
+     */
+    private int encodeColumn(final String value, final int lineNumber, final int rowNumber, final int columnNumber) {
+
+        // 特殊な文字の有無と、改行の数を判定する
+        final int length = value.length();
+        boolean special = false;
+        boolean skipNewline = false;
+        int line = lineNumber;
+        for(int i=0; i < length; i++) {
+            final char c = value.charAt(i);
+            if(skipNewline) {
+                skipNewline = false;
+                if(c == '\n') {
+                    continue;
+                }
+            }
+
+            final byte charClass = charClass(c);
+            if(charClass != CLASS_PLAIN) {
+                special = true;
+                if(charClass == CLASS_CR) {
+                    line++;
+                    skipNewline = true;
+                } else if(charClass == CLASS_LF) {
+                    line++;
+                }
+            }
+        }
+
+        final boolean quotesRequired = quotesRequired(value, line, rowNumber, columnNumber);
+        final boolean surroundingSpaces = preference.isSurroundingSpacesNeedQuotes() && length > 0
+                && (value.charAt(0) == ' ' || value.charAt(length - 1) == ' ');
+        final boolean quoted = special || quotesRequired || surroundingSpaces;
+
+        if(quoted) {
+            writeChar(quote);
+        }
+
+        if(!special) {
+            writeString(value);
+
+        } else {
+            skipNewline = false;
+            for(int i=0; i < length; i++) {
+                final char c = value.charAt(i);
+                if(skipNewline) {
+                    skipNewline = false;
+                    if(c == '\n') {
+                        continue;
+                    }
+                }
+
+                switch(charClass(c)) {
+                    case CLASS_QUOTE:
+                        writeChar(quote);
+                        writeChar(quote);
+                        break;
+                    case CLASS_CR:
+                        writeString(endOfLineSymbols);
+                        skipNewline = true;
+                        break;
+                    case CLASS_LF:
+                        writeString(endOfLineSymbols);
+                        break;
+                    default:
+                        writeChar(c);
+                        break;
+                }
+            }
+        }
+
+        if(quoted) {
+            writeChar(quote);
+        }
+
+        return line;
+    }
+
+    /**
+     * {@link QuoteMode}を元に、クオートで囲む必要があるか判定します。
+     * <p>組み込みの{@link QuoteMode}の場合は、コンテキストを再利用します。</p>
+     */
+    private boolean quotesRequired(final String value, final int lineNumber, final int rowNumber, final int columnNumber) {
+
+        final Class<?> quoteModeClass = quoteMode.getClass();
+        if(quoteModeClass == NormalQuoteMode.class) {
+            return false;
+
+        } else if(quoteModeClass == AlwaysQuoteMode.class || quoteModeClass == ColumnQuoteMode.class) {
+            context.setLineNumber(lineNumber);
+            context.setRowNumber(rowNumber);
+            context.setColumnNumber(columnNumber);
+            return quoteMode.quotesRequired(value, context, preference);
+        }
+
+        return quoteMode.quotesRequired(value, new CsvContext(lineNumber, rowNumber, columnNumber), preference);
+    }
+
+    private void writeString(final String str) {
+
+        final int length = str.length();
+        if(mode == Mode.GENERIC) {
+            for(int i=0; i < length; i++) {
+                writeChar(str.charAt(i));
+            }
+            return;
+        }
+
+        for(int i=0; i < length; i++) {
+            final char c = str.charAt(i);
+            if(c < 0x80 && highSurrogate == 0 && chars.position() == 0) {
+                if(position == buffer.length) {
+                    flushBuffer();
+                }
+                buffer[position++] = (byte)c;
+            } else {
+                writeChar(c);
+            }
+        }
+    }
+
+    private void writeChar(final char c) {
+
+        switch(mode) {
+            case UTF8:
+                writeUtf8(c);
+                break;
+
+            case ASCII_COMPATIBLE:
+                if(c < 0x80 && chars.position() == 0) {
+                    writeByte((byte)c);
+                } else {
+                    chars.put(c);
+                    if(c < 0x80 || !chars.hasRemaining()) {
+                        encodeChars(false);
+                    }
+                }
+                break;
+
+            default:
+                chars.put(c);
+                if(!chars.hasRemaining()) {
+                    encodeChars(false);
+                }
+                break;
+        }
+    }
+
+    private void writeByte(final byte b) {
+        if(position == buffer.length) {
+            flushBuffer();
+        }
+        buffer[position++] = b;
+    }
+
+    /**
+     * UTF-8で出力します。
+     * <p>対となっていないサロゲートは、{@link CharsetEncoder}の置換文字と同じ{@literal '?'}を出力します。</p>
+     */
+    private void writeUtf8(final char c) {
+
+        if(buffer.length - position < 4) {
+            flushBuffer();
+        }
+
+        if(highSurrogate != 0) {
+            final char high = highSurrogate;
+            this.highSurrogate = 0;
+            if(Character.isLowSurrogate(c)) {
+                final int codePoint = Character.toCodePoint(high, c);
+                buffer[position++] = (byte)(0xF0 | (codePoint >> 18));
+                buffer[position++] = (byte)(0x80 | ((codePoint >> 12) & 0x3F));
+                buffer[position++] = (byte)(0x80 | ((codePoint >> 6) & 0x3F));
+                buffer[position++] = (byte)(0x80 | (codePoint & 0x3F));
+                return;
+            }
+            buffer[position++] = REPLACEMENT;
+        }
+
+        if(c < 0x80) {
+            buffer[position++] = (byte)c;
+        } else if(c < 0x800) {
+            buffer[position++] = (byte)(0xC0 | (c >> 6));
+            buffer[position++] = (byte)(0x80 | (c & 0x3F));
+        } else if(Character.isHighSurrogate(c)) {
+            this.highSurrogate = c;
+        } else if(Character.isLowSurrogate(c)) {
+            buffer[position++] = REPLACEMENT;
+        } else {
+            buffer[position++] = (byte)(0xE0 | (c >> 12));
+            buffer[position++] = (byte)(0x80 | ((c >> 6) & 0x3F));
+            buffer[position++] = (byte)(0x80 | (c & 0x3F));
+        }
+    }
+
+    /**
+     * 溜めている文字を{@link CharsetEncoder}で変換します。
+     * <p>対となる文字を待っているサロゲートは、次回に持ち越します。</p>
+     */
+    private void encodeChars(final boolean endOfInput) {
+
+        // JDK9以降でコンパイルしたときに、Java8で共変の戻り値のメソッドが見つからないため、Bufferとして呼び出す。
+        ((Buffer)chars).flip();
+        while(true) {
+            ((Buffer)byteBuffer).limit(buffer.length).position(position);
+            final CoderResult result = encoder.encode(chars, byteBuffer, endOfInput);
+            this.position = byteBuffer.position();
+            if(result.isOverflow()) {
+                flushBuffer();
+                continue;
+            }
+            break;
+        }
+        chars.compact();
+    }
+
+    private void flushBuffer() {
+        if(position > 0) {
+            try {
+                out.write(buffer, 0, position);
+            } catch(IOException e) {
+                throw new EncoderIOException(e);
+            }
+            this.position = 0;
+        }
+    }
+
+    /**
+     * バッファの内容を出力先に書き込み、フラッシュします。
+     * <p>{@link java.io.OutputStreamWriter}と同様に、対となる文字を待っているサロゲートは出力しません。</p>
+     * @throws IOException 出力に失敗した場合。
+     */
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        try {
+            if(chars.position() > 0) {
+                encodeChars(false);
+            }
+            flushBuffer();
+        } catch(EncoderIOException e) {
+            throw e.getCause();
+        }
+        out.flush();
+    }
+
+    /**
+     * 残りの内容を出力して、出力先のストリームを閉じます。
+     * @throws IOException 出力に失敗した場合。
+     */
+    @Override
+    public void close() throws IOException {
+
+        if(closed) {
+            return;
+        }
+
+        try {
+            if(mode == Mode.UTF8) {
+                if(highSurrogate != 0) {
+                    this.highSurrogate = 0;
+                    writeByte(REPLACEMENT);
+                }
+            } else {
+                encodeChars(true);
+                while(true) {
+                    ((Buffer)byteBuffer).limit(buffer.length).position(position);
+                    final CoderResult result = encoder.flush(byteBuffer);
+                    this.position = byteBuffer.position();
+                    if(result.isOverflow()) {
+                        flushBuffer();
+                        continue;
+                    }
+                    break;
+                }
+            }
+            flushBuffer();
+
+        } catch(EncoderIOException e) {
+            throw e.getCause();
+
+        } finally {
+            this.closed = true;
+            out.close();
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if(closed) {
+            throw new IOException("Stream closed");
+        }
+    }
+
+    /**
+     * 内部処理で、{@link IOException}を伝播するための例外。
+     */
+    private static class EncoderIOException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        EncoderIOException(final IOException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized IOException getCause() {
+            return (IOException)super.getCause();
+        }
+    }
+
+    /**
+     * エンコーダに文字を書き込む{@link Writer}。
+     */
+    private class EncoderWriter extends Writer {
+
+        @Override
+        public void write(final int c) throws IOException {
+            ensureOpen();
+            try {
+                writeChar((char)c);
+            } catch(EncoderIOException e) {
+                throw e.getCause();
+            }
+        }
+
+        @Override
+        public void write(final String str, final int off, final int len) throws IOException {
+            ensureOpen();
+            try {
+                writeString(str.substring(off, off + len));
+            } catch(EncoderIOException e) {
+                throw e.getCause();
+            }
+        }
+
+        @Override
+        public void write(final char[] cbuf, final int off, final int len) throws IOException {
+            write(new String(cbuf, off, len), 0, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            // 出力先はフラッシュしない
+        }
+
+        @Override
+        public void close() throws IOException {
+            CsvRowEncoder.this.close();
+        }
+    }
+
+}
@@ -0,0 +1,97 @@
+package com.github.mygreen.supercsv.io;
+
+/**
+ * CSVのレコードを、Beanにマッピングする前に絞り込むためのフィルタ。
+ * <p>{@link AbstractCsvAnnotationBeanReader#setRowFilter(CsvRowFilter)}で設定します。
+ *   <br>フィルタは、{@link Row}から参照したカラムのみを処理して判定します。
+ *   判定の結果、除外したレコードに対しては、Beanの作成、残りのカラムのCellProcessor、値の重複チェック、
+ *   レコードの入力値検証を行いません。
+ * </p>
+ * <p>選択するレコードがわずかな場合は、値を変換する必要がない{@link Row#getText(String)}で判定すると、より高速に処理できます。</p>
+ *
+ * <pre class="highlight"><code class="java">
+ * reader.setRowFilter(row -&gt; "ACTIVE".equals(row.getText("status"))
+ *         &amp;&amp; "JP".equals(row.getValue("region")));
+ * </code></pre>
+ *
+ * @since 2.3
+ * @author T.TSUCHIE
+ *
+ */
+@FunctionalInterface
+public interface CsvRowFilter {
+
+    /**
+     * レコードを読み込むかどうか判定します。
+     * @param row 判定対象のレコード。
+     * @return trueの場合、レコードを読み込みます。falseの場合、レコードを除外します。
+     */
+    boolean test(Row row);
+
+    /**
+     * フィルタで判定する対象のレコード。
+     * <p>カラムは、フィールド名または列番号で指定します。</p>
+     * <p>インスタンスは、フィルタの呼び出しごとに再利用されるため、保持しないでください。</p>
+     *
+     */
+    interface Row {
+
+        /**
+         * カラムの値を、CellProcessorで処理する前の文字列として取得します。
+         * @param fieldName フィールド名
+         * @return 未入力の場合は、nullを返します。
+         * @throws IllegalArgumentException 指定したフィールドのカラムが存在しない場合。
+         */
+        String getText(String fieldName);
+
+        /**
+         * カラムの値を、CellProcessorで処理する前の文字列として取得します。
+         * @param columnNumber 列番号。1から始まります。
+         * @return 未入力の場合は、nullを返します。
+         * @throws IllegalArgumentException 指定した列番号のカラムが存在しない場合。
+         */
+        String getText(int columnNumber);
+
+        /**
+         * カラムの値を、読み込み用のCellProcessorで処理した値として取得します。
+         * <p>CellProcessorの処理は、カラムごとに1度だけ行い、レコードを読み込む場合はその結果をそのまま利用します。
+         *   <br>値の重複チェックなど状態を持つCellProcessorを含む場合、除外したレコードの値は、判定後に記録から取り除きます。
+         * </p>
+         * <p>CellProcessorの処理でエラーとなった場合は、nullを返します。
+         *   その場合、エラーを通知するために、フィルタの判定結果に関わらずレコードを読み込みます。
+         * </p>
+         *
+         * @param <V> 値のクラスタイプ
+         * @param fieldName フィールド名
+         * @return 処理した値。
+         * @throws IllegalArgumentException 指定したフィールドのカラムが存在しない場合。
+         * @throws ClassCastException 処理した値のクラスタイプが一致しない場合。
+         */
+        <V> V getValue(String fieldName);
+
+        /**
+         * カラムの値を、読み込み用のCellProcessorで処理した値として取得します。
+         * @param <V> 値のクラスタイプ
+         * @param columnNumber 列番号。1から始まります。
+         * @return 処理した値。
+         * @throws IllegalArgumentException 指定した列番号のカラムが存在しない場合。
+         * @throws ClassCastException 処理した値のクラスタイプが一致しない場合。
+         * @see #getValue(String)
+         */
+        <V> V getValue(int columnNumber);
+
+        /**
+         * 行番号を取得します。
+         * @return 現在のレコードの最終行の行番号。
+         */
+        int getLineNumber();
+
+        /**
+         * レコード番号を取得します。
+         * @return 1から始まるレコード番号。
+         */
+        int getRowNumber();
+
+    }
+
+}
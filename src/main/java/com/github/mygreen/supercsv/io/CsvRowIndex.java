@@ -0,0 +1,583 @@
+package com.github.mygreen.supercsv.io;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import org.supercsv.comment.CommentMatcher;
+import org.supercsv.prefs.CsvPreference;
+
+/**
+ * CSVファイルのレコードの位置を、一定のレコード数ごとに保持する索引。
+ * <p>{@link #build(Path, Charset, CsvPreference, int)}でファイルを1回走査して作成し、
+ *    {@link #write(Path)}で別ファイルに保存できます。
+ *    <br>{@link CsvIndexedReaderFactory}と組み合わせることで、ファイルの先頭から読み込まずに、
+ *    任意のレコードや分割した範囲から読み込むことができます。
+ * </p>
+ * <p>レコード番号は、{@link AbstractCsvAnnotationBeanReader#getRowNumber()}と同じく、ヘッダー行も含めて1から始まります。</p>
+ *
+ * @see CsvIndexedReaderFactory
+ * @since 2.3
+ * @author T.TSUCHIE
+ *
+ */
+public class CsvRowIndex {
+
+    /**
+     * 保存ファイルの識別子
+     */
+    private static final int MAGIC = 0x53434958;
+
+    /**
+     * 保存ファイルの形式のバージョン
+     */
+    private static final int FORMAT_VERSION = 1;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final int interval;
+
+    private final int rowCount;
+
+    private final long fileSize;
+
+    /**
+     * レコードの開始位置（バイト単位）。
+     * <p>インデックス{@literal i}は、レコード番号{@literal i * interval + 1}の位置。</p>
+     */
+    private final long[] offsets;
+
+    /**
+     * レコードの開始位置までに読み込んだ行数。
+     */
+    private final int[] lineNumbers;
+
+    private CsvRowIndex(final int interval, final int rowCount, final long fileSize,
+            final long[] offsets, final int[] lineNumbers) {
+        this.interval = interval;
+        this.rowCount = rowCount;
+        this.fileSize = fileSize;
+        this.offsets = offsets;
+        this.lineNumbers = lineNumbers;
+    }
+
+    /**
+     * CSVファイルを走査して索引を作成します。
+     * <p>文字列に変換せずにバイト単位で走査し、クォートで囲まれた改行を含むレコードも考慮します。
+     *   <br>空行やコメント行は、{@link CsvPreference}の設定に従い、レコードとして数えません。
+     * </p>
+     * <p>文字コードは、改行文字とクォート文字が1バイトで表現され、かつ、マルチバイト文字の一部として
+     *   それらのバイトが現れないものである必要があります。例えば、UTF-8やWindows-31Jが該当します。
+     * </p>
+     *
+     * @param file 対象のCSVファイル。
+     * @param charset ファイルの文字コード。
+     * @param preference CSVの設定。
+     * @param interval 位置を保持するレコードの間隔。
+     * @return 作成した索引。
+     * @throws NullPointerException {@literal if file or charset or preference is null.}
+     * @throws IllegalArgumentException {@literal interval <= 0} または、サポートしていない文字コードの場合。
+     * @throws IOException ファイルの読み込みに失敗した場合。
+     */
+    public static CsvRowIndex build(final Path file, final Charset charset, final CsvPreference preference,
+            final int interval) throws IOException {
+
+        Objects.requireNonNull(file, "file should not be null.");
+        Objects.requireNonNull(charset, "charset should not be null.");
+        Objects.requireNonNull(preference, "preference should not be null.");
+        if(interval <= 0) {
+            throw new IllegalArgumentException(String.format("interval should be greater than 0 : %d", interval));
+        }
+
+        final byte quote = toSingleByte(preference.getQuoteChar(), charset);
+        toSingleByte('\r', charset);
+        toSingleByte('\n', charset);
+
+        final Scanner scanner = new Scanner(quote, preference, charset, interval);
+        try(InputStream in = Files.newInputStream(file)) {
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            int size;
+            while((size = in.read(buffer)) >= 0) {
+                scanner.scan(buffer, size);
+            }
+        }
+        scanner.finish();
+
+        return new CsvRowIndex(interval, scanner.rowCount, scanner.position,
+                Arrays.copyOf(scanner.offsets, scanner.entryCount),
+                Arrays.copyOf(scanner.lineNumbers, scanner.entryCount));
+    }
+
+    private static byte toSingleByte(final char c, final Charset charset) {
+        final byte[] bytes = String.valueOf(c).getBytes(charset);
+        if(bytes.length != 1 || bytes[0] != (byte)c) {
+            throw new IllegalArgumentException(String.format(
+                    "charset '%s' is not supported. character '%s' should be encoded to a single byte.", charset.name(), c));
+        }
+        return bytes[0];
+    }
+
+    /**
+     * バイト単位でレコードの区切りを走査する。
+     */
+    private static class Scanner {
+
+        private final byte quote;
+
+        private final boolean ignoreEmptyLines;
+
+        private final CommentMatcher commentMatcher;
+
+        private final Charset charset;
+
+        private final int interval;
+
+        /** ファイルの先頭からの位置 */
+        private long position;
+
+        /** 現在の行の開始位置 */
+        private long lineStart;
+
+        /** 現在の行のバイト数 */
+        private int lineLength;
+
+        /** コメントの判定用に保持する行の内容 */
+        private byte[] lineBytes;
+
+        /** 現在の行までに読み込み終えた行数 */
+        private int lineNumber;
+
+        /** 現在の行のクォート文字の個数が奇数かどうか */
+        private boolean lineQuoteOdd;
+
+        /** 直前がCRかどうか */
+        private boolean lastCR;
+
+        /** レコードの途中（クォートの中）かどうか */
+        private boolean inQuote;
+
+        private int rowCount;
+
+        private long[] offsets = new long[64];
+
+        private int[] lineNumbers = new int[64];
+
+        private int entryCount;
+
+        Scanner(final byte quote, final CsvPreference preference, final Charset charset, final int interval) {
+            this.quote = quote;
+            this.ignoreEmptyLines = preference.isIgnoreEmptyLines();
+            this.commentMatcher = preference.getCommentMatcher();
+            this.charset = charset;
+            this.interval = interval;
+            this.lineBytes = commentMatcher != null ? new byte[256] : null;
+        }
+
+        void scan(final byte[] buffer, final int size) {
+
+            for(int i=0; i < size; i++) {
+                final byte b = buffer[i];
+
+                if(lastCR) {
+                    lastCR = false;
+                    if(b == '\n') {
+                        // CRLFの場合は、LFまでを改行とする
+                        position++;
+                        lineStart = position;
+                        continue;
+                    }
+                }
+
+                if(b == '\n' || b == '\r') {
+                    endLine();
+                    position++;
+                    lineStart = position;
+                    lastCR = (b == '\r');
+                    continue;
+                }
+
+                if(b == quote) {
+                    lineQuoteOdd = !lineQuoteOdd;
+                }
+
+                if(lineBytes != null) {
+                    if(lineLength == lineBytes.length) {
+                        lineBytes = Arrays.copyOf(lineBytes, lineLength * 2);
+                    }
+                    lineBytes[lineLength] = b;
+                }
+
+                lineLength++;
+                position++;
+            }
+        }
+
+        void finish() {
+            if(lineLength > 0) {
+                // 改行で終わらない最後の行
+                endLine();
+            }
+        }
+
+        private void endLine() {
+
+            final long start = lineStart;
+            final int currentLineNumber = lineNumber;
+            lineNumber++;
+
+            if(inQuote) {
+                // クォートで囲まれた改行を含むレコードの続き
+                if(lineQuoteOdd) {
+                    inQuote = false;
+                }
+
+            } else if(!(ignoreEmptyLines && lineLength == 0) && !isComment()) {
+                // レコードの開始
+                if(rowCount % interval == 0) {
+                    addEntry(start, currentLineNumber);
+                }
+                rowCount++;
+                inQuote = lineQuoteOdd;
+            }
+
+            lineLength = 0;
+            lineQuoteOdd = false;
+        }
+
+        private boolean isComment() {
+            if(commentMatcher == null) {
+                return false;
+            }
+
+            return commentMatcher.isComment(new String(lineBytes, 0, lineLength, charset));
+        }
+
+        private void addEntry(final long offset, final int lineNumber) {
+            if(entryCount == offsets.length) {
+                this.offsets = Arrays.copyOf(offsets, entryCount * 2);
+                this.lineNumbers = Arrays.copyOf(lineNumbers, entryCount * 2);
+            }
+
+            offsets[entryCount] = offset;
+            lineNumbers[entryCount] = lineNumber;
+            entryCount++;
+        }
+
+    }
+
+    /**
+     * 索引をファイルに保存します。
+     * <p>位置は前の位置との差分を可変長で保存するため、コンパクトな形式になります。</p>
+     * @param indexFile 保存先のファイル。
+     * @throws IOException ファイルの書き込みに失敗した場合。
+     */
+    public void write(final Path indexFile) throws IOException {
+
+        Objects.requireNonNull(indexFile, "indexFile should not be null.");
+
+        try(DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(indexFile)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(interval);
+            out.writeInt(rowCount);
+            out.writeLong(fileSize);
+            out.writeInt(offsets.length);
+
+            long lastOffset = 0L;
+            int lastLineNumber = 0;
+            for(int i=0; i < offsets.length; i++) {
+                writeVarLong(out, offsets[i] - lastOffset);
+                writeVarLong(out, lineNumbers[i] - lastLineNumber);
+                lastOffset = offsets[i];
+                lastLineNumber = lineNumbers[i];
+            }
+        }
+    }
+
+    /**
+     * ファイルに保存した索引を読み込みます。
+     * @param indexFile {@link #write(Path)}で保存したファイル。
+     * @return 読み込んだ索引。
+     * @throws IOException ファイルの読み込みに失敗した場合、またはファイルの形式が不正な場合。
+     */
+    public static CsvRowIndex read(final Path indexFile) throws IOException {
+
+        Objects.requireNonNull(indexFile, "indexFile should not be null.");
+
+        try(DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile)))) {
+            if(in.readInt() != MAGIC) {
+                throw new IOException(String.format("'%s' is not a csv row index file.", indexFile));
+            }
+
+            final int version = in.readInt();
+            if(version != FORMAT_VERSION) {
+                throw new IOException(String.format("not supported version of csv row index file : %d", version));
+            }
+
+            final int interval = in.readInt();
+            final int rowCount = in.readInt();
+            final long fileSize = in.readLong();
+            final int entryCount = in.readInt();
+
+            final long[] offsets = new long[entryCount];
+            final int[] lineNumbers = new int[entryCount];
+            long lastOffset = 0L;
+            int lastLineNumber = 0;
+            for(int i=0; i < entryCount; i++) {
+                lastOffset += readVarLong(in);
+                lastLineNumber += (int)readVarLong(in);
+                offsets[i] = lastOffset;
+                lineNumbers[i] = lastLineNumber;
+            }
+
+            return new CsvRowIndex(interval, rowCount, fileSize, offsets, lineNumbers);
+        }
+    }
+
+    private static void writeVarLong(final OutputStream out, long value) throws IOException {
+        while((value & ~0x7FL) != 0L) {
+            out.write((int)((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int)value);
+    }
+
+    private static long readVarLong(final DataInputStream in) throws IOException {
+        long value = 0L;
+        int shift = 0;
+        while(true) {
+            final int b = in.readUnsignedByte();
+            value |= (long)(b & 0x7F) << shift;
+            if((b & 0x80) == 0) {
+                return value;
+            }
+            shift += 7;
+            if(shift > 63) {
+                throw new IOException("malformed csv row index file.");
+            }
+        }
+    }
+
+    /**
+     * 指定したレコードを読み込むための開始位置を取得します。
+     * <p>索引には一定の間隔でしか位置を保持していないため、指定したレコード以前で最も近い位置を返します。</p>
+     * @param rowNumber レコード番号。1から始まります。
+     * @return 開始位置。
+     * @throws IllegalArgumentException レコード番号が範囲外の場合。
+     */
+    public Position getPosition(final int rowNumber) {
+        if(rowNumber < 1 || rowNumber > rowCount) {
+            throw new IllegalArgumentException(String.format("rowNumber should be between 1 and %d : %d", rowCount, rowNumber));
+        }
+
+        final int entryIndex = (rowNumber - 1) / interval;
+        return new Position(offsets[entryIndex], lineNumbers[entryIndex], entryIndex * interval + 1);
+    }
+
+    /**
+     * レコードを、件数がおおよそ等しくなるように分割します。
+     * <p>分割の境界は、索引が位置を保持しているレコードになります。
+     *   <br>そのため、レコード数が少ない場合は、指定した個数より少なくなる場合があります。
+     * </p>
+     * @param count 分割する個数。
+     * @param firstRowNumber 分割対象とする最初のレコード番号。ヘッダー行を除く場合は2を指定します。
+     * @return 分割した範囲。対象のレコードがない場合は空を返します。
+     * @throws IllegalArgumentException {@literal count <= 0 or firstRowNumber <= 0.}
+     */
+    public List<Partition> partition(final int count, final int firstRowNumber) {
+        if(count <= 0) {
+            throw new IllegalArgumentException(String.format("count should be greater than 0 : %d", count));
+        }
+        if(firstRowNumber <= 0) {
+            throw new IllegalArgumentException(String.format("firstRowNumber should be greater than 0 : %d", firstRowNumber));
+        }
+
+        if(firstRowNumber > rowCount) {
+            return Collections.emptyList();
+        }
+
+        final int firstEntry = (firstRowNumber - 1) / interval;
+        final int entrySize = offsets.length - firstEntry;
+        final int partitionSize = Math.min(count, entrySize);
+
+        final List<Partition> list = new ArrayList<>(partitionSize);
+        for(int i=0; i < partitionSize; i++) {
+            final int startEntry = firstEntry + (int)((long)entrySize * i / partitionSize);
+            final int endEntry = firstEntry + (int)((long)entrySize * (i + 1) / partitionSize);
+
+            final int startRowNumber = Math.max(startEntry * interval + 1, firstRowNumber);
+            final int endRowNumber = endEntry < offsets.length ? endEntry * interval : rowCount;
+            final long endOffset = endEntry < offsets.length ? offsets[endEntry] : fileSize;
+
+            list.add(new Partition(i, new Position(offsets[startEntry], lineNumbers[startEntry], startEntry * interval + 1),
+                    startRowNumber, endRowNumber, endOffset));
+        }
+
+        return list;
+    }
+
+    /**
+     * 索引を作成したファイルと、サイズが一致するかどうか判定します。
+     * @param file 判定対象のファイル。
+     * @return trueの場合、サイズが一致します。
+     * @throws IOException ファイルのサイズの取得に失敗した場合。
+     */
+    public boolean isValidFor(final Path file) throws IOException {
+        return Files.size(file) == fileSize;
+    }
+
+    /**
+     * 位置を保持するレコードの間隔を取得します。
+     * @return レコードの間隔。
+     */
+    public int getInterval() {
+        return interval;
+    }
+
+    /**
+     * ヘッダー行を含めたレコードの件数を取得します。
+     * @return レコードの件数。
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * 索引を作成したファイルのサイズを取得します。
+     * @return ファイルのサイズ（バイト単位）。
+     */
+    public long getFileSize() {
+        return fileSize;
+    }
+
+    /**
+     * 読み込みを開始する位置。
+     */
+    public static class Position {
+
+        private final long offset;
+
+        private final int lineNumber;
+
+        private final int rowNumber;
+
+        public Position(final long offset, final int lineNumber, final int rowNumber) {
+            this.offset = offset;
+            this.lineNumber = lineNumber;
+            this.rowNumber = rowNumber;
+        }
+
+        /**
+         * ファイルの先頭からの位置を取得します。
+         * @return バイト単位の位置。
+         */
+        public long getOffset() {
+            return offset;
+        }
+
+        /**
+         * この位置までに読み込んだ行数を取得します。
+         * @return 行数。
+         */
+        public int getLineNumber() {
+            return lineNumber;
+        }
+
+        /**
+         * この位置から始まるレコードの番号を取得します。
+         * @return レコード番号。1から始まります。
+         */
+        public int getRowNumber() {
+            return rowNumber;
+        }
+
+    }
+
+    /**
+     * 分割した範囲。
+     */
+    public static class Partition {
+
+        private final int index;
+
+        private final Position position;
+
+        private final int startRowNumber;
+
+        private final int endRowNumber;
+
+        private final long endOffset;
+
+        public Partition(final int index, final Position position, final int startRowNumber,
+                final int endRowNumber, final long endOffset) {
+            this.index = index;
+            this.position = position;
+            this.startRowNumber = startRowNumber;
+            this.endRowNumber = endRowNumber;
+            this.endOffset = endOffset;
+        }
+
+        /**
+         * 分割した範囲のインデックスを取得します。
+         * @return 0から始まるインデックス。
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        /**
+         * 読み込みを開始する位置を取得します。
+         * <p>最初のレコードが索引の位置と一致しない場合、最初のレコードより前の位置になります。</p>
+         * @return 読み込みを開始する位置。
+         */
+        public Position getPosition() {
+            return position;
+        }
+
+        /**
+         * 範囲の最初のレコード番号を取得します。
+         * @return 1から始まるレコード番号。
+         */
+        public int getStartRowNumber() {
+            return startRowNumber;
+        }
+
+        /**
+         * 範囲の最後のレコード番号を取得します。
+         * @return 1から始まるレコード番号。
+         */
+        public int getEndRowNumber() {
+            return endRowNumber;
+        }
+
+        /**
+         * 範囲のレコードの件数を取得します。
+         * @return レコードの件数。
+         */
+        public int getRowCount() {
+            return endRowNumber - startRowNumber + 1;
+        }
+
+        /**
+         * 範囲の終了位置を取得します。
+         * @return ファイルの先頭からのバイト単位の位置。この位置は範囲に含みません。
+         */
+        public long getEndOffset() {
+            return endOffset;
+        }
+
+    }
+
+}
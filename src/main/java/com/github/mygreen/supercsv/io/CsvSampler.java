@@ -0,0 +1,72 @@
+package com.github.mygreen.supercsv.io;
+
+import java.util.Objects;
+import java.util.Random;
+
+/**
+ * CSVのレコードを標本抽出するための、読み飛ばすレコード数を決定する処理。
+ * <p>{@link AbstractCsvAnnotationBeanReader#setSampler(CsvSampler)}で設定すると、
+ *   レコードを読み込む前に、{@link #nextSkip()}で返した件数のレコードをカラムに分割せずに読み飛ばします。
+ * </p>
+ * <p>抽出する件数を固定する場合は、{@link CsvAnnotationBeanReader#readSample(int, Random)}による、リザーバーサンプリングを利用します。</p>
+ *
+ * <pre class="highlight"><code class="java">
+ * // 約1%のレコードを抽出する
+ * reader.setSampler(CsvSampler.bernoulli(0.01, new Random(1L)));
+ * </code></pre>
+ *
+ * @since 2.3
+ * @author T.TSUCHIE
+ *
+ */
+@FunctionalInterface
+public interface CsvSampler {
+
+    /**
+     * 次に抽出するレコードまでに、読み飛ばすレコード数を取得します。
+     * @return 読み飛ばすレコード数。0以上の値を返す必要があります。
+     */
+    long nextSkip();
+
+    /**
+     * 一定の間隔ごとに抽出する処理を作成します。
+     * <p>{@literal interval}件目、{@literal interval * 2}件目、…のレコードを抽出します。</p>
+     *
+     * @param interval 抽出する間隔。1の場合は、全てのレコードを抽出します。
+     * @return 一定の間隔ごとに抽出する処理。
+     * @throws IllegalArgumentException {@literal interval <= 0.}
+     */
+    static CsvSampler interval(final int interval) {
+        if(interval <= 0) {
+            throw new IllegalArgumentException(String.format("interval should be greater than 0 : %d", interval));
+        }
+
+        final long skip = interval - 1L;
+        return () -> skip;
+    }
+
+    /**
+     * 各レコードを、指定した確率で独立に抽出する処理を作成します。
+     * <p>レコードごとに乱数で判定する代わりに、次に抽出するレコードまでの間隔を幾何分布に従って決定します。</p>
+     *
+     * @param rate 抽出する確率。{@literal 0 < rate <= 1}の値を指定します。
+     * @param random 乱数の生成器。
+     * @return 指定した確率で抽出する処理。
+     * @throws NullPointerException {@literal random is null.}
+     * @throws IllegalArgumentException {@literal rate <= 0 or rate > 1.}
+     */
+    static CsvSampler bernoulli(final double rate, final Random random) {
+        Objects.requireNonNull(random, "random should not be null.");
+        if(!(rate > 0.0d && rate <= 1.0d)) {
+            throw new IllegalArgumentException(String.format("rate should be between 0 (exclusive) and 1 (inclusive) : %s", rate));
+        }
+
+        if(rate == 1.0d) {
+            return () -> 0L;
+        }
+
+        final double logOfMiss = Math.log1p(-rate);
+        return () -> (long)Math.floor(Math.log(1.0d - random.nextDouble()) / logOfMiss);
+    }
+
+}
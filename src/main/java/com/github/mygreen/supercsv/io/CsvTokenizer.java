@@ -0,0 +1,837 @@
+package com.github.mygreen.supercsv.io;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import org.supercsv.comment.CommentMatcher;
+import org.supercsv.exception.SuperCsvException;
+import org.supercsv.io.ITokenizer;
+import org.supercsv.io.Tokenizer;
+import org.supercsv.prefs.CsvPreference;
+
+/**
+ * 行のバッファを再利用して、カラムを切り出すTokenizer。
+ * <p>{@link Tokenizer}と同じ規則でCSVを解析しますが、{@link #readColumnSequences(List)}を利用すると、
+ *   カラムごとに文字列を作成せずに、行のバッファ上のビューとして{@link CharSequence}を取得できます。
+ * </p>
+ * <p>取得したビューは、次の行を読み込むまでの間のみ有効です。
+ *   保持し続ける必要がある場合は、{@link CharSequence#toString()}で文字列に変換してください。
+ * </p>
+ * <p>{@link #skipRecord()}を利用すると、カラムに分割せずにレコードを読み飛ばすことができます。</p>
+ *
+ * @since 2.3
+ * @author T.TSUCHIE
+ *
+ */
+public class CsvTokenizer implements ITokenizer {
+
+    private static final char NEWLINE = '\n';
+
+    private static final char SPACE = ' ';
+
+    private static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    private final Reader reader;
+
+    private final char quoteChar;
+
+    private final int delimiterChar;
+
+    private final boolean surroundingSpacesNeedQuotes;
+
+    private final boolean ignoreEmptyLines;
+
+    private final CommentMatcher commentMatcher;
+
+    private final int maxLinesPerRow;
+
+    /** 読み込み用のバッファ */
+    private final char[] readBuffer;
+
+    private int readPosition;
+
+    private int readLimit;
+
+    /** 直前の文字がCRで、続くLFを読み飛ばすかどうか */
+    private boolean skipLF;
+
+    /** 現在の物理行 */
+    private char[] lineBuffer = new char[256];
+
+    private int lineLength;
+
+    /** 解析前の行 */
+    private char[] rawRowBuffer = new char[256];
+
+    private int rawRowLength;
+
+    /** カラムの値を連結したバッファ */
+    private char[] rowBuffer = new char[256];
+
+    private int rowLength;
+
+    /** カラムの開始位置。値がnullのカラムは-1。 */
+    private int[] columnStarts = new int[16];
+
+    /** カラムの終了位置 */
+    private int[] columnEnds = new int[16];
+
+    private int columnCount;
+
+    /** 再利用するカラムのビュー */
+    private final List<ColumnSequence> sequences = new ArrayList<>();
+
+    private int lineNumber;
+
+    /** 読み込んだバイト数を数える場合の計算処理 */
+    private ByteCounter byteCounter;
+
+    /** 読み込み済みのバイト数 */
+    private long bytePosition;
+
+    /** {@link #readBuffer}のうち、バイト数を数え終えた位置 */
+    private int countedPosition;
+
+    /**
+     * コンストラクタ。
+     * <p>内部でバッファリングを行うため、{@link java.io.BufferedReader}でラップする必要はありません。</p>
+     *
+     * @param reader the Reader
+     * @param preferences the CSV preferences
+     * @throws NullPointerException {@literal if reader or preferences is null.}
+     */
+    public CsvTokenizer(final Reader reader, final CsvPreference preferences) {
+        this(reader, preferences, 0);
+    }
+
+    /**
+     * 読み込み開始時点の行番号を指定するコンストラクタ。
+     * <p>ファイルの途中から読み込む場合など、既に読み込み済みの行数を指定します。</p>
+     *
+     * @param reader the Reader
+     * @param preferences the CSV preferences
+     * @param lineNumber 既に読み込み済みの行数。0以上の値を指定します。
+     * @throws NullPointerException {@literal if reader or preferences is null.}
+     * @throws IllegalArgumentException {@literal lineNumber < 0}
+     */
+    public CsvTokenizer(final Reader reader, final CsvPreference preferences, final int lineNumber) {
+        Objects.requireNonNull(reader, "reader should not be null.");
+        Objects.requireNonNull(preferences, "preferences should not be null.");
+        if(lineNumber < 0) {
+            throw new IllegalArgumentException(String.format("lineNumber should be greater than or equal to 0 : %d", lineNumber));
+        }
+
+        this.reader = reader;
+        this.quoteChar = preferences.getQuoteChar();
+        this.delimiterChar = preferences.getDelimiterChar();
+        this.surroundingSpacesNeedQuotes = preferences.isSurroundingSpacesNeedQuotes();
+        this.ignoreEmptyLines = preferences.isIgnoreEmptyLines();
+        this.commentMatcher = preferences.getCommentMatcher();
+        this.maxLinesPerRow = preferences.getMaxLinesPerRow();
+        this.readBuffer = new char[DEFAULT_BUFFER_SIZE];
+        this.lineNumber = lineNumber;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>カラムの値は、{@link Tokenizer}と同様に文字列に変換します。空のカラムは、nullとなります。</p>
+     */
+    @Override
+    public boolean readColumns(final List<String> columns) throws IOException {
+
+        Objects.requireNonNull(columns, "columns should not be null");
+        columns.clear();
+
+        if(!tokenizeRow()) {
+            return false;
+        }
+
+        for(int i=0; i < columnCount; i++) {
+            final int start = columnStarts[i];
+            columns.add(start < 0 ? null : new String(rowBuffer, start, columnEnds[i] - start));
+        }
+
+        return true;
+    }
+
+    /**
+     * 1レコード分を読み込み、カラムの値をビューとして取得します。
+     * <p>文字列を作成しないため、{@link #readColumns(List)}よりもオブジェクトの生成を抑えることができます。</p>
+     * <p>ビューのインスタンスは再利用されるため、次の行を読み込むまでの間のみ有効です。空のカラムは、nullとなります。</p>
+     *
+     * @param columns 読み込んだカラムのビューを格納する先。
+     * @return 読み込むレコードがない場合は、falseを返します。
+     * @throws NullPointerException {@literal columns is null.}
+     * @throws IOException レコードの読み込みに失敗した場合。
+     * @throws SuperCsvException CSVの形式が不正な場合。
+     */
+    public boolean readColumnSequences(final List<CharSequence> columns) throws IOException {
+
+        Objects.requireNonNull(columns, "columns should not be null");
+        columns.clear();
+
+        if(!tokenizeRow()) {
+            return false;
+        }
+
+        while(sequences.size() < columnCount) {
+            sequences.add(new ColumnSequence(this));
+        }
+
+        for(int i=0; i < columnCount; i++) {
+            final int start = columnStarts[i];
+            if(start < 0) {
+                columns.add(null);
+            } else {
+                final ColumnSequence sequence = sequences.get(i);
+                sequence.start = start;
+                sequence.end = columnEnds[i];
+                columns.add(sequence);
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * 1レコード分を、カラムに分割せずに読み飛ばします。
+     * <p>クォートの対応のみを判定しながら読み込みバッファを走査するため、{@link #readColumns(List)}よりも高速です。
+     *   <br>レコードの区切りや行番号、空行とコメント行の扱いは、{@link #readColumns(List)}と同じです。
+     * </p>
+     * <p>読み飛ばしたレコードの内容は保持しないため、{@link #getUntokenizedRow()}は空文字を返します。</p>
+     *
+     * @since 2.3
+     * @return 読み飛ばすレコードがない場合は、falseを返します。
+     * @throws IOException レコードの読み込みに失敗した場合。
+     * @throws SuperCsvException CSVの形式が不正な場合。
+     */
+    public boolean skipRecord() throws IOException {
+
+        rowLength = 0;
+        rawRowLength = 0;
+        columnCount = 0;
+
+        if(commentMatcher == null) {
+            return scanRecord(false, false, -1);
+        }
+
+        // コメント行の判定には行の内容が必要なため、先頭の行のみバッファに読み込む。
+        do {
+            if(!readLine()) {
+                return false; // EOF
+            }
+        } while(ignoreEmptyLines && lineLength == 0 || isComment());
+
+        boolean quoteMode = false;
+        for(int i=0; i < lineLength; i++) {
+            if(lineBuffer[i] == quoteChar) {
+                quoteMode = !quoteMode;
+            }
+        }
+
+        if(!quoteMode) {
+            return true;
+        }
+
+        checkMaxLinesPerRow(lineNumber);
+        return scanRecord(true, true, lineNumber);
+    }
+
+    /**
+     * 読み込みバッファを直接走査して、レコードの終端まで読み進めます。
+     * <p>エスケープされたクォートは、クォートの終了と開始が連続したものと同じ扱いとなるため、
+     *   クォートの文字ごとに状態を反転するだけで、レコードの区切りを判定できます。
+     *   <br>ただし、エラーメッセージの行番号を一致させるため、エスケープの場合はクォートが開始した行番号を引き継ぎます。
+     * </p>
+     *
+     * @param started レコードの先頭の行を読み込み済みかどうか。
+     * @param quoteMode クォートの途中かどうか。
+     * @param quoteScopeStartingLine クォートが開始した行番号。
+     * @return 読み飛ばすレコードがない場合は、falseを返します。
+     */
+    private boolean scanRecord(boolean started, boolean quoteMode, int quoteScopeStartingLine) throws IOException {
+
+        final char quote = quoteChar;
+        boolean lineHasChars = false;
+
+        // 直前の文字が終了のクォートの場合、そのクォートが開始した行番号
+        int closedScopeStartingLine = -1;
+
+        while(true) {
+            if(readPosition >= readLimit && !fill()) {
+                // EOF
+                if(lineHasChars) {
+                    lineNumber++;
+                    if(!quoteMode) {
+                        return true;
+                    }
+                    checkMaxLinesPerRow(quoteScopeStartingLine);
+
+                } else if(!quoteMode) {
+                    return false;
+                }
+
+                throw new SuperCsvException(String.format(
+                        "unexpected end of file while reading quoted column beginning on line %d and ending on line %d",
+                        quoteScopeStartingLine, lineNumber));
+            }
+
+            if(skipLF) {
+                skipLF = false;
+                if(readBuffer[readPosition] == '\n') {
+                    readPosition++;
+                    continue;
+                }
+            }
+
+            // クォートと改行以外の文字は、まとめて読み飛ばす。
+            final char[] buffer = readBuffer;
+            final int limit = readLimit;
+            int position = readPosition;
+            char c = 0;
+            while(position < limit) {
+                c = buffer[position];
+                if(c == quote || c == '\n' || c == '\r') {
+                    break;
+                }
+                position++;
+            }
+
+            if(position > readPosition) {
+                lineHasChars = true;
+                started = true;
+                closedScopeStartingLine = -1;
+            }
+
+            if(position == limit) {
+                readPosition = position;
+                continue;
+            }
+
+            readPosition = position + 1;
+
+            if(c == quote) {
+                lineHasChars = true;
+                started = true;
+                quoteMode = !quoteMode;
+                if(quoteMode) {
+                    // エスケープされたクォートの場合は、開始した行番号を引き継ぐ。
+                    quoteScopeStartingLine = (closedScopeStartingLine >= 0) ? closedScopeStartingLine : lineNumber + 1;
+                    closedScopeStartingLine = -1;
+                } else {
+                    closedScopeStartingLine = quoteScopeStartingLine;
+                }
+                continue;
+            }
+
+            // 改行
+            skipLF = (c == '\r');
+            lineNumber++;
+            closedScopeStartingLine = -1;
+
+            if(!started && !lineHasChars && ignoreEmptyLines) {
+                // レコードの前の空行
+                continue;
+            }
+
+            if(!quoteMode) {
+                return true;
+            }
+
+            checkMaxLinesPerRow(quoteScopeStartingLine);
+            lineHasChars = false;
+        }
+
+    }
+
+    /**
+     * クォートで囲まれたカラムの行数が、上限を超えていないか検証します。
+     * @param quoteScopeStartingLine クォートが開始した行番号。
+     * @throws SuperCsvException 上限を超えた場合。
+     */
+    private void checkMaxLinesPerRow(final int quoteScopeStartingLine) {
+        if(maxLinesPerRow > 0 && lineNumber - quoteScopeStartingLine + 1 >= maxLinesPerRow) {
+            throw new SuperCsvException(String.format(
+                    "max number of lines to read exceeded while reading quoted column beginning on line %d and ending on line %d",
+                    quoteScopeStartingLine, lineNumber));
+        }
+    }
+
+    /**
+     * 1レコードを解析して、バッファに格納します。
+     * @return 読み込むレコードがない場合は、falseを返します。
+     */
+    private boolean tokenizeRow() throws IOException {
+
+        rowLength = 0;
+        rawRowLength = 0;
+        columnCount = 0;
+
+        do {
+            if(!readLine()) {
+                return false; // EOF
+            }
+        } while(ignoreEmptyLines && lineLength == 0 || isComment());
+
+        appendRawRow(lineBuffer, lineLength);
+
+        boolean quoteMode = false;
+        int quoteScopeStartingLine = -1;
+        int potentialSpaces = 0;
+        int columnStart = 0;
+        int charIndex = 0;
+
+        while(true) {
+
+            if(charIndex == lineLength) {
+                if(!quoteMode) {
+                    if(!surroundingSpacesNeedQuotes) {
+                        appendSpaces(potentialSpaces);
+                    }
+                    addColumn(columnStart);
+                    return true;
+
+                }
+
+                // クォート中で改行を含む場合
+                appendRow(NEWLINE);
+                appendRawRow(NEWLINE);
+                charIndex = 0;
+
+                checkMaxLinesPerRow(quoteScopeStartingLine);
+
+                if(!readLine()) {
+                    throw new SuperCsvException(String.format(
+                            "unexpected end of file while reading quoted column beginning on line %d and ending on line %d",
+                            quoteScopeStartingLine, lineNumber));
+                }
+
+                appendRawRow(lineBuffer, lineLength);
+                if(lineLength == 0) {
+                    continue;
+                }
+            }
+
+            final char c = lineBuffer[charIndex];
+
+            if(!quoteMode) {
+                if(c == delimiterChar) {
+                    if(!surroundingSpacesNeedQuotes) {
+                        appendSpaces(potentialSpaces);
+                    }
+                    addColumn(columnStart);
+                    potentialSpaces = 0;
+                    columnStart = rowLength;
+
+                } else if(c == SPACE) {
+                    potentialSpaces++;
+
+                } else if(c == quoteChar) {
+                    quoteMode = true;
+                    quoteScopeStartingLine = lineNumber;
+                    if(!surroundingSpacesNeedQuotes || rowLength > columnStart) {
+                        appendSpaces(potentialSpaces);
+                    }
+                    potentialSpaces = 0;
+
+                } else {
+                    if(!surroundingSpacesNeedQuotes || rowLength > columnStart) {
+                        appendSpaces(potentialSpaces);
+                    }
+                    potentialSpaces = 0;
+                    appendRow(c);
+                }
+
+            } else {
+                if(c == quoteChar) {
+                    final int nextCharIndex = charIndex + 1;
+                    if(nextCharIndex < lineLength && lineBuffer[nextCharIndex] == quoteChar) {
+                        // エスケープされたクォート
+                        charIndex++;
+                        appendRow(c);
+                    } else {
+                        quoteMode = false;
+                        quoteScopeStartingLine = -1;
+                    }
+
+                } else {
+                    appendRow(c);
+                }
+            }
+
+            charIndex++;
+        }
+
+    }
+
+    private boolean isComment() {
+        if(commentMatcher == null) {
+            return false;
+        }
+
+        return commentMatcher.isComment(new String(lineBuffer, 0, lineLength));
+    }
+
+    private void addColumn(final int columnStart) {
+
+        if(columnCount == columnStarts.length) {
+            final int newSize = columnCount * 2;
+            final int[] newStarts = new int[newSize];
+            final int[] newEnds = new int[newSize];
+            System.arraycopy(columnStarts, 0, newStarts, 0, columnCount);
+            System.arraycopy(columnEnds, 0, newEnds, 0, columnCount);
+            this.columnStarts = newStarts;
+            this.columnEnds = newEnds;
+        }
+
+        if(rowLength > columnStart) {
+            columnStarts[columnCount] = columnStart;
+            columnEnds[columnCount] = rowLength;
+        } else {
+            columnStarts[columnCount] = -1;
+            columnEnds[columnCount] = -1;
+        }
+
+        columnCount++;
+    }
+
+    private void appendSpaces(final int size) {
+        for(int i=0; i < size; i++) {
+            appendRow(SPACE);
+        }
+    }
+
+    private void appendRow(final char c) {
+        if(rowLength == rowBuffer.length) {
+            rowBuffer = grow(rowBuffer, rowLength + 1);
+        }
+        rowBuffer[rowLength++] = c;
+    }
+
+    private void appendRawRow(final char c) {
+        if(rawRowLength == rawRowBuffer.length) {
+            rawRowBuffer = grow(rawRowBuffer, rawRowLength + 1);
+        }
+        rawRowBuffer[rawRowLength++] = c;
+    }
+
+    private void appendRawRow(final char[] chars, final int length) {
+        if(rawRowLength + length > rawRowBuffer.length) {
+            rawRowBuffer = grow(rawRowBuffer, rawRowLength + length);
+        }
+        System.arraycopy(chars, 0, rawRowBuffer, rawRowLength, length);
+        rawRowLength += length;
+    }
+
+    private static char[] grow(final char[] buffer, final int minSize) {
+        final char[] newBuffer = new char[Math.max(buffer.length * 2, minSize)];
+        System.arraycopy(buffer, 0, newBuffer, 0, buffer.length);
+        return newBuffer;
+    }
+
+    /**
+     * 物理行を1行分、{@link #lineBuffer}に読み込みます。
+     * <p>改行コードは、{@link java.io.BufferedReader#readLine()}と同様に、CR、LF、CRLFとします。</p>
+     * @return ファイルの終端に達した場合は、falseを返します。
+     */
+    private boolean readLine() throws IOException {
+
+        lineLength = 0;
+        boolean readAny = false;
+
+        while(true) {
+            if(readPosition >= readLimit) {
+                if(!fill()) {
+                    if(readAny) {
+                        lineNumber++;
+                    }
+                    return readAny;
+                }
+            }
+
+            if(skipLF) {
+                skipLF = false;
+                if(readBuffer[readPosition] == '\n') {
+                    readPosition++;
+                    continue;
+                }
+            }
+
+            final char c = readBuffer[readPosition++];
+            readAny = true;
+
+            if(c == '\n') {
+                lineNumber++;
+                return true;
+
+            } else if(c == '\r') {
+                skipLF = true;
+                lineNumber++;
+                return true;
+            }
+
+            if(lineLength == lineBuffer.length) {
+                lineBuffer = grow(lineBuffer, lineLength + 1);
+            }
+            lineBuffer[lineLength++] = c;
+        }
+    }
+
+    private boolean fill() throws IOException {
+
+        if(byteCounter != null) {
+            bytePosition += byteCounter.count(readBuffer, countedPosition, readLimit);
+            countedPosition = 0;
+        }
+
+        int size;
+        do {
+            size = reader.read(readBuffer, 0, readBuffer.length);
+        } while(size == 0);
+
+        if(size < 0) {
+            readPosition = 0;
+            readLimit = 0;
+            return false;
+        }
+
+        readPosition = 0;
+        readLimit = size;
+        return true;
+    }
+
+    @Override
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * 読み込んだ文字のバイト数の計測を開始します。
+     * <p>計測した値は、{@link #getBytePosition()}で取得できます。読み込みを開始する前に呼ぶ必要があります。</p>
+     * <p>バイト数は、読み込んだ文字を指定した文字コードで符号化したときの長さから求めます。
+     *   そのため、改行文字が1バイトで表現される、ステートレスな文字コードのみをサポートします。
+     *   例えば、UTF-8やWindows-31Jが該当します。
+     * </p>
+     *
+     * @since 2.3
+     * @param charset 読み込むデータの文字コード。
+     * @param startOffset 読み込み開始時点のバイト位置。
+     * @throws NullPointerException {@literal charset is null.}
+     * @throws IllegalArgumentException サポートしていない文字コードの場合。または、{@literal startOffset < 0}の場合。
+     * @throws IllegalStateException 既に読み込みを開始している場合。
+     */
+    public void startByteCount(final Charset charset, final long startOffset) {
+        Objects.requireNonNull(charset, "charset should not be null.");
+        if(startOffset < 0L) {
+            throw new IllegalArgumentException(String.format("startOffset should be greater than or equal to 0 : %d", startOffset));
+        }
+
+        if(readLimit > 0 || readPosition > 0) {
+            throw new IllegalStateException("the tokenizer has already started reading.");
+        }
+
+        this.byteCounter = new ByteCounter(charset);
+        this.bytePosition = startOffset;
+        this.countedPosition = 0;
+    }
+
+    /**
+     * 読み込みを終えたデータのバイト位置を取得します。
+     * <p>直前に読み込んだレコードの末尾の改行文字の直後の位置となります。</p>
+     *
+     * @since 2.3
+     * @return 読み込み開始時点の位置を含めたバイト位置。
+     * @throws IllegalStateException {@link #startByteCount(Charset, long)}で計測を開始していない場合。
+     */
+    public long getBytePosition() {
+        if(byteCounter == null) {
+            throw new IllegalStateException("byte count has not been started.");
+        }
+
+        bytePosition += byteCounter.count(readBuffer, countedPosition, readPosition);
+        countedPosition = readPosition;
+        return bytePosition;
+    }
+
+    /**
+     * 直前の行がCRで終わり、続くLFを読み飛ばす状態かどうか。
+     * @return trueの場合、次の文字がLFであれば読み飛ばします。
+     */
+    boolean isPendingLineFeed() {
+        return skipLF;
+    }
+
+    /**
+     * 続くLFを読み飛ばす状態かどうかを設定します。
+     * <p>CRの直後から読み込みを再開する場合に指定します。</p>
+     * @param pendingLineFeed trueの場合、次の文字がLFであれば読み飛ばします。
+     */
+    void setPendingLineFeed(final boolean pendingLineFeed) {
+        this.skipLF = pendingLineFeed;
+    }
+
+    @Override
+    public String getUntokenizedRow() {
+        return new String(rawRowBuffer, 0, rawRowLength);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * 文字を符号化したときのバイト数を計算する。
+     */
+    private static final class ByteCounter {
+
+        private final boolean utf8;
+
+        private final boolean singleByte;
+
+        private final CharsetEncoder encoder;
+
+        /** 文字ごとのバイト数に1を加えた値。0は未計算を表す。 */
+        private byte[] lengths;
+
+        /** サロゲートペアのバイト数 */
+        private int surrogatePairLength;
+
+        ByteCounter(final Charset charset) {
+
+            this.encoder = charset.newEncoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+            if(encodedLength('\n') != 1 || encoder.maxBytesPerChar() > 4.0f) {
+                throw new IllegalArgumentException(String.format(
+                        "charset '%s' is not supported. it should be stateless and encode a newline to a single byte.", charset.name()));
+            }
+
+            this.utf8 = charset.equals(StandardCharsets.UTF_8);
+            this.singleByte = encoder.maxBytesPerChar() == 1.0f;
+            if(!utf8 && !singleByte) {
+                this.lengths = new byte[Character.MAX_VALUE + 1];
+                this.surrogatePairLength = encodedLength('\uD800', '\uDC00');
+            }
+        }
+
+        long count(final char[] chars, final int start, final int end) {
+
+            if(singleByte) {
+                return end - start;
+            }
+
+            long size = 0L;
+            for(int i=start; i < end; i++) {
+                final char c = chars[i];
+                if(c < 0x80) {
+                    size++;
+                } else if(utf8) {
+                    if(c < 0x800) {
+                        size += 2;
+                    } else if(Character.isHighSurrogate(c)) {
+                        size += 4;
+                    } else if(!Character.isLowSurrogate(c)) {
+                        size += 3;
+                    }
+                } else {
+                    size += length(c);
+                }
+            }
+
+            return size;
+        }
+
+        private int length(final char c) {
+
+            int length = lengths[c];
+            if(length == 0) {
+                if(Character.isHighSurrogate(c)) {
+                    length = surrogatePairLength + 1;
+                } else if(Character.isLowSurrogate(c)) {
+                    length = 1;
+                } else {
+                    length = encodedLength(c) + 1;
+                }
+                lengths[c] = (byte)length;
+            }
+
+            return length - 1;
+        }
+
+        private int encodedLength(final char... chars) {
+            final ByteBuffer out = ByteBuffer.allocate(16);
+            encoder.reset();
+            encoder.encode(CharBuffer.wrap(chars), out, true);
+            encoder.flush(out);
+            return out.position();
+        }
+
+    }
+
+    /**
+     * 行のバッファ上のカラムのビュー。
+     * <p>バッファが拡張された場合でも参照先が変わらないよう、Tokenizerを経由して参照します。</p>
+     */
+    private static final class ColumnSequence implements CharSequence {
+
+        private final CsvTokenizer owner;
+
+        private int start;
+
+        private int end;
+
+        private ColumnSequence(final CsvTokenizer owner) {
+            this.owner = owner;
+        }
+
+        private ColumnSequence(final CsvTokenizer owner, final int start, final int end) {
+            this.owner = owner;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public int length() {
+            return end - start;
+        }
+
+        @Override
+        public char charAt(final int index) {
+            if(index < 0 || index >= length()) {
+                throw new IndexOutOfBoundsException(String.format("index=%d, length=%d", index, length()));
+            }
+            return owner.rowBuffer[start + index];
+        }
+
+        @Override
+        public CharSequence subSequence(final int beginIndex, final int endIndex) {
+            if(beginIndex < 0 || endIndex > length() || beginIndex > endIndex) {
+                throw new IndexOutOfBoundsException(String.format("begin=%d, end=%d, length=%d", beginIndex, endIndex, length()));
+            }
+
+            if(beginIndex == 0 && endIndex == length()) {
+                return this;
+            }
+
+            return new ColumnSequence(owner, start + beginIndex, start + endIndex);
+        }
+
+        @Override
+        public String toString() {
+            return new String(owner.rowBuffer, start, end - start);
+        }
+
+    }
+
+}
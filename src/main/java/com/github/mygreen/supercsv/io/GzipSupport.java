@@ -0,0 +1,139 @@
+package com.github.mygreen.supercsv.io;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * gzip形式で圧縮されたCSVファイルの入出力をサポートするクラス。
+ * <p>読み込み時は、ファイルの先頭のマジックナンバーでgzip形式かどうかを判定し、
+ *   gzip形式の場合は、別スレッドで展開するストリームを返します。
+ *   <br>書き込み時は、ファイル名の拡張子が{@literal .gz}の場合に、{@link ParallelGzipOutputStream}で並列に圧縮するストリームを返します。
+ * </p>
+ *
+ * @see CsvAnnotationBeanReader#open(Class, Path, java.nio.charset.Charset, org.supercsv.prefs.CsvPreference, Class...)
+ * @see CsvAnnotationBeanWriter#open(Class, Path, java.nio.charset.Charset, org.supercsv.prefs.CsvPreference, Class...)
+ * @since 2.3
+ * @author T.TSUCHIE
+ *
+ */
+public final class GzipSupport {
+
+    /**
+     * gzip形式のマジックナンバーの1バイト目
+     */
+    private static final int MAGIC1 = 0x1f;
+
+    /**
+     * gzip形式のマジックナンバーの2バイト目
+     */
+    private static final int MAGIC2 = 0x8b;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * 圧縮するファイルの拡張子
+     */
+    private static final String GZIP_EXTENSION = ".gz";
+
+    private GzipSupport() {
+    }
+
+    /**
+     * ファイルを読み込むストリームを作成します。
+     * <p>gzip形式のファイルの場合は、別スレッドで展開したデータを読み込みます。
+     *   複数のメンバーから成るgzip形式のデータにも対応します。
+     * </p>
+     *
+     * @param file 読み込むファイル。
+     * @return ファイルの内容を読み込むストリーム。
+     * @throws NullPointerException {@literal file is null.}
+     * @throws IOException ファイルの読み込みに失敗した場合。
+     */
+    public static InputStream newInputStream(final Path file) throws IOException {
+        Objects.requireNonNull(file, "file should not be null.");
+
+        final InputStream in = Files.newInputStream(file);
+        try {
+            return decompressIfGzip(in);
+
+        } catch(IOException | RuntimeException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    /**
+     * ストリームの先頭のマジックナンバーで判定し、gzip形式の場合は展開するストリームを返します。
+     *
+     * @param in 元のストリーム。
+     * @return gzip形式の場合は別スレッドで展開するストリーム。そうでない場合は、バッファリングした元のストリーム。
+     * @throws NullPointerException {@literal in is null.}
+     * @throws IOException ストリームの読み込みに失敗した場合。
+     */
+    public static InputStream decompressIfGzip(final InputStream in) throws IOException {
+        Objects.requireNonNull(in, "in should not be null.");
+
+        final BufferedInputStream buffered = new BufferedInputStream(in, BUFFER_SIZE);
+        if(!isGzip(buffered)) {
+            return buffered;
+        }
+
+        return new ReadAheadInputStream(new GZIPInputStream(buffered, BUFFER_SIZE));
+    }
+
+    /**
+     * ストリームの先頭がgzip形式のマジックナンバーかどうか判定します。
+     * <p>判定後は、ストリームの読み込み位置を先頭に戻します。</p>
+     *
+     * @param in 判定するストリーム。
+     * @return gzip形式の場合は、trueを返します。
+     * @throws IOException ストリームの読み込みに失敗した場合。
+     */
+    private static boolean isGzip(final BufferedInputStream in) throws IOException {
+
+        in.mark(2);
+        try {
+            return in.read() == MAGIC1 && in.read() == MAGIC2;
+
+        } finally {
+            in.reset();
+        }
+    }
+
+    /**
+     * ファイルに書き込むストリームを作成します。
+     * <p>ファイル名の拡張子が{@literal .gz}の場合は、{@link ParallelGzipOutputStream}で並列に圧縮して書き込みます。</p>
+     *
+     * @param file 書き込むファイル。
+     * @return ファイルに書き込むストリーム。
+     * @throws NullPointerException {@literal file is null.}
+     * @throws IOException ファイルの作成に失敗した場合。
+     */
+    public static OutputStream newOutputStream(final Path file) throws IOException {
+        Objects.requireNonNull(file, "file should not be null.");
+
+        final OutputStream out = Files.newOutputStream(file);
+        if(!isGzipFileName(file)) {
+            return out;
+        }
+
+        return new ParallelGzipOutputStream(out);
+    }
+
+    /**
+     * ファイル名の拡張子が{@literal .gz}かどうか判定します。
+     * @param file 判定するファイル。
+     * @return 拡張子が{@literal .gz}の場合は、trueを返します。
+     */
+    static boolean isGzipFileName(final Path file) {
+        final Path fileName = file.getFileName();
+        return fileName != null && fileName.toString().toLowerCase().endsWith(GZIP_EXTENSION);
+    }
+
+}
@@ -0,0 +1,212 @@
+package com.github.mygreen.supercsv.io;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import com.github.mygreen.supercsv.builder.BeanMapping;
+import com.github.mygreen.supercsv.builder.ColumnMapping;
+import com.github.mygreen.supercsv.builder.LazyBeanMappingFactory;
+
+/**
+ * ヘッダーを元にカラムの番号を決定した、{@link LazyBeanMappingFactory}によるマッピング情報のキャッシュ。
+ * <p>同じBeanのクラスタイプとグループで、同じヘッダーを持つ複数のファイルを読み書きする場合に、
+ *   {@link LazyCsvAnnotationBeanReader}、{@link LazyCsvAnnotationBeanWriter}のコンストラクタに渡して共有します。
+ *   <br>ヘッダーが一致する場合は、マッピング情報の作成とカラムの番号の決定を省略し、キャッシュしたマッピング情報を使用します。
+ * </p>
+ * <p>キャッシュしたマッピング情報は、CellProcessor、Validator、リスナーのインスタンスも含めて、読み書きする全てのインスタンスで共有します。
+ *   ただし、{@link com.github.mygreen.supercsv.annotation.constraint.CsvUnique}など、
+ *   状態を持つ{@link com.github.mygreen.supercsv.cellprocessor.StatefulCellProcessor}を含む場合は、
+ *   ファイルをまたいで値が共有されないよう、キャッシュせずに毎回作成します。
+ * </p>
+ * <p>このクラスはスレッドセーフです。</p>
+ *
+ * <pre class="highlight"><code class="java">
+ * // アプリケーションで1つのインスタンスを共有する
+ * LazyBeanMappingCache&lt;SampleCsv&gt; mappingCache = new LazyBeanMappingCache&lt;&gt;(SampleCsv.class);
+ *
+ * try(LazyCsvAnnotationBeanReader&lt;SampleCsv&gt; reader = new LazyCsvAnnotationBeanReader&lt;&gt;(
+ *         mappingCache, Files.newBufferedReader(file), CsvPreference.STANDARD_PREFERENCE)) {
+ *     List&lt;SampleCsv&gt; list = reader.readAll();
+ * }
+ * </code></pre>
+ *
+ * @param <T> マッピング対象のBeanのクラスタイプ
+ * @since 2.3
+ * @author T.TSUCHIE
+ *
+ */
+public class LazyBeanMappingCache<T> {
+
+    /**
+     * キャッシュするヘッダーの種類の上限の初期値
+     */
+    public static final int DEFAULT_MAX_SIZE = 64;
+
+    private final LazyBeanMappingFactory factory;
+
+    private final Class<T> beanType;
+
+    private final Class<?>[] groups;
+
+    /**
+     * ヘッダー情報の作成などに使用する、カラムの番号が未決定のマッピング情報
+     */
+    private final BeanMapping<T> template;
+
+    private final Map<HeaderSignature, BeanMapping<T>> mappings;
+
+    /**
+     * 標準の{@link LazyBeanMappingFactory}を使用するコンストラクタ。
+     *
+     * @param beanType Beanのクラスタイプ。
+     * @param groups グループ情報。適用するアノテーションを切り替える際に指定します。
+     * @throws NullPointerException {@literal beanType is null.}
+     */
+    public LazyBeanMappingCache(final Class<T> beanType, final Class<?>... groups) {
+        this(new LazyBeanMappingFactory(), DEFAULT_MAX_SIZE, beanType, groups);
+    }
+
+    /**
+     * マッピング情報を作成する{@link LazyBeanMappingFactory}と、キャッシュの上限を指定するコンストラクタ。
+     *
+     * @param factory マッピング情報を作成する{@link LazyBeanMappingFactory}。
+     * @param maxSize キャッシュするヘッダーの種類の上限。超えた場合は、最も長く使用していないものから破棄します。
+     * @param beanType Beanのクラスタイプ。
+     * @param groups グループ情報。適用するアノテーションを切り替える際に指定します。
+     * @throws NullPointerException {@literal factory or beanType is null.}
+     * @throws IllegalArgumentException {@literal maxSize <= 0.}
+     */
+    public LazyBeanMappingCache(final LazyBeanMappingFactory factory, final int maxSize,
+            final Class<T> beanType, final Class<?>... groups) {
+        Objects.requireNonNull(factory, "factory should not be null.");
+        Objects.requireNonNull(beanType, "beanType should not be null.");
+        if(maxSize <= 0) {
+            throw new IllegalArgumentException(String.format("maxSize should be greater than 0 : %d", maxSize));
+        }
+
+        this.factory = factory;
+        this.beanType = beanType;
+        this.groups = groups;
+        this.template = factory.create(beanType, groups);
+        this.mappings = new LinkedHashMap<HeaderSignature, BeanMapping<T>>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<HeaderSignature, BeanMapping<T>> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * カラムの番号が未決定のマッピング情報を取得します。
+     * <p>ヘッダー行を持つかどうかなど、カラムの番号に依存しない情報の参照に使用します。内容を変更してはいけません。</p>
+     * @return カラムの番号が未決定のマッピング情報。
+     */
+    BeanMapping<T> getTemplate() {
+        return template;
+    }
+
+    /**
+     * カラムの番号を決定する前の、新しいマッピング情報を作成します。
+     * @return 新しいマッピング情報。
+     */
+    BeanMapping<T> createMapping() {
+        return factory.create(beanType, groups);
+    }
+
+    /**
+     * キャッシュしたマッピング情報を取得します。
+     * @param headers ヘッダー情報。
+     * @param forWriting 書き込み用のマッピング情報かどうか。
+     * @return キャッシュしていない場合は、nullを返します。
+     */
+    synchronized BeanMapping<T> get(final String[] headers, final boolean forWriting) {
+        return mappings.get(new HeaderSignature(headers, forWriting));
+    }
+
+    /**
+     * カラムの番号を決定したマッピング情報をキャッシュします。
+     * <p>状態を持つCellProcessorを含む場合は、キャッシュしません。</p>
+     * @param headers ヘッダー情報。
+     * @param forWriting 書き込み用のマッピング情報かどうか。
+     * @param beanMapping カラムの番号を決定したマッピング情報。
+     */
+    void put(final String[] headers, final boolean forWriting, final BeanMapping<T> beanMapping) {
+
+        for(ColumnMapping column : beanMapping.getColumns()) {
+            if(!column.getStatefulProcessorsForReading().isEmpty() || !column.getStatefulProcessorsForWriting().isEmpty()) {
+                return;
+            }
+        }
+
+        synchronized(this) {
+            mappings.putIfAbsent(new HeaderSignature(headers, forWriting), beanMapping);
+        }
+    }
+
+    /**
+     * キャッシュしているヘッダーの種類の数を取得します。
+     * @return 読み込み用と書き込み用は、別に数えます。
+     */
+    public synchronized int size() {
+        return mappings.size();
+    }
+
+    /**
+     * キャッシュを全て破棄します。
+     */
+    public synchronized void clear() {
+        mappings.clear();
+    }
+
+    /**
+     * Beanのクラスタイプを取得します。
+     * @return Beanのクラスタイプ。
+     */
+    public Class<T> getBeanType() {
+        return beanType;
+    }
+
+    /**
+     * ヘッダーの値の並びと、読み書きの種類から成るキャッシュのキー。
+     */
+    private static final class HeaderSignature {
+
+        private final List<String> headers;
+
+        private final boolean forWriting;
+
+        private final int hashCode;
+
+        HeaderSignature(final String[] headers, final boolean forWriting) {
+            this.headers = Collections.unmodifiableList(Arrays.asList(headers.clone()));
+            this.forWriting = forWriting;
+            this.hashCode = 31 * this.headers.hashCode() + (forWriting ? 1 : 0);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if(this == obj) {
+                return true;
+            }
+            if(!(obj instanceof HeaderSignature)) {
+                return false;
+            }
+            final HeaderSignature other = (HeaderSignature) obj;
+            return forWriting == other.forWriting && headers.equals(other.headers);
+        }
+
+    }
+
+}
@@ -4,14 +4,18 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.Reader;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Random;
+import java.util.function.BiConsumer;
 
 import org.supercsv.exception.SuperCsvException;
 import org.supercsv.io.ITokenizer;
 import org.supercsv.prefs.CsvPreference;
+import org.supercsv.util.CsvContext;
 
 import com.github.mygreen.supercsv.annotation.CsvPartial;
 import com.github.mygreen.supercsv.builder.BeanMapping;
@@ -23,6 +27,7 @@ import com.github.mygreen.supercsv.exception.SuperCsvBindingException;
 import com.github.mygreen.supercsv.exception.SuperCsvNoMatchColumnSizeException;
 import com.github.mygreen.supercsv.exception.SuperCsvNoMatchHeaderException;
 import com.github.mygreen.supercsv.localization.MessageBuilder;
+import com.github.mygreen.supercsv.validation.CsvBindingErrors;
 
 /**
  * カラムの定義が曖昧なアノテーションを元にCSVファイルを読み込むためのクラス。
@@ -32,7 +37,7 @@ import com.github.mygreen.supercsv.localization.MessageBuilder;
  * 
  * @param <T> マッピング対象のBeanのクラスタイプ
  * 
- * @version 2.2
+ * @version 2.3
  * @since 2.1
  * @author T.TSUCHIE
  *
@@ -42,8 +47,15 @@ public class LazyCsvAnnotationBeanReader<T> extends AbstractCsvAnnotationBeanRea
     /**
      * Beanのマッピング情報。
      * ・初期化は済んでいない場合があるため、キャッシュとは別に管理する。
+     * ・マッピング情報のキャッシュを使用する場合は、初期化時にキャッシュから取得したものに置き換える。
      */
-    private final BeanMapping<T> beanMapping;
+    private BeanMapping<T> beanMapping;
+    
+    /**
+     * ヘッダーを元にカラムの番号を決定したマッピング情報のキャッシュ。
+     * ・使用しない場合はnull。
+     */
+    private final LazyBeanMappingCache<T> mappingCache;
     
     /**
      * ヘッダー情報を元に初期化済みかどうか
@@ -69,6 +81,7 @@ public class LazyCsvAnnotationBeanReader<T> extends AbstractCsvAnnotationBeanRea
         
         LazyBeanMappingFactory factory = new LazyBeanMappingFactory();
         this.beanMapping = factory.create(beanType, groups);
+        this.mappingCache = null;
         this.validators.addAll(beanMapping.getValidators());
     }
     
@@ -90,6 +103,7 @@ public class LazyCsvAnnotationBeanReader<T> extends AbstractCsvAnnotationBeanRea
         Objects.requireNonNull(beanMapping, "beanMapping should not be null.");
         
         this.beanMapping = beanMapping;
+        this.mappingCache = null;
         this.validators.addAll(beanMapping.getValidators());
     }
     
@@ -112,6 +126,7 @@ public class LazyCsvAnnotationBeanReader<T> extends AbstractCsvAnnotationBeanRea
         
         LazyBeanMappingFactory factory = new LazyBeanMappingFactory();
         this.beanMapping = factory.create(beanType, groups);
+        this.mappingCache = null;
         this.validators.addAll(beanMapping.getValidators());
     }
     
@@ -134,9 +149,53 @@ public class LazyCsvAnnotationBeanReader<T> extends AbstractCsvAnnotationBeanRea
         Objects.requireNonNull(beanMapping, "beanMapping should not be null.");
         
         this.beanMapping = beanMapping;
+        this.mappingCache = null;
         this.validators.addAll(beanMapping.getValidators());
     }
     
+    /**
+     * マッピング情報のキャッシュを指定して、{@link LazyCsvAnnotationBeanReader}を作成するコンストラクタ。
+     * <p>{@link BufferedReader}にラップして実行されるため、ラップする必要はありません。</p>
+     * <p>初期化時に、ヘッダーが一致するマッピング情報がキャッシュにある場合は、それを使用します。</p>
+     * 
+     * @since 2.3
+     * @param mappingCache マッピング情報のキャッシュ。
+     * @param reader the Reader。
+     * @param preference the CSV preferences.
+     * @throws NullPointerException {@literal if mappingCache or reader or preferences are null.}
+     */
+    public LazyCsvAnnotationBeanReader(final LazyBeanMappingCache<T> mappingCache, final Reader reader,
+            final CsvPreference preference) {
+        
+        super(reader, preference);
+        
+        Objects.requireNonNull(mappingCache, "mappingCache should not be null.");
+        
+        this.beanMapping = mappingCache.getTemplate();
+        this.mappingCache = mappingCache;
+    }
+    
+    /**
+     * マッピング情報のキャッシュを指定して、{@link LazyCsvAnnotationBeanReader}を作成するコンストラクタ。
+     * <p>初期化時に、ヘッダーが一致するマッピング情報がキャッシュにある場合は、それを使用します。</p>
+     * 
+     * @since 2.3
+     * @param mappingCache マッピング情報のキャッシュ。
+     * @param tokenizer the tokenizer.
+     * @param preference the CSV preferences.
+     * @throws NullPointerException {@literal if mappingCache or tokenizer or preferences are null.}
+     */
+    public LazyCsvAnnotationBeanReader(final LazyBeanMappingCache<T> mappingCache, final ITokenizer tokenizer,
+            final CsvPreference preference) {
+        
+        super(tokenizer, preference);
+        
+        Objects.requireNonNull(mappingCache, "mappingCache should not be null.");
+        
+        this.beanMapping = mappingCache.getTemplate();
+        this.mappingCache = mappingCache;
+    }
+    
     /**
      * １行目のレコードをヘッダー情報として読み込んで、カラム情報を初期化を行います。
      * 
@@ -165,8 +224,24 @@ public class LazyCsvAnnotationBeanReader<T> extends AbstractCsvAnnotationBeanRea
      */
     public void init(final String... headers) {
         
-        setupMappingColumns(headers);
+        boolean resolved = false;
+        if(mappingCache == null) {
+            setupMappingColumns(headers);
+            
+        } else {
+            // キャッシュにない場合は、新たに作成したマッピング情報の番号を決定する。
+            final BeanMapping<T> cachedMapping = mappingCache.get(headers, false);
+            if(cachedMapping != null) {
+                this.beanMapping = cachedMapping;
+            } else {
+                this.beanMapping = mappingCache.createMapping();
+                setupMappingColumns(headers);
+                resolved = true;
+            }
+        }
+        
         this.beanMappingCache = BeanMappingCache.create(beanMapping);
+        applyProjection();
         
         if(beanMappingCache.getOriginal().isValidateHeader()) {
             try {
@@ -179,6 +254,15 @@ public class LazyCsvAnnotationBeanReader<T> extends AbstractCsvAnnotationBeanRea
             }
         }
         
+        if(mappingCache != null) {
+            if(resolved) {
+                mappingCache.put(headers, false, beanMapping);
+            }
+            
+            // 独自に追加されたValidatorより前に実行する
+            validators.addAll(0, beanMapping.getValidators());
+        }
+        
         // 初期化完了
         this.initialized = true;
     }
@@ -266,6 +350,87 @@ public class LazyCsvAnnotationBeanReader<T> extends AbstractCsvAnnotationBeanRea
         
     }
     
+    /**
+     * リザーバーサンプリングにより、指定した件数のレコードを無作為に抽出します。
+     * <p>ヘッダー行も自動的に処理されます。</p>
+     * <p>抽出対象とならないレコードは、カラムに分割せずに読み飛ばすため、CellProcessorや入力値検証は実行されません。
+     *   <br>抽出したBeanのエラーメッセージの行番号、レコード番号は、全てのレコードを読み込む場合と同じです。
+     * </p>
+     * 
+     * @since 2.3
+     * @param size 抽出する件数。レコードの件数が少ない場合は、全てのレコードを返します。
+     * @param random 乱数の生成器。
+     * @return 抽出したレコード。ファイル上の順序で返します。
+     * 
+     * @throws NullPointerException {@literal random is null.}
+     * @throws IllegalArgumentException {@literal size <= 0.}
+     * @throws IOException レコードの読み込みに失敗した場合。
+     * @throws SuperCsvNoMatchColumnSizeException レコードのカラムサイズに問題がある場合
+     * @throws SuperCsvBindingException セルの値に問題がある場合
+     * @throws SuperCsvException 設定など、その他に問題がある場合
+     * @throws IllegalStateException ヘッダー行を持たないときに、{@link #init(String...)}で初期化が済んでいない場合。
+     */
+    public List<T> readSample(final int size, final Random random) throws IOException {
+        return readSample(size, random, false);
+    }
+    
+    /**
+     * リザーバーサンプリングにより、指定した件数のレコードを無作為に抽出します。
+     * <p>ヘッダー行も自動的に処理されます。</p>
+     * 
+     * @since 2.3
+     * @param size 抽出する件数。レコードの件数が少ない場合は、全てのレコードを返します。
+     * @param random 乱数の生成器。
+     * @param continueOnError レコードの処理中に、
+     *        例外{@link SuperCsvNoMatchColumnSizeException}、{@link SuperCsvBindingException}
+     *        が発生しても続行するかどう指定します。
+     *        trueの場合、例外が発生したレコードを除いて抽出します。
+     * @return 抽出したレコード。ファイル上の順序で返します。
+     * 
+     * @throws NullPointerException {@literal random is null.}
+     * @throws IllegalArgumentException {@literal size <= 0.}
+     * @throws IOException レコードの読み込みに失敗した場合。
+     * @throws SuperCsvNoMatchColumnSizeException レコードのカラムサイズに問題がある場合
+     * @throws SuperCsvBindingException セルの値に問題がある場合
+     * @throws SuperCsvException 設定など、その他に問題がある場合
+     * @throws IllegalStateException ヘッダー行を持たないときに、{@link #init(String...)}で初期化が済んでいない場合。
+     * @see #readSample(int, Random)
+     */
+    public List<T> readSample(final int size, final Random random, final boolean continueOnError) throws IOException {
+        
+        if(!initialized) {
+            if(beanMapping.isHeader()) {
+                // ヘッダーがファイルに存在する場合、１行目を読み込んで初期化を行う。
+                try {
+                    init();
+                } catch(SuperCsvNoMatchColumnSizeException | SuperCsvNoMatchHeaderException e) {
+                    if(!continueOnError) {
+                        throw e;
+                    }
+                }
+                
+            } else {
+                throw newNotInitialzedException();
+            }
+        }
+        
+        return readReservoir(size, random, continueOnError);
+    }
+    
+    /**
+     * {@inheritDoc}
+     * @throws IllegalStateException ヘッダーが読み込まれておらず、マッピング情報の初期か完了していない場合。
+     */
+    @Override
+    public long skipRecords(final long count) throws IOException {
+        
+        if(!initialized) {
+            throw newNotInitialzedException();
+        }
+        
+        return super.skipRecords(count);
+    }
+    
     /**
      * {@inheritDoc}
      * @throws IllegalStateException ヘッダーが読み込まれておらず、マッピング情報の初期か完了していない場合。
@@ -283,6 +448,99 @@ public class LazyCsvAnnotationBeanReader<T> extends AbstractCsvAnnotationBeanRea
         
     }
     
+    /**
+     * レコードを全て読み込み、値の検証のみを行います。
+     * <p>ヘッダー行も自動的に処理されます。</p>
+     * <p>Beanのリストは作成せずに、エラーがあるレコードごとにエラー情報をハンドラに渡します。
+     *   <br>エラーがあっても例外はスローせずに、最後のレコードまで処理を続けます。
+     *   <br>ただし、ヘッダーにエラーがある場合は、カラムの位置が決定できないため、その時点で終了します。
+     * </p>
+     * 
+     * @since 2.3
+     * @param errorHandler エラーがあるレコードのエラー情報を受け取る処理。
+     *        第1引数には、レコードの行番号などの情報が渡されます。
+     * @return エラーがあったレコードの件数。ヘッダーのエラーも1件として含みます。
+     * @throws NullPointerException {@literal errorHandler is null.}
+     * @throws IOException レコードの読み込みに失敗した場合。
+     * @throws SuperCsvException 設定など、その他に問題がある場合
+     * @throws IllegalStateException ヘッダー行を持たないときに、{@link #init(String...)}で初期化が済んでいない場合。
+     */
+    public int validateAll(final BiConsumer<CsvContext, CsvBindingErrors> errorHandler) throws IOException {
+        
+        Objects.requireNonNull(errorHandler, "errorHandler should not be null.");
+        
+        if(!initialized) {
+            if(beanMapping.isHeader()) {
+                // ヘッダーがファイルに存在する場合、１行目を読み込んで初期化を行う。
+                try {
+                    init();
+                } catch(SuperCsvNoMatchColumnSizeException | SuperCsvNoMatchHeaderException e) {
+                    final CsvBindingErrors bindingErrors = new CsvBindingErrors(beanMapping.getType());
+                    bindingErrors.addAllErrors(exceptionConverter.convert(e, beanMapping));
+                    errorHandler.accept(e.getCsvContext(), bindingErrors);
+                    return 1;
+                }
+                
+            } else {
+                throw newNotInitialzedException();
+            }
+        }
+        
+        int errorCount = 0;
+        CsvBindingErrors bindingErrors;
+        while((bindingErrors = validate()) != null) {
+            if(bindingErrors.hasErrors()) {
+                errorCount++;
+                errorHandler.accept(new CsvContext(getLineNumber(), getRowNumber(), 1), bindingErrors);
+            }
+        }
+        
+        return errorCount;
+        
+    }
+    
+    /**
+     * {@inheritDoc}
+     * @throws IllegalStateException ヘッダーが読み込まれておらず、マッピング情報の初期か完了していない場合。
+     */
+    @Override
+    public CsvBindingErrors validate() throws IOException {
+        
+        if(!initialized) {
+            throw newNotInitialzedException();
+        }
+        
+        return super.validate();
+    }
+    
+    /**
+     * {@inheritDoc}
+     * @throws IllegalStateException ヘッダーが読み込まれておらず、マッピング情報の初期か完了していない場合。
+     */
+    @Override
+    public ColumnBatch createColumnBatch(final int capacity) {
+        
+        if(!initialized) {
+            throw newNotInitialzedException();
+        }
+        
+        return super.createColumnBatch(capacity);
+    }
+    
+    /**
+     * {@inheritDoc}
+     * @throws IllegalStateException ヘッダーが読み込まれておらず、マッピング情報の初期か完了していない場合。
+     */
+    @Override
+    public int readBatch(final ColumnBatch batch) throws IOException {
+        
+        if(!initialized) {
+            throw newNotInitialzedException();
+        }
+        
+        return super.readBatch(batch);
+    }
+    
     /**
      * 読み込んだヘッダーを元に、マッピング情報を補完する。
      * <p>カラムの位置である番号を確定する。</p>
@@ -296,20 +554,27 @@ public class LazyCsvAnnotationBeanReader<T> extends AbstractCsvAnnotationBeanRea
         final List<ColumnMapping> columnMappingList = beanMapping.getColumns();
         final HeaderMapper headerMapper = beanMapping.getHeaderMapper();
         
+        /*
+         * 番号が決まっていないカラム情報を、ラベルごとにまとめる。
+         * ※既に番号が決まっているが、ラベルが一致しないのものは、後からチェックする。
+         */
+        final Map<String, List<ColumnMapping>> undeterminedColumnMap = new HashMap<>();
+        for(ColumnMapping col : columnMappingList) {
+            if(col.getNumber() <= 0) {
+                final String label = headerMapper.toMap(col, beanMapping.getConfiguration(), beanMapping.getGroups());
+                undeterminedColumnMap.computeIfAbsent(label, key -> new ArrayList<>()).add(col);
+            }
+        }
+        
         // 一致するラベルがあれば、カラムの番号を補完する
         final int headerSize = headers.length;
         for(int i=0; i < headerSize;i ++) {
             
-            final String header = headers[i];
-            
-            /*
-             * 番号が決まっておらず、ラベルが一致するカラム情報を抽出する。
-             * ※既に番号が決まっているが、ラベルが一致しないのものは、後からチェックする。
-             */
-            List<ColumnMapping> undeterminedColumnList = columnMappingList.stream()
-                .filter(col -> col.getNumber() <= 0)
-                .filter(col -> headerMapper.toMap(col, beanMapping.getConfiguration(), beanMapping.getGroups()).equals(header))
-                .collect(Collectors.toList());
+            // 同じラベルのヘッダーが複数ある場合は、最初のヘッダーの番号とする
+            final List<ColumnMapping> undeterminedColumnList = undeterminedColumnMap.remove(headers[i]);
+            if(undeterminedColumnList == null) {
+                continue;
+            }
             
             final int columnNumber = i+1;
             undeterminedColumnList.forEach(col -> col.setNumber(columnNumber));
@@ -3,9 +3,12 @@ package com.github.mygreen.supercsv.io;
 import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.Writer;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
@@ -29,7 +32,7 @@ import com.github.mygreen.supercsv.localization.MessageBuilder;
  * 
  * @param <T> マッピング対象のBeanのクラスタイプ
  * 
- * @version 2.2
+ * @version 2.3
  * @since 2.1
  * @author T.TSUCHIE
  *
@@ -39,8 +42,15 @@ public class LazyCsvAnnotationBeanWriter<T> extends AbstractCsvAnnotationBeanWri
     /**
      * Beanのマッピング情報。
      * ・初期化は済んでいない場合があるため、キャッシュとは別に管理する。
+     * ・マッピング情報のキャッシュを使用する場合は、初期化時にキャッシュから取得したものに置き換える。
      */
-    private final BeanMapping<T> beanMapping;
+    private BeanMapping<T> beanMapping;
+    
+    /**
+     * ヘッダーを元にカラムの番号を決定したマッピング情報のキャッシュ。
+     * ・使用しない場合はnull。
+     */
+    private final LazyBeanMappingCache<T> mappingCache;
     
     /**
      * ヘッダー情報を元に初期化済みかどうか
@@ -65,6 +75,7 @@ public class LazyCsvAnnotationBeanWriter<T> extends AbstractCsvAnnotationBeanWri
         
         LazyBeanMappingFactory factory = new LazyBeanMappingFactory();
         this.beanMapping = factory.create(beanType, groups);
+        this.mappingCache = null;
         this.validators.addAll(beanMapping.getValidators());
         
     }
@@ -86,10 +97,33 @@ public class LazyCsvAnnotationBeanWriter<T> extends AbstractCsvAnnotationBeanWri
         Objects.requireNonNull(beanMapping, "beanMapping should not be null.");
         
         this.beanMapping = beanMapping;
+        this.mappingCache = null;
         this.validators.addAll(beanMapping.getValidators());
         
     }
     
+    /**
+     * マッピング情報のキャッシュを指定して、{@link LazyCsvAnnotationBeanWriter}を作成するコンストラクタ。
+     * <p>{@link BufferedWriter}にラップして実行されるため、ラップする必要はありません。</p>
+     * <p>初期化時に、ヘッダーが一致するマッピング情報がキャッシュにある場合は、それを使用します。</p>
+     * 
+     * @since 2.3
+     * @param mappingCache マッピング情報のキャッシュ。
+     * @param writer the writer
+     * @param preference the CSV preferences.
+     * @throws NullPointerException {@literal if mappingCache or writer or preferences are null.}
+     */
+    public LazyCsvAnnotationBeanWriter(final LazyBeanMappingCache<T> mappingCache, final Writer writer,
+            final CsvPreference preference) {
+        super(writer, preference);
+        
+        Objects.requireNonNull(mappingCache, "mappingCache should not be null.");
+        
+        this.beanMapping = mappingCache.getTemplate();
+        this.mappingCache = mappingCache;
+        
+    }
+    
     /**
      * 初期化が完了していないときに呼ばれたときにスローする例外のインスタンスを作成します。
      */
@@ -112,8 +146,26 @@ public class LazyCsvAnnotationBeanWriter<T> extends AbstractCsvAnnotationBeanWri
      */
     public void init(final String... headers) {
         
-        setupMappingColumns(headers);
+        if(mappingCache == null) {
+            setupMappingColumns(headers);
+            
+        } else {
+            // キャッシュにない場合は、新たに作成したマッピング情報の番号を決定する。
+            final BeanMapping<T> cachedMapping = mappingCache.get(headers, true);
+            if(cachedMapping != null) {
+                this.beanMapping = cachedMapping;
+            } else {
+                this.beanMapping = mappingCache.createMapping();
+                setupMappingColumns(headers);
+                mappingCache.put(headers, true, beanMapping);
+            }
+            
+            // 独自に追加されたValidatorより前に実行する
+            validators.addAll(0, beanMapping.getValidators());
+        }
+        
         this.beanMappingCache = BeanMappingCache.create(beanMapping);
+        applyProjection();
         
         // 初期化完了
         this.initialized = true;
@@ -132,20 +184,27 @@ public class LazyCsvAnnotationBeanWriter<T> extends AbstractCsvAnnotationBeanWri
         final List<ColumnMapping> columnMappingList = beanMapping.getColumns();
         final HeaderMapper headerMapper = beanMapping.getHeaderMapper();
         
+        /*
+         * 番号が決まっていないカラム情報を、ラベルごとにまとめる。
+         * ※既に番号が決まっているが、ラベルが一致しないのものは、後からチェックする。
+         */
+        final Map<String, List<ColumnMapping>> undeterminedColumnMap = new HashMap<>();
+        for(ColumnMapping col : columnMappingList) {
+            if(!col.isDeterminedNumber()) {
+                final String label = headerMapper.toMap(col, beanMapping.getConfiguration(), beanMapping.getGroups());
+                undeterminedColumnMap.computeIfAbsent(label, key -> new ArrayList<>()).add(col);
+            }
+        }
+        
         // 一致するラベルがあれば、カラムの番号を補完する
         final int headerSize = headers.length;
         for(int i=0; i < headerSize;i ++) {
             
-            final String header = headers[i];
-            
-            /*
-             * 番号が決まっておらず、ラベルが一致するカラム情報を抽出する。
-             * ※既に番号が決まっているが、ラベルが一致しないのものは、後からチェックする。
-             */
-            List<ColumnMapping> undeterminedColumnList = columnMappingList.stream()
-                .filter(col -> !col.isDeterminedNumber())
-                .filter(col -> headerMapper.toMap(col, beanMapping.getConfiguration(), beanMapping.getGroups()).equals(header))
-                .collect(Collectors.toList());
+            // 同じラベルのヘッダーが複数ある場合は、最初のヘッダーの番号とする
+            final List<ColumnMapping> undeterminedColumnList = undeterminedColumnMap.remove(headers[i]);
+            if(undeterminedColumnList == null) {
+                continue;
+            }
             
             final int columnNumber = i+1;
             undeterminedColumnList.forEach(col -> col.setNumber(columnNumber));
@@ -0,0 +1,261 @@
+package com.github.mygreen.supercsv.io;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 複数のスレッドで並列に圧縮を行い、gzip形式で出力するOutputStream。
+ * <p>書き込んだデータを一定サイズのブロックに分割し、ブロックごとに独立したgzipのメンバーとして並列に圧縮します。
+ *   圧縮したメンバーは書き込んだ順に連結して出力するため、出力結果は複数のメンバーから成る正しいgzip形式のデータとなり、
+ *   {@link java.util.zip.GZIPInputStream}や、gzipコマンドなどで展開できます。
+ * </p>
+ * <p>ブロックごとに独立して圧縮するため、1つのストリームとして圧縮する場合と比べて、圧縮率はわずかに低下します。</p>
+ * <p>{@link #flush()}は、{@link GZIPOutputStream}と同様に、圧縮中のブロックを確定させません。
+ *   圧縮を終えたメンバーのみを出力します。
+ * </p>
+ *
+ * @since 2.3
+ * @author T.TSUCHIE
+ *
+ */
+public class ParallelGzipOutputStream extends OutputStream {
+
+    /**
+     * ブロックのサイズの初期値
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 256 * 1024;
+
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    private final OutputStream out;
+
+    private final int blockSize;
+
+    /** 同時に圧縮するブロックの最大数 */
+    private final int maxPendingSize;
+
+    private final ExecutorService executor;
+
+    /** 圧縮中のブロック。書き込んだ順に保持する。 */
+    private final Deque<Pending> pendings = new ArrayDeque<>();
+
+    /** 再利用するブロックのバッファ */
+    private final Deque<byte[]> freeBuffers = new ArrayDeque<>();
+
+    private byte[] buffer;
+
+    private int bufferLength;
+
+    /** 1つ以上のメンバーを出力したかどうか */
+    private boolean written;
+
+    private boolean closed;
+
+    /**
+     * 利用可能なプロセッサ数のスレッドで圧縮するコンストラクタ。
+     *
+     * @param out 出力先のストリーム。
+     * @throws NullPointerException {@literal out is null.}
+     */
+    public ParallelGzipOutputStream(final OutputStream out) {
+        this(out, DEFAULT_BLOCK_SIZE, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * ブロックのサイズとスレッド数を指定するコンストラクタ。
+     *
+     * @param out 出力先のストリーム。
+     * @param blockSize ブロックのサイズ（圧縮前のバイト数）。
+     * @param threads 圧縮を行うスレッド数。
+     * @throws NullPointerException {@literal out is null.}
+     * @throws IllegalArgumentException {@literal blockSize <= 0 or threads <= 0.}
+     */
+    public ParallelGzipOutputStream(final OutputStream out, final int blockSize, final int threads) {
+        Objects.requireNonNull(out, "out should not be null.");
+        if(blockSize <= 0) {
+            throw new IllegalArgumentException(String.format("blockSize should be greater than 0 : %d", blockSize));
+        }
+        if(threads <= 0) {
+            throw new IllegalArgumentException(String.format("threads should be greater than 0 : %d", threads));
+        }
+
+        this.out = out;
+        this.blockSize = blockSize;
+        this.maxPendingSize = threads * 2;
+        this.buffer = new byte[blockSize];
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            final Thread thread = new Thread(runnable, "csv-gzip-compressor-" + THREAD_COUNT.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        write(new byte[]{(byte)b}, 0, 1);
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+
+        Objects.requireNonNull(b, "b should not be null.");
+        if(off < 0 || len < 0 || len > b.length - off) {
+            throw new IndexOutOfBoundsException(String.format("off=%d, len=%d, length=%d", off, len, b.length));
+        }
+
+        ensureOpen();
+
+        int offset = off;
+        int remaining = len;
+        while(remaining > 0) {
+            final int size = Math.min(remaining, blockSize - bufferLength);
+            System.arraycopy(b, offset, buffer, bufferLength, size);
+            bufferLength += size;
+            offset += size;
+            remaining -= size;
+
+            if(bufferLength == blockSize) {
+                submitBlock();
+            }
+        }
+    }
+
+    /**
+     * バッファのブロックを圧縮するタスクを登録します。
+     * <p>圧縮中のブロック数が上限に達している場合は、先頭のブロックの圧縮を待って出力します。</p>
+     */
+    private void submitBlock() throws IOException {
+
+        while(pendings.size() >= maxPendingSize) {
+            writeMember(pendings.removeFirst());
+        }
+
+        final byte[] data = buffer;
+        final int length = bufferLength;
+        pendings.addLast(new Pending(data, executor.submit(() -> compress(data, length))));
+
+        this.buffer = freeBuffers.isEmpty() ? new byte[blockSize] : freeBuffers.removeFirst();
+        this.bufferLength = 0;
+    }
+
+    /**
+     * ブロックを1つのgzipのメンバーとして圧縮します。
+     * @param data 圧縮するデータ。
+     * @param length データのバイト数。
+     * @return 圧縮したメンバー。
+     */
+    private byte[] compress(final byte[] data, final int length) throws IOException {
+
+        final ByteArrayOutputStream member = new ByteArrayOutputStream(Math.max(length / 2, 64));
+        try(GZIPOutputStream gzip = new GZIPOutputStream(member, 8192)) {
+            gzip.write(data, 0, length);
+        }
+
+        return member.toByteArray();
+    }
+
+    /**
+     * 圧縮の完了を待って、メンバーを出力します。
+     */
+    private void writeMember(final Pending pending) throws IOException {
+
+        final byte[] member;
+        try {
+            member = pending.future.get();
+
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("interrupted while waiting for the compression.");
+
+        } catch(ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if(cause instanceof IOException) {
+                throw (IOException)cause;
+            }
+            throw new IOException("fail compressing the block.", cause);
+        }
+
+        out.write(member);
+        this.written = true;
+
+        // 圧縮を終えたブロックのバッファは再利用する
+        freeBuffers.addLast(pending.data);
+    }
+
+    /**
+     * 圧縮を終えたメンバーを出力し、出力先のストリームをフラッシュします。
+     * <p>圧縮中のブロックや、まだブロックのサイズに満たないデータは出力しません。</p>
+     */
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+
+        while(!pendings.isEmpty() && pendings.peekFirst().future.isDone()) {
+            writeMember(pendings.removeFirst());
+        }
+
+        out.flush();
+    }
+
+    /**
+     * 残りのデータを圧縮して全て出力し、出力先のストリームを閉じます。
+     */
+    @Override
+    public void close() throws IOException {
+        if(closed) {
+            return;
+        }
+
+        try {
+            // 1バイトも書き込んでいない場合も、空のメンバーを出力する。
+            if(bufferLength > 0 || (pendings.isEmpty() && !written)) {
+                submitBlock();
+            }
+
+            while(!pendings.isEmpty()) {
+                writeMember(pendings.removeFirst());
+            }
+
+            out.flush();
+
+        } finally {
+            this.closed = true;
+            executor.shutdownNow();
+            out.close();
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if(closed) {
+            throw new IOException("the stream has already been closed.");
+        }
+    }
+
+    /**
+     * 圧縮中のブロック。
+     */
+    private static class Pending {
+
+        private final byte[] data;
+
+        private final Future<byte[]> future;
+
+        Pending(final byte[] data, final Future<byte[]> future) {
+            this.data = data;
+            this.future = future;
+        }
+
+    }
+
+}
@@ -0,0 +1,70 @@
+package com.github.mygreen.supercsv.io;
+
+import java.util.Set;
+
+import com.github.mygreen.supercsv.validation.CsvBindingErrors;
+import com.github.mygreen.supercsv.validation.CsvError;
+import com.github.mygreen.supercsv.validation.CsvFieldError;
+
+/**
+ * 射影の対象外のフィールドに対するフィールドエラーを無視するエラー情報。
+ * <p>射影の対象外のフィールドは、読み込み時に値が設定されず、書き込み時に出力されないため、
+ *   レコードの入力値検証やBean Validation、コールバックメソッドで追加されたエラーを無視します。
+ * </p>
+ *
+ * @since 2.3
+ * @author T.TSUCHIE
+ *
+ */
+class ProjectedBindingErrors extends CsvBindingErrors {
+
+    /** serialVersionUID */
+    private static final long serialVersionUID = 1L;
+
+    /** 射影の対象外のフィールド名 */
+    private final Set<String> unprojectedFields;
+
+    /**
+     * コンストラクタ。
+     * @param clazz 検証対象のBeanのクラスタイプ。
+     * @param unprojectedFields 射影の対象外のフィールド名。
+     */
+    ProjectedBindingErrors(final Class<?> clazz, final Set<String> unprojectedFields) {
+        super(clazz);
+        this.unprojectedFields = unprojectedFields;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>射影の対象外のフィールド、またはそのネストしたパスに対するフィールドエラーは追加しません。
+     *   <br>ただし、{@link CsvRowFilter}の判定時にCellProcessorで処理して発生したエラーは、通知するために追加します。
+     * </p>
+     */
+    @Override
+    public void addError(final CsvError error) {
+        if(error instanceof CsvFieldError && !((CsvFieldError) error).isProcessingFailure()
+                && isUnprojectedPath(((CsvFieldError) error).getField())) {
+            return;
+        }
+        super.addError(error);
+    }
+
+    private boolean isUnprojectedPath(final String path) {
+        if(path == null) {
+            return false;
+        }
+
+        // 'list[0]'や'address.city'などの、パスの先頭のフィールド名で判定する。
+        int end = path.length();
+        for(int i=0; i < path.length(); i++) {
+            final char c = path.charAt(i);
+            if(c == '.' || c == '[') {
+                end = i;
+                break;
+            }
+        }
+
+        return unprojectedFields.contains(path.substring(0, end));
+    }
+
+}
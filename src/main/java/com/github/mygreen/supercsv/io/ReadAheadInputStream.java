@@ -0,0 +1,268 @@
+package com.github.mygreen.supercsv.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 別スレッドで先読みを行うInputStream。
+ * <p>元のストリームからの読み込みを別スレッドで行い、一定サイズのブロックごとに上限のあるキューに格納します。
+ *   <br>{@link java.util.zip.GZIPInputStream}など、読み込み時の処理に時間がかかるストリームをラップすることで、
+ *   その処理と呼び出し元のスレッドの処理を並行して行うことができます。
+ * </p>
+ *
+ * @see ReadAheadTokenizer
+ * @since 2.3
+ * @author T.TSUCHIE
+ *
+ */
+public class ReadAheadInputStream extends InputStream {
+
+    /**
+     * ブロックのサイズの初期値
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 64 * 1024;
+
+    /**
+     * キューの深さの初期値
+     */
+    public static final int DEFAULT_DEPTH = 4;
+
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    private final InputStream in;
+
+    private final int blockSize;
+
+    private final BlockingQueue<Block> filledQueue;
+
+    private final BlockingQueue<Block> freeQueue;
+
+    private Thread producer;
+
+    private volatile boolean closed;
+
+    private Block current;
+
+    private int currentPosition;
+
+    private boolean finished;
+
+    /**
+     * 標準の設定で先読みするコンストラクタ。
+     *
+     * @param in 先読みするストリーム。
+     * @throws NullPointerException {@literal in is null.}
+     */
+    public ReadAheadInputStream(final InputStream in) {
+        this(in, DEFAULT_BLOCK_SIZE, DEFAULT_DEPTH);
+    }
+
+    /**
+     * ブロックのサイズとキューの深さを指定するコンストラクタ。
+     *
+     * @param in 先読みするストリーム。
+     * @param blockSize ブロックのサイズ（バイト数）。
+     * @param depth キューの深さ。先読みするブロックの最大数。
+     * @throws NullPointerException {@literal in is null.}
+     * @throws IllegalArgumentException {@literal blockSize <= 0 or depth <= 0.}
+     */
+    public ReadAheadInputStream(final InputStream in, final int blockSize, final int depth) {
+        Objects.requireNonNull(in, "in should not be null.");
+        if(blockSize <= 0) {
+            throw new IllegalArgumentException(String.format("blockSize should be greater than 0 : %d", blockSize));
+        }
+        if(depth <= 0) {
+            throw new IllegalArgumentException(String.format("depth should be greater than 0 : %d", depth));
+        }
+
+        this.in = in;
+        this.blockSize = blockSize;
+        this.filledQueue = new ArrayBlockingQueue<>(depth);
+        this.freeQueue = new ArrayBlockingQueue<>(depth + 2);
+        for(int i=0; i < depth + 2; i++) {
+            freeQueue.add(new Block(blockSize));
+        }
+    }
+
+    @Override
+    public int read() throws IOException {
+        final byte[] b = new byte[1];
+        final int size = read(b, 0, 1);
+        return size < 0 ? -1 : (b[0] & 0xff);
+    }
+
+    @Override
+    public int read(final byte[] b, final int off, final int len) throws IOException {
+
+        Objects.requireNonNull(b, "b should not be null.");
+        if(off < 0 || len < 0 || len > b.length - off) {
+            throw new IndexOutOfBoundsException(String.format("off=%d, len=%d, length=%d", off, len, b.length));
+        }
+
+        if(closed) {
+            throw new IOException("the stream has already been closed.");
+        }
+
+        if(len == 0) {
+            return 0;
+        }
+
+        if(!nextBlock()) {
+            return -1;
+        }
+
+        final int size = Math.min(len, current.length - currentPosition);
+        System.arraycopy(current.data, currentPosition, b, off, size);
+        currentPosition += size;
+        return size;
+    }
+
+    @Override
+    public int available() throws IOException {
+        if(current == null || closed) {
+            return 0;
+        }
+        return current.length - currentPosition;
+    }
+
+    /**
+     * 読み込むデータが残っているブロックを準備します。
+     * @return ストリームの終端に達した場合は、falseを返します。
+     */
+    private boolean nextBlock() throws IOException {
+
+        if(finished) {
+            return false;
+        }
+
+        if(producer == null) {
+            this.producer = new Thread(this::produce, "csv-read-ahead-stream-" + THREAD_COUNT.incrementAndGet());
+            producer.setDaemon(true);
+            producer.start();
+        }
+
+        while(current == null || currentPosition >= current.length) {
+            if(current != null) {
+                if(current.last) {
+                    this.finished = true;
+                    final IOException error = current.error;
+                    current.error = null;
+                    if(error != null) {
+                        throw error;
+                    }
+                    return false;
+                }
+
+                freeQueue.add(current);
+                this.current = null;
+            }
+
+            try {
+                this.current = filledQueue.take();
+                this.currentPosition = 0;
+
+            } catch(InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("interrupted while waiting for the read-ahead data.");
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * 先読みを行うスレッドの処理。
+     */
+    private void produce() {
+
+        try {
+            while(!closed) {
+                final Block block = freeQueue.take();
+                block.length = 0;
+
+                try {
+                    while(block.length < blockSize) {
+                        final int size = in.read(block.data, block.length, blockSize - block.length);
+                        if(size < 0) {
+                            block.last = true;
+                            break;
+                        }
+                        block.length += size;
+                    }
+
+                } catch(IOException e) {
+                    block.last = true;
+                    block.error = e;
+
+                } catch(RuntimeException e) {
+                    block.last = true;
+                    block.error = new IOException("fail reading ahead.", e);
+                }
+
+                filledQueue.put(block);
+                if(block.last) {
+                    break;
+                }
+            }
+
+        } catch(InterruptedException e) {
+            // 終了処理による中断
+        }
+
+    }
+
+    /**
+     * 先読みを中断し、元のストリームを閉じます。
+     */
+    @Override
+    public void close() throws IOException {
+        if(closed) {
+            return;
+        }
+
+        this.closed = true;
+        if(producer == null) {
+            in.close();
+            return;
+        }
+
+        // 読み込み中のスレッドを終了させるため、先に閉じる。
+        producer.interrupt();
+        try {
+            in.close();
+
+        } finally {
+            try {
+                producer.join();
+            } catch(InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * 先読みしたデータを格納するブロック。
+     */
+    private static class Block {
+
+        private final byte[] data;
+
+        private int length;
+
+        /** ストリームの終端、またはエラーにより、最後のブロックかどうか */
+        private boolean last;
+
+        private IOException error;
+
+        Block(final int size) {
+            this.data = new byte[size];
+        }
+
+    }
+
+}
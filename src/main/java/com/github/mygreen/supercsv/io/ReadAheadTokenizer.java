@@ -0,0 +1,360 @@
+package com.github.mygreen.supercsv.io;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.supercsv.exception.SuperCsvException;
+import org.supercsv.io.ITokenizer;
+import org.supercsv.prefs.CsvPreference;
+
+/**
+ * 別スレッドで先読みを行うTokenizer。
+ * <p>ファイルの読み込みと文字コードの変換、カラムの切り出しを別スレッドで行い、
+ *   一定のレコード数ごとのバッチにまとめて、上限のあるキューに格納します。
+ *   <br>呼び出し元のスレッドでは、キューからバッチを取り出してCellProcessorなどを実行するため、
+ *   ネットワーク上のファイルなど読み込みに時間がかかる場合でも、読み込みと処理を並行して行うことができます。
+ * </p>
+ * <p>バッチは、キューの深さに2を加えた個数を使い回します。
+ *   読み込み中と処理中のバッチに加え、キューの深さの分だけ先読みします。
+ * </p>
+ * <p>{@link CsvAnnotationBeanReader}のコンストラクタに渡して利用します。</p>
+ * <pre class="highlight"><code class="java">
+ * ReadAheadTokenizer tokenizer = new ReadAheadTokenizer(
+ *         new CsvTokenizer(Files.newBufferedReader(file), CsvPreference.STANDARD_PREFERENCE), 512, 8);
+ * try(CsvAnnotationBeanReader&lt;SampleCsv&gt; reader = new CsvAnnotationBeanReader&lt;&gt;(
+ *         SampleCsv.class, tokenizer, CsvPreference.STANDARD_PREFERENCE)) {
+ *     // ...
+ * }
+ * </code></pre>
+ *
+ * @since 2.3
+ * @author T.TSUCHIE
+ *
+ */
+public class ReadAheadTokenizer implements ITokenizer {
+
+    /**
+     * バッチに格納するレコード数の初期値
+     */
+    public static final int DEFAULT_BATCH_SIZE = 256;
+
+    /**
+     * キューの深さの初期値
+     */
+    public static final int DEFAULT_DEPTH = 4;
+
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    private final ITokenizer tokenizer;
+
+    private final int batchSize;
+
+    /** 読み込み済みのバッチ */
+    private final BlockingQueue<RowBatch> filledQueue;
+
+    /** 再利用するバッチ */
+    private final BlockingQueue<RowBatch> freeQueue;
+
+    /** 解析前の行を保持するかどうか */
+    private boolean keepUntokenizedRow = true;
+
+    private Thread producer;
+
+    private volatile boolean closed;
+
+    /** 処理中のバッチ */
+    private RowBatch current;
+
+    private int currentIndex;
+
+    /** 全てのレコードを返したかどうか */
+    private boolean finished;
+
+    private int lineNumber;
+
+    private String untokenizedRow;
+
+    /**
+     * 標準の設定で、{@link CsvTokenizer}を利用して先読みするコンストラクタ。
+     *
+     * @param reader the Reader
+     * @param preferences the CSV preferences
+     * @throws NullPointerException {@literal if reader or preferences is null.}
+     */
+    public ReadAheadTokenizer(final Reader reader, final CsvPreference preferences) {
+        this(new CsvTokenizer(reader, preferences), DEFAULT_BATCH_SIZE, DEFAULT_DEPTH);
+    }
+
+    /**
+     * 先読みするTokenizerと、バッチのサイズ、キューの深さを指定するコンストラクタ。
+     *
+     * @param tokenizer 別スレッドで読み込むTokenizer。
+     * @param batchSize バッチに格納するレコード数。
+     * @param depth キューの深さ。先読みするバッチの最大数。
+     * @throws NullPointerException {@literal tokenizer is null.}
+     * @throws IllegalArgumentException {@literal batchSize <= 0 or depth <= 0.}
+     */
+    public ReadAheadTokenizer(final ITokenizer tokenizer, final int batchSize, final int depth) {
+        Objects.requireNonNull(tokenizer, "tokenizer should not be null.");
+        if(batchSize <= 0) {
+            throw new IllegalArgumentException(String.format("batchSize should be greater than 0 : %d", batchSize));
+        }
+        if(depth <= 0) {
+            throw new IllegalArgumentException(String.format("depth should be greater than 0 : %d", depth));
+        }
+
+        this.tokenizer = tokenizer;
+        this.batchSize = batchSize;
+        this.filledQueue = new ArrayBlockingQueue<>(depth);
+        this.freeQueue = new ArrayBlockingQueue<>(depth + 2);
+        for(int i=0; i < depth + 2; i++) {
+            freeQueue.add(new RowBatch(batchSize));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>最初に呼ばれた時点で、先読みを行うスレッドを開始します。</p>
+     * @throws IOException 先読みしたスレッドで、ファイルの読み込みに失敗した場合。
+     * @throws SuperCsvException 先読みしたスレッドで、CSVの形式の不正を検知した場合。
+     */
+    @Override
+    public boolean readColumns(final List<String> columns) throws IOException {
+
+        Objects.requireNonNull(columns, "columns should not be null");
+        columns.clear();
+
+        if(closed) {
+            throw new IllegalStateException("the tokenizer has already been closed.");
+        }
+
+        if(finished) {
+            return false;
+        }
+
+        if(producer == null) {
+            startProducer();
+        }
+
+        while(true) {
+            if(current != null && currentIndex < current.size) {
+                final String[] row = current.rows[currentIndex];
+                for(int i=0; i < current.columnSizes[currentIndex]; i++) {
+                    columns.add(row[i]);
+                }
+                this.lineNumber = current.lineNumbers[currentIndex];
+                this.untokenizedRow = current.untokenizedRows[currentIndex];
+                currentIndex++;
+                return true;
+            }
+
+            if(current != null) {
+                if(current.last) {
+                    this.finished = true;
+                    final Throwable error = current.error;
+                    current.clear();
+                    if(error instanceof IOException) {
+                        throw (IOException)error;
+                    } else if(error instanceof RuntimeException) {
+                        throw (RuntimeException)error;
+                    } else if(error != null) {
+                        throw new SuperCsvException("fail reading ahead.", null, error);
+                    }
+                    return false;
+                }
+
+                current.clear();
+                freeQueue.add(current);
+                current = null;
+            }
+
+            try {
+                this.current = filledQueue.take();
+                this.currentIndex = 0;
+
+            } catch(InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("interrupted while waiting for the read-ahead rows.");
+            }
+        }
+
+    }
+
+    private void startProducer() {
+        this.producer = new Thread(this::produce, "csv-read-ahead-" + THREAD_COUNT.incrementAndGet());
+        producer.setDaemon(true);
+        producer.start();
+    }
+
+    /**
+     * 先読みを行うスレッドの処理。
+     */
+    private void produce() {
+
+        final List<String> columns = new ArrayList<>();
+
+        try {
+            while(!closed) {
+                final RowBatch batch = freeQueue.take();
+
+                try {
+                    while(batch.size < batchSize) {
+                        if(!tokenizer.readColumns(columns)) {
+                            batch.last = true;
+                            break;
+                        }
+
+                        batch.add(columns, tokenizer.getLineNumber(),
+                                keepUntokenizedRow ? tokenizer.getUntokenizedRow() : null);
+                    }
+
+                } catch(IOException | RuntimeException e) {
+                    batch.last = true;
+                    batch.error = e;
+                }
+
+                filledQueue.put(batch);
+                if(batch.last) {
+                    break;
+                }
+            }
+
+        } catch(InterruptedException e) {
+            // 終了処理による中断
+        }
+
+    }
+
+    @Override
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @return {@link #setKeepUntokenizedRow(boolean)}でfalseを設定した場合は、nullを返します。
+     */
+    @Override
+    public String getUntokenizedRow() {
+        return untokenizedRow;
+    }
+
+    /**
+     * 先読みを中断し、Tokenizerを閉じます。
+     */
+    @Override
+    public void close() throws IOException {
+        if(closed) {
+            return;
+        }
+
+        this.closed = true;
+        if(producer == null) {
+            tokenizer.close();
+            return;
+        }
+
+        // 読み込み中のスレッドを終了させるため、先に閉じる。
+        producer.interrupt();
+        try {
+            tokenizer.close();
+
+        } finally {
+            try {
+                producer.join();
+            } catch(InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * 解析前の行を保持するかどうかを設定します。
+     * <p>保持しない場合は、先読み時の文字列の作成を省略できます。初期値はtrueです。
+     *   <br>読み込みを開始する前に設定する必要があります。
+     * </p>
+     * @param keepUntokenizedRow falseの場合、{@link #getUntokenizedRow()}はnullを返します。
+     * @throws IllegalStateException 既に読み込みを開始している場合。
+     */
+    public void setKeepUntokenizedRow(final boolean keepUntokenizedRow) {
+        if(producer != null) {
+            throw new IllegalStateException("the tokenizer has already started reading.");
+        }
+        this.keepUntokenizedRow = keepUntokenizedRow;
+    }
+
+    /**
+     * 解析前の行を保持するかどうか。
+     * @return trueの場合、解析前の行を保持します。
+     */
+    public boolean isKeepUntokenizedRow() {
+        return keepUntokenizedRow;
+    }
+
+    /**
+     * 一定のレコード数ごとに、先読みしたカラムを格納するバッチ。
+     * <p>カラムを格納する配列は、カラム数が足りる限り再利用します。</p>
+     */
+    private static class RowBatch {
+
+        private final String[][] rows;
+
+        private final int[] columnSizes;
+
+        private final int[] lineNumbers;
+
+        private final String[] untokenizedRows;
+
+        private int size;
+
+        /** ファイルの終端、またはエラーにより、最後のバッチかどうか */
+        private boolean last;
+
+        private Throwable error;
+
+        RowBatch(final int capacity) {
+            this.rows = new String[capacity][];
+            this.columnSizes = new int[capacity];
+            this.lineNumbers = new int[capacity];
+            this.untokenizedRows = new String[capacity];
+        }
+
+        void add(final List<String> columns, final int lineNumber, final String untokenizedRow) {
+
+            String[] row = rows[size];
+            if(row == null || row.length < columns.size()) {
+                row = new String[columns.size()];
+                rows[size] = row;
+            }
+
+            for(int i=0; i < columns.size(); i++) {
+                row[i] = columns.get(i);
+            }
+
+            columnSizes[size] = columns.size();
+            lineNumbers[size] = lineNumber;
+            untokenizedRows[size] = untokenizedRow;
+            size++;
+        }
+
+        void clear() {
+            for(int i=0; i < size; i++) {
+                Arrays.fill(rows[i], 0, columnSizes[i], null);
+                untokenizedRows[i] = null;
+            }
+            this.size = 0;
+            this.last = false;
+            this.error = null;
+        }
+
+    }
+
+}
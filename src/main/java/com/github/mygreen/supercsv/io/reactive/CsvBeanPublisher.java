@@ -0,0 +1,407 @@
+package com.github.mygreen.supercsv.io.reactive;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.supercsv.exception.SuperCsvException;
+
+import com.github.mygreen.supercsv.exception.SuperCsvBindingException;
+import com.github.mygreen.supercsv.exception.SuperCsvNoMatchColumnSizeException;
+import com.github.mygreen.supercsv.exception.SuperCsvNoMatchHeaderException;
+import com.github.mygreen.supercsv.io.CsvAnnotationBeanReader;
+
+/**
+ * {@link CsvAnnotationBeanReader}で読み込んだレコードを、要求された件数の範囲で通知する{@link Publisher}。
+ * <p>{@link Subscription#request(long)}で要求された件数だけファイルを読み込むため、
+ *   通知先の処理が遅い場合でも、読み込んだレコードがメモリ上に溜まることはありません。
+ *   <br>ヘッダー行がある場合は、最初のレコードの前に読み込み、検証します。
+ * </p>
+ * <p>ファイルの読み込みは、コンストラクタで指定した{@link Executor}で行います。
+ *   指定しない場合は、{@link Subscription#request(long)}を呼び出したスレッドで読み込みます。
+ *   <br>全てのレコードを通知したとき、エラーが発生したとき、または購読が取り消されたときに、Readerを閉じます。
+ * </p>
+ * <p>レコードの値にエラーがある場合は、初期状態では{@link Subscriber#onError(Throwable)}で例外を通知して終了します。
+ *   {@link #setContinueOnError(boolean)}でtrueを設定した場合は、エラー情報を持つ{@link CsvRecord}を通知して、次のレコードの読み込みを続けます。
+ * </p>
+ * <p>1つのReaderは1回しか読み込めないため、登録できる{@link Subscriber}は1つのみです。</p>
+ *
+ * <pre class="highlight"><code class="java">
+ * CsvBeanPublisher&lt;SampleCsv&gt; publisher = new CsvBeanPublisher&lt;&gt;(
+ *         CsvAnnotationBeanReader.open(SampleCsv.class, file, charset, CsvPreference.STANDARD_PREFERENCE),
+ *         executor);
+ * publisher.setContinueOnError(true);
+ * publisher.subscribe(subscriber);
+ * </code></pre>
+ * <p>{@link #beans(Consumer)}を使用すると、Beanのみを通知し、エラー情報は別のリスナーに渡すことができます。</p>
+ * <pre class="highlight"><code class="java">
+ * publisher.beans(errorRecord -&gt; errors.addAll(errorRecord.getErrorMessages()))
+ *         .subscribe(new CsvBeanSubscriber&lt;&gt;(writer));
+ * </code></pre>
+ *
+ * @param <T> マッピング対象のBeanのクラスタイプ
+ * @since 2.3
+ * @author T.TSUCHIE
+ *
+ */
+public class CsvBeanPublisher<T> implements Publisher<CsvRecord<T>> {
+
+    private final CsvAnnotationBeanReader<T> reader;
+
+    private final Executor executor;
+
+    private final AtomicBoolean subscribed = new AtomicBoolean(false);
+
+    private volatile boolean continueOnError;
+
+    /**
+     * 要求したスレッドで読み込むコンストラクタ。
+     *
+     * @param reader 読み込みに使用するReader。
+     * @throws NullPointerException {@literal reader is null.}
+     */
+    public CsvBeanPublisher(final CsvAnnotationBeanReader<T> reader) {
+        this(reader, Runnable::run);
+    }
+
+    /**
+     * 読み込みを行う{@link Executor}を指定するコンストラクタ。
+     *
+     * @param reader 読み込みに使用するReader。
+     * @param executor 読み込みを行う{@link Executor}。
+     * @throws NullPointerException {@literal reader or executor is null.}
+     */
+    public CsvBeanPublisher(final CsvAnnotationBeanReader<T> reader, final Executor executor) {
+        Objects.requireNonNull(reader, "reader should not be null.");
+        Objects.requireNonNull(executor, "executor should not be null.");
+
+        this.reader = reader;
+        this.executor = executor;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>2回目以降に呼ばれた場合は、{@link Subscriber#onError(Throwable)}で{@link IllegalStateException}を通知します。</p>
+     */
+    @Override
+    public void subscribe(final Subscriber<? super CsvRecord<T>> subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber should not be null.");
+
+        if(!subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(new Subscription() {
+
+                @Override
+                public void request(final long n) {
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+            subscriber.onError(new IllegalStateException("the publisher allows only one subscriber."));
+            return;
+        }
+
+        subscriber.onSubscribe(new CsvSubscription(subscriber));
+    }
+
+    /**
+     * 読み込んだBeanのみを通知する{@link Publisher}を取得します。
+     * <p>{@link #setContinueOnError(boolean)}でtrueを設定した場合、エラーがあったレコードは通知せずに、
+     *   引数で指定したリスナーに渡します。その際、通知しなかった分のレコードを追加で要求するため、
+     *   要求した件数のBeanが通知されます。
+     * </p>
+     * @param errorListener エラーがあったレコードを受け取るリスナー。
+     * @return Beanを通知する{@link Publisher}。
+     * @throws NullPointerException {@literal errorListener is null.}
+     */
+    public Publisher<T> beans(final Consumer<CsvRecord<T>> errorListener) {
+        Objects.requireNonNull(errorListener, "errorListener should not be null.");
+        return subscriber -> {
+            Objects.requireNonNull(subscriber, "subscriber should not be null.");
+            subscribe(new BeanSubscriber(subscriber, errorListener));
+        };
+    }
+
+    /**
+     * レコードの値にエラーがあっても、読み込みを続けるかどうか設定します。
+     * <p>trueの場合、例外{@link SuperCsvNoMatchHeaderException}、{@link SuperCsvNoMatchColumnSizeException}、{@link SuperCsvBindingException}
+     *   が発生しても、エラー情報を持つ{@link CsvRecord}を通知して、次のレコードを読み込みます。
+     *   <br>初期値はfalseです。
+     * </p>
+     * @param continueOnError trueの場合、読み込みを続けます。
+     */
+    public void setContinueOnError(final boolean continueOnError) {
+        this.continueOnError = continueOnError;
+    }
+
+    /**
+     * レコードの値にエラーがあっても、読み込みを続けるかどうか。
+     * @return trueの場合、読み込みを続けます。
+     */
+    public boolean isContinueOnError() {
+        return continueOnError;
+    }
+
+    /**
+     * 要求された件数の管理と、レコードの通知を行う購読の情報。
+     * <p>要求と取り消しのたびに通知処理を予約し、予約が重なった場合は、実行中の通知処理の中で続けて処理します。
+     *   そのため、レコードの読み込みと通知は、常に1つのスレッドで順番に行われます。
+     * </p>
+     */
+    private class CsvSubscription implements Subscription {
+
+        private final Subscriber<? super CsvRecord<T>> subscriber;
+
+        /** 未通知の要求件数 */
+        private final AtomicLong requested = new AtomicLong();
+
+        /** 予約された通知処理の数 */
+        private final AtomicInteger wip = new AtomicInteger();
+
+        private volatile boolean cancelled;
+
+        private volatile IllegalArgumentException invalidRequest;
+
+        /** 以下は、通知処理のスレッドのみで参照する */
+        private boolean headerProcessed;
+
+        private boolean done;
+
+        CsvSubscription(final Subscriber<? super CsvRecord<T>> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(final long n) {
+            if(n <= 0L) {
+                this.invalidRequest = new IllegalArgumentException(
+                        String.format("the requested count should be greater than 0 : %d", n));
+            } else {
+                requested.getAndUpdate(r -> r + n < 0L ? Long.MAX_VALUE : r + n);
+            }
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            this.cancelled = true;
+            schedule();
+        }
+
+        private void schedule() {
+            if(wip.getAndIncrement() != 0) {
+                return;
+            }
+
+            try {
+                executor.execute(this::drain);
+
+            } catch(RejectedExecutionException e) {
+                this.done = true;
+                closeQuietly();
+                subscriber.onError(e);
+            }
+        }
+
+        /**
+         * 要求された件数の範囲で、レコードを読み込んで通知します。
+         */
+        private void drain() {
+
+            int missed = 1;
+            while(true) {
+                if(done) {
+                    return;
+                }
+
+                long emitted = 0L;
+                final long count = requested.get();
+                while(true) {
+                    if(cancelled) {
+                        this.done = true;
+                        closeQuietly();
+                        return;
+                    }
+
+                    final IllegalArgumentException error = invalidRequest;
+                    if(error != null) {
+                        terminate(error);
+                        return;
+                    }
+
+                    if(emitted == count) {
+                        break;
+                    }
+
+                    final CsvRecord<T> record;
+                    try {
+                        record = readNext();
+
+                    } catch(IOException | RuntimeException e) {
+                        terminate(e);
+                        return;
+                    }
+
+                    if(record == null) {
+                        terminate(null);
+                        return;
+                    }
+
+                    subscriber.onNext(record);
+                    emitted++;
+                }
+
+                if(emitted > 0L && count != Long.MAX_VALUE) {
+                    requested.addAndGet(-emitted);
+                }
+
+                missed = wip.addAndGet(-missed);
+                if(missed == 0) {
+                    return;
+                }
+            }
+
+        }
+
+        /**
+         * 次のレコードを読み込みます。
+         * @return ファイルの終端に達した場合は、nullを返します。
+         */
+        private CsvRecord<T> readNext() throws IOException {
+
+            final int messageSize = reader.getErrorMessages().size();
+
+            if(!headerProcessed) {
+                this.headerProcessed = true;
+                if(reader.getBeanMapping().isHeader()) {
+                    try {
+                        reader.getHeader(true);
+
+                    } catch(SuperCsvNoMatchColumnSizeException | SuperCsvNoMatchHeaderException e) {
+                        if(!continueOnError) {
+                            throw e;
+                        }
+                        return createErrorRecord(e, messageSize);
+                    }
+                }
+            }
+
+            try {
+                final T bean = reader.read();
+                if(bean == null) {
+                    return null;
+                }
+                return CsvRecord.of(bean, reader.getLineNumber(), reader.getRowNumber());
+
+            } catch(SuperCsvNoMatchColumnSizeException | SuperCsvBindingException e) {
+                if(!continueOnError) {
+                    throw e;
+                }
+                return createErrorRecord(e, messageSize);
+            }
+        }
+
+        private CsvRecord<T> createErrorRecord(final SuperCsvException exception, final int messageSize) {
+            final List<String> messages = reader.getErrorMessages();
+            return CsvRecord.error(exception, reader.getLineNumber(), reader.getRowNumber(),
+                    new ArrayList<>(messages.subList(messageSize, messages.size())));
+        }
+
+        /**
+         * Readerを閉じて、通知を終了します。
+         * @param error 発生したエラー。正常に終了した場合はnull。
+         */
+        private void terminate(final Throwable error) {
+            this.done = true;
+
+            try {
+                reader.close();
+
+            } catch(IOException e) {
+                if(error == null) {
+                    subscriber.onError(e);
+                    return;
+                }
+                error.addSuppressed(e);
+            }
+
+            if(error == null) {
+                subscriber.onComplete();
+            } else {
+                subscriber.onError(error);
+            }
+        }
+
+        private void closeQuietly() {
+            try {
+                reader.close();
+            } catch(IOException e) {
+                // 取り消し時のエラーは通知しない
+            }
+        }
+
+    }
+
+    /**
+     * {@link CsvRecord}からBeanを取り出して通知する{@link Subscriber}。
+     */
+    private class BeanSubscriber implements Subscriber<CsvRecord<T>>, Subscription {
+
+        private final Subscriber<? super T> downstream;
+
+        private final Consumer<CsvRecord<T>> errorListener;
+
+        private Subscription upstream;
+
+        BeanSubscriber(final Subscriber<? super T> downstream, final Consumer<CsvRecord<T>> errorListener) {
+            this.downstream = downstream;
+            this.errorListener = errorListener;
+        }
+
+        @Override
+        public void onSubscribe(final Subscription subscription) {
+            this.upstream = subscription;
+            downstream.onSubscribe(this);
+        }
+
+        @Override
+        public void onNext(final CsvRecord<T> item) {
+            if(item.hasErrors()) {
+                errorListener.accept(item);
+                upstream.request(1L);
+            } else {
+                downstream.onNext(item.getBean());
+            }
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+            downstream.onError(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            downstream.onComplete();
+        }
+
+        @Override
+        public void request(final long n) {
+            upstream.request(n);
+        }
+
+        @Override
+        public void cancel() {
+            upstream.cancel();
+        }
+
+    }
+
+}
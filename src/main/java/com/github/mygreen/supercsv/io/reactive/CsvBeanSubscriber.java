@@ -0,0 +1,236 @@
+package com.github.mygreen.supercsv.io.reactive;
+
+import java.io.IOException;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+import com.github.mygreen.supercsv.exception.SuperCsvBindingException;
+import com.github.mygreen.supercsv.io.CsvAnnotationBeanWriter;
+
+/**
+ * 通知されたBeanを、{@link CsvAnnotationBeanWriter}で書き込む{@link Subscriber}。
+ * <p>購読の開始時に、先読みする件数（prefetch）だけ要素を要求します。
+ *   その後は、書き込んだ件数が先読みする件数の3/4に達するごとに、同じ件数を追加で要求します。
+ *   <br>書き込みは通知されたスレッドで行うため、書き込みが遅い場合でも、未処理の要素が先読みする件数を超えることはありません。
+ * </p>
+ * <p>ヘッダー行がある場合は、購読の開始時に書き込みます。
+ *   <br>全ての要素を書き込んだとき、エラーが発生したとき、または発行元からエラーが通知されたときに、Writerを閉じます。
+ *   処理の結果は、{@link #getCompletion()}で取得します。
+ * </p>
+ *
+ * <pre class="highlight"><code class="java">
+ * CsvBeanSubscriber&lt;SampleCsv&gt; subscriber = new CsvBeanSubscriber&lt;&gt;(
+ *         CsvAnnotationBeanWriter.open(SampleCsv.class, file, charset, CsvPreference.STANDARD_PREFERENCE), 256);
+ * publisher.subscribe(subscriber);
+ *
+ * long count = subscriber.getCompletion().get();
+ * </code></pre>
+ *
+ * @param <T> マッピング対象のBeanのクラスタイプ
+ * @since 2.3
+ * @author T.TSUCHIE
+ *
+ */
+public class CsvBeanSubscriber<T> implements Subscriber<T> {
+
+    /**
+     * 先読みする件数の初期値
+     */
+    public static final int DEFAULT_PREFETCH = 128;
+
+    private final CsvAnnotationBeanWriter<T> writer;
+
+    private final int prefetch;
+
+    /** 追加で要求する件数 */
+    private final int limit;
+
+    private final CompletableFuture<Long> completion = new CompletableFuture<>();
+
+    private volatile boolean continueOnError;
+
+    private Subscription subscription;
+
+    /** 前回の要求から処理した件数 */
+    private int consumed;
+
+    /** 書き込んだ件数 */
+    private long writtenCount;
+
+    private boolean done;
+
+    /**
+     * 標準の件数を先読みするコンストラクタ。
+     *
+     * @param writer 書き込みに使用するWriter。
+     * @throws NullPointerException {@literal writer is null.}
+     */
+    public CsvBeanSubscriber(final CsvAnnotationBeanWriter<T> writer) {
+        this(writer, DEFAULT_PREFETCH);
+    }
+
+    /**
+     * 先読みする件数を指定するコンストラクタ。
+     *
+     * @param writer 書き込みに使用するWriter。
+     * @param prefetch 先読みする件数。
+     * @throws NullPointerException {@literal writer is null.}
+     * @throws IllegalArgumentException {@literal prefetch <= 0.}
+     */
+    public CsvBeanSubscriber(final CsvAnnotationBeanWriter<T> writer, final int prefetch) {
+        Objects.requireNonNull(writer, "writer should not be null.");
+        if(prefetch <= 0) {
+            throw new IllegalArgumentException(String.format("prefetch should be greater than 0 : %d", prefetch));
+        }
+
+        this.writer = writer;
+        this.prefetch = prefetch;
+        this.limit = Math.max(prefetch - (prefetch >> 2), 1);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>既に購読を開始している場合は、渡された購読を取り消します。</p>
+     */
+    @Override
+    public void onSubscribe(final Subscription subscription) {
+        Objects.requireNonNull(subscription, "subscription should not be null.");
+
+        if(this.subscription != null || done) {
+            subscription.cancel();
+            return;
+        }
+        this.subscription = subscription;
+
+        if(writer.getBeanMapping().isHeader() && writer.getLineNumber() == 0) {
+            try {
+                writer.writeHeader();
+
+            } catch(IOException | RuntimeException e) {
+                fail(e);
+                return;
+            }
+        }
+
+        subscription.request(prefetch);
+    }
+
+    @Override
+    public void onNext(final T item) {
+        Objects.requireNonNull(item, "item should not be null.");
+
+        if(done) {
+            return;
+        }
+
+        try {
+            writer.write(item);
+            writtenCount++;
+
+        } catch(SuperCsvBindingException e) {
+            if(!continueOnError) {
+                fail(e);
+                return;
+            }
+
+        } catch(IOException | RuntimeException e) {
+            fail(e);
+            return;
+        }
+
+        if(++consumed == limit) {
+            this.consumed = 0;
+            subscription.request(limit);
+        }
+    }
+
+    @Override
+    public void onError(final Throwable throwable) {
+        Objects.requireNonNull(throwable, "throwable should not be null.");
+
+        if(done) {
+            return;
+        }
+        this.done = true;
+
+        try {
+            writer.close();
+        } catch(IOException e) {
+            throwable.addSuppressed(e);
+        }
+
+        completion.completeExceptionally(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        if(done) {
+            return;
+        }
+        this.done = true;
+
+        try {
+            writer.close();
+            completion.complete(writtenCount);
+
+        } catch(IOException | RuntimeException e) {
+            completion.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * 書き込みに失敗したときに、購読を取り消して終了します。
+     */
+    private void fail(final Exception error) {
+        this.done = true;
+        subscription.cancel();
+
+        try {
+            writer.close();
+        } catch(IOException e) {
+            error.addSuppressed(e);
+        }
+
+        completion.completeExceptionally(error);
+    }
+
+    /**
+     * 処理の結果を取得します。
+     * <p>全ての要素の書き込みが完了すると、書き込んだ件数で完了します。
+     *   <br>書き込みに失敗した場合や、発行元からエラーが通知された場合は、その例外で完了します。
+     * </p>
+     * @return 処理の結果。
+     */
+    public CompletableFuture<Long> getCompletion() {
+        return completion;
+    }
+
+    /**
+     * レコードの値にエラーがあっても、書き込みを続けるかどうか設定します。
+     * <p>trueの場合、例外{@link SuperCsvBindingException}が発生しても、次の要素を書き込みます。
+     *   エラーメッセージは、{@link CsvAnnotationBeanWriter#getErrorMessages()}で取得します。
+     *   <br>初期値はfalseです。
+     * </p>
+     * @param continueOnError trueの場合、書き込みを続けます。
+     */
+    public void setContinueOnError(final boolean continueOnError) {
+        this.continueOnError = continueOnError;
+    }
+
+    /**
+     * レコードの値にエラーがあっても、書き込みを続けるかどうか。
+     * @return trueの場合、書き込みを続けます。
+     */
+    public boolean isContinueOnError() {
+        return continueOnError;
+    }
+
+    /**
+     * 先読みする件数を取得します。
+     * @return 先読みする件数。
+     */
+    public int getPrefetch() {
+        return prefetch;
+    }
+
+}
@@ -0,0 +1,109 @@
+package com.github.mygreen.supercsv.io.reactive;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.supercsv.exception.SuperCsvException;
+
+/**
+ * {@link CsvBeanPublisher}が通知する、1レコード分の読み込み結果。
+ * <p>読み込んだBeanに加え、レコードの行番号などの情報を保持します。
+ *   <br>エラーがあったレコードの場合は、Beanの代わりに、エラーメッセージと発生した例外を保持します。
+ * </p>
+ *
+ * @param <T> マッピング対象のBeanのクラスタイプ
+ * @since 2.3
+ * @author T.TSUCHIE
+ *
+ */
+public final class CsvRecord<T> {
+
+    private final T bean;
+
+    private final int lineNumber;
+
+    private final int rowNumber;
+
+    private final List<String> errorMessages;
+
+    private final SuperCsvException exception;
+
+    private CsvRecord(final T bean, final int lineNumber, final int rowNumber,
+            final List<String> errorMessages, final SuperCsvException exception) {
+        this.bean = bean;
+        this.lineNumber = lineNumber;
+        this.rowNumber = rowNumber;
+        this.errorMessages = errorMessages;
+        this.exception = exception;
+    }
+
+    /**
+     * 正常に読み込んだレコードを作成します。
+     */
+    static <T> CsvRecord<T> of(final T bean, final int lineNumber, final int rowNumber) {
+        return new CsvRecord<>(bean, lineNumber, rowNumber, Collections.emptyList(), null);
+    }
+
+    /**
+     * エラーがあったレコードを作成します。
+     */
+    static <T> CsvRecord<T> error(final SuperCsvException exception, final int lineNumber, final int rowNumber,
+            final List<String> errorMessages) {
+        return new CsvRecord<>(null, lineNumber, rowNumber, Collections.unmodifiableList(errorMessages), exception);
+    }
+
+    /**
+     * 読み込んだBeanを取得します。
+     * @return エラーがあったレコードの場合は、nullを返します。
+     */
+    public T getBean() {
+        return bean;
+    }
+
+    /**
+     * レコードの終了位置の行番号を取得します。
+     * @return 1から始まる行番号。
+     */
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * レコードの番号を取得します。
+     * @return 1から始まるレコードの番号。ヘッダー行も1レコードとして数えます。
+     */
+    public int getRowNumber() {
+        return rowNumber;
+    }
+
+    /**
+     * エラーがあったレコードかどうか。
+     * @return エラーがあった場合は、trueを返します。
+     */
+    public boolean hasErrors() {
+        return exception != null;
+    }
+
+    /**
+     * エラーメッセージを取得します。
+     * @return エラーがない場合は、空のリストを返します。
+     */
+    public List<String> getErrorMessages() {
+        return errorMessages;
+    }
+
+    /**
+     * 発生した例外を取得します。
+     * @return エラーがない場合は、nullを返します。
+     */
+    public SuperCsvException getException() {
+        return exception;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CsvRecord [lineNumber=%d, rowNumber=%d, bean=%s, errorMessages=%s]",
+                lineNumber, rowNumber, bean, errorMessages);
+    }
+
+}
@@ -0,0 +1,27 @@
+package com.github.mygreen.supercsv.io.reactive;
+
+/**
+ * 要求された件数の範囲で、要素を{@link Subscriber}に通知する発行元。
+ * <p>Reactive Streamsの{@code org.reactivestreams.Publisher}、
+ *   および、Java9以降の{@code java.util.concurrent.Flow.Publisher}と同じシグネチャです。
+ * </p>
+ *
+ * @param <T> 通知する要素のクラスタイプ
+ * @since 2.3
+ * @author T.TSUCHIE
+ *
+ */
+@FunctionalInterface
+public interface Publisher<T> {
+
+    /**
+     * 要素の通知を受け取る{@link Subscriber}を登録します。
+     * <p>登録が完了すると、{@link Subscriber#onSubscribe(Subscription)}が呼ばれます。
+     *   要素の通知は、{@link Subscription#request(long)}で要求された件数の範囲で行います。
+     * </p>
+     * @param subscriber 要素の通知を受け取る{@link Subscriber}。
+     * @throws NullPointerException {@literal subscriber is null.}
+     */
+    void subscribe(Subscriber<? super T> subscriber);
+
+}
@@ -0,0 +1,43 @@
+package com.github.mygreen.supercsv.io.reactive;
+
+/**
+ * {@link Publisher}から要素の通知を受け取る購読者。
+ * <p>Reactive Streamsの{@code org.reactivestreams.Subscriber}、
+ *   および、Java9以降の{@code java.util.concurrent.Flow.Subscriber}と同じシグネチャです。
+ * </p>
+ * <p>各メソッドは、同時に呼ばれることはありません。</p>
+ *
+ * @param <T> 通知を受け取る要素のクラスタイプ
+ * @since 2.3
+ * @author T.TSUCHIE
+ *
+ */
+public interface Subscriber<T> {
+
+    /**
+     * {@link Publisher#subscribe(Subscriber)}による登録が完了したときに呼ばれます。
+     * <p>{@link Subscription#request(long)}を呼ぶまで、要素は通知されません。</p>
+     * @param subscription 要素の要求と、購読の取り消しを行うための情報。
+     */
+    void onSubscribe(Subscription subscription);
+
+    /**
+     * 要素が通知されたときに呼ばれます。
+     * @param item 通知された要素。
+     */
+    void onNext(T item);
+
+    /**
+     * エラーにより、通知が終了したときに呼ばれます。
+     * <p>このメソッドが呼ばれた後は、他のメソッドは呼ばれません。</p>
+     * @param throwable 発生したエラー。
+     */
+    void onError(Throwable throwable);
+
+    /**
+     * 全ての要素の通知が完了したときに呼ばれます。
+     * <p>このメソッドが呼ばれた後は、他のメソッドは呼ばれません。</p>
+     */
+    void onComplete();
+
+}
@@ -0,0 +1,29 @@
+package com.github.mygreen.supercsv.io.reactive;
+
+/**
+ * {@link Publisher}と{@link Subscriber}の間の購読の情報。
+ * <p>Reactive Streamsの{@code org.reactivestreams.Subscription}、
+ *   および、Java9以降の{@code java.util.concurrent.Flow.Subscription}と同じシグネチャです。
+ * </p>
+ *
+ * @since 2.3
+ * @author T.TSUCHIE
+ *
+ */
+public interface Subscription {
+
+    /**
+     * 要素の通知を要求します。
+     * <p>要求した件数は累積されます。{@link Long#MAX_VALUE}を指定した場合は、件数の制限なしに通知します。</p>
+     * @param n 追加で要求する要素の件数。1以上の値を指定します。
+     *        0以下の値を指定した場合は、{@link Subscriber#onError(Throwable)}で{@link IllegalArgumentException}が通知されます。
+     */
+    void request(long n);
+
+    /**
+     * 購読を取り消し、要素の通知を停止します。
+     * <p>既に通知を開始している要素は、取り消し後に通知される場合があります。</p>
+     */
+    void cancel();
+
+}
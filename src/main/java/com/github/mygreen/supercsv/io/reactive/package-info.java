@@ -0,0 +1,11 @@
+/**
+ * リアクティブ・ストリームの形式で、CSVの読み書きを行う機能を提供します。
+ * <p>{@link Publisher}、{@link Subscriber}、{@link Subscription}は、Reactive Streamsの仕様と同じシグネチャのインタフェースです。
+ *   外部のライブラリに依存しないよう、同等のインタフェースを定義しています。
+ * </p>
+ *
+ * @since 2.3
+ * @author T.TSUCHIE
+ *
+ */
+package com.github.mygreen.supercsv.io.reactive;
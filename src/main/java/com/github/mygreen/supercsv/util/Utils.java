@@ -14,7 +14,7 @@ import com.github.mygreen.supercsv.builder.BuildCase;
 /**
  * ユーティリティクラス。
  * 
- * @version 2.2
+ * @version 2.3
  * @author T.TSUCHIE
  *
  */
@@ -52,6 +52,25 @@ public class Utils {
         return false;
     }
     
+    /**
+     * 文字シーケンスが空か判定する。
+     * <p>{@link #isEmpty(String)}と同じ判定を、文字列に変換せずに行います。</p>
+     * @since 2.3
+     * @param str
+     * @return
+     */
+    public static boolean isEmpty(final CharSequence str) {
+        if(str == null || str.length() == 0) {
+            return true;
+        }
+        
+        if(str.length() == 1) {
+            return str.charAt(0) == '\u0000';
+        }
+        
+        return false;
+    }
+    
     /**
      * 文字列が空文字でないか判定する。
      * @param str
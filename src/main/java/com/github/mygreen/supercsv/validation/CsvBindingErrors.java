@@ -4,9 +4,12 @@ import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.SortedSet;
+import java.util.TreeSet;
 
 import com.github.mygreen.supercsv.util.ArgUtils;
 import com.github.mygreen.supercsv.util.Utils;
@@ -16,7 +19,7 @@ import com.github.mygreen.supercsv.util.Utils;
  * <p>SpringFrameworkのBindingResultを参考。</p>
  * <p>現状、ネストしたフィールドはサポートしていないため、パスの機能を省略して実装する。</p>
  *
- * @version 2.2
+ * @version 2.3
  * @since 2.0
  * @author T.TSUCHIE
  *
@@ -35,6 +38,18 @@ public class CsvBindingErrors implements Serializable {
     /** エラーオブジェクト */
     private final List<CsvError> errors = new ArrayList<>();
     
+    /** フィールド名ごとのエラーオブジェクト。フィールドエラーが追加されるまでは作成しない。 */
+    private Map<String, List<CsvFieldError>> fieldErrorIndex;
+    
+    /** フィールドエラーを持つフィールド名。ワイルドカードの前方一致の検索に使用する。 */
+    private TreeSet<String> fieldNames;
+    
+    /** グローバルエラーの件数 */
+    private int globalErrorCount;
+    
+    /** フィールドエラーの件数 */
+    private int fieldErrorCount;
+    
     /** エラーコードの候補を生成するクラス */
     private MessageCodeGenerator messageCodeGenerator = new MessageCodeGenerator();
     
@@ -66,6 +81,7 @@ public class CsvBindingErrors implements Serializable {
     
     /**
      * 全てのエラー情報を取得する。
+     * <p>エラー情報をコピーしたリストを返します。</p>
      * @return 現在のエラー情報
      */
     public List<CsvError> getAllErrors() {
@@ -78,6 +94,26 @@ public class CsvBindingErrors implements Serializable {
      */
     public void addError(final CsvError error) {
         this.errors.add(error);
+        
+        if(error instanceof CsvFieldError) {
+            final CsvFieldError fieldError = (CsvFieldError) error;
+            if(fieldErrorIndex == null) {
+                this.fieldErrorIndex = new HashMap<>();
+                this.fieldNames = new TreeSet<>();
+            }
+            
+            List<CsvFieldError> list = fieldErrorIndex.get(fieldError.getField());
+            if(list == null) {
+                list = new ArrayList<>(2);
+                fieldErrorIndex.put(fieldError.getField(), list);
+                fieldNames.add(fieldError.getField());
+            }
+            list.add(fieldError);
+            fieldErrorCount++;
+            
+        } else {
+            globalErrorCount++;
+        }
     }
     
     /**
@@ -85,7 +121,9 @@ public class CsvBindingErrors implements Serializable {
      * @param errors 追加するエラー情報。
      */
     public void addAllErrors(Collection<CsvError> errors) {
-        this.errors.addAll(errors);
+        for(CsvError error : errors) {
+            addError(error);
+        }
     }
     
     /**
@@ -93,6 +131,10 @@ public class CsvBindingErrors implements Serializable {
      */
     public void clearAllErrors() {
         this.errors.clear();
+        this.fieldErrorIndex = null;
+        this.fieldNames = null;
+        this.globalErrorCount = 0;
+        this.fieldErrorCount = 0;
     }
     
     /**
@@ -108,7 +150,11 @@ public class CsvBindingErrors implements Serializable {
      * @return エラーがない場合は空のリストを返す
      */
     public List<CsvError> getGlobalErrors() {
-        final List<CsvError> list = new ArrayList<CsvError>();
+        if(globalErrorCount == 0) {
+            return new ArrayList<>();
+        }
+        
+        final List<CsvError> list = new ArrayList<CsvError>(globalErrorCount);
         for(CsvError item : this.errors) {
             if(!(item instanceof CsvFieldError)) {
                 list.add(item);
@@ -123,6 +169,10 @@ public class CsvBindingErrors implements Serializable {
      * @return 存在しない場合は、nullを返す。
      */
     public CsvError getFirstGlobalError() {
+        if(globalErrorCount == 0) {
+            return null;
+        }
+        
         for(CsvError item : this.errors) {
             if(!(item instanceof CsvFieldError)) {
                 return item;
@@ -137,7 +187,7 @@ public class CsvBindingErrors implements Serializable {
      * @return
      */
     public boolean hasGlobalErrors() {
-        return !getGlobalErrors().isEmpty();
+        return globalErrorCount > 0;
     }
     
     /**
@@ -145,7 +195,7 @@ public class CsvBindingErrors implements Serializable {
      * @return
      */
     public int getGlobalErrorCount() {
-        return getGlobalErrors().size();
+        return globalErrorCount;
     }
     
     /**
@@ -153,7 +203,11 @@ public class CsvBindingErrors implements Serializable {
      * @return エラーがない場合は空のリストを返す
      */
     public List<CsvFieldError> getFieldErrors() {
-        final List<CsvFieldError> list = new ArrayList<CsvFieldError>();
+        if(fieldErrorCount == 0) {
+            return new ArrayList<>();
+        }
+        
+        final List<CsvFieldError> list = new ArrayList<CsvFieldError>(fieldErrorCount);
         for(CsvError item : this.errors) {
             if(item instanceof CsvFieldError) {
                 list.add((CsvFieldError) item);
@@ -168,6 +222,10 @@ public class CsvBindingErrors implements Serializable {
      * @return エラーがない場合は空のリストを返す
      */
     public CsvFieldError getFirstFieldError() {
+        if(fieldErrorCount == 0) {
+            return null;
+        }
+        
         for(CsvError item : this.errors) {
             if(item instanceof CsvFieldError) {
                 return (CsvFieldError) item;
@@ -182,7 +240,7 @@ public class CsvBindingErrors implements Serializable {
      * @return true:フィールドエラーを持つ。
      */
     public boolean hasFieldErrors() {
-        return !getFieldErrors().isEmpty();
+        return fieldErrorCount > 0;
     }
     
     /**
@@ -190,11 +248,12 @@ public class CsvBindingErrors implements Serializable {
      * @return
      */
     public int getFieldErrorCount() {
-        return getFieldErrors().size();
+        return fieldErrorCount;
     }
     
     /**
      * パスを指定してフィールドエラーを取得する
+     * <p>エラー情報をコピーしたリストを返します。</p>
      * @param path 最後に'*'を付けるとワイルドカードが指定可能。
      * @return
      * @throws IllegalArgumentException {@literal if path is empty.}
@@ -202,9 +261,27 @@ public class CsvBindingErrors implements Serializable {
     public List<CsvFieldError> getFieldErrors(final String path) {
         ArgUtils.notEmpty(path, "path");
         
+        if(fieldErrorCount == 0) {
+            return new ArrayList<>();
+        }
+        
+        if(!isWildcard(path)) {
+            final List<CsvFieldError> list = fieldErrorIndex.get(path);
+            return list == null ? new ArrayList<>() : new ArrayList<>(list);
+        }
+        
+        final SortedSet<String> matchedNames = getMatchedFieldNames(path);
+        if(matchedNames.isEmpty()) {
+            return new ArrayList<>();
+            
+        } else if(matchedNames.size() == 1) {
+            return new ArrayList<>(fieldErrorIndex.get(matchedNames.first()));
+        }
+        
+        // 複数のフィールドに一致する場合は、追加した順に並べる。
         final List<CsvFieldError> list = new ArrayList<CsvFieldError>();
         for(CsvError item : this.errors) {
-            if(item instanceof CsvFieldError && isMatchingFieldError(path, (CsvFieldError) item)) {
+            if(item instanceof CsvFieldError && matchedNames.contains(((CsvFieldError) item).getField())) {
                 list.add((CsvFieldError) item);
             }
         }
@@ -220,8 +297,25 @@ public class CsvBindingErrors implements Serializable {
     public CsvFieldError getFirstFieldError(final String path) {
         ArgUtils.notEmpty(path, "path");
         
+        if(fieldErrorCount == 0) {
+            return null;
+        }
+        
+        if(!isWildcard(path)) {
+            final List<CsvFieldError> list = fieldErrorIndex.get(path);
+            return list == null ? null : list.get(0);
+        }
+        
+        final SortedSet<String> matchedNames = getMatchedFieldNames(path);
+        if(matchedNames.isEmpty()) {
+            return null;
+            
+        } else if(matchedNames.size() == 1) {
+            return fieldErrorIndex.get(matchedNames.first()).get(0);
+        }
+        
         for(CsvError item : this.errors) {
-            if(item instanceof CsvFieldError && isMatchingFieldError(path, (CsvFieldError) item)) {
+            if(item instanceof CsvFieldError && matchedNames.contains(((CsvFieldError) item).getField())) {
                 return (CsvFieldError) item;
             }
         }
@@ -235,7 +329,17 @@ public class CsvBindingErrors implements Serializable {
      * @return true:エラーがある場合。
      */
     public boolean hasFieldErrors(final String path) {
-        return !getFieldErrors(path).isEmpty();
+        ArgUtils.notEmpty(path, "path");
+        
+        if(fieldErrorCount == 0) {
+            return false;
+        }
+        
+        if(!isWildcard(path)) {
+            return fieldErrorIndex.containsKey(path);
+        }
+        
+        return !getMatchedFieldNames(path).isEmpty();
     }
     
     /**
@@ -244,27 +348,62 @@ public class CsvBindingErrors implements Serializable {
      * @return
      */
     public int getFieldErrorCount(final String path) {
-        return getFieldErrors(path).size();
+        ArgUtils.notEmpty(path, "path");
+        
+        if(fieldErrorCount == 0) {
+            return 0;
+        }
+        
+        if(!isWildcard(path)) {
+            final List<CsvFieldError> list = fieldErrorIndex.get(path);
+            return list == null ? 0 : list.size();
+        }
+        
+        int count = 0;
+        for(String name : getMatchedFieldNames(path)) {
+            count += fieldErrorIndex.get(name).size();
+        }
+        
+        return count;
+    }
+    
+    /**
+     * パスがワイルドカードを含むかどうか。
+     * @param path パス
+     * @return true: 最後に'*'が付いている場合。
+     */
+    private static boolean isWildcard(final String path) {
+        return path.charAt(path.length() - 1) == '*';
     }
     
     /**
-     * 指定したパスがフィールドエラーのパスと一致するかチェックするかどうか。
-     * @param path 
-     * @param fieldError
-     * @return true: 一致する場合。
+     * ワイルドカードを含むパスに一致するフィールド名を取得する。
+     * <p>フィールド名を並べたセットから、前方一致する範囲を切り出します。</p>
+     * @param path 最後に'*'が付いているパス。
+     * @return 一致したフィールド名。
      */
-    private boolean isMatchingFieldError(final String path, final CsvFieldError fieldError) {
+    private SortedSet<String> getMatchedFieldNames(final String path) {
         
-        if (fieldError.getField().equals(path)) {
-            return true;
+        final String prefix = path.substring(0, path.length() - 1);
+        if(prefix.isEmpty()) {
+            return fieldNames;
         }
         
-        if(path.endsWith("*")) {
-            String subPath = path.substring(0, path.length()-1);
-            return fieldError.getField().startsWith(subPath);
+        // 前方一致する範囲の終端は、最後の文字を1つ進めた文字列となる。
+        final char last = prefix.charAt(prefix.length() - 1);
+        if(last == Character.MAX_VALUE) {
+            final TreeSet<String> matchedNames = new TreeSet<>();
+            for(String name : fieldNames.tailSet(prefix)) {
+                if(!name.startsWith(prefix)) {
+                    break;
+                }
+                matchedNames.add(name);
+            }
+            return matchedNames;
         }
         
-        return false;
+        final String end = prefix.substring(0, prefix.length() - 1) + (char)(last + 1);
+        return fieldNames.subSet(prefix, end);
     }
     
     /**
@@ -1,23 +1,30 @@
 package com.github.mygreen.supercsv.validation.beanvalidation;
 
 import java.lang.reflect.Field;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.validation.ConstraintViolation;
+import javax.validation.GroupSequence;
 import javax.validation.MessageInterpolator;
 import javax.validation.Validation;
 import javax.validation.Validator;
 import javax.validation.ValidatorFactory;
+import javax.validation.metadata.BeanDescriptor;
 import javax.validation.metadata.ConstraintDescriptor;
+import javax.validation.metadata.PropertyDescriptor;
 
 import org.hibernate.validator.internal.engine.MessageInterpolatorContext;
 import org.hibernate.validator.internal.engine.ValidatorImpl;
 
+import com.github.mygreen.supercsv.builder.BeanMapping;
 import com.github.mygreen.supercsv.builder.ColumnMapping;
 import com.github.mygreen.supercsv.validation.CsvBindingErrors;
 import com.github.mygreen.supercsv.validation.CsvFieldError;
@@ -26,8 +33,11 @@ import com.github.mygreen.supercsv.validation.ValidationContext;
 
 /**
  * BeanValidaion JSR-303(ver.1.0)/JSR-349(ver.1.1)にブリッジする{@link CsvValidator}。
+ * <p>Beanのクラスタイプとグループの組み合わせごとに、検証対象の制約があるかどうかを事前に判定してキャッシュします。
+ *   制約が1つもない場合は、BeanValidationの検証処理を呼び出しません。
+ * </p>
  * 
- * @version 2.2
+ * @version 2.3
  * @since 2.0
  * @author T.TSUCHIE
  *
@@ -48,10 +58,46 @@ public class CsvBeanValidator implements CsvValidator<Object> {
         EXCLUDE_MESSAGE_ANNOTATION_ATTRIBUTES = Collections.unmodifiableSet(set);
     }
     
+    /**
+     * コンテナの要素に対する制約（BeanValidation 2.0）が利用可能かどうか。
+     */
+    private static final boolean ENABLED_CONTAINER_ELEMENT;
+    static {
+        boolean enabled;
+        try {
+            Class.forName("javax.validation.metadata.ContainerDescriptor");
+            enabled = true;
+        } catch(ClassNotFoundException e) {
+            enabled = false;
+        }
+        ENABLED_CONTAINER_ELEMENT = enabled;
+    }
+    
     private final Validator targetValidator;
     
     private final MessageInterpolator messageInterpolator;
     
+    /**
+     * Beanのクラスタイプとグループの組み合わせごとの、検証対象の制約があるかどうか。
+     */
+    private final Map<ConstraintPlanKey, Boolean> constrainedCache = new ConcurrentHashMap<>();
+    
+    /**
+     * 前回の検証で使用した判定結果。
+     * <p>同じグループの配列のインスタンスで続けて呼ばれる場合に、キーの作成を省略するために使用する。</p>
+     */
+    private volatile ConstraintPlan lastPlan;
+    
+    /**
+     * 制約ごとのエラーコードとメッセージ変数
+     */
+    private final Map<ConstraintDescriptor<?>, ConstraintInfo> constraintInfoCache = new ConcurrentHashMap<>();
+    
+    /**
+     * 前回の検証で使用した、フィールド名をキーとするカラムの索引。
+     */
+    private volatile ColumnIndex lastColumnIndex;
+    
     public CsvBeanValidator(final Validator targetValidator) {
         Objects.requireNonNull(targetValidator);
         this.targetValidator = targetValidator;
@@ -128,9 +174,83 @@ public class CsvBeanValidator implements CsvValidator<Object> {
         Objects.requireNonNull(bindingErrors);
         Objects.requireNonNull(validationContext);
         
+        if(!isConstrained(record.getClass(), groups)) {
+            // 検証対象の制約がない場合
+            return;
+        }
+        
         processConstraintViolation(getTargetValidator().validate(record, groups), bindingErrors, validationContext);
     }
     
+    /**
+     * 指定したグループで、検証対象の制約があるかどうか判定する。
+     * @param beanType 検証対象のクラスタイプ
+     * @param groups BeanValiationのグループのクラス
+     * @return trueのとき、検証対象の制約がある。
+     */
+    private boolean isConstrained(final Class<?> beanType, final Class<?>[] groups) {
+        
+        final ConstraintPlan plan = lastPlan;
+        if(plan != null && plan.beanType == beanType && plan.groups == groups) {
+            return plan.constrained;
+        }
+        
+        final boolean constrained = constrainedCache.computeIfAbsent(new ConstraintPlanKey(beanType, groups),
+                key -> hasConstraints(beanType, groups));
+        this.lastPlan = new ConstraintPlan(beanType, groups, constrained);
+        
+        return constrained;
+    }
+    
+    /**
+     * Beanのメタ情報から、検証対象の制約があるかどうか判定する。
+     * <p>グループシーケンスを指定している場合や、カスケードするプロパティ、
+     *   {@literal List<@NotBlank String>}のようなコンテナの要素に対する制約がある場合は、
+     *   判定せずに制約があるとみなします。
+     * </p>
+     * @param beanType 検証対象のクラスタイプ
+     * @param groups BeanValiationのグループのクラス
+     * @return trueのとき、検証対象の制約がある。
+     */
+    private boolean hasConstraints(final Class<?> beanType, final Class<?>[] groups) {
+        
+        final Class<?>[] targetGroups = groups == null ? new Class<?>[0] : groups;
+        for(Class<?> group : targetGroups) {
+            if(group.getAnnotation(GroupSequence.class) != null) {
+                return true;
+            }
+        }
+        
+        final BeanDescriptor beanDescriptor = getTargetValidator().getConstraintsForClass(beanType);
+        if(!beanDescriptor.isBeanConstrained()) {
+            return false;
+        }
+        
+        if(beanDescriptor.findConstraints().unorderedAndMatchingGroups(targetGroups).hasConstraints()) {
+            return true;
+        }
+        
+        for(PropertyDescriptor propertyDescriptor : beanDescriptor.getConstrainedProperties()) {
+            if(propertyDescriptor.isCascaded()
+                    || hasContainerElementConstraints(propertyDescriptor)
+                    || propertyDescriptor.findConstraints().unorderedAndMatchingGroups(targetGroups).hasConstraints()) {
+                return true;
+            }
+        }
+        
+        return false;
+    }
+    
+    /**
+     * プロパティが、コンテナの要素に対する制約を持つかどうか判定する。
+     * <p>{@link PropertyDescriptor#findConstraints()}では取得できないため、別に判定します。</p>
+     * @param propertyDescriptor プロパティのメタ情報
+     * @return trueのとき、コンテナの要素に対する制約を持つ。BeanValidation 2.0未満の場合は常にfalseを返す。
+     */
+    private static boolean hasContainerElementConstraints(final PropertyDescriptor propertyDescriptor) {
+        return ENABLED_CONTAINER_ELEMENT && !propertyDescriptor.getConstrainedContainerElementTypes().isEmpty();
+    }
+    
     /**
      * BeanValidationの検証結果をSheet用のエラーに変換する
      * @param violations BeanValidationの検証結果
@@ -145,11 +265,15 @@ public class CsvBeanValidator implements CsvValidator<Object> {
             final String field = violation.getPropertyPath().toString();
             final ConstraintDescriptor<?> cd = violation.getConstraintDescriptor();
             
-            final String[] errorCodes = determineErrorCode(cd);
+            final ConstraintInfo constraintInfo = constraintInfoCache.computeIfAbsent(cd,
+                    key -> new ConstraintInfo(determineErrorCode(key), createVariableForConstraint(key)));
+            
+            final String[] errorCodes = constraintInfo.errorCodes.clone();
             
-            final Map<String, Object> errorVars = createVariableForConstraint(cd);
+            final Map<String, Object> errorVars = new HashMap<>(constraintInfo.variables);
             
-            if(isCsvField(field, validationContext)) {
+            final ColumnMapping columnMapping = getColumnIndex(validationContext.getBeanMapping()).get(field);
+            if(columnMapping != null) {
                 // フィールドエラーの場合
                 
                 final CsvFieldError fieldError = bindingErrors.getFirstFieldError(field);
@@ -158,8 +282,6 @@ public class CsvBeanValidator implements CsvValidator<Object> {
                     continue;
                 }
                 
-                final ColumnMapping columnMapping = validationContext.getBeanMapping().getColumnMapping(field).get();
-                
                 errorVars.put("lineNumber", validationContext.getCsvContext().getLineNumber());
                 errorVars.put("rowNumber", validationContext.getCsvContext().getRowNumber());
                 errorVars.put("columnNumber", columnMapping.getNumber());
@@ -201,13 +323,29 @@ public class CsvBeanValidator implements CsvValidator<Object> {
     }
     
     /**
-     * CSVのカラムのフィールドか判定する。
-     * @param field フィールド名
-     * @param validationContext CSVの検証情報
-     * @return trueのとき、CSVのカラムフィールド。
+     * フィールド名をキーとするカラムの索引を取得する。
+     * <p>カラムのマッピング情報が変更された場合は、作成し直す。</p>
+     * @param beanMapping Beanのマッピング情報
+     * @return CSVのカラムのフィールド名をキーとするマップ。
      */
-    private boolean isCsvField(final String field, final ValidationContext<Object> validationContext) {
-        return validationContext.getBeanMapping().getColumnMapping(field).isPresent();
+    private Map<String, ColumnMapping> getColumnIndex(final BeanMapping<?> beanMapping) {
+        
+        final List<ColumnMapping> columns = beanMapping.getColumns();
+        final ColumnIndex index = lastColumnIndex;
+        if(index != null && index.beanMapping == beanMapping && index.columns == columns && index.size == columns.size()) {
+            return index.columnsByName;
+        }
+        
+        final Map<String, ColumnMapping> columnsByName = new HashMap<>();
+        for(ColumnMapping column : columns) {
+            if(column.getName() != null) {
+                // 同じ名前の場合は、先頭のカラムを優先する
+                columnsByName.putIfAbsent(column.getName(), column);
+            }
+        }
+        
+        this.lastColumnIndex = new ColumnIndex(beanMapping, columns, columnsByName);
+        return columnsByName;
     }
     
     /**
@@ -231,7 +369,7 @@ public class CsvBeanValidator implements CsvValidator<Object> {
             vars.put(attrName, attrValue);
         }
         
-        return vars;
+        return Collections.unmodifiableMap(vars);
         
     }
     
@@ -265,4 +403,95 @@ public class CsvBeanValidator implements CsvValidator<Object> {
         
     }
     
+    /**
+     * 検証対象の制約があるかどうかの判定結果のキャッシュのキー
+     */
+    private static final class ConstraintPlanKey {
+        
+        private final Class<?> beanType;
+        
+        private final List<Class<?>> groups;
+        
+        ConstraintPlanKey(final Class<?> beanType, final Class<?>[] groups) {
+            this.beanType = beanType;
+            this.groups = groups == null ? Collections.emptyList() : Arrays.asList(groups.clone());
+        }
+        
+        @Override
+        public int hashCode() {
+            return 31 * beanType.hashCode() + groups.hashCode();
+        }
+        
+        @Override
+        public boolean equals(final Object obj) {
+            if(this == obj) {
+                return true;
+            }
+            if(!(obj instanceof ConstraintPlanKey)) {
+                return false;
+            }
+            final ConstraintPlanKey other = (ConstraintPlanKey) obj;
+            return beanType.equals(other.beanType) && groups.equals(other.groups);
+        }
+        
+    }
+    
+    /**
+     * 検証対象の制約があるかどうかの判定結果
+     */
+    private static final class ConstraintPlan {
+        
+        private final Class<?> beanType;
+        
+        private final Class<?>[] groups;
+        
+        private final boolean constrained;
+        
+        ConstraintPlan(final Class<?> beanType, final Class<?>[] groups, final boolean constrained) {
+            this.beanType = beanType;
+            this.groups = groups;
+            this.constrained = constrained;
+        }
+        
+    }
+    
+    /**
+     * 制約から作成したエラーコードとメッセージ変数
+     */
+    private static final class ConstraintInfo {
+        
+        private final String[] errorCodes;
+        
+        private final Map<String, Object> variables;
+        
+        ConstraintInfo(final String[] errorCodes, final Map<String, Object> variables) {
+            this.errorCodes = errorCodes;
+            this.variables = variables;
+        }
+        
+    }
+    
+    /**
+     * フィールド名をキーとするカラムの索引
+     */
+    private static final class ColumnIndex {
+        
+        private final BeanMapping<?> beanMapping;
+        
+        private final List<ColumnMapping> columns;
+        
+        private final int size;
+        
+        private final Map<String, ColumnMapping> columnsByName;
+        
+        ColumnIndex(final BeanMapping<?> beanMapping, final List<ColumnMapping> columns,
+                final Map<String, ColumnMapping> columnsByName) {
+            this.beanMapping = beanMapping;
+            this.columns = columns;
+            this.size = columns.size();
+            this.columnsByName = columnsByName;
+        }
+        
+    }
+    
 }
@@ -11,6 +11,7 @@ import java.util.List;
 
 import org.junit.Before;
 import org.junit.Test;
+import org.supercsv.exception.SuperCsvReflectionException;
 import org.supercsv.prefs.CsvPreference;
 import org.supercsv.util.CsvContext;
 
@@ -29,6 +30,7 @@ import com.github.mygreen.supercsv.validation.ValidationContext;
 /**
  * {@link CallbackMethod}のテスタ
  *
+ * @version 2.3
  * @since 2.0
  * @author T.TSUCHIE
  *
@@ -314,4 +316,133 @@ public class CallbackMethodTest {
         assertThat(csv).isEqualTo(TEST_CSV);
     }
     
+    /**
+     * 引数の数や修飾子が異なるメソッド
+     */
+    private static class InvokeTarget {
+        
+        private static List<String> staticMessages = new ArrayList<>();
+        
+        private List<String> messages = new ArrayList<>();
+        
+        private void noArgs() {
+            messages.add("noArgs");
+        }
+        
+        private void twoArgs(final CsvContext context, final InvokeTarget record) {
+            messages.add("twoArgs:" + context.getLineNumber() + ":" + (record == this));
+        }
+        
+        public int manyArgs(final Class<?>[] groups, final ValidationContext<InvokeTarget> validationContext,
+                final CsvBindingErrors bindingErrors, final Point point, final InvokeTarget record, final CsvContext context) {
+            messages.add("manyArgs:" + groups.length + ":" + validationContext.getCsvContext().getLineNumber()
+                    + ":" + bindingErrors.getObjectName() + ":" + point + ":" + (record == this) + ":" + context.getRowNumber());
+            return 1;
+        }
+        
+        private static void staticMethod(final InvokeTarget record) {
+            staticMessages.add("staticMethod:" + (record != null));
+        }
+        
+        public void throwError() {
+            throw new IllegalStateException("test error");
+        }
+        
+    }
+    
+    @Test
+    public void testInvoke() throws Exception {
+        
+        final BeanMapping<InvokeTarget> beanMapping = new BeanMapping<>(InvokeTarget.class);
+        beanMapping.setGroups(new Class<?>[]{Group1.class});
+        
+        final InvokeTarget record = new InvokeTarget();
+        final CsvContext context = new CsvContext(3, 2, 1);
+        final CsvBindingErrors bindingErrors = new CsvBindingErrors(InvokeTarget.class);
+        
+        new CallbackMethod(InvokeTarget.class.getDeclaredMethod("noArgs"), InvokeTarget.class)
+            .invoke(record, context, bindingErrors, beanMapping);
+        
+        new CallbackMethod(InvokeTarget.class.getDeclaredMethod("twoArgs", CsvContext.class, InvokeTarget.class), InvokeTarget.class)
+            .invoke(record, context, bindingErrors, beanMapping);
+        
+        // Beanのクラスタイプは、最初の呼び出し時に決定する
+        final CallbackMethod manyArgs = new CallbackMethod(InvokeTarget.class.getDeclaredMethod("manyArgs",
+                Class[].class, ValidationContext.class, CsvBindingErrors.class, Point.class, InvokeTarget.class, CsvContext.class));
+        manyArgs.invoke(record, context, bindingErrors, beanMapping);
+        manyArgs.invoke(record, context, bindingErrors, beanMapping);
+        
+        assertThat(record.messages).containsExactly(
+                "noArgs",
+                "twoArgs:3:true",
+                "manyArgs:1:3:" + bindingErrors.getObjectName() + ":null:true:2",
+                "manyArgs:1:3:" + bindingErrors.getObjectName() + ":null:true:2");
+        
+        InvokeTarget.staticMessages.clear();
+        new CallbackMethod(InvokeTarget.class.getDeclaredMethod("staticMethod", InvokeTarget.class), InvokeTarget.class)
+            .invoke(record, context, bindingErrors, beanMapping);
+        assertThat(InvokeTarget.staticMessages).containsExactly("staticMethod:true");
+        
+        // リスナーのメソッド
+        final InvokeTarget listener = new InvokeTarget();
+        new ListenerCallbackMethod(listener, InvokeTarget.class.getDeclaredMethod("noArgs"), InvokeTarget.class)
+            .invoke(record, context, bindingErrors, beanMapping);
+        assertThat(listener.messages).containsExactly("noArgs");
+        
+        // 例外はラップしてスローする
+        final CallbackMethod throwError = new CallbackMethod(InvokeTarget.class.getDeclaredMethod("throwError"), InvokeTarget.class);
+        assertThatThrownBy(() -> throwError.invoke(record, context, bindingErrors, beanMapping))
+            .isInstanceOf(SuperCsvReflectionException.class)
+            .hasMessageContaining("throwError")
+            .hasCauseInstanceOf(IllegalStateException.class);
+        
+    }
+    
+    /**
+     * 非推奨のメソッドをオーバーライドしたサブクラスの場合
+     */
+    @SuppressWarnings("deprecation")
+    @Test
+    public void testInvoke_overrideExecute() throws Exception {
+        
+        final BeanMapping<InvokeTarget> beanMapping = new BeanMapping<>(InvokeTarget.class);
+        beanMapping.setGroups(new Class<?>[]{Group1.class});
+        
+        final InvokeTarget record = new InvokeTarget();
+        final CsvContext context = new CsvContext(3, 2, 1);
+        final CsvBindingErrors bindingErrors = new CsvBindingErrors(InvokeTarget.class);
+        
+        final List<Object[]> executed = new ArrayList<>();
+        final CallbackMethod callback = new CallbackMethod(
+                InvokeTarget.class.getDeclaredMethod("twoArgs", CsvContext.class, InvokeTarget.class), InvokeTarget.class) {
+            
+            @Override
+            protected void execute(final Object record, final Object[] paramValues) {
+                executed.add(paramValues);
+                super.execute(record, paramValues);
+            }
+        };
+        
+        callback.invoke(record, context, bindingErrors, beanMapping);
+        
+        assertThat(executed).hasSize(1);
+        assertThat(executed.get(0)).containsExactly(context, record);
+        assertThat(record.messages).containsExactly("twoArgs:3:true");
+        
+        // 多数の引数の場合
+        final CallbackMethod manyArgs = new CallbackMethod(InvokeTarget.class.getDeclaredMethod("manyArgs",
+                Class[].class, ValidationContext.class, CsvBindingErrors.class, Point.class, InvokeTarget.class, CsvContext.class)) {
+            
+            @Override
+            protected void execute(final Object record, final Object[] paramValues) {
+                executed.add(paramValues);
+                super.execute(record, paramValues);
+            }
+        };
+        manyArgs.invoke(record, context, bindingErrors, beanMapping);
+        assertThat(executed).hasSize(2);
+        assertThat(record.messages).hasSize(2);
+        
+    }
+    
 }
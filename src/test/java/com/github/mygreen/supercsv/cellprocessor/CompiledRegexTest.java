@@ -0,0 +1,201 @@
+package com.github.mygreen.supercsv.cellprocessor;
+
+import static org.junit.Assert.*;
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+
+/**
+ * {@link CompiledRegex}のテスタ
+ * <p>{@link java.util.regex.Matcher}の結果と比較します。</p>
+ *
+ * @since 2.3
+ * @author T.TSUCHIE
+ *
+ */
+public class CompiledRegexTest {
+
+    /**
+     * NFAで判定するパターン
+     */
+    private static final String[] AUTOMATON_PATTERNS = {
+            "",
+            "abc",
+            "^abc$",
+            "^ab",
+            "ab$",
+            "a.c",
+            "a*",
+            "a+b",
+            "a?b?c?",
+            "a??b",
+            "a*?b",
+            "\\d{3}-\\d{4}",
+            "\\d{2,4}",
+            "\\d{2,}",
+            "[0-9]{1,3}",
+            "[a-zA-Z_][a-zA-Z0-9_]*",
+            "[^abc]+",
+            "[-a]x",
+            "[a-]x",
+            "[\\d.]+",
+            "[\\-\\]]+",
+            "[a-c\\x41-\\u0044]*",
+            "\\w+@\\w+\\.com",
+            "\\W\\s\\S",
+            "\\D*",
+            "\\.\\*\\+\\?",
+            "x{0}y",
+            "x{2}y{1}",
+            "}a",
+            "}?a",
+            "\\t\\n\\r\\f\\e\\a",
+            ".*",
+            ".+x.+",
+            "あ+い?",
+            "[あ-ん]+",
+            "😀+",
+            ".😀",
+            "a*a*a*a*a*a*a*a*b",
+    };
+
+    /**
+     * java.util.regexで判定するパターン
+     */
+    private static final String[] FALLBACK_PATTERNS = {
+            "(abc)+",
+            "ab|cd",
+            "x(ab|cd)y",
+            "abc(?=d)",
+            "(?i)abc",
+            "a++b",
+            "a{2}+",
+            "\\bab\\b",
+            "(a)\\1",
+            "^a|b$",
+            "[a[bc]]",
+            "[a-z&&[^b]]",
+            "[]a]+",
+            "\\p{Alpha}+xyz",
+            "\\Qa.b\\E",
+            "ab(?:cd)?ef",
+            "ab(cd)*ef+g",
+            "a\\u0062c(d|e)",
+            "\\x41\\u0042(x|y)",
+            "\\0101(x|y)",
+            "\\cA(x|y)",
+            "[ab](?:x|y)z{0,2}qq",
+            "(?<name>ab)\\k<name>",
+            "a.b(c)$",
+            "[\\D]x",
+            "\\d{70}",
+    };
+
+    private static final String ALPHABET = "abcdexyzqABC_0129-.*+?@ \t\n\r\u0085 あいé}]\u0001\u001b\u0007\f";
+
+    private static final String SURROGATE = "😀";
+
+    private List<String> createInputs(final String regex, final long seed) {
+
+        final List<String> inputs = new ArrayList<>(Arrays.asList(
+                "", "a", "abc", "abcd", "xabcx", "ab\n", "abc\n", "abc\r\n", "123-4567", "12", "1234", "12345",
+                "foo@bar.com", "abab", "aab", "aaaaaaab", "aaaaaaaa", SURROGATE, SURROGATE + SURROGATE, "x" + SURROGATE,
+                "\ud83d", "\ude00a", "}a", "a}", "ABC", ".*+?", "\t\n\r\f\u001b\u0007", "ああい"));
+
+        // パターンの文字を含むランダムな文字列
+        final String alphabet = ALPHABET + regex.replaceAll("[\\\\\\[\\]{}()^$|]", "");
+        final Random random = new Random(seed);
+        for(int i=0; i < 3000; i++) {
+            final int length = random.nextInt(12);
+            final StringBuilder sb = new StringBuilder();
+            for(int j=0; j < length; j++) {
+                if(random.nextInt(20) == 0) {
+                    sb.append(SURROGATE);
+                } else {
+                    sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+                }
+            }
+            inputs.add(sb.toString());
+        }
+
+        return inputs;
+    }
+
+    private void assertSameResult(final String regex) {
+
+        final Pattern pattern = Pattern.compile(regex);
+        final CompiledRegex compiled = CompiledRegex.compile(pattern);
+        assertThat(compiled.getPattern()).isSameAs(pattern);
+
+        for(String input : createInputs(regex, regex.hashCode())) {
+            assertThat(compiled.matches(input))
+                    .as("matches : regex=%s, input=%s", regex, input)
+                    .isEqualTo(pattern.matcher(input).matches());
+            assertThat(compiled.find(input))
+                    .as("find : regex=%s, input=%s", regex, input)
+                    .isEqualTo(pattern.matcher(input).find());
+        }
+    }
+
+    @Test
+    public void testAutomaton() {
+
+        for(String regex : AUTOMATON_PATTERNS) {
+            assertThat(CompiledRegex.compile(Pattern.compile(regex)).isAutomaton()).as("regex=%s", regex).isTrue();
+            assertSameResult(regex);
+        }
+    }
+
+    @Test
+    public void testFallback() {
+
+        for(String regex : FALLBACK_PATTERNS) {
+            assertThat(CompiledRegex.compile(Pattern.compile(regex)).isAutomaton()).as("regex=%s", regex).isFalse();
+            assertSameResult(regex);
+        }
+    }
+
+    /**
+     * フラグを指定した場合は、java.util.regexで判定する。
+     */
+    @Test
+    public void testFlags() {
+
+        final Pattern pattern = Pattern.compile("abc", Pattern.CASE_INSENSITIVE);
+        final CompiledRegex compiled = CompiledRegex.compile(pattern);
+        assertThat(compiled.isAutomaton()).isFalse();
+        assertThat(compiled.getRequiredLiteral()).isEmpty();
+
+        assertThat(compiled.matches("ABC")).isTrue();
+        assertThat(compiled.find("xAbCx")).isTrue();
+        assertThat(compiled.matches("abd")).isFalse();
+    }
+
+    @Test
+    public void testRequiredLiteral() {
+
+        assertThat(CompiledRegex.compile(Pattern.compile("\\d{3}-\\d{4}")).getRequiredLiteral()).contains("-");
+        assertThat(CompiledRegex.compile(Pattern.compile("ab?cde+f")).getRequiredLiteral()).contains("cde");
+        assertThat(CompiledRegex.compile(Pattern.compile("x(ab|cd)yyy")).getRequiredLiteral()).contains("yyy");
+        assertThat(CompiledRegex.compile(Pattern.compile("ab(?:cd)?ef")).getRequiredLiteral()).contains("ab");
+        assertThat(CompiledRegex.compile(Pattern.compile("\\.com(x|y)")).getRequiredLiteral()).contains(".com");
+
+        assertThat(CompiledRegex.compile(Pattern.compile("ab|cd")).getRequiredLiteral()).isEmpty();
+        assertThat(CompiledRegex.compile(Pattern.compile("\\Qabc\\E(x|y)")).getRequiredLiteral()).isEmpty();
+        assertThat(CompiledRegex.compile(Pattern.compile("(a)\\1")).getRequiredLiteral()).isEmpty();
+        assertThat(CompiledRegex.compile(Pattern.compile("a?(?i)bc")).getRequiredLiteral()).isEmpty();
+    }
+
+    @Test(expected=NullPointerException.class)
+    public void testCompile_null() {
+        CompiledRegex.compile(null);
+        fail();
+    }
+
+}
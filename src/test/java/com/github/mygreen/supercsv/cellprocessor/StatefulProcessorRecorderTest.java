@@ -0,0 +1,117 @@
+package com.github.mygreen.supercsv.cellprocessor;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.Test;
+import org.supercsv.cellprocessor.ift.CellProcessor;
+
+import com.github.mygreen.supercsv.annotation.CsvBean;
+import com.github.mygreen.supercsv.annotation.CsvColumn;
+import com.github.mygreen.supercsv.annotation.constraint.CsvLengthMax;
+import com.github.mygreen.supercsv.annotation.constraint.CsvUnique;
+import com.github.mygreen.supercsv.annotation.constraint.CsvUniqueHashCode;
+import com.github.mygreen.supercsv.annotation.conversion.CsvTrim;
+import com.github.mygreen.supercsv.builder.BeanMapping;
+import com.github.mygreen.supercsv.builder.BeanMappingFactory;
+import com.github.mygreen.supercsv.cellprocessor.constraint.Unique;
+import com.github.mygreen.supercsv.cellprocessor.constraint.UniqueHashCode;
+import com.github.mygreen.supercsv.cellprocessor.format.SimpleNumberFormatter;
+
+/**
+ * {@link StatefulProcessorRecorder}のテスタ。
+ *
+ * @since 2.3
+ * @author T.TSUCHIE
+ *
+ */
+public class StatefulProcessorRecorderTest {
+
+    @CsvBean
+    private static class TestCsv {
+
+        @CsvColumn(number=1)
+        @CsvUnique
+        private Integer id;
+
+        @CsvColumn(number=2)
+        @CsvTrim
+        @CsvUniqueHashCode(order=1)
+        @CsvLengthMax(value=10, order=2)
+        @CsvUnique(order=3)
+        private String name;
+
+        @CsvColumn(number=3)
+        @CsvTrim
+        private String comment;
+
+    }
+
+    /**
+     * CellProcessorを組み立てる際に記録する場合
+     */
+    @Test
+    public void testBeanMappingFactory() {
+
+        final BeanMapping<TestCsv> beanMapping = new BeanMappingFactory().create(TestCsv.class);
+
+        assertThat(beanMapping.getColumnMapping(1).get().getStatefulProcessorsForReading())
+            .hasSize(1).hasOnlyElementsOfType(Unique.class);
+
+        // チェインの末尾から順に記録する
+        assertThat(beanMapping.getColumnMapping(2).get().getStatefulProcessorsForReading())
+            .hasSize(2)
+            .satisfies(list -> {
+                assertThat(list.get(0)).isInstanceOf(Unique.class);
+                assertThat(list.get(1)).isInstanceOf(UniqueHashCode.class);
+            });
+        assertThat(beanMapping.getColumnMapping(2).get().getStatefulProcessorsForWriting()).hasSize(2);
+
+        assertThat(beanMapping.getColumnMapping(3).get().getStatefulProcessorsForReading()).isEmpty();
+        assertThat(beanMapping.getColumnMapping(3).get().getStatefulProcessorsForWriting()).isEmpty();
+
+    }
+
+    /**
+     * 記録中でない場合、または状態を持たないCellProcessorの場合
+     */
+    @Test
+    public void testRecord() {
+
+        final Unique<Integer> unique = new Unique<>(new SimpleNumberFormatter<>(Integer.class, false));
+
+        // 記録中でない場合は、何もしない
+        assertThat(StatefulProcessorRecorder.record(Optional.of(unique))).containsSame(unique);
+
+        final List<StatefulCellProcessor> recorded = new ArrayList<>();
+        final List<StatefulCellProcessor> nested = new ArrayList<>();
+        final Optional<CellProcessor> result = StatefulProcessorRecorder.recording(recorded, () -> {
+            StatefulProcessorRecorder.record(Optional.empty());
+            StatefulProcessorRecorder.record(Optional.of(new NextCellProcessor()));
+            StatefulProcessorRecorder.record(Optional.of(unique));
+
+            // 同じインスタンスは1度だけ記録する
+            StatefulProcessorRecorder.record(Optional.of(unique));
+
+            // 入れ子の場合は、終了後に元の記録先に戻る
+            StatefulProcessorRecorder.recording(nested,
+                    () -> StatefulProcessorRecorder.record(Optional.of(new Unique<>(new SimpleNumberFormatter<>(Integer.class, false)))));
+
+            return StatefulProcessorRecorder.record(Optional.of(new UniqueHashCode<>(new SimpleNumberFormatter<>(Integer.class, false))));
+        });
+
+        assertThat(result).isPresent();
+        assertThat(recorded).hasSize(2);
+        assertThat(recorded.get(0)).isSameAs(unique);
+        assertThat(recorded.get(1)).isSameAs(result.get());
+        assertThat(nested).hasSize(1);
+
+        assertThat(StatefulProcessorRecorder.record(Optional.of(unique))).containsSame(unique);
+        assertThat(recorded).hasSize(2);
+
+    }
+
+}
@@ -0,0 +1,321 @@
+package com.github.mygreen.supercsv.cellprocessor.constraint;
+
+import static org.junit.Assert.*;
+import static org.assertj.core.api.Assertions.*;
+import static com.github.mygreen.supercsv.tool.TestUtils.*;
+import static com.github.mygreen.supercsv.tool.HasCellProcessorAssert.*;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestName;
+import org.supercsv.cellprocessor.CellProcessorAdaptor;
+import org.supercsv.cellprocessor.ift.CellProcessor;
+
+import com.github.mygreen.supercsv.annotation.CsvBean;
+import com.github.mygreen.supercsv.annotation.CsvColumn;
+import com.github.mygreen.supercsv.annotation.constraint.CsvReferenceSet;
+import com.github.mygreen.supercsv.annotation.format.CsvNumberFormat;
+import com.github.mygreen.supercsv.builder.BeanMapping;
+import com.github.mygreen.supercsv.builder.BeanMappingFactory;
+import com.github.mygreen.supercsv.builder.ColumnMapping;
+import com.github.mygreen.supercsv.builder.Configuration;
+import com.github.mygreen.supercsv.builder.FieldAccessor;
+import com.github.mygreen.supercsv.builder.ProcessorBuilderResolver;
+import com.github.mygreen.supercsv.builder.standard.IntegerProcessorBuilder;
+import com.github.mygreen.supercsv.cellprocessor.format.TextFormatter;
+import com.github.mygreen.supercsv.exception.SuperCsvInvalidAnnotationException;
+import com.github.mygreen.supercsv.exception.SuperCsvValidationException;
+import com.github.mygreen.supercsv.validation.CsvExceptionConverter;
+
+/**
+ * {@link ReferenceSetFactory}のテスタ
+ *
+ * @since 2.3
+ * @author T.TSUCHIE
+ *
+ */
+public class ReferenceSetFactoryTest {
+
+    @Rule
+    public TestName name = new TestName();
+
+    private ReferenceSetFactory<Integer> factory;
+
+    private Configuration config;
+    private Comparator<Annotation> comparator;
+    private ProcessorBuilderResolver builderResolver;
+
+    private BeanMappingFactory beanMappingFactory;
+    private CsvExceptionConverter exceptionConverter;
+
+    private final Class<?>[] groupEmpty = new Class[]{};
+
+    @Before
+    public void setUp() throws Exception {
+        this.factory = new ReferenceSetFactory<Integer>();
+
+        this.config = new Configuration();
+        this.beanMappingFactory = new BeanMappingFactory();
+        beanMappingFactory.setConfiguration(config);
+
+        this.exceptionConverter = new CsvExceptionConverter();
+
+        this.comparator = config.getAnnoationComparator();
+        this.builderResolver = config.getBuilderResolver();
+    }
+
+    @CsvBean
+    private static class TestCsv {
+
+        @CsvColumn(number=1, label="カラム1")
+        @CsvNumberFormat(pattern="#,###")
+        @CsvReferenceSet(file="src/test/data/data_equaled_value.txt")
+        private Integer col_file;
+
+        @CsvColumn(number=2, label="カラム2")
+        @CsvReferenceSet(provider=RangeProvider.class, bloomFilter=true, maxPrintedValues=3)
+        private Integer col_provider;
+
+    }
+
+    @CsvBean
+    private static class SharedCsv {
+
+        @CsvColumn(number=1, label="カラム1")
+        @CsvReferenceSet(provider=CountingProvider.class)
+        private Integer col_counting;
+
+        @CsvColumn(number=2, label="カラム2")
+        @CsvReferenceSet(provider=EmptyProvider.class)
+        private Integer col_empty;
+
+    }
+
+    @CsvBean
+    private static class ErrorCsv {
+
+        @CsvColumn(number=1)
+        @CsvReferenceSet
+        private Integer col_no_file_provider;
+
+    }
+
+    public static class RangeProvider implements EqualedValueProvider<Integer> {
+
+        @Override
+        public Collection<Integer> getEqualedValues(final FieldAccessor field) {
+            final Integer[] values = new Integer[1000];
+            for(int i=0; i < values.length; i++) {
+                values[i] = i * 2;
+            }
+            return Arrays.asList(values);
+        }
+    }
+
+    /**
+     * 読み込んだ回数を数えるプロバイダ
+     */
+    public static class CountingProvider implements EqualedValueProvider<Integer> {
+
+        private static final AtomicInteger LOAD_COUNT = new AtomicInteger();
+
+        @Override
+        public Collection<Integer> getEqualedValues(final FieldAccessor field) {
+            LOAD_COUNT.incrementAndGet();
+            return Arrays.asList(1, 2, 3);
+        }
+    }
+
+    public static class EmptyProvider implements EqualedValueProvider<Integer> {
+
+        @Override
+        public Collection<Integer> getEqualedValues(final FieldAccessor field) {
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * 属性fileを指定
+     */
+    @Test
+    public void testCreate_attrFile() {
+
+        FieldAccessor field = getFieldAccessor(TestCsv.class, "col_file", comparator);
+        IntegerProcessorBuilder builder = (IntegerProcessorBuilder) builderResolver.resolve(Integer.class);
+        TextFormatter<Integer> formatter = builder.getFormatter(field, config);
+
+        CsvReferenceSet anno = field.getAnnotationsByGroup(CsvReferenceSet.class, groupEmpty).get(0);
+
+        Optional<CellProcessor> processor = factory.create(anno, Optional.of(new NextCellProcessor()), field, formatter, config);
+        printCellProcessorChain(processor.get(), name.getMethodName());
+
+        assertThat(processor.get()).isInstanceOf(ReferenceSet.class);
+
+        ReferenceSet<Integer> actual = (ReferenceSet<Integer>)processor.get();
+        assertThat(actual.getValues().size()).isEqualTo(2);
+        assertThat(actual.getValues().isBloomFilterEnabled()).isFalse();
+        assertThat(actual.getRefreshIntervalMillis()).isEqualTo(0L);
+        assertThat(actual.getValidationMessage()).isEqualTo("{com.github.mygreen.supercsv.annotation.constraint.CsvReferenceSet.message}");
+
+        assertThat((Object)actual.execute(1000, ANONYMOUS_CSVCONTEXT)).isEqualTo(1000);
+        assertThat((Object)actual.execute(-1000, ANONYMOUS_CSVCONTEXT)).isEqualTo(-1000);
+        assertThatThrownBy(() -> actual.execute(1001, ANONYMOUS_CSVCONTEXT)).isInstanceOf(SuperCsvValidationException.class);
+
+    }
+
+    /**
+     * 属性providerを指定
+     */
+    @Test
+    public void testCreate_attrProvider() {
+
+        FieldAccessor field = getFieldAccessor(TestCsv.class, "col_provider", comparator);
+        IntegerProcessorBuilder builder = (IntegerProcessorBuilder) builderResolver.resolve(Integer.class);
+        TextFormatter<Integer> formatter = builder.getFormatter(field, config);
+
+        CsvReferenceSet anno = field.getAnnotationsByGroup(CsvReferenceSet.class, groupEmpty).get(0);
+
+        Optional<CellProcessor> processor = factory.create(anno, Optional.empty(), field, formatter, config);
+        printCellProcessorChain(processor.get(), name.getMethodName());
+
+        ReferenceSet<Integer> actual = (ReferenceSet<Integer>)processor.get();
+        assertThat(actual.getValues().size()).isEqualTo(1000);
+        assertThat(actual.getValues().isBloomFilterEnabled()).isTrue();
+        assertThat(actual.getMaxPrintedValues()).isEqualTo(3);
+
+        for(int i=0; i < 2000; i++) {
+            if(i % 2 == 0) {
+                assertThat((Object)actual.execute(i, ANONYMOUS_CSVCONTEXT)).isEqualTo(i);
+            } else {
+                final int input = i;
+                assertThatThrownBy(() -> actual.execute(input, ANONYMOUS_CSVCONTEXT)).isInstanceOf(SuperCsvValidationException.class);
+            }
+        }
+
+    }
+
+    /**
+     * 属性file, providerの指定がない
+     */
+    @Test
+    public void testCreate_attrNoFileProvider() {
+
+        FieldAccessor field = getFieldAccessor(ErrorCsv.class, "col_no_file_provider", comparator);
+        IntegerProcessorBuilder builder = (IntegerProcessorBuilder) builderResolver.resolve(Integer.class);
+        TextFormatter<Integer> formatter = builder.getFormatter(field, config);
+
+        CsvReferenceSet anno = field.getAnnotationsByGroup(CsvReferenceSet.class, groupEmpty).get(0);
+
+        try {
+            factory.create(anno, Optional.empty(), field, formatter, config);
+            fail();
+
+        } catch(Exception e) {
+            assertThat(e).isInstanceOf(SuperCsvInvalidAnnotationException.class)
+                .hasMessage("'%s' において、アノテーション @CsvReferenceSet の属性 'file or provider' の指定は必須です。",
+                        field.getNameWithClass());
+        }
+
+    }
+
+    /**
+     * 読み込み用と書き込み用、BeanMappingを作成し直した場合に、参照値を共有する
+     */
+    @Test
+    public void testCreate_shareValues() throws Exception {
+
+        final int before = CountingProvider.LOAD_COUNT.get();
+
+        BeanMapping<SharedCsv> beanMapping = beanMappingFactory.create(SharedCsv.class, groupEmpty);
+        ColumnMapping columnMapping = beanMapping.getColumnMapping("col_counting").get();
+
+        ReferenceSet<?> readingProcessor = findReferenceSet(columnMapping.getCellProcessorForReading());
+        ReferenceSet<?> writingProcessor = findReferenceSet(columnMapping.getCellProcessorForWriting());
+        assertThat(readingProcessor).isNotSameAs(writingProcessor);
+        assertThat(readingProcessor.getReferenceValues()).isSameAs(writingProcessor.getReferenceValues());
+
+        BeanMapping<SharedCsv> beanMapping2 = new BeanMappingFactory().create(SharedCsv.class, groupEmpty);
+        ReferenceSet<?> readingProcessor2 = findReferenceSet(
+                beanMapping2.getColumnMapping("col_counting").get().getCellProcessorForReading());
+        assertThat(readingProcessor2.getReferenceValues()).isSameAs(readingProcessor.getReferenceValues());
+
+        assertThat(CountingProvider.LOAD_COUNT.get() - before).isEqualTo(1);
+
+    }
+
+    /**
+     * 参照値が空の場合は、全ての値を不正と判定する
+     */
+    @Test
+    public void testCreate_emptyValues() {
+
+        BeanMapping<SharedCsv> beanMapping = beanMappingFactory.create(SharedCsv.class, groupEmpty);
+        ColumnMapping columnMapping = beanMapping.getColumnMapping("col_empty").get();
+
+        CellProcessor processor = columnMapping.getCellProcessorForReading();
+        for(String input : new String[]{"0", "1", "-1"}) {
+            assertThatThrownBy(() -> processor.execute(input, testCsvContext(columnMapping, input)))
+                    .isInstanceOf(SuperCsvValidationException.class);
+        }
+
+    }
+
+    private ReferenceSet<?> findReferenceSet(final CellProcessor processor) throws ReflectiveOperationException {
+        final Field field = CellProcessorAdaptor.class.getDeclaredField("next");
+        field.setAccessible(true);
+
+        CellProcessor current = processor;
+        while(current instanceof CellProcessorAdaptor) {
+            if(current instanceof ReferenceSet) {
+                return (ReferenceSet<?>) current;
+            }
+            current = (CellProcessor) field.get(current);
+        }
+        throw new AssertionError("not found ReferenceSet.");
+    }
+
+    /**
+     * エラーメッセージのテスト - 標準
+     */
+    @Test
+    public void testErrorMessage_default() {
+
+        BeanMapping<TestCsv> beanMapping = beanMappingFactory.create(TestCsv.class, groupEmpty);
+
+        ColumnMapping columnMapping = beanMapping.getColumnMapping("col_provider").get();
+
+        CellProcessor processor = columnMapping.getCellProcessorForReading();
+        printCellProcessorChain(processor, name.getMethodName());
+        assertThat(processor).hasCellProcessor(ReferenceSet.class);
+
+        String input = "3";
+        try {
+            processor.execute(input, testCsvContext(columnMapping, input));
+            fail();
+
+        } catch(Exception e) {
+
+            assertThat(e).isInstanceOf(SuperCsvValidationException.class);
+
+            // 例外のメッセージには、一部の値のみを出力する
+            assertThat(e.getMessage()).matches("'3' is not contained in the reference set \\(size=1000, e.g. \\[\\d+, \\d+, \\d+\\]\\).");
+
+            List<String> messages = exceptionConverter.convertAndFormat((SuperCsvValidationException)e, beanMapping);
+            assertThat(messages).hasSize(1)
+                    .contains("[2行, 2列] : 項目「カラム2」の値（3）は、参照する1000件の値の何れとも一致しません。");
+        }
+
+    }
+
+}
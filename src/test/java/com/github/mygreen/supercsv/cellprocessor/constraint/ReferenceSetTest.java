@@ -0,0 +1,129 @@
+package com.github.mygreen.supercsv.cellprocessor.constraint;
+
+import static org.junit.Assert.*;
+import static org.assertj.core.api.Assertions.*;
+import static com.github.mygreen.supercsv.tool.TestUtils.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.supercsv.exception.SuperCsvCellProcessorException;
+
+import com.github.mygreen.supercsv.cellprocessor.format.TextPrinter;
+import com.github.mygreen.supercsv.exception.SuperCsvValidationException;
+
+/**
+ * {@link ReferenceSet}と{@link CompactHashSet}のテスタ
+ *
+ * @since 2.3
+ * @author T.TSUCHIE
+ *
+ */
+public class ReferenceSetTest {
+
+    private TextPrinter<String> printer = object -> object;
+
+    private List<String> createCodes(final int size) {
+        final List<String> codes = new ArrayList<>(size);
+        for(int i=0; i < size; i++) {
+            codes.add(String.format("P%07d", i));
+        }
+        return codes;
+    }
+
+    @Test
+    public void testCompactHashSet() {
+
+        for(boolean bloomFilter : new boolean[]{false, true}) {
+            final List<String> codes = createCodes(100_000);
+            final List<String> values = new ArrayList<>(codes);
+            values.add(null);
+            values.add(codes.get(0));
+
+            final CompactHashSet<String> set = new CompactHashSet<>(values, bloomFilter);
+            assertThat(set.size()).isEqualTo(100_000);
+            assertThat(set.isBloomFilterEnabled()).isEqualTo(bloomFilter);
+
+            for(String code : codes) {
+                assertThat(set.contains(new String(code))).isTrue();
+            }
+
+            for(int i=0; i < 10_000; i++) {
+                assertThat(set.contains(String.format("Q%07d", i))).isFalse();
+            }
+
+            assertThat(set.contains(null)).isFalse();
+            assertThat(set.sample(5)).hasSize(5).allMatch(codes::contains);
+        }
+
+        final CompactHashSet<String> empty = new CompactHashSet<>(Collections.emptyList(), true);
+        assertThat(empty.isEmpty()).isTrue();
+        assertThat(empty.contains("a")).isFalse();
+        assertThat(empty.sample(5)).isEmpty();
+
+    }
+
+    @Test(expected=NullPointerException.class)
+    public void testConstuctor_loaderNull() {
+
+        new ReferenceSet<String>(String.class, null, 0L, TimeUnit.SECONDS, false, printer);
+        fail();
+
+    }
+
+    @Test
+    public void testExecute() {
+
+        final ReferenceSet<String> processor = new ReferenceSet<>(String.class, () -> createCodes(1000),
+                0L, TimeUnit.SECONDS, false, printer, new NextCellProcessor());
+
+        assertThat((Object)processor.execute(null, ANONYMOUS_CSVCONTEXT)).isNull();
+        assertThat((Object)processor.execute("P0000999", ANONYMOUS_CSVCONTEXT)).isEqualTo("P0000999");
+
+        assertThatThrownBy(() -> processor.execute(123, ANONYMOUS_CSVCONTEXT))
+            .isInstanceOf(SuperCsvCellProcessorException.class);
+
+        processor.setMaxPrintedValues(2);
+        try {
+            processor.execute("X", ANONYMOUS_CSVCONTEXT);
+            fail();
+
+        } catch(SuperCsvValidationException e) {
+            assertThat(e.getMessage()).matches("'X' is not contained in the reference set \\(size=1000, e.g. \\[P\\d{7}, P\\d{7}\\]\\).");
+            assertThat(e.getMessageVariables()).containsEntry("referenceSize", 1000);
+            assertThat((List<?>)e.getMessageVariables().get("sampleValues")).hasSize(2);
+        }
+
+    }
+
+    @Test
+    public void testRefresh() throws Exception {
+
+        final AtomicInteger loadCount = new AtomicInteger();
+        final ReferenceSet<String> processor = new ReferenceSet<>(String.class,
+                () -> loadCount.incrementAndGet() == 1 ? Arrays.asList("a") : Arrays.asList("a", "b"),
+                50L, TimeUnit.MILLISECONDS, true, printer);
+
+        assertThatThrownBy(() -> processor.execute("b", ANONYMOUS_CSVCONTEXT))
+            .isInstanceOf(SuperCsvValidationException.class);
+
+        // 間隔を過ぎた後の判定で、別スレッドで読み込み直す
+        Thread.sleep(100L);
+        processor.execute("a", ANONYMOUS_CSVCONTEXT);
+
+        final long timeout = System.currentTimeMillis() + 5000L;
+        while(processor.getValues().size() < 2 && System.currentTimeMillis() < timeout) {
+            Thread.sleep(10L);
+        }
+
+        assertThat((Object)processor.execute("b", ANONYMOUS_CSVCONTEXT)).isEqualTo("b");
+        assertThat(loadCount.get()).isGreaterThanOrEqualTo(2);
+
+    }
+
+}
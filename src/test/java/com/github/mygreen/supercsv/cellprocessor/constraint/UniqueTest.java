@@ -5,6 +5,8 @@ import static org.assertj.core.api.Assertions.*;
 import static com.github.mygreen.supercsv.tool.TestUtils.*;
 
 import java.text.DecimalFormat;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -12,6 +14,7 @@ import org.supercsv.cellprocessor.ift.CellProcessor;
 import org.supercsv.exception.SuperCsvCellProcessorException;
 import org.supercsv.util.CsvContext;
 
+import com.github.mygreen.supercsv.cellprocessor.TentativeExecution;
 import com.github.mygreen.supercsv.cellprocessor.format.NumberFormatWrapper;
 import com.github.mygreen.supercsv.exception.SuperCsvValidationException;
 
@@ -106,5 +109,33 @@ public class UniqueTest {
         
     }
     
+    /**
+     * 処理結果を取り消す場合
+     * @since 2.3
+     */
+    @Test
+    public void testExecute_rollback() {
+        
+        int input = 1000;
+        
+        List<Runnable> rollbacks = new ArrayList<>();
+        assertThat(TentativeExecution.isActive()).isFalse();
+        assertThat(TentativeExecution.execute(rollbacks, () -> TentativeExecution.isActive())).isTrue();
+        assertThat(TentativeExecution.isActive()).isFalse();
+        assertThat((Object)TentativeExecution.execute(rollbacks, () -> processor.execute(input, ANONYMOUS_CSVCONTEXT))).isEqualTo(input);
+        assertThat(rollbacks).hasSize(1);
+        TentativeExecution.rollback(rollbacks);
+        assertThat(rollbacks).isEmpty();
+        
+        // 取り消した値は、重複とならない
+        assertThat((Object)processor.execute(input, ANONYMOUS_CSVCONTEXT2)).isEqualTo(input);
+        
+        // 重複した場合は、他のレコードで記録した値を取り消さない
+        assertThatThrownBy(() -> TentativeExecution.execute(rollbacks, () -> processor.execute(input, ANONYMOUS_CSVCONTEXT)))
+            .isInstanceOf(SuperCsvValidationException.class);
+        TentativeExecution.rollback(rollbacks);
+        assertThatThrownBy(() -> processor.execute(input, ANONYMOUS_CSVCONTEXT)).isInstanceOf(SuperCsvValidationException.class);
+        
+    }
     
 }
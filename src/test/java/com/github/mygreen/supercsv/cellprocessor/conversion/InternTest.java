@@ -0,0 +1,130 @@
+package com.github.mygreen.supercsv.cellprocessor.conversion;
+
+import static org.junit.Assert.*;
+import static org.assertj.core.api.Assertions.*;
+import static com.github.mygreen.supercsv.tool.TestUtils.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.supercsv.cellprocessor.ift.CellProcessor;
+
+/**
+ * {@link Intern}のテスタ。
+ *
+ * @since 2.3
+ * @author T.TSUCHIE
+ *
+ */
+public class InternTest {
+
+    private StringPool pool;
+    private CellProcessor processor;
+    private CellProcessor processorChain;
+
+    @Before
+    public void setUp() throws Exception {
+        this.pool = new StringPool();
+        this.processor = new Intern(pool);
+        this.processorChain = new Intern(pool, new NextCellProcessor());
+    }
+
+    @Test(expected=NullPointerException.class)
+    public void testConstructor_poolNull() {
+        new Intern(null);
+        fail();
+    }
+
+    @Test
+    public void testExecute_inputNull() {
+
+        assertThat((Object)processor.execute(null, ANONYMOUS_CSVCONTEXT)).isNull();
+
+    }
+
+    @Test
+    public void testExecute() {
+
+        String input1 = new String("JP");
+        String input2 = new String("JP");
+
+        String actual1 = processor.execute(input1, ANONYMOUS_CSVCONTEXT);
+        String actual2 = processorChain.execute(input2, ANONYMOUS_CSVCONTEXT);
+
+        assertThat(actual1).isEqualTo("JP").isSameAs(input1);
+        assertThat(actual2).isEqualTo("JP").isSameAs(input1);
+
+        // CharSequenceの場合
+        assertThat((Object)processor.execute(new StringBuilder("JP"), ANONYMOUS_CSVCONTEXT)).isSameAs(input1);
+
+    }
+
+    @Test
+    public void testStringPool_maxSize() {
+
+        StringPool pool = new StringPool(1);
+
+        String input1 = new String("a");
+        assertThat(pool.intern(input1)).isSameAs(input1);
+        assertThat(pool.intern(new String("a"))).isSameAs(input1);
+        assertThat(pool.size()).isEqualTo(1);
+
+        // 上限を超えた場合はプールしない
+        for(int i=0; i < 100; i++) {
+            String input = String.valueOf(i);
+            assertThat(pool.intern(input)).isSameAs(input);
+            assertThat(pool.intern(new String(input))).isNotSameAs(input);
+        }
+        assertThat(pool.size()).isEqualTo(1);
+
+        pool.clear();
+        assertThat(pool.size()).isEqualTo(0);
+
+        // 破棄した後は、再びプールできる
+        String input2 = new String("b");
+        assertThat(pool.intern(input2)).isSameAs(input2);
+        assertThat(pool.intern(new String("b"))).isSameAs(input2);
+        assertThat(pool.size()).isEqualTo(1);
+
+    }
+
+    /**
+     * 複数のスレッドから同時に利用しても、上限を超えない
+     */
+    @Test
+    public void testStringPool_maxSize_concurrent() throws Exception {
+
+        final StringPool pool = new StringPool(10);
+        final List<String> values = new ArrayList<>();
+        for(int i=0; i < 1000; i++) {
+            values.add("value" + i);
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for(int t=0; t < 4; t++) {
+                futures.add(executor.submit(() -> values.forEach(pool::intern)));
+            }
+            for(Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(pool.size()).isEqualTo(10);
+
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testStringPool_maxSizeZero() {
+        new StringPool(0);
+        fail();
+    }
+}
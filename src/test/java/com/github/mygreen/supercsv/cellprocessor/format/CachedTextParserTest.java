@@ -0,0 +1,251 @@
+package com.github.mygreen.supercsv.cellprocessor.format;
+
+import static org.junit.Assert.*;
+import static org.assertj.core.api.Assertions.*;
+import static com.github.mygreen.supercsv.tool.TestUtils.*;
+
+import java.lang.annotation.Annotation;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+
+import org.joda.time.DateTime;
+import org.joda.time.MutableDateTime;
+import org.junit.Before;
+import org.junit.Test;
+import org.supercsv.cellprocessor.ift.CellProcessor;
+
+import com.github.mygreen.supercsv.annotation.CsvBean;
+import com.github.mygreen.supercsv.annotation.CsvColumn;
+import com.github.mygreen.supercsv.annotation.format.CsvParseCache;
+import com.github.mygreen.supercsv.builder.BuildCase;
+import com.github.mygreen.supercsv.builder.Configuration;
+import com.github.mygreen.supercsv.builder.FieldAccessor;
+
+/**
+ * {@link CachedTextParser}のテスタ
+ *
+ * @since 2.3
+ * @author T.TSUCHIE
+ *
+ */
+public class CachedTextParserTest {
+
+    private Configuration config;
+    private Comparator<Annotation> comparator;
+
+    private final Class<?>[] groupEmpty = new Class[]{};
+
+    @Before
+    public void setUp() throws Exception {
+        this.config = new Configuration();
+        this.comparator = config.getAnnoationComparator();
+    }
+
+    @CsvBean
+    private static class TestCsv {
+
+        @CsvColumn(number=1)
+        @CsvParseCache(size=10)
+        private Integer col_cache;
+
+        @CsvColumn(number=2)
+        @CsvParseCache(size=0)
+        private Integer col_cache_disabled;
+
+        @CsvColumn(number=3)
+        private Integer col_default;
+
+    }
+
+    @Test(expected=NullPointerException.class)
+    public void testConstructor_parserNull() {
+        new CachedTextParser<Integer>(null, 10, UnaryOperator.identity());
+        fail();
+    }
+
+    @Test(expected=IllegalArgumentException.class)
+    public void testConstructor_maxSizeZero() {
+        new CachedTextParser<>(new SimpleNumberFormatter<>(Integer.class, false), 0, UnaryOperator.identity());
+        fail();
+    }
+
+    @Test
+    public void testParse() {
+
+        final CachedTextParser<Integer> parser = new CachedTextParser<>(
+                new SimpleNumberFormatter<>(Integer.class, false), 2, UnaryOperator.identity());
+
+        assertThat(parser.parse("1")).isEqualTo(1);
+        assertThat(parser.parse("1")).isEqualTo(1);
+        assertThat(parser.parse(new StringBuilder("1"))).isEqualTo(1);
+        assertThat(parser.getHitCount()).isEqualTo(2L);
+        assertThat(parser.getMissCount()).isEqualTo(1L);
+
+        // 上限を超えた値はキャッシュしない
+        assertThat(parser.parse("2")).isEqualTo(2);
+        assertThat(parser.parse("3")).isEqualTo(3);
+        assertThat(parser.parse("3")).isEqualTo(3);
+        assertThat(parser.getSize()).isEqualTo(2);
+        assertThat(parser.getMissCount()).isEqualTo(4L);
+
+        // パースに失敗した値はキャッシュしない
+        parser.clear();
+        assertThatThrownBy(() -> parser.parse("abc")).isInstanceOf(TextParseException.class);
+        assertThatThrownBy(() -> parser.parse("abc")).isInstanceOf(TextParseException.class);
+        assertThat(parser.getSize()).isEqualTo(0);
+        assertThat(parser.getHitCount()).isEqualTo(0L);
+        assertThat(parser.getMissCount()).isEqualTo(2L);
+
+    }
+
+    /**
+     * 文字シーケンスでパースする場合は、キャッシュにヒットしたときは文字列を作成しない
+     */
+    @Test
+    public void testParse_charSequence() {
+
+        final AtomicInteger parsedCharSequence = new AtomicInteger();
+        final CachedTextParser<Integer> parser = new CachedTextParser<>(new TextParser<Integer>() {
+
+            @Override
+            public Integer parse(final String text) {
+                return Integer.valueOf(text);
+            }
+
+            @Override
+            public Integer parse(final CharSequence text) {
+                parsedCharSequence.incrementAndGet();
+                return Integer.valueOf(text.toString());
+            }
+
+        }, 10, UnaryOperator.identity());
+
+        final StringBuilder buffer = new StringBuilder("12");
+        assertThat(parser.parse(buffer)).isEqualTo(12);
+        assertThat(parsedCharSequence.get()).isEqualTo(1);
+
+        // キャッシュのキーは、元の文字シーケンスの内容が変わっても影響を受けない
+        buffer.setLength(0);
+        buffer.append("34");
+        assertThat(parser.parse(buffer)).isEqualTo(34);
+        assertThat(parser.parse("12")).isEqualTo(12);
+
+        assertThat(parser.parse(new NoStringCharSequence("12"))).isEqualTo(12);
+        assertThat(parser.parse(new NoStringCharSequence("34"))).isEqualTo(34);
+        assertThat(parser.getHitCount()).isEqualTo(3L);
+        assertThat(parser.getMissCount()).isEqualTo(2L);
+        assertThat(parsedCharSequence.get()).isEqualTo(2);
+
+    }
+
+    /**
+     * 文字列に変換するとエラーとなる文字シーケンス
+     */
+    private static class NoStringCharSequence implements CharSequence {
+
+        private final String value;
+
+        NoStringCharSequence(final String value) {
+            this.value = value;
+        }
+
+        @Override
+        public int length() {
+            return value.length();
+        }
+
+        @Override
+        public char charAt(final int index) {
+            return value.charAt(index);
+        }
+
+        @Override
+        public CharSequence subSequence(final int start, final int end) {
+            throw new AssertionError("should not be called subSequence.");
+        }
+
+        @Override
+        public String toString() {
+            throw new AssertionError("should not be called toString.");
+        }
+
+    }
+
+    @Test
+    public void testParse_copyDate() {
+
+        final Optional<TextParser<Timestamp>> created = CachedTextParser.create(Timestamp.class,
+                new DateFormatWrapper<>(Timestamp.class), 10);
+        assertThat(created).isPresent();
+
+        final TextParser<Timestamp> parser = created.get();
+        final Timestamp value1 = parser.parse("2016-02-29 12:13:14.123");
+        value1.setTime(0L);
+
+        final Timestamp value2 = parser.parse("2016-02-29 12:13:14.123");
+        assertThat(value2).isNotSameAs(value1)
+            .isEqualTo(Timestamp.valueOf("2016-02-29 12:13:14.123"));
+        assertThat(parser.parse("2016-02-29 12:13:14.123")).isNotSameAs(value2);
+
+    }
+
+    @Test
+    public void testCreate() {
+
+        assertThat(CachedTextParser.create(Integer.class, new SimpleNumberFormatter<>(Integer.class, false), 10)).isPresent();
+        assertThat(CachedTextParser.create(LocalDate.class, new TemporalFormatWrapper<>(DateTimeFormatter.ISO_LOCAL_DATE, LocalDate.class), 10)).isPresent();
+        assertThat(CachedTextParser.create(Date.class, new DateFormatWrapper<>(Date.class), 10)).isPresent();
+
+        assertThat(CachedTextParser.create(Integer.class, new SimpleNumberFormatter<>(Integer.class, false), 0)).isEmpty();
+        assertThat(CachedTextParser.create(StringBuilder.class, text -> new StringBuilder(text), 10)).isEmpty();
+
+        // Joda-Timeは、不変なクラスのみキャッシュする
+        assertThat(CachedTextParser.create(DateTime.class, text -> DateTime.parse(text), 10)).isPresent();
+        assertThat(CachedTextParser.create(MutableDateTime.class, text -> MutableDateTime.parse(text), 10)).isEmpty();
+
+    }
+
+    @Test
+    public void testParseProcessorFactory() {
+
+        final ParseProcessorFactory<Integer> factory = new ParseProcessorFactory<>();
+        final TextFormatter<Integer> formatter = new SimpleNumberFormatter<>(Integer.class, false);
+
+        {
+            FieldAccessor field = getFieldAccessor(TestCsv.class, "col_cache", comparator);
+            Optional<CellProcessor> processor = factory.create(Optional.empty(), field, formatter, config, BuildCase.Read, groupEmpty);
+
+            TextParser<Integer> parser = ((ParseProcessor<Integer>)processor.get()).getParser();
+            assertThat(parser).isInstanceOf(CachedTextParser.class);
+            assertThat(((CachedTextParser<Integer>)parser).getMaxSize()).isEqualTo(10);
+            assertThat(((CachedTextParser<Integer>)parser).getParser()).isSameAs(formatter);
+        }
+
+        {
+            FieldAccessor field = getFieldAccessor(TestCsv.class, "col_cache_disabled", comparator);
+            Optional<CellProcessor> processor = factory.create(Optional.empty(), field, formatter, config, BuildCase.Read, groupEmpty);
+            assertThat(((ParseProcessor<Integer>)processor.get()).getParser()).isSameAs(formatter);
+        }
+
+        {
+            FieldAccessor field = getFieldAccessor(TestCsv.class, "col_default", comparator);
+            Optional<CellProcessor> processor = factory.create(Optional.empty(), field, formatter, config, BuildCase.Read, groupEmpty);
+            assertThat(((ParseProcessor<Integer>)processor.get()).getParser()).isSameAs(formatter);
+
+            // システム設定で有効にする
+            config.setParseCacheSize(100);
+            processor = factory.create(Optional.empty(), field, formatter, config, BuildCase.Read, groupEmpty);
+            TextParser<Integer> parser = ((ParseProcessor<Integer>)processor.get()).getParser();
+            assertThat(parser).isInstanceOf(CachedTextParser.class);
+            assertThat(((CachedTextParser<Integer>)parser).getMaxSize()).isEqualTo(100);
+        }
+
+    }
+
+}
@@ -0,0 +1,241 @@
+package com.github.mygreen.supercsv.cellprocessor.format;
+
+import static org.junit.Assert.*;
+import static org.assertj.core.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.ParsePosition;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * {@link CompiledDecimalFormat}のテスタ
+ * <p>{@link DecimalFormat}の結果と比較します。</p>
+ *
+ * @since 2.3
+ * @author T.TSUCHIE
+ *
+ */
+public class CompiledDecimalFormatTest {
+
+    private static final String[] PATTERNS = {
+            "0",
+            "#",
+            "#,##0",
+            "#,###",
+            "#,##0.00",
+            "#,##0.0##",
+            "0000",
+            "00.000",
+            "#.##",
+            "#,####0.0",
+            "0.00000000",
+            "\\#,##0",
+            "#,##0円",
+            "'#'0' pcs'",
+            "'%'#,##0.00",
+            "00,000.#####",
+            "#,##0.###;-#,##0.###",
+    };
+
+    private static final String[] UNSUPPORTED_PATTERNS = {
+            "0.00E0",
+            "#,##0%",
+            "#,##0‰",
+            "¤#,##0",
+            "#,##0;(#,##0)",
+            "#,##0;-#,##0円",
+            "0'E'円",
+            "'1'0",
+    };
+
+    private static final Locale[] LOCALES = {
+            Locale.JAPAN,
+            Locale.GERMANY,
+            Locale.FRANCE,
+            new Locale("de", "CH"),
+    };
+
+    private DecimalFormat createFormat(final String pattern, final Locale locale, final RoundingMode roundingMode) {
+        final DecimalFormat format = new DecimalFormat(pattern, DecimalFormatSymbols.getInstance(locale));
+        format.setParseBigDecimal(true);
+        format.setRoundingMode(roundingMode);
+        return format;
+    }
+
+    private List<Number> createValues(final long seed) {
+
+        final List<Number> values = new ArrayList<>();
+        values.add(0);
+        values.add(-1);
+        values.add(Long.MAX_VALUE);
+        values.add(Long.MIN_VALUE);
+        values.add((byte)12);
+        values.add((short)-1234);
+        values.add(BigInteger.valueOf(123456789L));
+        values.add(new BigInteger("123456789012345678901234567890"));
+        values.add(12.5d);
+        values.add(BigDecimal.ZERO);
+        values.add(new BigDecimal("0.00"));
+        values.add(new BigDecimal("-0.001"));
+        values.add(new BigDecimal("0.0050"));
+        values.add(new BigDecimal("0.0009"));
+        values.add(new BigDecimal("9.9995"));
+        values.add(new BigDecimal("1E+5"));
+        values.add(new BigDecimal("-1.5E-3"));
+
+        final Random random = new Random(seed);
+        for(int i=0; i < 500; i++) {
+            final long unscaled = random.nextInt(3) == 0 ? random.nextLong() : random.nextInt(100000) - 50000;
+            switch(random.nextInt(3)) {
+                case 0:
+                    values.add(unscaled);
+                    break;
+                case 1:
+                    values.add((int)unscaled);
+                    break;
+                default:
+                    values.add(BigDecimal.valueOf(unscaled, random.nextInt(12) - 2));
+                    break;
+            }
+        }
+
+        // 丸めの境界の値
+        for(int scale=0; scale < 10; scale++) {
+            for(long unscaled : new long[]{5L, 15L, 25L, 50L, 55L, 150L, 995L, 1005L, 12345L}) {
+                values.add(BigDecimal.valueOf(unscaled, scale));
+                values.add(BigDecimal.valueOf(-unscaled, scale));
+            }
+        }
+
+        return values;
+    }
+
+    private void assertSameResult(final DecimalFormat format, final CompiledDecimalFormat compiled, final List<Number> values) {
+
+        for(Number value : values) {
+            String expected;
+            try {
+                expected = format.format(value);
+            } catch(ArithmeticException e) {
+                // 丸めが不要な指定の場合
+                try {
+                    assertThat(compiled.print(value)).as("value=%s", value).isNull();
+                } catch(ArithmeticException e2) {
+                    assertThat(e2).hasMessage(e.getMessage());
+                }
+                continue;
+            }
+
+            final String actual = compiled.print(value);
+            if(actual == null) {
+                // 浮動小数、64ビット以上の整数は対象外
+                assertThat(value instanceof Double || value.equals(Long.MIN_VALUE)
+                        || (value instanceof BigInteger && ((BigInteger)value).bitLength() >= 64))
+                        .as("value=%s", value).isTrue();
+                continue;
+            }
+
+            assertThat(actual).as("pattern=%s, value=%s", format.toPattern(), value).isEqualTo(expected);
+            assertSameParseResult(format, compiled, actual);
+        }
+    }
+
+    private void assertSameParseResult(final DecimalFormat format, final CompiledDecimalFormat compiled, final String text) {
+
+        final BigDecimal actual = compiled.parse(text);
+        final ParsePosition position = new ParsePosition(0);
+        final Object expected = format.parse(text, position);
+
+        if(actual == null) {
+            return;
+        }
+
+        assertThat(position.getIndex()).as("pattern=%s, text=%s", format.toPattern(), text).isEqualTo(text.length());
+        assertThat(actual).as("pattern=%s, text=%s", format.toPattern(), text).isEqualTo(expected);
+    }
+
+    @Test
+    public void testPrintAndParse() {
+
+        for(String pattern : PATTERNS) {
+            for(Locale locale : LOCALES) {
+                for(RoundingMode roundingMode : RoundingMode.values()) {
+                    final DecimalFormat format = createFormat(pattern, locale, roundingMode);
+                    final CompiledDecimalFormat compiled = CompiledDecimalFormat.compile(format).orElseThrow(
+                            () -> new AssertionError(String.format("pattern=%s, locale=%s, rounding=%s", pattern, locale, roundingMode)));
+
+                    assertSameResult(format, compiled, createValues(pattern.hashCode()));
+                }
+            }
+        }
+    }
+
+    /**
+     * 書式と異なる形式の文字列を解析する場合
+     */
+    @Test
+    public void testParse_nonCanonical() {
+
+        final String[] inputs = {
+                "", "-", "1", "-1", "1234", "1,234", "12,34", ",123", "1,,234", "1.", ".5", "1.5", "1,234.50", "1.234,5",
+                "１２３", "1E3", "1e3", "+1", "--1", "1 ", " 1", "1円", "-1円", "円", "0001", "1,234,567", "1234,567",
+                "∞", "NaN", "1.2.3", "12345678901234567890.123456789", "-0", "-0.00", "#1", "#-1", "-#1",
+        };
+
+        for(String pattern : PATTERNS) {
+            for(Locale locale : LOCALES) {
+                final DecimalFormat format = createFormat(pattern, locale, RoundingMode.HALF_EVEN);
+                final CompiledDecimalFormat compiled = CompiledDecimalFormat.compile(format).get();
+                for(String input : inputs) {
+                    assertSameParseResult(format, compiled, input);
+                }
+            }
+        }
+
+        final CompiledDecimalFormat compiled = CompiledDecimalFormat.compile(createFormat("#,##0円", Locale.JAPAN, RoundingMode.HALF_EVEN)).get();
+        assertThat(compiled.parse("1,234円")).isEqualTo(new BigDecimal("1234"));
+        assertThat(compiled.parse("-1234.50円")).isEqualTo(new BigDecimal("-1234.50"));
+        assertThat(compiled.parse("1,234")).isNull();
+        assertThat(compiled.parse("12,34円")).isNull();
+
+    }
+
+    @Test
+    public void testUnsupported() {
+
+        for(String pattern : UNSUPPORTED_PATTERNS) {
+            assertThat(CompiledDecimalFormat.compile(createFormat(pattern, Locale.JAPAN, RoundingMode.HALF_EVEN)))
+                    .as("pattern=%s", pattern)
+                    .isEmpty();
+        }
+
+        // 数字が異なる
+        final DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance(Locale.JAPAN);
+        symbols.setZeroDigit('\u0660');
+        assertThat(CompiledDecimalFormat.compile(new DecimalFormat("#,##0", symbols))).isEmpty();
+
+        // 乗数を指定
+        final DecimalFormat multiplier = createFormat("#,##0", Locale.JAPAN, RoundingMode.HALF_EVEN);
+        multiplier.setMultiplier(10);
+        assertThat(CompiledDecimalFormat.compile(multiplier)).isEmpty();
+
+        // 解析時にBigDecimalを返さない
+        final DecimalFormat notBigDecimal = createFormat("#,##0", Locale.JAPAN, RoundingMode.HALF_EVEN);
+        notBigDecimal.setParseBigDecimal(false);
+        final CompiledDecimalFormat compiled = CompiledDecimalFormat.compile(notBigDecimal).get();
+        assertThat(compiled.isParsable()).isFalse();
+        assertThat(compiled.parse("1,234")).isNull();
+        assertThat(compiled.print(1234)).isEqualTo("1,234");
+
+    }
+
+}
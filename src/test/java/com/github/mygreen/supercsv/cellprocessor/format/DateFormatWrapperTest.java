@@ -7,8 +7,13 @@ import static com.github.mygreen.supercsv.tool.TestUtils.*;
 import java.sql.Time;
 import java.sql.Timestamp;
 import java.text.DateFormat;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.TimeZone;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -25,6 +30,7 @@ import com.github.mygreen.supercsv.cellprocessor.format.TextParseException;
 /**
  * Tests the {@link DateFormatWrapper}.
  *
+ * @version 2.3
  * @since 1.2
  * @author T.TSUCHIE
  *
@@ -183,4 +189,86 @@ public class DateFormatWrapperTest {
         formatter.parse("abc");
         fail();
     }
+    
+    @Test
+    public void testLockFree() {
+        
+        assertThat(formatter.isLockFree()).isTrue();
+        assertThat(utilDateFormatter.isLockFree()).isTrue();
+        assertThat(sqlDateFormatter.isLockFree()).isTrue();
+        assertThat(timestampFormatter.isLockFree()).isTrue();
+        assertThat(timeFormatter.isLockFree()).isTrue();
+        
+        // 数字のみの固定長の書式以外
+        assertThat(new DateFormatWrapper<>(new SimpleDateFormat("yyyy/M/d"), Date.class).isLockFree()).isFalse();
+        assertThat(new DateFormatWrapper<>(new SimpleDateFormat("yy-MM-dd"), Date.class).isLockFree()).isFalse();
+        assertThat(new DateFormatWrapper<>(new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.S"), Date.class).isLockFree()).isFalse();
+        assertThat(new DateFormatWrapper<>(new SimpleDateFormat("yyyy-MM-dd HH:mm:ss Z"), Date.class).isLockFree()).isFalse();
+        assertThat(new DateFormatWrapper<>(new SimpleDateFormat("yyyy-MM-dd", new Locale("ja", "JP", "JP")), Date.class).isLockFree()).isFalse();
+        assertThat(new DateFormatWrapper<>(new SimpleDateFormat("yyyy-MM-dd", new Locale("th", "TH")), Date.class).isLockFree()).isFalse();
+    }
+    
+    /**
+     * {@link SimpleDateFormat}と結果が同じかどうか。
+     */
+    @Test
+    public void testSameAsSimpleDateFormat() {
+        
+        final String[] patterns = {"yyyy-MM-dd HH:mm:ss", "yyyy/MM/dd", "HH:mm:ss", "yyyyMMddHHmmssSSS", "yyyy-MM-dd'T'HH:mm:ss.SSS"};
+        final String[] zones = {"Asia/Tokyo", "America/New_York", "Europe/London", "Australia/Lord_Howe", "UTC"};
+        final Random random = new Random(2016L);
+        
+        for(String pattern : patterns) {
+            for(String zone : zones) {
+                for(boolean lenient : new boolean[]{true, false}) {
+                    final DateFormat expected = SimpleDateFormatBuilder.create(pattern)
+                            .lenient(lenient)
+                            .timeZone(TimeZone.getTimeZone(zone))
+                            .build();
+                    final DateFormatWrapper<Timestamp> actual = new DateFormatWrapper<>(expected, Timestamp.class);
+                    assertThat(actual.isLockFree()).isTrue();
+                    
+                    for(int i=0; i < 2000; i++) {
+                        // 1800年～2200年
+                        final long time = -5364662400000L + (long)(random.nextDouble() * 12622780800000L);
+                        final String text = expected.format(new Date(time));
+                        assertThat(actual.print(new Date(time))).as("print : pattern=%s, zone=%s, time=%d", pattern, zone, time)
+                            .isEqualTo(text);
+                        
+                        assertSameParsed(expected, actual, text);
+                        
+                        // 範囲外の値、桁数が異なる値
+                        final char[] chars = text.toCharArray();
+                        final int index = random.nextInt(chars.length);
+                        if(Character.isDigit(chars[index])) {
+                            chars[index] = (char)('0' + random.nextInt(10));
+                        }
+                        assertSameParsed(expected, actual, new String(chars));
+                        assertSameParsed(expected, actual, text.substring(1));
+                        assertSameParsed(expected, actual, text + "0");
+                    }
+                }
+            }
+        }
+    }
+    
+    private void assertSameParsed(final DateFormat expected, final DateFormatWrapper<Timestamp> actual, final String text) {
+        
+        Date expectedDate;
+        try {
+            expectedDate = expected.parse(text);
+        } catch(ParseException e) {
+            expectedDate = null;
+        }
+        
+        if(expectedDate == null) {
+            assertThatThrownBy(() -> actual.parse(text)).isInstanceOf(TextParseException.class);
+            
+        } else {
+            final Timestamp actualDate = actual.parse(text);
+            assertThat(actualDate.getTime()).as("parse : pattern=%s, text=%s", ((SimpleDateFormat)expected).toPattern(), text)
+                .isEqualTo(expectedDate.getTime());
+            assertThat(actualDate.getNanos()).isEqualTo(new Timestamp(expectedDate.getTime()).getNanos());
+        }
+    }
 }
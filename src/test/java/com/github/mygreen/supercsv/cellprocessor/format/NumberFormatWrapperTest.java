@@ -25,6 +25,7 @@ import com.github.mygreen.supercsv.cellprocessor.format.TextParseException;
  * Tests the {@link NumberFormatWrapper}.
  *
  * @since 1.2
+ * @version 2.3
  * @author T.TSUCHIE
  *
  */
@@ -205,6 +206,32 @@ public class NumberFormatWrapperTest {
         
     }
     
+    /**
+     * {@link CompiledDecimalFormat}で処理する場合
+     */
+    @Test
+    public void testCompiled() throws Exception {
+        
+        assertThat(formatter.isCompiled()).isTrue();
+        assertThat(parseBigDecimalFormatter.isCompiled()).isTrue();
+        
+        assertThat(parseBigDecimalFormatter.print(1234567)).isEqualTo("1,234,567.0");
+        assertThat(parseBigDecimalFormatter.print(new BigDecimal("-1234.5675"))).isEqualTo("-1,234.568");
+        assertThat(parseBigDecimalFormatter.parse(Integer.class, "1,234.0")).isEqualTo(1234);
+        assertThat(parseBigDecimalFormatter.parse(BigDecimal.class, "-1234.50")).isEqualTo(new BigDecimal("-1234.50"));
+        
+        // 桁区切りの位置が異なる場合は、DecimalFormatで解析する
+        assertThat(parseBigDecimalFormatter.parse(Integer.class, "12,34.0")).isEqualTo(1234);
+        assertThatThrownBy(() -> parseBigDecimalFormatter.parse(Integer.class, "1,234.5"))
+                .isInstanceOf(TextParseException.class);
+        
+        // 指数表記は対象外
+        NumberFormatWrapper<Double> exponent = new NumberFormatWrapper<>(new DecimalFormat("0.0E0"), Double.class);
+        assertThat(exponent.isCompiled()).isFalse();
+        assertThat(exponent.print(1234)).isEqualTo("1.2E3");
+        
+    }
+    
     @Test
     public void testParseAndFormatWithMultiThread() {
         
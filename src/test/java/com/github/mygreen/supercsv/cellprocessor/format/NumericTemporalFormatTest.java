@@ -0,0 +1,305 @@
+package com.github.mygreen.supercsv.cellprocessor.format;
+
+import static org.junit.Assert.*;
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.MonthDay;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.Year;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalQuery;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * {@link NumericTemporalFormat}のテスタ
+ * <p>{@link DateTimeFormatter}の結果と比較します。</p>
+ *
+ * @since 2.3
+ * @author T.TSUCHIE
+ *
+ */
+public class NumericTemporalFormatTest {
+
+    private final Random random = new Random(12345L);
+
+    private DateTimeFormatter formatter(final String pattern, final ResolverStyle style) {
+        return DateTimeFormatter.ofPattern(pattern, Locale.JAPANESE)
+                .withResolverStyle(style)
+                .withZone(ZoneId.of("Asia/Tokyo"));
+    }
+
+    /**
+     * 解析とフォーマットの結果を、{@link DateTimeFormatter}と比較する。
+     */
+    private <T extends TemporalAccessor> void assertSameResult(final Class<T> type, final TemporalQuery<T> query,
+            final String pattern, final List<T> values) {
+
+        for(ResolverStyle style : ResolverStyle.values()) {
+            final DateTimeFormatter formatter = formatter(pattern, style);
+            final NumericTemporalFormat<T> format = NumericTemporalFormat.compile(pattern, formatter, type).get();
+
+            final List<String> inputs = new ArrayList<>();
+            for(T value : values) {
+                final String expected = formatter.format(value);
+                final String actual = format.print(value);
+                if(actual != null) {
+                    assertThat(actual).as("print : pattern=%s, value=%s", pattern, value).isEqualTo(expected);
+                }
+                inputs.add(expected);
+                inputs.add(mutate(expected));
+            }
+
+            for(String input : inputs) {
+                final T actual = format.parse(input);
+                if(actual == null) {
+                    continue;
+                }
+
+                try {
+                    assertThat(actual).as("parse : pattern=%s, style=%s, input=%s", pattern, style, input)
+                            .isEqualTo(formatter.parse(input, query));
+
+                } catch(DateTimeParseException e) {
+                    throw new AssertionError(String.format("parse : pattern=%s, style=%s, input=%s should be error.", pattern, style, input), e);
+                }
+            }
+        }
+    }
+
+    /**
+     * 数字を1文字変更した文字列を作成する。範囲外の値を含めるため。
+     */
+    private String mutate(final String text) {
+        final char[] chars = text.toCharArray();
+        final int index = random.nextInt(chars.length);
+        if(Character.isDigit(chars[index])) {
+            chars[index] = (char)('0' + random.nextInt(10));
+        }
+        return new String(chars);
+    }
+
+    private List<LocalDateTime> createDateTimes() {
+        final List<LocalDateTime> values = new ArrayList<>();
+        values.add(LocalDateTime.of(0, 1, 1, 0, 0, 0));
+        values.add(LocalDateTime.of(9999, 12, 31, 23, 59, 59));
+        values.add(LocalDateTime.of(10000, 1, 1, 0, 0, 0));
+        values.add(LocalDateTime.of(-1, 1, 1, 0, 0, 0));
+        values.add(LocalDateTime.of(2020, 2, 29, 12, 30, 15, 123));
+        for(int i=0; i < 3000; i++) {
+            values.add(LocalDateTime.of(1 + random.nextInt(3000), 1 + random.nextInt(12), 1 + random.nextInt(28),
+                    random.nextInt(24), random.nextInt(60), random.nextInt(60), random.nextInt(1_000_000_000))
+                    .plusDays(random.nextInt(4)));
+        }
+        return values;
+    }
+
+    @Test
+    public void testLocalDate() {
+        final List<LocalDate> values = new ArrayList<>();
+        createDateTimes().forEach(v -> values.add(v.toLocalDate()));
+
+        assertSameResult(LocalDate.class, LocalDate::from, "uuuu-MM-dd", values);
+        assertSameResult(LocalDate.class, LocalDate::from, "uuuuMMdd", values);
+        assertSameResult(LocalDate.class, LocalDate::from, "uuuu/MM/dd", values);
+        assertSameResult(LocalDate.class, LocalDate::from, "dd.MM.uuuu", values);
+        assertSameResult(LocalDate.class, LocalDate::from, "uuuu'年'MM'月'dd'日'", values);
+    }
+
+    @Test
+    public void testLocalDate_yearOfEra() {
+
+        // 厳密な解析では、紀元の年は解決できないため対象外
+        assertThat(NumericTemporalFormat.compile("yyyy-MM-dd", formatter("yyyy-MM-dd", ResolverStyle.STRICT), LocalDate.class))
+            .isEmpty();
+
+        final DateTimeFormatter formatter = formatter("yyyy-MM-dd", ResolverStyle.SMART);
+        final NumericTemporalFormat<LocalDate> format = NumericTemporalFormat.compile("yyyy-MM-dd", formatter, LocalDate.class).get();
+        assertThat(format.parse("2020-02-29")).isEqualTo(LocalDate.of(2020, 2, 29));
+        assertThat(format.parse("0000-01-01")).isNull();
+        assertThat(format.print(LocalDate.of(0, 1, 1))).isNull();
+
+        for(LocalDateTime value : createDateTimes()) {
+            final String actual = format.print(value.toLocalDate());
+            if(actual != null) {
+                assertThat(actual).isEqualTo(formatter.format(value.toLocalDate()));
+                assertThat(format.parse(actual)).isEqualTo(LocalDate.parse(actual, formatter));
+            }
+        }
+    }
+
+    @Test
+    public void testLocalDateTime() {
+        final List<LocalDateTime> values = createDateTimes();
+
+        assertSameResult(LocalDateTime.class, LocalDateTime::from, "uuuu-MM-dd HH:mm:ss", values);
+        assertSameResult(LocalDateTime.class, LocalDateTime::from, "uuuu/MM/dd HH:mm:ss", values);
+        assertSameResult(LocalDateTime.class, LocalDateTime::from, "uuuuMMddHHmmss", values);
+        assertSameResult(LocalDateTime.class, LocalDateTime::from, "uuuu-MM-dd'T'HH:mm", values);
+        assertSameResult(LocalDateTime.class, LocalDateTime::from, "uuuu-MM-dd HH:mm:ss.SSS", values);
+    }
+
+    @Test
+    public void testLocalTime() {
+        final List<LocalTime> values = new ArrayList<>();
+        createDateTimes().forEach(v -> values.add(v.toLocalTime()));
+
+        assertSameResult(LocalTime.class, LocalTime::from, "HH:mm:ss", values);
+        assertSameResult(LocalTime.class, LocalTime::from, "HHmm", values);
+    }
+
+    @Test
+    public void testOffsetDateTime() {
+        final ZoneOffset[] offsets = {ZoneOffset.UTC, ZoneOffset.ofHours(9), ZoneOffset.ofHoursMinutes(-5, -30),
+                ZoneOffset.ofHours(18), ZoneOffset.ofHours(-18), ZoneOffset.ofTotalSeconds(3661)};
+
+        final List<OffsetDateTime> values = new ArrayList<>();
+        for(LocalDateTime value : createDateTimes()) {
+            values.add(OffsetDateTime.of(value, offsets[random.nextInt(offsets.length)]));
+        }
+
+        assertSameResult(OffsetDateTime.class, OffsetDateTime::from, "uuuu-MM-dd HH:mm:ssxxx", values);
+        assertSameResult(OffsetDateTime.class, OffsetDateTime::from, "uuuu-MM-dd'T'HH:mm:ssXXX", values);
+
+        // タイムゾーンを指定しない場合は、フォーマットも対象とする
+        final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("uuuu-MM-dd'T'HH:mm:ssXXX");
+        final NumericTemporalFormat<OffsetDateTime> format = NumericTemporalFormat.compile(
+                "uuuu-MM-dd'T'HH:mm:ssXXX", formatter, OffsetDateTime.class).get();
+        assertThat(format.print(OffsetDateTime.of(2020, 1, 2, 3, 4, 5, 0, ZoneOffset.UTC))).isEqualTo("2020-01-02T03:04:05Z");
+        for(OffsetDateTime value : values) {
+            final String actual = format.print(value);
+            if(actual != null) {
+                assertThat(actual).isEqualTo(formatter.format(value));
+            }
+        }
+
+        // 「Z」は、フォーマッタで解析する
+        assertThat(format.parse("2020-01-02T03:04:05Z")).isNull();
+        assertThat(format.parse("2020-01-02T03:04:05+00:00")).isEqualTo(OffsetDateTime.of(2020, 1, 2, 3, 4, 5, 0, ZoneOffset.UTC));
+
+        final List<OffsetTime> times = new ArrayList<>();
+        values.forEach(v -> times.add(v.toOffsetTime()));
+        assertSameResult(OffsetTime.class, OffsetTime::from, "HH:mm:ssxxx", times);
+    }
+
+    /**
+     * 固定のオフセットのタイムゾーンを指定した場合
+     * <p>オフセットが異なる{@link OffsetTime}は、{@link DateTimeFormatter}と同様にエラーとするため、フォーマットの対象外とする。</p>
+     */
+    @Test
+    public void testOffsetTime_overrideOffset() {
+
+        for(ZoneId zone : new ZoneId[]{ZoneOffset.UTC, ZoneId.of("GMT+09:00")}) {
+            final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("HH:mm:ssxxx").withZone(zone);
+            final NumericTemporalFormat<OffsetTime> format = NumericTemporalFormat.compile(
+                    "HH:mm:ssxxx", formatter, OffsetTime.class).get();
+
+            final ZoneOffset zoneOffset = (ZoneOffset)zone.normalized();
+            final OffsetTime sameOffset = OffsetTime.of(10, 0, 0, 0, zoneOffset);
+            assertThat(format.print(sameOffset)).isEqualTo(formatter.format(sameOffset));
+
+            final OffsetTime otherOffset = OffsetTime.of(10, 0, 0, 0, ZoneOffset.ofHours(-5));
+            assertThat(format.print(otherOffset)).isNull();
+            assertThatThrownBy(() -> formatter.format(otherOffset)).isInstanceOf(DateTimeException.class);
+        }
+
+        // 地域のタイムゾーンの場合は、オフセットが異なってもフォーマットできる
+        final DateTimeFormatter formatter = formatter("HH:mm:ssxxx", ResolverStyle.SMART);
+        final NumericTemporalFormat<OffsetTime> format = NumericTemporalFormat.compile(
+                "HH:mm:ssxxx", formatter, OffsetTime.class).get();
+        final OffsetTime value = OffsetTime.of(10, 0, 0, 0, ZoneOffset.ofHours(-5));
+        assertThat(format.print(value)).isEqualTo(formatter.format(value)).isEqualTo("10:00:00-05:00");
+    }
+
+    @Test
+    public void testOthers() {
+        final List<YearMonth> yearMonths = new ArrayList<>();
+        final List<Year> years = new ArrayList<>();
+        final List<MonthDay> monthDays = new ArrayList<>();
+        for(LocalDateTime value : createDateTimes()) {
+            yearMonths.add(YearMonth.from(value));
+            years.add(Year.from(value));
+            monthDays.add(MonthDay.from(value));
+        }
+        monthDays.add(MonthDay.of(2, 29));
+
+        assertSameResult(YearMonth.class, YearMonth::from, "uuuu-MM", yearMonths);
+        assertSameResult(Year.class, Year::from, "uuuu", years);
+        assertSameResult(MonthDay.class, MonthDay::from, "MM-dd", monthDays);
+    }
+
+    /**
+     * 対象外の書式
+     */
+    @Test
+    public void testCompile_notSupported() {
+
+        final String[][] patterns = {
+                {"uuuu-M-d", "LocalDate"},
+                {"uuuu-MMM-dd", "LocalDate"},
+                {"uu-MM-dd", "LocalDate"},
+                {"uuuu-MM-dd[ HH:mm]", "LocalDate"},
+                {"uuuu-MM-dd HH:mm", "LocalDate"},
+                {"uuuu-MM", "LocalDate"},
+                {"uuuu1MM-dd", "LocalDate"},
+                {"uuuu-MM-dd HH:mm:ss.SS", "LocalDateTime"},
+                {"uuuu-MM-dd HH:mm:ss", "OffsetDateTime"},
+                {"Gy-MM-dd", "LocalDate"},
+                {"''uuuu-MM-dd", "LocalDate"},
+        };
+
+        for(String[] pattern : patterns) {
+            final Class<? extends TemporalAccessor> type = pattern[1].equals("LocalDate") ? LocalDate.class
+                    : pattern[1].equals("LocalDateTime") ? LocalDateTime.class : OffsetDateTime.class;
+            assertThat(NumericTemporalFormat.compile(pattern[0], formatter(pattern[0], ResolverStyle.STRICT), type))
+                    .as("pattern=%s", pattern[0])
+                    .isEmpty();
+        }
+
+        assertThat(NumericTemporalFormat.compile("uuuu-MM-dd HH:mm:ssxxx",
+                formatter("uuuu-MM-dd HH:mm:ssxxx", ResolverStyle.STRICT), ZonedDateTime.class)).isEmpty();
+    }
+
+    /**
+     * {@link TemporalFormatWrapper}に設定した場合
+     */
+    @Test
+    public void testTemporalFormatWrapper() {
+
+        final DateTimeFormatter formatter = formatter("uuuu-MM-dd", ResolverStyle.STRICT);
+        final TemporalFormatWrapper<LocalDate> wrapper = new TemporalFormatWrapper<>(formatter, LocalDate.class);
+        wrapper.setPattern("uuuu-MM-dd");
+        NumericTemporalFormat.compile("uuuu-MM-dd", formatter, LocalDate.class).ifPresent(wrapper::setNumericFormat);
+        assertThat(wrapper.getNumericFormat()).isPresent();
+
+        assertThat(wrapper.parse("2020-02-29")).isEqualTo(LocalDate.of(2020, 2, 29));
+        assertThat(wrapper.parse((CharSequence)"2020-02-29")).isEqualTo(LocalDate.of(2020, 2, 29));
+        assertThat(wrapper.print(LocalDate.of(2020, 2, 29))).isEqualTo("2020-02-29");
+        assertThat(wrapper.print(LocalDate.of(12345, 1, 1))).isEqualTo("+12345-01-01");
+
+        // 範囲外の値は、DateTimeFormatterで処理する
+        assertThatThrownBy(() -> wrapper.parse("2019-02-29"))
+            .isInstanceOf(TextParseException.class)
+            .hasCauseInstanceOf(DateTimeParseException.class);
+        assertThatThrownBy(() -> wrapper.parse("2019/02/28"))
+            .isInstanceOf(TextParseException.class)
+            .hasCauseInstanceOf(DateTimeParseException.class);
+    }
+
+}
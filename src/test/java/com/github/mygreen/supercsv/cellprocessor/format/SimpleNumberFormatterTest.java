@@ -76,6 +76,51 @@ public class SimpleNumberFormatterTest {
             
         }
         
+        /**
+         * CharSequenceのパースは、文字列のパースと同じ結果になること。
+         * @since 2.3
+         */
+        @Test
+        public void testParse_charSequence() {
+            
+            final String[] inputs = {"0", "123", "-123", "+45", "007", "2147483647", "-2147483648", "2147483648",
+                    "1.0", "1e3", "12345678901234567890", "abc", "-", "", " 1"};
+            
+            for(String input : inputs) {
+                final CharSequence sequence = new StringBuilder(input);
+                Object expected;
+                try {
+                    expected = formatter.parse(input);
+                } catch(TextParseException e) {
+                    expected = TextParseException.class;
+                }
+                
+                Object actual;
+                try {
+                    actual = formatter.parse(sequence);
+                } catch(TextParseException e) {
+                    actual = TextParseException.class;
+                }
+                
+                assertThat(actual).as("input=%s", input).isEqualTo(expected);
+                
+                try {
+                    expected = formatterLenient.parse(input);
+                } catch(TextParseException e) {
+                    expected = TextParseException.class;
+                }
+                
+                try {
+                    actual = formatterLenient.parse(sequence);
+                } catch(TextParseException e) {
+                    actual = TextParseException.class;
+                }
+                
+                assertThat(actual).as("lenient input=%s", input).isEqualTo(expected);
+            }
+            
+        }
+        
         @Test
         public void testGetMathContext() {
             
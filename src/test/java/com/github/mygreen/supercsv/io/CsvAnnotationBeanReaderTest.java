@@ -8,23 +8,31 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.StringReader;
 import java.nio.charset.Charset;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 
+import javax.validation.constraints.NotNull;
+
 import org.junit.Before;
 import org.junit.Test;
 import org.supercsv.exception.SuperCsvException;
 import org.supercsv.prefs.CsvPreference;
 
+import com.github.mygreen.supercsv.annotation.CsvBean;
+import com.github.mygreen.supercsv.annotation.CsvColumn;
 import com.github.mygreen.supercsv.annotation.DefaultGroup;
 import com.github.mygreen.supercsv.builder.BeanMapping;
 import com.github.mygreen.supercsv.builder.BeanMappingFactory;
 import com.github.mygreen.supercsv.exception.SuperCsvBindingException;
 import com.github.mygreen.supercsv.exception.SuperCsvNoMatchColumnSizeException;
 import com.github.mygreen.supercsv.exception.SuperCsvNoMatchHeaderException;
+import com.github.mygreen.supercsv.validation.CsvBindingErrors;
 import com.github.mygreen.supercsv.validation.CsvExceptionConverter;
+import com.github.mygreen.supercsv.validation.CsvFieldError;
+import com.github.mygreen.supercsv.validation.beanvalidation.CsvBeanValidator;
 
 
 /**
@@ -323,6 +331,432 @@ public class CsvAnnotationBeanReaderTest {
         
     }
     
+    /**
+     * カラムの値をCharSequenceのまま処理する場合
+     * @since 2.3
+     */
+    @Test
+    public void testRead_charSequenceMode() throws IOException {
+        
+        File file = new File("src/test/data/test_read_normal.csv");
+        
+        CsvAnnotationBeanReader<SampleNormalBean> csvReader = new CsvAnnotationBeanReader<>(
+                SampleNormalBean.class,
+                new CsvTokenizer(new InputStreamReader(new FileInputStream(file), Charset.forName("UTF-8")), CsvPreference.STANDARD_PREFERENCE),
+                CsvPreference.STANDARD_PREFERENCE,
+                DefaultGroup.class, SampleNormalBean.ReadGroup.class);
+        csvReader.setExceptionConverter(exceptionConverter);
+        csvReader.setCharSequenceMode(true);
+        
+        csvReader.getHeader(true);
+        
+        List<SampleNormalBean> list = new ArrayList<>();
+        SampleNormalBean bean;
+        while((bean = csvReader.read()) != null) {
+            list.add(bean);
+            
+            assertBean(bean);
+        }
+        
+        assertThat(list).hasSize(2);
+        assertThat(csvReader.getRowNumber()).isEqualTo(3);
+        assertThat(csvReader.getLineNumber()).isEqualTo(3);
+        assertThat(csvReader.getErrorMessages()).hasSize(0);
+        
+        csvReader.close();
+        
+    }
+    
+    /**
+     * カラムの値をCharSequenceのまま処理する場合 - 書式の不正
+     * @since 2.3
+     */
+    @Test
+    public void testRead_charSequenceMode_error_wrong_pattern() throws IOException {
+        
+        File file = new File("src/test/data/test_read_error_wrong_pattern.csv");
+        
+        CsvAnnotationBeanReader<SampleNormalBean> csvReader = new CsvAnnotationBeanReader<>(
+                SampleNormalBean.class,
+                new CsvTokenizer(new InputStreamReader(new FileInputStream(file), Charset.forName("UTF-8")), CsvPreference.STANDARD_PREFERENCE),
+                CsvPreference.STANDARD_PREFERENCE,
+                DefaultGroup.class, SampleNormalBean.ReadGroup.class);
+        csvReader.setExceptionConverter(exceptionConverter);
+        csvReader.setCharSequenceMode(true);
+        
+        csvReader.getHeader(true);
+        
+        try {
+            csvReader.read();
+            fail();
+            
+        } catch(SuperCsvException e) {
+            assertThat(e).isInstanceOf(SuperCsvBindingException.class);
+        }
+        
+        List<String> messages = csvReader.getErrorMessages();
+        assertThat(messages).hasSize(1)
+            .contains("[2行, 6列] : 項目「date1」の値（2000/01/01 00:01:02）の書式は不正です。");
+        
+        csvReader.close();
+        
+    }
+    
+    /**
+     * 指定したカラムのみを読み込む場合
+     * <p>射影の対象外のカラムは、値が不正でもエラーにならない。</p>
+     * @since 2.3
+     */
+    @Test
+    public void testRead_project() throws IOException {
+        
+        final String text = "id,数字1,number2,string1,string2,date1,date2,enum1,列挙型2,boolean1,boolean2\r\n"
+                + "1,abc,10.2,abcd,1234567,,2000年02月03日,PURPLE,赤,yes,\r\n"
+                + "2,-12,,あいうえお,,2000-02-01 03:04:05,,BLUE,,false,×\r\n";
+        
+        CsvAnnotationBeanReader<SampleNormalBean> csvReader = new CsvAnnotationBeanReader<>(
+                SampleNormalBean.class,
+                new CsvTokenizer(new StringReader(text), CsvPreference.STANDARD_PREFERENCE),
+                CsvPreference.STANDARD_PREFERENCE,
+                DefaultGroup.class, SampleNormalBean.ReadGroup.class);
+        csvReader.setExceptionConverter(exceptionConverter);
+        
+        csvReader.project("id", "string1", "date2");
+        final BeanMappingCache<SampleNormalBean> projected = csvReader.beanMappingCache;
+        assertThat(projected.getProjectedFields()).hasValueSatisfying(fields -> assertThat(fields).containsExactly("id", "string1", "date2"));
+        
+        // 同じフィールドの組み合わせは、キャッシュを再利用する
+        csvReader.clearProjection();
+        assertThat(csvReader.beanMappingCache.getProjectedFields()).isEmpty();
+        csvReader.project("id", "string1", "date2");
+        assertThat(csvReader.beanMappingCache).isSameAs(projected);
+        
+        assertThat(csvReader.getHeader(true)).hasSize(11);
+        
+        SampleNormalBean bean1 = csvReader.read();
+        assertThat(bean1.getId()).isEqualTo(1);
+        assertThat(bean1.getString1()).isEqualTo("abcd");
+        assertThat(bean1.getDate2()).isEqualTo(toTimestamp(toDate(2000, 2, 3)));
+        assertThat(bean1.getNumber1()).isEqualTo(0);
+        assertThat(bean1.getNumber2()).isNull();
+        assertThat(bean1.getString2()).isNull();
+        assertThat(bean1.getEnum1()).isNull();
+        assertThat(bean1.getBoolean2()).isNull();
+        
+        // 射影の対象外のカラムは、バッチではnullとなる
+        ColumnBatch batch = csvReader.createColumnBatch(2);
+        assertThat(csvReader.readBatch(batch)).isEqualTo(1);
+        assertThat(batch.hasErrors()).isFalse();
+        assertThat(((ColumnBatch.IntVector)batch.getColumn("id")).getInt(0)).isEqualTo(2);
+        assertThat(batch.getColumn("string1").getObject(0)).isEqualTo("あいうえお");
+        assertThat(batch.getColumn("number1").isNull(0)).isTrue();
+        assertThat(batch.getColumn("enum1").isNull(0)).isTrue();
+        
+        assertThat(csvReader.read()).isNull();
+        assertThat(csvReader.getErrorMessages()).isEmpty();
+        
+        csvReader.close();
+        
+    }
+    
+    @CsvBean(header=true, validators=CsvBeanValidator.class)
+    public static class ProjectionValidationBean {
+        
+        @CsvColumn(number=1)
+        @NotNull
+        private Integer id;
+        
+        @CsvColumn(number=2)
+        @NotNull
+        private String name;
+        
+        public Integer getId() {
+            return id;
+        }
+        
+        public void setId(Integer id) {
+            this.id = id;
+        }
+        
+        public String getName() {
+            return name;
+        }
+        
+        public void setName(String name) {
+            this.name = name;
+        }
+        
+    }
+    
+    /**
+     * 射影した場合、対象外のフィールドに対する入力値検証のエラーは無視する
+     * @since 2.3
+     */
+    @Test
+    public void testRead_project_validation() throws IOException {
+        
+        final String text = "id,name\r\n"
+                + "1,abc\r\n"
+                + ",abc\r\n";
+        
+        CsvAnnotationBeanReader<ProjectionValidationBean> csvReader = new CsvAnnotationBeanReader<>(
+                ProjectionValidationBean.class,
+                new StringReader(text),
+                CsvPreference.STANDARD_PREFERENCE);
+        csvReader.setExceptionConverter(exceptionConverter);
+        
+        // 対象外のフィールドは値が設定されないため、レコードの入力値検証でもエラーとなる。
+        csvReader.addValidator((record, bindingErrors, validationContext) -> {
+            if(record.getName() == null) {
+                bindingErrors.rejectValue("name", "required");
+            }
+        });
+        
+        csvReader.project("id");
+        csvReader.getHeader(true);
+        
+        ProjectionValidationBean bean1 = csvReader.read();
+        assertThat(bean1.getId()).isEqualTo(1);
+        assertThat(bean1.getName()).isNull();
+        
+        // 対象のフィールドのエラーは通知する
+        try {
+            csvReader.read();
+            fail();
+        } catch(SuperCsvBindingException e) {
+            assertThat(e.getBindingErrors().getFieldErrors()).extracting(CsvFieldError::getField).containsExactly("id");
+            assertThat(e.getBindingErrors().hasGlobalErrors()).isFalse();
+        }
+        
+        csvReader.close();
+        
+        // 値の検証のみを行う場合
+        CsvAnnotationBeanReader<ProjectionValidationBean> csvReader2 = new CsvAnnotationBeanReader<>(
+                ProjectionValidationBean.class,
+                new StringReader(text),
+                CsvPreference.STANDARD_PREFERENCE);
+        csvReader2.project("id");
+        csvReader2.getHeader(true);
+        
+        assertThat(csvReader2.validate().hasErrors()).isFalse();
+        assertThat(csvReader2.validate().getFieldErrors()).extracting(CsvFieldError::getField).containsExactly("id");
+        
+        // 射影を解除した場合は、全てのフィールドを検証する
+        csvReader2.clearProjection();
+        assertThat(csvReader2.validate()).isNull();
+        
+        csvReader2.close();
+        
+    }
+    
+    /**
+     * 射影するフィールドが存在しない場合
+     * @since 2.3
+     */
+    @Test
+    public void testProject_unknownField() throws IOException {
+        
+        CsvAnnotationBeanReader<SampleNormalBean> csvReader = new CsvAnnotationBeanReader<>(
+                SampleNormalBean.class,
+                new StringReader(""),
+                CsvPreference.STANDARD_PREFERENCE);
+        
+        assertThatThrownBy(() -> csvReader.project("id", "unknown"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("unknown");
+        assertThat(csvReader.beanMappingCache.getProjectedFields()).isEmpty();
+        
+        csvReader.close();
+    }
+    
+    /**
+     * CsvTokenizer以外の場合は、CharSequenceのモードを有効にできない。
+     * @since 2.3
+     */
+    @Test(expected=IllegalStateException.class)
+    public void testSetCharSequenceMode_notCsvTokenizer() throws IOException {
+        
+        CsvAnnotationBeanReader<SampleNormalBean> csvReader = new CsvAnnotationBeanReader<>(
+                SampleNormalBean.class,
+                new StringReader(""),
+                CsvPreference.STANDARD_PREFERENCE);
+        
+        csvReader.setCharSequenceMode(true);
+        fail();
+    }
+    
+    /**
+     * 値の検証のみを行う場合
+     * @since 2.3
+     */
+    @Test
+    public void testValidate() throws IOException {
+        
+        File file = new File("src/test/data/test_read_error_wrong_pattern.csv");
+        
+        CsvAnnotationBeanReader<SampleNormalBean> csvReader = new CsvAnnotationBeanReader<>(
+                SampleNormalBean.class,
+                new InputStreamReader(new FileInputStream(file), Charset.forName("UTF-8")),
+                CsvPreference.STANDARD_PREFERENCE,
+                DefaultGroup.class, SampleNormalBean.ReadGroup.class);
+        csvReader.setExceptionConverter(exceptionConverter);
+        
+        csvReader.getHeader(true);
+        
+        CsvBindingErrors errors1 = csvReader.validate();
+        assertThat(errors1.hasErrors()).isTrue();
+        assertThat(errors1.getFieldErrors("date1")).hasSize(1);
+        
+        CsvBindingErrors errors2 = csvReader.validate();
+        assertThat(errors2.hasErrors()).isFalse();
+        
+        assertThat(csvReader.validate()).isNull();
+        assertThat(csvReader.getRowNumber()).isEqualTo(3);
+        
+        // エラーメッセージは追加されない
+        assertThat(csvReader.getErrorMessages()).isEmpty();
+        
+        csvReader.close();
+        
+    }
+    
+    /**
+     * 全件の値の検証のみを行う場合
+     * @since 2.3
+     */
+    @Test
+    public void testValidateAll() throws IOException {
+        
+        String text = "id,数字1,number2,string1,string2,date1,date2,enum1,列挙型2,boolean1,boolean2\n"
+                + "1,\"999,110\",10.2,abcd,12345,2000/01/01 00:01:02,2000年02月03日,RED,赤,true,\n"
+                + "2,-12\n"
+                + "3,-12,,あいうえお,,2000-02-01 03:04:05,,BLUE,,false,×\n";
+        
+        CsvAnnotationBeanReader<SampleNormalBean> csvReader = new CsvAnnotationBeanReader<>(
+                SampleNormalBean.class,
+                new StringReader(text),
+                CsvPreference.STANDARD_PREFERENCE,
+                DefaultGroup.class, SampleNormalBean.ReadGroup.class);
+        csvReader.setExceptionConverter(exceptionConverter);
+        
+        List<Integer> errorLines = new ArrayList<>();
+        List<String> messages = new ArrayList<>();
+        int errorCount = csvReader.validateAll((context, errors) -> {
+            errorLines.add(context.getLineNumber());
+            errors.getAllErrors().forEach(error -> messages.add(
+                    error.format(exceptionConverter.getMessageResolver(), exceptionConverter.getMessageInterpolator())));
+        });
+        
+        assertThat(errorCount).isEqualTo(2);
+        assertThat(errorLines).containsExactly(2, 3);
+        assertThat(messages).hasSize(2)
+            .contains("[2行, 6列] : 項目「date1」の値（2000/01/01 00:01:02）の書式は不正です。");
+        
+        csvReader.close();
+        
+    }
+    
+    /**
+     * Beanを作成せずにカラムごとに読み込む場合
+     * @since 2.3
+     */
+    @Test
+    public void testReadBatch() throws IOException {
+        
+        File file = new File("src/test/data/test_read_normal.csv");
+        
+        CsvAnnotationBeanReader<SampleNormalBean> csvReader = new CsvAnnotationBeanReader<>(
+                SampleNormalBean.class,
+                new InputStreamReader(new FileInputStream(file), Charset.forName("UTF-8")),
+                CsvPreference.STANDARD_PREFERENCE,
+                DefaultGroup.class, SampleNormalBean.ReadGroup.class);
+        csvReader.setExceptionConverter(exceptionConverter);
+        
+        csvReader.getHeader(true);
+        
+        ColumnBatch batch = csvReader.createColumnBatch(1);
+        assertThat(batch.getColumnCount()).isEqualTo(11);
+        assertThat(batch.getColumn(1)).isInstanceOf(ColumnBatch.IntVector.class);
+        assertThat(batch.getColumn("number2")).isInstanceOf(ColumnBatch.DoubleVector.class);
+        assertThat(batch.getColumn("string1")).isInstanceOf(ColumnBatch.ObjectVector.class);
+        
+        {
+            assertThat(csvReader.readBatch(batch)).isEqualTo(1);
+            assertThat(batch.isFull()).isTrue();
+            assertThat(batch.hasErrors()).isFalse();
+            assertThat(batch.getLineNumber(0)).isEqualTo(2);
+            assertThat(batch.getRowNumber(0)).isEqualTo(2);
+            
+            assertThat(((ColumnBatch.IntVector)batch.getColumn("id")).getInt(0)).isEqualTo(1);
+            assertThat(((ColumnBatch.IntVector)batch.getColumn("number1")).getInt(0)).isEqualTo(999110);
+            assertThat(((ColumnBatch.DoubleVector)batch.getColumn("number2")).getDouble(0)).isEqualTo(10.2);
+            assertThat(batch.getColumn("string1").getObject(0)).isEqualTo("abcd");
+            assertThat(batch.getColumn("enum1").getObject(0)).isEqualTo(SampleEnum.RED);
+        }
+        
+        {
+            assertThat(csvReader.readBatch(batch)).isEqualTo(1);
+            assertThat(batch.getRowNumber(0)).isEqualTo(3);
+            
+            assertThat(((ColumnBatch.IntVector)batch.getColumn("number1")).getInt(0)).isEqualTo(-12);
+            assertThat(batch.getColumn("number2").isNull(0)).isTrue();
+            assertThat(batch.getColumn("number2").getObject(0)).isNull();
+            assertThat(batch.getColumn("boolean2").getObject(0)).isEqualTo(false);
+        }
+        
+        assertThat(csvReader.readBatch(batch)).isEqualTo(0);
+        assertThat(batch.isEmpty()).isTrue();
+        assertThat(csvReader.getErrorMessages()).hasSize(0);
+        
+        csvReader.close();
+        
+    }
+    
+    /**
+     * Beanを作成せずにカラムごとに読み込む場合 - 書式の不正
+     * @since 2.3
+     */
+    @Test
+    public void testReadBatch_error_wrong_pattern() throws IOException {
+        
+        File file = new File("src/test/data/test_read_error_wrong_pattern.csv");
+        
+        for(boolean charSequenceMode : new boolean[]{false, true}) {
+            
+            CsvAnnotationBeanReader<SampleNormalBean> csvReader = new CsvAnnotationBeanReader<>(
+                    SampleNormalBean.class,
+                    new CsvTokenizer(new InputStreamReader(new FileInputStream(file), Charset.forName("UTF-8")),
+                            CsvPreference.STANDARD_PREFERENCE),
+                    CsvPreference.STANDARD_PREFERENCE,
+                    DefaultGroup.class, SampleNormalBean.ReadGroup.class);
+            csvReader.setExceptionConverter(exceptionConverter);
+            csvReader.setCharSequenceMode(charSequenceMode);
+            
+            csvReader.getHeader(true);
+            
+            ColumnBatch batch = csvReader.createColumnBatch(10);
+            
+            // エラーがあっても例外はスローされない
+            assertThat(csvReader.readBatch(batch)).isEqualTo(2);
+            assertThat(batch.hasErrors()).isTrue();
+            assertThat(batch.getErrorRowIndexes()).containsExactly(0);
+            assertThat(batch.hasErrors(1)).isFalse();
+            
+            assertThat(batch.getBindingErrors(0).getFieldErrors("date1")).hasSize(1);
+            assertThat(batch.getColumn("date1").isNull(0)).isTrue();
+            assertThat(batch.getColumn("date1").isNull(1)).isFalse();
+            assertThat(((ColumnBatch.IntVector)batch.getColumn("id")).getInt(0)).isEqualTo(1);
+            
+            // エラー情報の作成時に、元の値を参照する
+            List<String> messages = csvReader.getErrorMessages();
+            assertThat(messages).hasSize(1)
+                .contains("[2行, 6列] : 項目「date1」の値（2000/01/01 00:01:02）の書式は不正です。");
+            
+            csvReader.close();
+        }
+        
+    }
+    
     /**
      * 全件読み込み（正常系のテスト）
      */
@@ -4,7 +4,9 @@ import static org.junit.Assert.*;
 import static org.assertj.core.api.Assertions.*;
 import static com.github.mygreen.supercsv.tool.TestUtils.*;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
 import java.io.StringWriter;
 import java.nio.charset.Charset;
 import java.time.LocalDate;
@@ -26,7 +28,7 @@ import com.github.mygreen.supercsv.validation.CsvExceptionConverter;
 /**
  * {@link CsvAnnotationBeanReader}のテスタ
  *
- * @version 2.1
+ * @version 2.3
  * @since 1.2
  * @author T.TSUCHIE
  *
@@ -480,6 +482,97 @@ public class CsvAnnotationBeanWriterTest {
         csvWriter.close();
     }
     
+    /**
+     * 書き込みのテスト - OutputStreamを指定した場合
+     * <p>Writerを指定した場合と、同じ内容を出力する。</p>
+     */
+    @Test
+    public void testWrite_outputStream() throws IOException {
+        
+        // テストデータの作成
+        final List<SampleNormalBean> list = createNormalData();
+        list.get(0).setString1("a\r\nb,\"c\"");
+        
+        for(Charset charset : new Charset[]{Charset.forName("UTF-8"), Charset.forName("Windows-31J")}) {
+            
+            ByteArrayOutputStream expected = new ByteArrayOutputStream();
+            List<Integer> expectedLines = new ArrayList<>();
+            try(CsvAnnotationBeanWriter<SampleNormalBean> csvWriter = new CsvAnnotationBeanWriter<>(
+                    SampleNormalBean.class,
+                    new OutputStreamWriter(expected, charset),
+                    CsvPreference.STANDARD_PREFERENCE,
+                    DefaultGroup.class, SampleNormalBean.WriteGroup.class)) {
+                
+                csvWriter.writeHeader();
+                csvWriter.writeComment("#コメント");
+                for(SampleNormalBean item : list) {
+                    csvWriter.write(item);
+                    expectedLines.add(csvWriter.getLineNumber());
+                }
+            }
+            
+            ByteArrayOutputStream actual = new ByteArrayOutputStream();
+            List<Integer> actualLines = new ArrayList<>();
+            try(CsvAnnotationBeanWriter<SampleNormalBean> csvWriter = new CsvAnnotationBeanWriter<>(
+                    SampleNormalBean.class,
+                    actual, charset,
+                    CsvPreference.STANDARD_PREFERENCE,
+                    DefaultGroup.class, SampleNormalBean.WriteGroup.class)) {
+                
+                csvWriter.writeHeader();
+                csvWriter.writeComment("#コメント");
+                for(SampleNormalBean item : list) {
+                    csvWriter.write(item);
+                    actualLines.add(csvWriter.getLineNumber());
+                }
+            }
+            
+            assertThat(new String(actual.toByteArray(), charset)).isEqualTo(new String(expected.toByteArray(), charset));
+            assertThat(actual.toByteArray()).isEqualTo(expected.toByteArray());
+            assertThat(actualLines).isEqualTo(expectedLines);
+        }
+        
+    }
+    
+    /**
+     * 書き込みのテスト - 指定したカラムのみを書き込む場合
+     * <p>射影の対象外のカラムは、値が必須でも空の値を出力する。</p>
+     */
+    @Test
+    public void testWrite_project() throws IOException {
+        
+        // テストデータの作成
+        final List<SampleNormalBean> list = createNormalData();
+        list.get(0).setDate1(null);
+        
+        StringWriter strWriter = new StringWriter();
+        CsvAnnotationBeanWriter<SampleNormalBean> csvWriter = new CsvAnnotationBeanWriter<>(
+                SampleNormalBean.class,
+                strWriter,
+                CsvPreference.STANDARD_PREFERENCE,
+                DefaultGroup.class, SampleNormalBean.WriteGroup.class);
+        csvWriter.setExceptionConverter(exceptionConverter);
+        
+        csvWriter.project("id", "number1", "enum2");
+        csvWriter.writeAll(list);
+        
+        // 射影を解除すると、全てのカラムを書き込む
+        csvWriter.clearProjection();
+        try {
+            csvWriter.write(list.get(0));
+            throw new AssertionError("should be thrown SuperCsvBindingException.");
+        } catch(SuperCsvBindingException e) {
+            assertThat(csvWriter.getErrorMessages()).isNotEmpty();
+        }
+        
+        csvWriter.close();
+        
+        assertThat(strWriter.toString()).startsWith("id,数字1,number2,string1,string2,date1,date2,enum1,列挙型2,boolean1,boolean2\r\n"
+                + "1,\"999,110\",,,,,,,赤,,\r\n"
+                + "2,-12,,,,,,,,,\r\n");
+        
+    }
+    
     /**
      * 書き込み用のデータを作成する
      * @return
@@ -0,0 +1,207 @@
+package com.github.mygreen.supercsv.io;
+
+import static org.junit.Assert.*;
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.supercsv.prefs.CsvPreference;
+
+import com.github.mygreen.supercsv.annotation.CsvBean;
+import com.github.mygreen.supercsv.annotation.CsvColumn;
+import com.github.mygreen.supercsv.annotation.constraint.CsvUnique;
+import com.github.mygreen.supercsv.annotation.constraint.CsvUniqueHashCode;
+import com.github.mygreen.supercsv.exception.SuperCsvBindingException;
+
+/**
+ * {@link CsvCheckpoint}と{@link CsvCheckpointReaderFactory}のテスタ。
+ *
+ * @since 2.3
+ * @author T.TSUCHIE
+ *
+ */
+public class CsvCheckpointTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @CsvBean(header=true)
+    public static class CheckpointBean {
+
+        @CsvColumn(number=1)
+        @CsvUniqueHashCode
+        private int id;
+
+        @CsvColumn(number=2)
+        @CsvUnique
+        private String name;
+
+        public int getId() {
+            return id;
+        }
+
+        public void setId(int id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+    }
+
+    /**
+     * 値の重複や改行を含むデータを作成する。
+     */
+    private Path createFile(final Charset charset) throws IOException {
+
+        final StringBuilder text = new StringBuilder();
+        text.append("id,name\r\n");
+        for(int i=1; i <= 60; i++) {
+            final int id = (i % 17 == 0) ? i - 10 : i;
+            final String name = (i % 11 == 0) ? "名前" + (i - 9) : "名前" + i;
+            if(i % 6 == 0) {
+                text.append(id).append(",\"").append(name).append("\r\n続き\"\r\n");
+            } else if(i % 4 == 0) {
+                text.append(id).append(",").append(name).append("\r\n\r\n");
+            } else {
+                text.append(id).append(",").append(name).append(i % 2 == 0 ? "\n" : "\r\n");
+            }
+        }
+
+        final Path file = tempFolder.newFile().toPath();
+        Files.write(file, text.toString().getBytes(charset));
+        return file;
+    }
+
+    /**
+     * レコードを読み込み、行番号、レコード番号と、値またはエラーメッセージを記録する。
+     */
+    private List<String> readAll(final CsvAnnotationBeanReader<CheckpointBean> reader) throws IOException {
+
+        final List<String> results = new ArrayList<>();
+        while(true) {
+            final int errorSize = reader.getErrorMessages().size();
+            try {
+                final CheckpointBean bean = reader.read();
+                if(bean == null) {
+                    break;
+                }
+                results.add(String.format("%d:%d:%d:%s", reader.getLineNumber(), reader.getRowNumber(), bean.getId(), bean.getName()));
+
+            } catch(SuperCsvBindingException e) {
+                results.add(String.format("%d:%d:%s", reader.getLineNumber(), reader.getRowNumber(),
+                        reader.getErrorMessages().subList(errorSize, reader.getErrorMessages().size())));
+            }
+        }
+
+        return results;
+    }
+
+    private CsvCheckpoint serialize(final CsvCheckpoint checkpoint) throws IOException, ClassNotFoundException {
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try(ObjectOutputStream oos = new ObjectOutputStream(out)) {
+            oos.writeObject(checkpoint);
+        }
+
+        try(ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            return (CsvCheckpoint) ois.readObject();
+        }
+    }
+
+    @Test
+    public void testResume() throws Exception {
+
+        for(String charsetName : new String[]{"UTF-8", "Windows-31J"}) {
+
+            final Charset charset = Charset.forName(charsetName);
+            final Path file = createFile(charset);
+            final CsvCheckpointReaderFactory<CheckpointBean> factory = new CsvCheckpointReaderFactory<>(
+                    CheckpointBean.class, file, charset, CsvPreference.STANDARD_PREFERENCE);
+
+            // 中断しない場合
+            final List<String> expected;
+            final List<CsvCheckpoint> checkpoints = new ArrayList<>();
+            try(CsvAnnotationBeanReader<CheckpointBean> reader = factory.open()) {
+                reader.getHeader(true);
+                reader.setCheckpointListener(7, checkpoints::add);
+                expected = readAll(reader);
+            }
+
+            assertThat(expected).hasSize(60);
+            assertThat(expected.stream().anyMatch(result -> result.contains("["))).isTrue(); // 重複エラーを含む
+            assertThat(checkpoints).hasSize(8);
+
+            // 各チェックポイントから再開する
+            for(CsvCheckpoint checkpoint : checkpoints) {
+                final CsvCheckpoint restored = serialize(checkpoint);
+                assertThat(restored.getProcessorStates()).containsOnlyKeys("1:0", "2:0");
+
+                try(CsvAnnotationBeanReader<CheckpointBean> reader = factory.resume(restored)) {
+                    assertThat(reader.getRowNumber()).isEqualTo(checkpoint.getRowNumber());
+                    assertThat(reader.getLineNumber()).isEqualTo(checkpoint.getLineNumber());
+
+                    final List<String> actual = readAll(reader);
+                    assertThat(actual).as("%s : %s", charsetName, checkpoint)
+                        .containsExactlyElementsOf(expected.subList(checkpoint.getRowNumber() - 1, expected.size()));
+                }
+            }
+        }
+
+    }
+
+    @Test
+    public void testCreateCheckpoint_onDemand() throws Exception {
+
+        final Charset charset = Charset.forName("UTF-8");
+        final Path file = createFile(charset);
+        final CsvCheckpointReaderFactory<CheckpointBean> factory = new CsvCheckpointReaderFactory<>(
+                CheckpointBean.class, file, charset, CsvPreference.STANDARD_PREFERENCE);
+
+        final CsvCheckpoint checkpoint;
+        try(CsvAnnotationBeanReader<CheckpointBean> reader = factory.open()) {
+            checkpoint = reader.createCheckpoint();
+            assertThat(checkpoint.getByteOffset()).isEqualTo(0L);
+            assertThat(checkpoint.getRowNumber()).isEqualTo(0);
+        }
+
+        // ヘッダーの読み込み前から再開する
+        try(CsvAnnotationBeanReader<CheckpointBean> reader = factory.resume(checkpoint)) {
+            assertThat(reader.getHeader(true)).containsExactly("id", "name");
+            assertThat(reader.read().getId()).isEqualTo(1);
+        }
+
+    }
+
+    @Test
+    public void testCreateCheckpoint_notSupported() throws Exception {
+
+        try(CsvAnnotationBeanReader<CheckpointBean> reader = new CsvAnnotationBeanReader<>(
+                CheckpointBean.class, new java.io.StringReader("id,name\n"), CsvPreference.STANDARD_PREFERENCE)) {
+            reader.createCheckpoint();
+            fail();
+
+        } catch(IllegalStateException e) {
+            assertThat(e.getMessage()).contains(CsvTokenizer.class.getName());
+        }
+
+    }
+
+}
@@ -0,0 +1,256 @@
+package com.github.mygreen.supercsv.io;
+
+import static org.junit.Assert.*;
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.supercsv.exception.SuperCsvException;
+import org.supercsv.prefs.CsvPreference;
+
+import com.github.mygreen.supercsv.annotation.CsvBean;
+import com.github.mygreen.supercsv.annotation.CsvColumn;
+import com.github.mygreen.supercsv.annotation.constraint.CsvUnique;
+import com.github.mygreen.supercsv.exception.SuperCsvBindingException;
+import com.github.mygreen.supercsv.exception.SuperCsvNoMatchHeaderException;
+
+/**
+ * {@link CsvMultiFileReader}のテスタ。
+ *
+ * @since 2.3
+ * @author T.TSUCHIE
+ *
+ */
+public class CsvMultiFileReaderTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private static final Charset CHARSET = Charset.forName("UTF-8");
+
+    private Path dir;
+
+    @CsvBean(header=true, validateHeader=true)
+    public static class MultiFileBean {
+
+        @CsvColumn(number=1)
+        @CsvUnique
+        private int id;
+
+        @CsvColumn(number=2)
+        private String name;
+
+        public int getId() {
+            return id;
+        }
+
+        public void setId(int id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        this.dir = tempFolder.newFolder().toPath();
+    }
+
+    /**
+     * 連番のIDのレコードを持つファイルを作成する。
+     */
+    private Path createFile(final String name, final int startId, final int size) throws IOException {
+
+        final StringBuilder text = new StringBuilder("id,name\n");
+        for(int i=0; i < size; i++) {
+            text.append(startId + i).append(",name").append(startId + i).append("\n");
+        }
+
+        final Path file = dir.resolve(name);
+        Files.write(file, text.toString().getBytes(CHARSET));
+        return file;
+    }
+
+    /**
+     * 全てのレコードを読み込み、IDを取得する。エラーの場合は、-1とする。
+     */
+    private List<Integer> readAll(final CsvMultiFileReader<MultiFileBean> reader) throws IOException {
+
+        final List<Integer> result = new ArrayList<>();
+        while(true) {
+            try {
+                final MultiFileBean bean = reader.read();
+                if(bean == null) {
+                    break;
+                }
+                result.add(bean.getId());
+
+            } catch(SuperCsvException e) {
+                result.add(-1);
+            }
+        }
+
+        return result;
+    }
+
+    @Test
+    public void testRead_ordered() throws Exception {
+
+        createFile("part-0001.csv", 1, 300);
+        createFile("part-0002.csv", 301, 200);
+        createFile("part-0003.csv", 501, 500);
+        createFile("other.csv", 1, 1);
+
+        final List<Path> files = CsvMultiFileReader.findFiles(dir, "part-*.csv");
+        assertThat(files).extracting(file -> file.getFileName().toString())
+            .containsExactly("part-0001.csv", "part-0002.csv", "part-0003.csv");
+
+        try(CsvMultiFileReader<MultiFileBean> reader = new CsvMultiFileReader<>(
+                MultiFileBean.class, files, CHARSET, CsvPreference.STANDARD_PREFERENCE)) {
+            reader.setParallelism(2);
+            reader.setOrdered(true);
+            reader.setQueueSize(10);
+
+            final List<Integer> actual = new ArrayList<>();
+            MultiFileBean bean;
+            while((bean = reader.read()) != null) {
+                actual.add(bean.getId());
+                if(bean.getId() == 301) {
+                    assertThat(reader.getCurrentFile().getFileName().toString()).isEqualTo("part-0002.csv");
+                    assertThat(reader.getLineNumber()).isEqualTo(2);
+                    assertThat(reader.getRowNumber()).isEqualTo(2);
+                }
+            }
+
+            assertThat(actual).hasSize(1000);
+            for(int i=0; i < actual.size(); i++) {
+                assertThat(actual.get(i)).isEqualTo(i + 1);
+            }
+
+            assertThat(reader.getErrorMessages()).isEmpty();
+            assertThatThrownBy(() -> reader.setParallelism(1)).isInstanceOf(IllegalStateException.class);
+        }
+
+    }
+
+    @Test
+    public void testRead_unordered() throws Exception {
+
+        final List<Path> files = Arrays.asList(
+                createFile("part-0001.csv", 1, 500),
+                createFile("part-0002.csv", 501, 500),
+                createFile("part-0003.csv", 1001, 500));
+
+        try(CsvMultiFileReader<MultiFileBean> reader = new CsvMultiFileReader<>(
+                MultiFileBean.class, files, CHARSET, CsvPreference.STANDARD_PREFERENCE)) {
+            reader.setParallelism(3);
+            reader.setQueueSize(16);
+
+            final List<Integer> actual = readAll(reader);
+            assertThat(actual).hasSize(1500).doesNotHaveDuplicates().doesNotContain(-1);
+        }
+
+    }
+
+    @Test
+    public void testRead_error() throws Exception {
+
+        final Path file1 = createFile("part-0001.csv", 1, 10);
+        final Path file2 = createFile("part-0002.csv", 5, 10); // 5-10が重複
+
+        final Path file3 = dir.resolve("part-0003.csv");
+        Files.write(file3, "no,name\n100,abc\n".getBytes(CHARSET)); // ヘッダー不正
+
+        final Path file4 = dir.resolve("part-0004.csv");
+        Files.write(file4, "id,name\nabc,def\n".getBytes(CHARSET)); // 値が不正
+
+        try(CsvMultiFileReader<MultiFileBean> reader = new CsvMultiFileReader<>(
+                MultiFileBean.class, Arrays.asList(file1, file2, file3, file4), CHARSET, CsvPreference.STANDARD_PREFERENCE)) {
+            reader.setParallelism(4);
+            reader.setOrdered(true);
+
+            // 重複したレコード（後で読み込まれた方）は、いずれか一方のみエラーとなる
+            final List<Integer> ids = new ArrayList<>();
+            int uniqueErrorCount = 0;
+            int headerErrorCount = 0;
+            int bindingErrorCount = 0;
+            while(true) {
+                try {
+                    final MultiFileBean bean = reader.read();
+                    if(bean == null) {
+                        break;
+                    }
+                    ids.add(bean.getId());
+
+                } catch(SuperCsvNoMatchHeaderException e) {
+                    headerErrorCount++;
+                    assertThat(reader.getCurrentFile()).isEqualTo(file3);
+
+                } catch(SuperCsvBindingException e) {
+                    if(reader.getCurrentFile().equals(file4)) {
+                        bindingErrorCount++;
+                    } else {
+                        uniqueErrorCount++;
+                    }
+                }
+            }
+
+            assertThat(ids).hasSize(14).doesNotHaveDuplicates();
+            assertThat(uniqueErrorCount).isEqualTo(6);
+            assertThat(headerErrorCount).isEqualTo(1);
+            assertThat(bindingErrorCount).isEqualTo(1);
+
+            assertThat(reader.getErrorMessages()).hasSize(8);
+            assertThat(reader.getErrorMessages()).filteredOn(message -> message.startsWith("[part-0003.csv] ")).hasSize(1);
+            assertThat(reader.getErrorMessages()).filteredOn(message -> message.startsWith("[part-0004.csv] ")).hasSize(1);
+            assertThat(reader.getErrorMessagesByFile()).containsKeys(file3, file4);
+            assertThat(reader.getErrorMessagesByFile().get(file3).get(0)).doesNotStartWith("[part-0003.csv]").contains("ヘッダー");
+        }
+
+    }
+
+    @Test
+    public void testRead_notFoundFile() throws Exception {
+
+        final Path file1 = createFile("part-0001.csv", 1, 10);
+        final Path file2 = dir.resolve("part-0002.csv");
+
+        try(CsvMultiFileReader<MultiFileBean> reader = new CsvMultiFileReader<>(
+                MultiFileBean.class, Arrays.asList(file1, file2), CHARSET, CsvPreference.STANDARD_PREFERENCE)) {
+            reader.setOrdered(true);
+
+            int count = 0;
+            try {
+                while(reader.read() != null) {
+                    count++;
+                }
+                fail();
+
+            } catch(IOException e) {
+                assertThat(reader.getCurrentFile()).isEqualTo(file2);
+            }
+
+            assertThat(count).isEqualTo(10);
+            assertThat(reader.read()).isNull();
+        }
+
+    }
+
+}
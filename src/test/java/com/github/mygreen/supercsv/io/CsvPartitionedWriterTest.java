@@ -0,0 +1,299 @@
+package com.github.mygreen.supercsv.io;
+
+import static org.junit.Assert.*;
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.supercsv.exception.SuperCsvException;
+import org.supercsv.prefs.CsvPreference;
+
+import com.github.mygreen.supercsv.annotation.CsvBean;
+import com.github.mygreen.supercsv.annotation.CsvColumn;
+import com.github.mygreen.supercsv.annotation.constraint.CsvRequire;
+import com.github.mygreen.supercsv.validation.CsvBindingErrors;
+import com.github.mygreen.supercsv.validation.CsvValidator;
+import com.github.mygreen.supercsv.validation.ValidationContext;
+
+/**
+ * {@link CsvPartitionedWriter}のテスタ。
+ *
+ * @since 2.3
+ * @author T.TSUCHIE
+ *
+ */
+public class CsvPartitionedWriterTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @CsvBean(header=true)
+    public static class PartitionBean {
+
+        @CsvColumn(number=1)
+        private int id;
+
+        @CsvColumn(number=2)
+        private String category;
+
+        @CsvColumn(number=3)
+        @CsvRequire
+        private String name;
+
+        public PartitionBean() {
+        }
+
+        public PartitionBean(int id, String category, String name) {
+            this.id = id;
+            this.category = category;
+            this.name = name;
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        public void setId(int id) {
+            this.id = id;
+        }
+
+        public String getCategory() {
+            return category;
+        }
+
+        public void setCategory(String category) {
+            this.category = category;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+    }
+
+    /**
+     * ワーカーのスレッドで、{@link Error}をスローするBean。
+     */
+    @CsvBean(header=true, validators=ErrorValidator.class)
+    public static class ErrorBean {
+
+        @CsvColumn(number=1)
+        private int id;
+
+        @CsvColumn(number=2)
+        private String category;
+
+        public ErrorBean() {
+        }
+
+        public ErrorBean(int id, String category) {
+            this.id = id;
+            this.category = category;
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        public String getCategory() {
+            return category;
+        }
+
+    }
+
+    public static class ErrorValidator implements CsvValidator<ErrorBean> {
+
+        @Override
+        public void validate(final ErrorBean record, final CsvBindingErrors bindingErrors,
+                final ValidationContext<ErrorBean> validationContext) {
+            throw new AssertionError("error in the worker.");
+        }
+
+    }
+
+    private List<String> readLines(final Path file) throws IOException {
+        try(BufferedReader reader = new BufferedReader(new InputStreamReader(
+                GzipSupport.newInputStream(file), StandardCharsets.UTF_8))) {
+            final List<String> lines = new ArrayList<>();
+            String line;
+            while((line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+            return lines;
+        }
+    }
+
+    private String template(final String pattern) {
+        return tempFolder.getRoot().toPath().resolve(pattern).toString();
+    }
+
+    @Test
+    public void testWrite_partitionByKey() throws IOException {
+
+        try(CsvPartitionedWriter<PartitionBean> writer = new CsvPartitionedWriter<>(PartitionBean.class,
+                PartitionBean::getCategory, template("{key}/data.csv"), StandardCharsets.UTF_8, CsvPreference.STANDARD_PREFERENCE)) {
+            writer.setParallelism(2);
+
+            for(int i=1; i <= 300; i++) {
+                writer.write(new PartitionBean(i, "c" + (i % 3), "name" + i));
+            }
+
+            writer.flush();
+            assertThat(writer.getWrittenFiles()).hasSize(3);
+        }
+
+        for(int k=0; k < 3; k++) {
+            final List<String> lines = readLines(tempFolder.getRoot().toPath().resolve("c" + k).resolve("data.csv"));
+            assertThat(lines).hasSize(101);
+            assertThat(lines.get(0)).isEqualTo("id,category,name");
+
+            // 書き込んだ順に出力される
+            int expected = k == 0 ? 3 : k;
+            for(String line : lines.subList(1, lines.size())) {
+                assertThat(line).isEqualTo(String.format("%d,c%d,name%d", expected, k, expected));
+                expected += 3;
+            }
+        }
+
+    }
+
+    @Test
+    public void testWrite_rollingByRows() throws IOException {
+
+        try(CsvPartitionedWriter<PartitionBean> writer = new CsvPartitionedWriter<>(PartitionBean.class,
+                PartitionBean::getCategory, template("{key}-{part}.csv"), StandardCharsets.UTF_8, CsvPreference.STANDARD_PREFERENCE)) {
+            writer.setMaxRowsPerFile(40);
+
+            for(int i=1; i <= 100; i++) {
+                writer.write(new PartitionBean(i, "a", "name" + i));
+            }
+        }
+
+        final Path dir = tempFolder.getRoot().toPath();
+        assertThat(readLines(dir.resolve("a-0.csv"))).hasSize(41).startsWith("id,category,name", "1,a,name1");
+        assertThat(readLines(dir.resolve("a-1.csv"))).hasSize(41).startsWith("id,category,name", "41,a,name41");
+        assertThat(readLines(dir.resolve("a-2.csv"))).hasSize(21).startsWith("id,category,name", "81,a,name81");
+        assertThat(Files.exists(dir.resolve("a-3.csv"))).isFalse();
+
+        // {part}を含まない場合
+        final CsvPartitionedWriter<PartitionBean> writer = new CsvPartitionedWriter<>(PartitionBean.class,
+                PartitionBean::getCategory, template("{key}.csv"), StandardCharsets.UTF_8, CsvPreference.STANDARD_PREFERENCE);
+        writer.setMaxBytesPerFile(1024);
+        assertThatThrownBy(() -> writer.write(new PartitionBean(1, "a", "name")))
+            .isInstanceOf(IllegalStateException.class);
+
+    }
+
+    @Test
+    public void testWrite_maxOpenFiles() throws IOException {
+
+        try(CsvPartitionedWriter<PartitionBean> writer = new CsvPartitionedWriter<>(PartitionBean.class,
+                PartitionBean::getCategory, template("{key}.csv.gz"), StandardCharsets.UTF_8, CsvPreference.STANDARD_PREFERENCE)) {
+            writer.setParallelism(1);
+            writer.setMaxOpenFiles(2);
+
+            // 開いているファイルを閉じては、追記で開き直す
+            for(int i=1; i <= 500; i++) {
+                writer.write(new PartitionBean(i, "k" + (i % 5), "name" + i));
+            }
+        }
+
+        for(int k=0; k < 5; k++) {
+            final List<String> lines = readLines(tempFolder.getRoot().toPath().resolve("k" + k + ".csv.gz"));
+            assertThat(lines).hasSize(101);
+            assertThat(lines).filteredOn(line -> line.startsWith("id,")).hasSize(1);
+            assertThat(lines.get(1)).isEqualTo(String.format("%d,k%d,name%d", k == 0 ? 5 : k, k, k == 0 ? 5 : k));
+        }
+
+        // gzip形式で圧縮されている
+        try(GZIPInputStream in = new GZIPInputStream(Files.newInputStream(tempFolder.getRoot().toPath().resolve("k1.csv.gz")))) {
+            assertThat(in.read()).isEqualTo('i');
+        }
+
+    }
+
+    @Test
+    public void testWrite_error() throws IOException {
+
+        // エラーのレコードを読み飛ばす場合
+        try(CsvPartitionedWriter<PartitionBean> writer = new CsvPartitionedWriter<>(PartitionBean.class,
+                PartitionBean::getCategory, template("{key}.csv"), StandardCharsets.UTF_8, CsvPreference.STANDARD_PREFERENCE)) {
+            writer.setContinueOnError(true);
+
+            writer.write(new PartitionBean(1, "ok", "name1"));
+            writer.write(new PartitionBean(2, "ok", null));
+            writer.write(new PartitionBean(3, "ok", "name3"));
+            writer.flush();
+
+            assertThat(writer.getErrorMessages()).hasSize(1);
+            assertThat(writer.getErrorMessages().get(0)).startsWith("[ok.csv] ");
+        }
+
+        assertThat(readLines(tempFolder.getRoot().toPath().resolve("ok.csv")))
+            .containsExactly("id,category,name", "1,ok,name1", "3,ok,name3");
+
+        // 不正なキー
+        try(CsvPartitionedWriter<PartitionBean> writer = new CsvPartitionedWriter<>(PartitionBean.class,
+                PartitionBean::getCategory, template("{key}.csv"), StandardCharsets.UTF_8, CsvPreference.STANDARD_PREFERENCE)) {
+            assertThatThrownBy(() -> writer.write(new PartitionBean(1, "../ng", "name")))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        // エラーで中断する場合
+        final CsvPartitionedWriter<PartitionBean> writer = new CsvPartitionedWriter<>(PartitionBean.class,
+                PartitionBean::getCategory, template("{key}-stop.csv"), StandardCharsets.UTF_8, CsvPreference.STANDARD_PREFERENCE);
+        writer.write(new PartitionBean(1, "ng", null));
+
+        try {
+            writer.close();
+            fail();
+
+        } catch(SuperCsvException e) {
+            assertThat(writer.getErrorMessages()).hasSize(1);
+        }
+
+    }
+
+    /**
+     * ワーカーで{@link Error}が発生した場合
+     * <p>キューの空きや、フラッシュの完了を待ち続けない。</p>
+     */
+    @Test(timeout=10000L)
+    public void testWrite_errorInWorker() throws IOException {
+
+        final CsvPartitionedWriter<ErrorBean> writer = new CsvPartitionedWriter<>(ErrorBean.class,
+                ErrorBean::getCategory, template("{key}-error.csv"), StandardCharsets.UTF_8, CsvPreference.STANDARD_PREFERENCE);
+        writer.setParallelism(1);
+        writer.setQueueSize(1);
+
+        assertThatThrownBy(() -> {
+            for(int i=1; i <= 100; i++) {
+                writer.write(new ErrorBean(i, "ng"));
+            }
+            writer.flush();
+        }).isInstanceOf(SuperCsvException.class).hasCauseInstanceOf(AssertionError.class);
+
+        assertThatThrownBy(() -> writer.flush())
+            .isInstanceOf(SuperCsvException.class).hasCauseInstanceOf(AssertionError.class);
+
+        assertThatThrownBy(() -> writer.close())
+            .isInstanceOf(SuperCsvException.class).hasCauseInstanceOf(AssertionError.class);
+
+    }
+
+}
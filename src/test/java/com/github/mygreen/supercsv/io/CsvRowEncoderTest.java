@@ -0,0 +1,205 @@
+package com.github.mygreen.supercsv.io;
+
+import static org.junit.Assert.*;
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+import org.supercsv.encoder.SelectiveCsvEncoder;
+import org.supercsv.io.CsvListWriter;
+import org.supercsv.prefs.CsvPreference;
+import org.supercsv.quote.AlwaysQuoteMode;
+import org.supercsv.quote.ColumnQuoteMode;
+import org.supercsv.quote.QuoteMode;
+import org.supercsv.util.CsvContext;
+
+/**
+ * {@link CsvRowEncoder}のテスタ
+ * <p>{@link CsvListWriter}と{@link OutputStreamWriter}で出力した結果と比較します。</p>
+ *
+ * @since 2.3
+ * @author T.TSUCHIE
+ *
+ */
+public class CsvRowEncoderTest {
+
+    private static final Charset[] CHARSETS = {
+            StandardCharsets.UTF_8,
+            Charset.forName("Windows-31J"),
+            StandardCharsets.UTF_16,
+            StandardCharsets.US_ASCII,
+            Charset.forName("ISO-2022-JP"),
+    };
+
+    /**
+     * 独自のQuoteMode
+     */
+    private static class LengthQuoteMode implements QuoteMode {
+
+        @Override
+        public boolean quotesRequired(final String csvColumn, final CsvContext context, final CsvPreference preference) {
+            return csvColumn.length() > 3 || context.getLineNumber() % 3 == 0;
+        }
+    }
+
+    private static final CsvPreference[] PREFERENCES = {
+            CsvPreference.STANDARD_PREFERENCE,
+            CsvPreference.EXCEL_PREFERENCE,
+            CsvPreference.EXCEL_NORTH_EUROPE_PREFERENCE,
+            CsvPreference.TAB_PREFERENCE,
+            new CsvPreference.Builder(CsvPreference.STANDARD_PREFERENCE).useQuoteMode(new AlwaysQuoteMode()).build(),
+            new CsvPreference.Builder(CsvPreference.STANDARD_PREFERENCE).useQuoteMode(new ColumnQuoteMode(2, 4)).build(),
+            new CsvPreference.Builder(CsvPreference.STANDARD_PREFERENCE).useQuoteMode(new LengthQuoteMode()).build(),
+            new CsvPreference.Builder('\'', '|', "\n").surroundingSpacesNeedQuotes(true).build(),
+            new CsvPreference.Builder('"', '、', "\r").build(),
+            new CsvPreference.Builder('"', ',', "").build(),
+    };
+
+    private static final String ALPHABET = "abcxyz012 ,;|\t\"'\r\n、あ漢ｱ①￥\\~é ";
+
+    private static final String SURROGATE = "𠮷";
+
+    private List<List<Object>> createRows(final long seed) {
+
+        final List<List<Object>> rows = new ArrayList<>();
+        rows.add(Arrays.asList("abc", 123, null, ""));
+        rows.add(Arrays.asList(" abc", "abc ", " ", "a b"));
+        rows.add(Arrays.asList("a,b", "a\"b", "a\r\nb", "a\rb\nc", "\n\r", "\r\r\n"));
+        rows.add(Arrays.asList("あいう", "漢字,カナ", "𠮷野家", "\ud842", "\udfb7", "\ud842x"));
+        rows.add(Collections.singletonList(null));
+        rows.add(Collections.singletonList("\ud842"));
+
+        final Random random = new Random(seed);
+        for(int i=0; i < 300; i++) {
+            final int size = 1 + random.nextInt(6);
+            final List<Object> row = new ArrayList<>();
+            for(int j=0; j < size; j++) {
+                if(random.nextInt(10) == 0) {
+                    row.add(null);
+                    continue;
+                }
+
+                final int length = random.nextInt(8);
+                final StringBuilder sb = new StringBuilder();
+                for(int k=0; k < length; k++) {
+                    if(random.nextInt(15) == 0) {
+                        sb.append(SURROGATE);
+                    } else {
+                        sb.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+                    }
+                }
+                row.add(sb.toString());
+            }
+            rows.add(row);
+        }
+
+        return rows;
+    }
+
+    private void assertSameOutput(final CsvPreference preference, final Charset charset, final int bufferSize) throws IOException {
+
+        final List<List<Object>> rows = createRows(bufferSize);
+
+        // super-csvで出力した結果
+        final ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        final List<Integer> expectedLines = new ArrayList<>();
+        try(CsvListWriter writer = new CsvListWriter(new OutputStreamWriter(expected, charset), preference)) {
+            writer.writeHeader("h1", "見出し");
+            for(List<Object> row : rows) {
+                writer.write(row);
+                expectedLines.add(writer.getLineNumber());
+            }
+        }
+
+        final ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        final List<Integer> actualLines = new ArrayList<>();
+        try(CsvRowEncoder encoder = new CsvRowEncoder(actual, charset, preference, bufferSize)) {
+            assertThat(encoder.isDirectEncoding()).isTrue();
+
+            int lineNumber = encoder.encodeRow(Arrays.asList("h1", "見出し"), 1, 1);
+            int rowNumber = 1;
+            for(List<Object> row : rows) {
+                lineNumber = encoder.encodeRow(row, lineNumber + 1, ++rowNumber);
+                actualLines.add(lineNumber);
+            }
+        }
+
+        assertThat(actual.toByteArray())
+                .as("preference=%s, charset=%s", preference.getQuoteMode().getClass().getSimpleName(), charset)
+                .isEqualTo(expected.toByteArray());
+        assertThat(actualLines).isEqualTo(expectedLines);
+
+    }
+
+    @Test
+    public void testEncodeRow() throws IOException {
+
+        for(CsvPreference preference : PREFERENCES) {
+            for(Charset charset : CHARSETS) {
+                assertSameOutput(preference, charset, CsvRowEncoder.DEFAULT_BUFFER_SIZE);
+                assertSameOutput(preference, charset, 16);
+            }
+        }
+    }
+
+    /**
+     * 独自のエンコーダを指定した場合
+     */
+    @Test
+    public void testEncodeRow_customEncoder() throws IOException {
+
+        final CsvPreference preference = new CsvPreference.Builder(CsvPreference.STANDARD_PREFERENCE)
+                .useEncoder(new SelectiveCsvEncoder(1)).build();
+
+        final CsvRowEncoder encoder = new CsvRowEncoder(new ByteArrayOutputStream(), StandardCharsets.UTF_8, preference);
+        assertThat(encoder.isDirectEncoding()).isFalse();
+
+        assertThatThrownBy(() -> encoder.encodeRow(Arrays.asList("a"), 1, 1))
+                .isInstanceOf(IllegalStateException.class);
+
+    }
+
+    @Test
+    public void testEncodeRow_empty() throws IOException {
+
+        final CsvRowEncoder encoder = new CsvRowEncoder(new ByteArrayOutputStream(), StandardCharsets.UTF_8, CsvPreference.STANDARD_PREFERENCE);
+
+        assertThatThrownBy(() -> encoder.encodeRow(null, 3, 1))
+                .isInstanceOf(NullPointerException.class)
+                .hasMessage("columns to write should not be null on line 3");
+
+        assertThatThrownBy(() -> encoder.encodeRow(Collections.emptyList(), 3, 1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("columns to write should not be empty on line 3");
+
+    }
+
+    @Test
+    public void testFlush() throws IOException {
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final CsvRowEncoder encoder = new CsvRowEncoder(out, Charset.forName("Windows-31J"), CsvPreference.STANDARD_PREFERENCE);
+
+        encoder.encodeRow(Arrays.asList("あ", "b"), 1, 1);
+        assertThat(out.size()).isEqualTo(0);
+
+        encoder.flush();
+        assertThat(out.toByteArray()).isEqualTo("あ,b\r\n".getBytes("Windows-31J"));
+
+        encoder.close();
+        assertThatThrownBy(() -> encoder.encodeRow(Arrays.asList("a"), 2, 2))
+                .isInstanceOf(IOException.class);
+
+    }
+
+}
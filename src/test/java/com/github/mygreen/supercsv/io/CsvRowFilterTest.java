@@ -0,0 +1,394 @@
+package com.github.mygreen.supercsv.io;
+
+import static org.junit.Assert.*;
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.supercsv.prefs.CsvPreference;
+
+import com.github.mygreen.supercsv.annotation.CsvBean;
+import com.github.mygreen.supercsv.annotation.CsvColumn;
+import com.github.mygreen.supercsv.annotation.constraint.CsvUnique;
+import com.github.mygreen.supercsv.exception.SuperCsvBindingException;
+import com.github.mygreen.supercsv.exception.SuperCsvNoMatchColumnSizeException;
+import com.github.mygreen.supercsv.validation.CsvBindingErrors;
+
+/**
+ * {@link CsvRowFilter}のテスタ。
+ *
+ * @since 2.3
+ * @author T.TSUCHIE
+ *
+ */
+public class CsvRowFilterTest {
+
+    @CsvBean(header=true)
+    public static class FilterBean {
+
+        @CsvColumn(number=1)
+        @CsvUnique
+        private int id;
+
+        @CsvColumn(number=2)
+        private String status;
+
+        @CsvColumn(number=3)
+        private String region;
+
+        @CsvColumn(number=4)
+        @CsvUnique
+        private String name;
+
+        @CsvColumn(number=5)
+        private Integer amount;
+
+        public int getId() {
+            return id;
+        }
+
+        public void setId(int id) {
+            this.id = id;
+        }
+
+        public String getStatus() {
+            return status;
+        }
+
+        public void setStatus(String status) {
+            this.status = status;
+        }
+
+        public String getRegion() {
+            return region;
+        }
+
+        public void setRegion(String region) {
+            this.region = region;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public Integer getAmount() {
+            return amount;
+        }
+
+        public void setAmount(Integer amount) {
+            this.amount = amount;
+        }
+
+    }
+
+    /**
+     * 除外するレコードに、値の重複や書式の不正を含むデータ。
+     */
+    private static final String TEXT = "id,status,region,name,amount\r\n"
+            + "1,ACTIVE,JP,a,100\r\n"
+            + "2,INACTIVE,JP,a,200\r\n"
+            + "3,ACTIVE,US,b,abc\r\n"
+            + "4,ACTIVE,JP,\"c\r\nd\",400\r\n"
+            + "5,ACTIVE,JP,e,\r\n";
+
+    private CsvAnnotationBeanReader<FilterBean> createReader(final String text) throws IOException {
+        CsvAnnotationBeanReader<FilterBean> csvReader = new CsvAnnotationBeanReader<>(
+                FilterBean.class,
+                new CsvTokenizer(new StringReader(text), CsvPreference.STANDARD_PREFERENCE),
+                CsvPreference.STANDARD_PREFERENCE);
+        csvReader.getHeader(true);
+        return csvReader;
+    }
+
+    private List<String> readAll(final CsvAnnotationBeanReader<FilterBean> csvReader) throws IOException {
+        List<String> results = new ArrayList<>();
+        FilterBean bean;
+        while((bean = csvReader.read()) != null) {
+            results.add(String.format("%d:%d:%d:%s:%s", csvReader.getLineNumber(), csvReader.getRowNumber(),
+                    bean.getId(), bean.getName(), bean.getAmount()));
+        }
+        return results;
+    }
+
+    /**
+     * 文字列と処理した値で絞り込む場合
+     */
+    @Test
+    public void testRead() throws IOException {
+
+        for(boolean charSequenceMode : new boolean[]{false, true}) {
+            CsvAnnotationBeanReader<FilterBean> csvReader = createReader(TEXT);
+            csvReader.setCharSequenceMode(charSequenceMode);
+
+            AtomicInteger validateCount = new AtomicInteger();
+            csvReader.addValidator((record, bindingErrors, validationContext) -> validateCount.incrementAndGet());
+
+            csvReader.setRowFilter(row -> "ACTIVE".equals(row.getText("status")) && "JP".equals(row.getValue(3)));
+
+            assertThat(readAll(csvReader)).containsExactly("2:2:1:a:100", "6:5:4:c\nd:400", "7:6:5:e:null");
+            assertThat(csvReader.getFilteredRowCount()).isEqualTo(2);
+            assertThat(validateCount.get()).isEqualTo(3);
+            assertThat(csvReader.getErrorMessages()).isEmpty();
+
+            csvReader.close();
+        }
+
+    }
+
+    /**
+     * 判定に利用したカラムのCellProcessorは、1度だけ実行する場合
+     */
+    @Test
+    public void testRead_processOnce() throws IOException {
+
+        CsvAnnotationBeanReader<FilterBean> csvReader = createReader(TEXT);
+        csvReader.setRowFilter(row -> {
+            assertThat(row.getLineNumber()).isEqualTo(row.getRowNumber() >= 5 ? row.getRowNumber() + 1 : row.getRowNumber());
+            final int id = row.getValue("id");
+            return id % 2 == 0 && row.<Integer>getValue("id") == id;
+        });
+
+        assertThat(readAll(csvReader)).containsExactly("3:3:2:a:200", "6:5:4:c\nd:400");
+        assertThat(csvReader.getFilteredRowCount()).isEqualTo(3);
+
+        csvReader.close();
+
+    }
+
+    /**
+     * 判定に利用したカラムの処理でエラーとなった場合は、レコードを読み込みエラーを通知する
+     */
+    @Test
+    public void testRead_error_filterColumn() throws IOException {
+
+        CsvAnnotationBeanReader<FilterBean> csvReader = createReader(TEXT);
+        csvReader.setRowFilter(row -> {
+            final Integer amount = row.getValue("amount");
+            return amount != null && amount >= 300;
+        });
+
+        try {
+            csvReader.read();
+            throw new AssertionError("should be thrown SuperCsvBindingException.");
+        } catch(SuperCsvBindingException e) {
+            assertThat(csvReader.getRowNumber()).isEqualTo(4);
+            assertThat(csvReader.getErrorMessages()).hasSize(1);
+        }
+
+        assertThat(readAll(csvReader)).containsExactly("6:5:4:c\nd:400");
+        assertThat(csvReader.getFilteredRowCount()).isEqualTo(3);
+
+        csvReader.close();
+
+    }
+
+    /**
+     * 除外したレコードの値は、値の重複チェックの対象としない場合
+     */
+    @Test
+    public void testRead_rejectedUniqueValue() throws IOException {
+
+        CsvAnnotationBeanReader<FilterBean> csvReader = createReader("id,status,region,name,amount\r\n"
+                + "1,INACTIVE,JP,a,100\r\n"
+                + "2,ACTIVE,JP,a,200\r\n"
+                + "3,INACTIVE,JP,b,300\r\n"
+                + "4,ACTIVE,JP,b,400\r\n"
+                + "5,ACTIVE,JP,b,500\r\n");
+        csvReader.setRowFilter(row -> row.getValue("name") != null && "ACTIVE".equals(row.getText("status")));
+
+        assertThat(csvReader.read().getId()).isEqualTo(2);
+        assertThat(csvReader.read().getId()).isEqualTo(4);
+
+        // 読み込んだレコードの値は、重複チェックの対象とする
+        try {
+            csvReader.read();
+            throw new AssertionError("should be thrown SuperCsvBindingException.");
+        } catch(SuperCsvBindingException e) {
+            assertThat(csvReader.getRowNumber()).isEqualTo(6);
+            assertThat(e.getBindingErrors().getFieldErrors("name")).hasSize(1);
+        }
+
+        assertThat(csvReader.getFilteredRowCount()).isEqualTo(2);
+
+        csvReader.close();
+
+    }
+
+    /**
+     * フィルタで例外が発生した場合は、判定中のレコードの値を重複チェックの対象としない
+     */
+    @Test
+    public void testRead_filterThrowsException() throws IOException {
+
+        CsvAnnotationBeanReader<FilterBean> csvReader = createReader("id,status,region,name,amount\r\n"
+                + "1,ERROR,JP,a,100\r\n"
+                + "2,ACTIVE,JP,a,200\r\n");
+        csvReader.setRowFilter(row -> {
+            final String name = row.getValue("name");
+            if("ERROR".equals(row.getText("status"))) {
+                throw new IllegalStateException("fail filtering.");
+            }
+            return name != null;
+        });
+
+        assertThatThrownBy(() -> csvReader.read()).isInstanceOf(IllegalStateException.class);
+
+        final FilterBean bean = csvReader.read();
+        assertThat(bean.getId()).isEqualTo(2);
+        assertThat(bean.getName()).isEqualTo("a");
+        assertThat(csvReader.getErrorMessages()).isEmpty();
+
+        csvReader.close();
+
+    }
+
+    /**
+     * カラム数が定義と異なる場合は、フィルタを適用せずにエラーとする
+     */
+    @Test
+    public void testRead_error_columnSize() throws IOException {
+
+        CsvAnnotationBeanReader<FilterBean> csvReader = createReader("id,status,region,name,amount\r\n"
+                + "1,INACTIVE,JP,a,100\r\n"
+                + "2,INACTIVE\r\n");
+        csvReader.setRowFilter(row -> "ACTIVE".equals(row.getText("status")));
+
+        try {
+            csvReader.read();
+            throw new AssertionError("should be thrown SuperCsvNoMatchColumnSizeException.");
+        } catch(SuperCsvNoMatchColumnSizeException e) {
+            assertThat(csvReader.getRowNumber()).isEqualTo(3);
+        }
+
+        csvReader.close();
+
+    }
+
+    /**
+     * 存在しないカラムを指定した場合
+     */
+    @Test
+    public void testRead_unknownColumn() throws IOException {
+
+        CsvAnnotationBeanReader<FilterBean> csvReader = createReader(TEXT);
+
+        csvReader.setRowFilter(row -> row.getText("unknown") != null);
+        assertThatThrownBy(() -> csvReader.read()).isInstanceOf(IllegalArgumentException.class);
+
+        csvReader.setRowFilter(row -> row.getText(6) != null);
+        assertThatThrownBy(() -> csvReader.read()).isInstanceOf(IllegalArgumentException.class);
+
+        csvReader.close();
+
+    }
+
+    /**
+     * 値の検証と、カラムごとの読み込みで絞り込む場合
+     */
+    @Test
+    public void testValidateAndReadBatch() throws IOException {
+
+        {
+            CsvAnnotationBeanReader<FilterBean> csvReader = createReader(TEXT);
+            csvReader.setRowFilter(row -> "JP".equals(row.getText("region")));
+
+            List<String> rowNumbers = new ArrayList<>();
+            CsvBindingErrors errors;
+            while((errors = csvReader.validate()) != null) {
+                rowNumbers.add(csvReader.getRowNumber() + (errors.hasErrors() ? ":error" : ""));
+            }
+
+            // 読み込んだレコード同士の値の重複
+            assertThat(rowNumbers).containsExactly("2", "3:error", "5", "6");
+            assertThat(csvReader.getFilteredRowCount()).isEqualTo(1);
+
+            csvReader.close();
+        }
+
+        {
+            CsvAnnotationBeanReader<FilterBean> csvReader = createReader(TEXT);
+            csvReader.setRowFilter(row -> "ACTIVE".equals(row.getText(2)));
+
+            ColumnBatch batch = csvReader.createColumnBatch(10);
+            assertThat(csvReader.readBatch(batch)).isEqualTo(4);
+            assertThat(batch.getRowNumber(0)).isEqualTo(2);
+            assertThat(batch.getRowNumber(1)).isEqualTo(4);
+            assertThat(batch.getRowNumber(2)).isEqualTo(5);
+            assertThat(batch.getRowNumber(3)).isEqualTo(6);
+            assertThat(batch.getErrorRowIndexes()).containsExactly(1);
+            assertThat(batch.getColumn("name").getObject(2)).isEqualTo("c\nd");
+            assertThat(csvReader.getFilteredRowCount()).isEqualTo(1);
+
+            csvReader.close();
+        }
+
+    }
+
+    /**
+     * 射影の対象外のカラムで絞り込む場合
+     */
+    @Test
+    public void testRead_project() throws IOException {
+
+        CsvAnnotationBeanReader<FilterBean> csvReader = createReader(TEXT);
+        csvReader.project("id", "name");
+        csvReader.setRowFilter(row -> {
+            final Integer amount = row.getValue("amount");
+            return amount == null || amount > 100;
+        });
+
+        FilterBean bean = csvReader.read();
+        assertThat(bean.getId()).isEqualTo(2);
+        assertThat(bean.getAmount()).isNull();
+
+        try {
+            csvReader.read();
+            throw new AssertionError("should be thrown SuperCsvBindingException.");
+        } catch(SuperCsvBindingException e) {
+            // 除外できなかったレコードの、射影の対象外のカラムのエラー
+            assertThat(csvReader.getRowNumber()).isEqualTo(4);
+        }
+
+        assertThat(readAll(csvReader)).containsExactly("6:5:4:c\nd:null", "7:6:5:e:null");
+        assertThat(csvReader.getFilteredRowCount()).isEqualTo(1);
+
+        csvReader.close();
+
+    }
+
+    /**
+     * フィルタを解除した場合
+     */
+    @Test
+    public void testSetRowFilter_null() throws IOException {
+
+        CsvAnnotationBeanReader<FilterBean> csvReader = createReader(TEXT);
+        csvReader.setRowFilter(row -> row.<Integer>getValue("id") == 1);
+
+        assertThat(csvReader.read().getId()).isEqualTo(1);
+
+        csvReader.setRowFilter(null);
+        assertThat(csvReader.getRowFilter()).isNull();
+
+        try {
+            csvReader.read();
+            throw new AssertionError("should be thrown SuperCsvBindingException.");
+        } catch(SuperCsvBindingException e) {
+            // 除外していたレコードの値の重複
+            assertThat(csvReader.getRowNumber()).isEqualTo(3);
+        }
+
+        csvReader.close();
+
+    }
+
+}
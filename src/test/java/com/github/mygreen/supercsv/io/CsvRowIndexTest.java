@@ -0,0 +1,232 @@
+package com.github.mygreen.supercsv.io;
+
+import static org.junit.Assert.*;
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.supercsv.comment.CommentStartsWith;
+import org.supercsv.prefs.CsvPreference;
+
+import com.github.mygreen.supercsv.annotation.CsvBean;
+import com.github.mygreen.supercsv.annotation.CsvColumn;
+
+/**
+ * {@link CsvRowIndex}と{@link CsvIndexedReaderFactory}のテスタ。
+ *
+ * @since 2.3
+ * @author T.TSUCHIE
+ *
+ */
+public class CsvRowIndexTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private static final Charset CHARSET = Charset.forName("UTF-8");
+
+    @CsvBean(header=true)
+    public static class IndexBean {
+
+        @CsvColumn(number=1)
+        private int id;
+
+        @CsvColumn(number=2)
+        private String name;
+
+        public int getId() {
+            return id;
+        }
+
+        public void setId(int id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+    }
+
+    /**
+     * 改行を含むレコードや空行、改行コードが混在するデータを作成する。
+     */
+    private Path createFile(final int size) throws IOException {
+
+        final StringBuilder text = new StringBuilder();
+        text.append("id,name\r\n");
+        for(int i=1; i <= size; i++) {
+            if(i % 7 == 0) {
+                text.append(i).append(",\"複数行の\r\n名前,\"\"").append(i).append("\"\"\"\n");
+            } else if(i % 5 == 0) {
+                text.append(i).append(",名前").append(i).append("\r\n\r\n");
+            } else if(i % 3 == 0) {
+                text.append(i).append(",\"\"\r");
+            } else {
+                text.append(i).append(",名前").append(i).append("\n");
+            }
+        }
+
+        final Path file = tempFolder.newFile().toPath();
+        Files.write(file, text.toString().getBytes(CHARSET));
+        return file;
+    }
+
+    /**
+     * 先頭から順に読み込んだ結果。
+     */
+    private List<int[]> readSequential(final Path file, final CsvPreference preference) throws IOException {
+
+        final List<int[]> list = new ArrayList<>();
+        try(CsvAnnotationBeanReader<IndexBean> reader = new CsvAnnotationBeanReader<>(IndexBean.class,
+                new StringReader(new String(Files.readAllBytes(file), CHARSET)), preference)) {
+            reader.getHeader(true);
+            IndexBean bean;
+            while((bean = reader.read()) != null) {
+                list.add(new int[]{bean.getId(), reader.getLineNumber(), reader.getRowNumber()});
+            }
+        }
+
+        return list;
+    }
+
+    @Test
+    public void testBuild() throws IOException {
+
+        final Path file = createFile(100);
+        final CsvRowIndex index = CsvRowIndex.build(file, CHARSET, CsvPreference.STANDARD_PREFERENCE, 10);
+
+        assertThat(index.getRowCount()).isEqualTo(101);
+        assertThat(index.getInterval()).isEqualTo(10);
+        assertThat(index.getFileSize()).isEqualTo(Files.size(file));
+        assertThat(index.isValidFor(file)).isTrue();
+
+        final CsvRowIndex.Position position = index.getPosition(25);
+        assertThat(position.getRowNumber()).isEqualTo(21);
+
+        // 保存と読み込み
+        final Path indexFile = tempFolder.newFile().toPath();
+        index.write(indexFile);
+        final CsvRowIndex loaded = CsvRowIndex.read(indexFile);
+        assertThat(loaded.getRowCount()).isEqualTo(index.getRowCount());
+        assertThat(loaded.getFileSize()).isEqualTo(index.getFileSize());
+        for(int row=1; row <= index.getRowCount(); row += 10) {
+            assertThat(loaded.getPosition(row).getOffset()).isEqualTo(index.getPosition(row).getOffset());
+            assertThat(loaded.getPosition(row).getLineNumber()).isEqualTo(index.getPosition(row).getLineNumber());
+        }
+
+    }
+
+    @Test
+    public void testBuild_notSupportedCharset() throws IOException {
+
+        final Path file = createFile(1);
+        assertThatThrownBy(() -> CsvRowIndex.build(file, Charset.forName("UTF-16"), CsvPreference.STANDARD_PREFERENCE, 10))
+            .isInstanceOf(IllegalArgumentException.class);
+
+    }
+
+    @Test
+    public void testOpen() throws IOException {
+
+        final Path file = createFile(100);
+        final List<int[]> expected = readSequential(file, CsvPreference.STANDARD_PREFERENCE);
+
+        final CsvRowIndex index = CsvRowIndex.build(file, CHARSET, CsvPreference.STANDARD_PREFERENCE, 8);
+        final CsvIndexedReaderFactory<IndexBean> factory = new CsvIndexedReaderFactory<>(
+                IndexBean.class, file, CHARSET, CsvPreference.STANDARD_PREFERENCE, index);
+
+        for(int[] record : expected) {
+            final int rowNumber = record[2];
+            try(CsvAnnotationBeanReader<IndexBean> reader = factory.open(rowNumber)) {
+                final IndexBean bean = reader.read();
+                assertThat(bean.getId()).isEqualTo(record[0]);
+                assertThat(reader.getLineNumber()).isEqualTo(record[1]);
+                assertThat(reader.getRowNumber()).isEqualTo(rowNumber);
+            }
+        }
+
+        // ヘッダーから読み込む
+        try(CsvAnnotationBeanReader<IndexBean> reader = factory.open(1)) {
+            assertThat(reader.getHeader(true)).containsExactly("id", "name");
+            assertThat(reader.read().getId()).isEqualTo(1);
+        }
+
+        assertThatThrownBy(() -> factory.open(102)).isInstanceOf(IllegalArgumentException.class);
+
+    }
+
+    @Test
+    public void testPartition() throws IOException {
+
+        final CsvPreference preference = new CsvPreference.Builder(CsvPreference.STANDARD_PREFERENCE)
+                .skipComments(new CommentStartsWith("#"))
+                .build();
+
+        final Path file = createFile(100);
+        Files.write(file, "#comment\n".getBytes(CHARSET), java.nio.file.StandardOpenOption.APPEND);
+        Files.write(file, "101,\"last\"".getBytes(CHARSET), java.nio.file.StandardOpenOption.APPEND);
+
+        final List<int[]> expected = readSequential(file, preference);
+        assertThat(expected).hasSize(101);
+
+        final CsvRowIndex index = CsvRowIndex.build(file, CHARSET, preference, 10);
+        final CsvIndexedReaderFactory<IndexBean> factory = new CsvIndexedReaderFactory<>(
+                IndexBean.class, file, CHARSET, preference, index);
+
+        final List<CsvRowIndex.Partition> partitions = factory.partition(4);
+        assertThat(partitions).hasSize(4);
+
+        final List<int[]> actual = new ArrayList<>();
+        for(CsvRowIndex.Partition partition : partitions) {
+            try(CsvAnnotationBeanReader<IndexBean> reader = factory.open(partition)) {
+                IndexBean bean;
+                int count = 0;
+                while((bean = reader.read()) != null) {
+                    actual.add(new int[]{bean.getId(), reader.getLineNumber(), reader.getRowNumber()});
+                    count++;
+                }
+                assertThat(count).isEqualTo(partition.getRowCount());
+            }
+        }
+
+        assertThat(actual).hasSameSizeAs(expected);
+        for(int i=0; i < expected.size(); i++) {
+            assertThat(actual.get(i)).containsExactly(expected.get(i));
+        }
+
+        // 分割数がレコード数より多い場合
+        assertThat(factory.partition(100)).hasSize(11);
+
+    }
+
+    @Test
+    public void testConstructor_notValidIndex() throws IOException {
+
+        final Path file = createFile(10);
+        final CsvRowIndex index = CsvRowIndex.build(file, CHARSET, CsvPreference.STANDARD_PREFERENCE, 10);
+        Files.write(file, "11,a\n".getBytes(CHARSET), java.nio.file.StandardOpenOption.APPEND);
+
+        try {
+            new CsvIndexedReaderFactory<>(IndexBean.class, file, CHARSET, CsvPreference.STANDARD_PREFERENCE, index);
+            fail();
+        } catch(IllegalArgumentException e) {
+            assertThat(e.getMessage()).contains("index is not valid");
+        }
+
+    }
+
+}
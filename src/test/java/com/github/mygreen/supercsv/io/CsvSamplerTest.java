@@ -0,0 +1,325 @@
+package com.github.mygreen.supercsv.io;
+
+import static org.junit.Assert.*;
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+import org.supercsv.prefs.CsvPreference;
+
+import com.github.mygreen.supercsv.annotation.CsvBean;
+import com.github.mygreen.supercsv.annotation.CsvColumn;
+import com.github.mygreen.supercsv.annotation.constraint.CsvUnique;
+import com.github.mygreen.supercsv.exception.SuperCsvBindingException;
+
+/**
+ * {@link CsvSampler}と、標本抽出による読み込みのテスタ。
+ *
+ * @since 2.3
+ * @author T.TSUCHIE
+ *
+ */
+public class CsvSamplerTest {
+
+    @CsvBean(header=true)
+    public static class SampleBean {
+
+        @CsvColumn(number=1)
+        private int id;
+
+        @CsvColumn(number=2)
+        @CsvUnique
+        private String name;
+
+        /** レコードの最終行の行番号 */
+        @CsvColumn(number=3)
+        private int line;
+
+        public int getId() {
+            return id;
+        }
+
+        public void setId(int id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getLine() {
+            return line;
+        }
+
+        public void setLine(int line) {
+            this.line = line;
+        }
+
+    }
+
+    /**
+     * データを作成する。
+     * <p>改行を含むレコードを混在させ、{@literal validInterval}の倍数以外のレコードは、値の重複と不正な値を含める。</p>
+     */
+    private String createText(final int size, final int validInterval) {
+
+        final StringBuilder text = new StringBuilder("id,name,line\r\n");
+        int line = 1;
+        for(int i=1; i <= size; i++) {
+            if(i % validInterval != 0) {
+                line += 2;
+                text.append("x,\"dup\r\n\"\"licate\"\"\",").append(line).append("\r\n");
+            } else if(i % 3 == 0) {
+                line += 3;
+                text.append(i).append(",\"name").append(i).append("\r\n\r\n\",").append(line).append("\n");
+            } else {
+                line++;
+                text.append(i).append(",name").append(i).append(",").append(line).append("\r\n");
+            }
+        }
+
+        return text.toString();
+    }
+
+    private CsvAnnotationBeanReader<SampleBean> createReader(final String text) {
+        final CsvAnnotationBeanReader<SampleBean> csvReader = new CsvAnnotationBeanReader<>(
+                SampleBean.class,
+                new CsvTokenizer(new StringReader(text), CsvPreference.STANDARD_PREFERENCE),
+                CsvPreference.STANDARD_PREFERENCE);
+
+        // 読み込んだレコードの行番号、レコード番号を検証する
+        csvReader.addValidator((record, bindingErrors, validationContext) -> {
+            if(bindingErrors.hasErrors()) {
+                return;
+            }
+            assertThat(validationContext.getCsvContext().getLineNumber()).isEqualTo(record.getLine());
+            assertThat(validationContext.getCsvContext().getRowNumber()).isEqualTo(record.getId() + 1);
+        });
+        return csvReader;
+    }
+
+    /**
+     * 一定の間隔で抽出する場合
+     * <p>読み飛ばしたレコードは、値が不正でもエラーにならない。</p>
+     */
+    @Test
+    public void testInterval() throws IOException {
+
+        final CsvAnnotationBeanReader<SampleBean> csvReader = createReader(createText(100, 7));
+        csvReader.setSampler(CsvSampler.interval(7));
+
+        final List<SampleBean> list = csvReader.readAll();
+        assertThat(list).extracting(SampleBean::getId).containsExactly(7, 14, 21, 28, 35, 42, 49, 56, 63, 70, 77, 84, 91, 98);
+        assertThat(csvReader.getRowNumber()).isEqualTo(101);
+        assertThat(csvReader.getErrorMessages()).isEmpty();
+
+        csvReader.close();
+
+    }
+
+    /**
+     * 指定した確率で抽出する場合
+     */
+    @Test
+    public void testBernoulli() throws IOException {
+
+        // 抽出されるレコードの番号を、同じ乱数で求める
+        final List<Integer> expected = new ArrayList<>();
+        final CsvSampler expectedSampler = CsvSampler.bernoulli(0.05, new Random(3L));
+        long position = 0;
+        while((position += expectedSampler.nextSkip() + 1) <= 2000) {
+            expected.add((int)position);
+        }
+        assertThat(expected.size()).isBetween(60, 140);
+
+        final CsvAnnotationBeanReader<SampleBean> csvReader = createReader(createText(2000, 1));
+        csvReader.setSampler(CsvSampler.bernoulli(0.05, new Random(3L)));
+
+        final List<Integer> actual = new ArrayList<>();
+        SampleBean bean;
+        csvReader.getHeader(true);
+        while((bean = csvReader.read()) != null) {
+            assertThat(csvReader.getLineNumber()).isEqualTo(bean.getLine());
+            actual.add(bean.getId());
+        }
+
+        assertThat(actual).isEqualTo(expected);
+        assertThat(csvReader.getRowNumber()).isEqualTo(2001);
+
+        csvReader.close();
+
+        assertThat(CsvSampler.bernoulli(1.0, new Random()).nextSkip()).isEqualTo(0L);
+        assertThatThrownBy(() -> CsvSampler.bernoulli(0.0, new Random())).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CsvSampler.bernoulli(1.1, new Random())).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CsvSampler.interval(0)).isInstanceOf(IllegalArgumentException.class);
+
+    }
+
+    /**
+     * 読み飛ばす場合
+     */
+    @Test
+    public void testSkipRecords() throws IOException {
+
+        final CsvAnnotationBeanReader<SampleBean> csvReader = createReader(createText(10, 1));
+        csvReader.getHeader(true);
+
+        assertThat(csvReader.skipRecords(0)).isEqualTo(0L);
+        assertThat(csvReader.skipRecords(4)).isEqualTo(4L);
+        assertThat(csvReader.read().getId()).isEqualTo(5);
+        assertThat(csvReader.skipRecords(10)).isEqualTo(5L);
+        assertThat(csvReader.getRowNumber()).isEqualTo(11);
+        assertThat(csvReader.read()).isNull();
+        assertThatThrownBy(() -> csvReader.skipRecords(-1)).isInstanceOf(IllegalArgumentException.class);
+
+        csvReader.close();
+
+        // CsvTokenizer以外の場合
+        final CsvAnnotationBeanReader<SampleBean> csvReader2 = new CsvAnnotationBeanReader<>(
+                SampleBean.class, new StringReader(createText(10, 1)), CsvPreference.STANDARD_PREFERENCE);
+        csvReader2.getHeader(true);
+        assertThat(csvReader2.skipRecords(4)).isEqualTo(4L);
+        assertThat(csvReader2.read().getId()).isEqualTo(5);
+        assertThat(csvReader2.getRowNumber()).isEqualTo(6);
+
+        csvReader2.close();
+
+    }
+
+    /**
+     * リザーバーサンプリングで抽出する場合
+     */
+    @Test
+    public void testReadSample() throws IOException {
+
+        {
+            final CsvAnnotationBeanReader<SampleBean> csvReader = createReader(createText(5000, 1));
+            final List<SampleBean> list = csvReader.readSample(20, new Random(5L));
+
+            final List<Integer> ids = list.stream().map(SampleBean::getId).collect(Collectors.toList());
+            assertThat(ids).hasSize(20).doesNotHaveDuplicates().isSorted();
+            assertThat(ids).allMatch(id -> id >= 1 && id <= 5000);
+            assertThat(csvReader.getRowNumber()).isEqualTo(5001);
+
+            csvReader.close();
+        }
+
+        {
+            // レコード数が少ない場合は、全て抽出する
+            final CsvAnnotationBeanReader<SampleBean> csvReader = createReader(createText(5, 1));
+            assertThat(csvReader.readSample(10, new Random(5L))).extracting(SampleBean::getId).containsExactly(1, 2, 3, 4, 5);
+
+            csvReader.close();
+        }
+
+    }
+
+    /**
+     * リザーバーサンプリングで、各レコードが同じ確率で抽出されるか検証する。
+     */
+    @Test
+    public void testReadSample_uniform() throws IOException {
+
+        final String text = createText(50, 1);
+        final Random random = new Random(7L);
+        final int[] counts = new int[50];
+        for(int i=0; i < 2000; i++) {
+            final CsvAnnotationBeanReader<SampleBean> csvReader = createReader(text);
+            for(SampleBean bean : csvReader.readSample(5, random)) {
+                counts[bean.getId() - 1]++;
+            }
+            csvReader.close();
+        }
+
+        // 期待値は200件
+        for(int count : counts) {
+            assertThat(count).isBetween(130, 270);
+        }
+
+    }
+
+    /**
+     * リザーバーサンプリングで、エラーのレコードを除いて抽出する場合
+     */
+    @Test
+    public void testReadSample_continueOnError() throws IOException {
+
+        final CsvAnnotationBeanReader<SampleBean> csvReader = createReader(createText(300, 2));
+        try {
+            csvReader.readSample(10, new Random(1L));
+            throw new AssertionError("should be thrown SuperCsvBindingException.");
+        } catch(SuperCsvBindingException e) {
+            assertThat(csvReader.getRowNumber()).isEqualTo(2);
+        }
+        csvReader.close();
+
+        final CsvAnnotationBeanReader<SampleBean> csvReader2 = createReader(createText(300, 2));
+        final List<SampleBean> list = csvReader2.readSample(10, new Random(1L), true);
+        assertThat(list).hasSize(10).allMatch(bean -> bean.getId() % 2 == 0);
+        assertThat(csvReader2.getErrorMessages()).isNotEmpty();
+
+        csvReader2.close();
+
+    }
+
+    /**
+     * リザーバーサンプリングで、フィルタで絞り込んだレコードから、同じ確率で抽出されるか検証する。
+     * <p>除外するレコードの直後のレコードに偏らないこと。</p>
+     */
+    @Test
+    public void testReadSample_rowFilter() throws IOException {
+
+        final String text = createText(100, 1);
+        final Random random = new Random(7L);
+        final int[] counts = new int[100];
+        for(int i=0; i < 2000; i++) {
+            final CsvAnnotationBeanReader<SampleBean> csvReader = createReader(text);
+            csvReader.setRowFilter(row -> {
+                final int id = Integer.parseInt(row.getText("id"));
+                return id <= 10 || id % 10 == 0;
+            });
+            for(SampleBean bean : csvReader.readSample(5, random)) {
+                counts[bean.getId() - 1]++;
+            }
+            csvReader.close();
+        }
+
+        // 絞り込んだ19件の期待値は526件
+        for(int i=0; i < counts.length; i++) {
+            final int id = i + 1;
+            if(id <= 10 || id % 10 == 0) {
+                assertThat(counts[i]).isBetween(420, 640);
+            } else {
+                assertThat(counts[i]).isZero();
+            }
+        }
+
+    }
+
+    /**
+     * リザーバーサンプリングで、標本抽出する処理を設定している場合
+     */
+    @Test
+    public void testReadSample_withSampler() throws IOException {
+
+        final CsvAnnotationBeanReader<SampleBean> csvReader = createReader(createText(100, 1));
+        csvReader.setSampler(CsvSampler.interval(7));
+
+        assertThatThrownBy(() -> csvReader.readSample(5, new Random(1L)))
+                .isInstanceOf(IllegalStateException.class);
+
+        csvReader.close();
+
+    }
+
+}
@@ -0,0 +1,279 @@
+package com.github.mygreen.supercsv.io;
+
+import static org.junit.Assert.*;
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntPredicate;
+
+import org.junit.Test;
+import org.supercsv.comment.CommentStartsWith;
+import org.supercsv.exception.SuperCsvException;
+import org.supercsv.io.Tokenizer;
+import org.supercsv.prefs.CsvPreference;
+
+/**
+ * {@link CsvTokenizer}のテスタ。
+ *
+ * @since 2.3
+ * @author T.TSUCHIE
+ *
+ */
+public class CsvTokenizerTest {
+
+    /**
+     * {@link Tokenizer}と同じ結果になるか検証する。
+     */
+    private void assertSameAsTokenizer(final String text, final CsvPreference preference) throws IOException {
+
+        final Tokenizer expected = new Tokenizer(new StringReader(text), preference);
+        final CsvTokenizer actual = new CsvTokenizer(new StringReader(text), preference);
+
+        final List<String> expectedColumns = new ArrayList<>();
+        final List<String> actualColumns = new ArrayList<>();
+
+        while(true) {
+            final boolean expectedRead = expected.readColumns(expectedColumns);
+            final boolean actualRead = actual.readColumns(actualColumns);
+
+            assertThat(actualRead).isEqualTo(expectedRead);
+            if(!expectedRead) {
+                break;
+            }
+
+            assertThat(actualColumns).containsExactlyElementsOf(expectedColumns);
+            assertThat(actual.getLineNumber()).isEqualTo(expected.getLineNumber());
+            assertThat(actual.getUntokenizedRow()).isEqualTo(expected.getUntokenizedRow());
+        }
+
+        expected.close();
+        actual.close();
+
+    }
+
+    @Test
+    public void testReadColumns_sameAsTokenizer() throws IOException {
+
+        assertSameAsTokenizer("a,b,c\n1,2,3\n", CsvPreference.STANDARD_PREFERENCE);
+        assertSameAsTokenizer("a,,c\r\n,,\r\n", CsvPreference.STANDARD_PREFERENCE);
+        assertSameAsTokenizer("\"a,b\",\"c\"\"d\",e\r\n", CsvPreference.STANDARD_PREFERENCE);
+        assertSameAsTokenizer("\"multi\nline\",2\n\n3,\"\n\"\n", CsvPreference.STANDARD_PREFERENCE);
+        assertSameAsTokenizer("  a , \" b \" ,c  \n", CsvPreference.STANDARD_PREFERENCE);
+        assertSameAsTokenizer("  a , \" b \" ,c  \n", CsvPreference.EXCEL_PREFERENCE);
+        assertSameAsTokenizer("a\tb\t\"c\td\"\rx\ty\tz", CsvPreference.TAB_PREFERENCE);
+        assertSameAsTokenizer("a;b\n\n\nc;d\n", CsvPreference.EXCEL_NORTH_EUROPE_PREFERENCE);
+
+        final CsvPreference commentPreference = new CsvPreference.Builder(CsvPreference.STANDARD_PREFERENCE)
+                .skipComments(new CommentStartsWith("#"))
+                .build();
+        assertSameAsTokenizer("#comment\na,b\n#comment2\nc,d", commentPreference);
+
+    }
+
+    @Test
+    public void testReadColumnSequences() throws IOException {
+
+        final CsvTokenizer tokenizer = new CsvTokenizer(new StringReader("123,\"4,5\",,abc\n678,x\n"), CsvPreference.STANDARD_PREFERENCE);
+        final List<CharSequence> columns = new ArrayList<>();
+
+        assertThat(tokenizer.readColumnSequences(columns)).isTrue();
+        assertThat(columns).hasSize(4);
+        assertThat(columns.get(0).toString()).isEqualTo("123");
+        assertThat(columns.get(0).length()).isEqualTo(3);
+        assertThat(columns.get(0).charAt(1)).isEqualTo('2');
+        assertThat(columns.get(1).toString()).isEqualTo("4,5");
+        assertThat(columns.get(1).subSequence(1, 3).toString()).isEqualTo(",5");
+        assertThat(columns.get(2)).isNull();
+        assertThat(columns.get(3).toString()).isEqualTo("abc");
+
+        // ビューは再利用される
+        final CharSequence first = columns.get(0);
+        assertThat(tokenizer.readColumnSequences(columns)).isTrue();
+        assertThat(columns).hasSize(2);
+        assertThat(columns.get(0)).isSameAs(first);
+        assertThat(columns.get(0).toString()).isEqualTo("678");
+        assertThat(columns.get(1).toString()).isEqualTo("x");
+
+        assertThat(tokenizer.readColumnSequences(columns)).isFalse();
+        assertThat(columns).isEmpty();
+
+        tokenizer.close();
+    }
+
+    @Test
+    public void testConstructor_lineNumber() throws IOException {
+
+        final CsvTokenizer tokenizer = new CsvTokenizer(new StringReader("a,b\nc,d\n"), CsvPreference.STANDARD_PREFERENCE, 10);
+        final List<String> columns = new ArrayList<>();
+
+        assertThat(tokenizer.getLineNumber()).isEqualTo(10);
+        tokenizer.readColumns(columns);
+        assertThat(tokenizer.getLineNumber()).isEqualTo(11);
+
+        tokenizer.close();
+    }
+
+    @Test
+    public void testReadColumns_unexpectedEof() throws IOException {
+
+        final CsvTokenizer tokenizer = new CsvTokenizer(new StringReader("a,\"b\nc"), CsvPreference.STANDARD_PREFERENCE);
+        try {
+            tokenizer.readColumns(new ArrayList<>());
+            fail();
+
+        } catch(SuperCsvException e) {
+            assertThat(e.getMessage()).contains("unexpected end of file while reading quoted column beginning on line 1 and ending on line 2");
+        }
+
+        tokenizer.close();
+    }
+
+    @Test
+    public void testGetBytePosition() throws IOException {
+
+        final String text = "あ,\"𠮷\r\nb\"\r\n12,ｱｲ\r\n";
+        final List<String> columns = new ArrayList<>();
+
+        for(String charsetName : new String[]{"UTF-8", "Windows-31J", "EUC-JP"}) {
+            final Charset charset = Charset.forName(charsetName);
+            final byte[] bytes = text.getBytes(charset);
+            final int secondRowOffset = "あ,\"𠮷\r\nb\"\r".getBytes(charset).length;
+
+            final CsvTokenizer tokenizer = new CsvTokenizer(
+                    new InputStreamReader(new ByteArrayInputStream(bytes), charset), CsvPreference.STANDARD_PREFERENCE);
+            tokenizer.startByteCount(charset, 0L);
+            assertThat(tokenizer.getBytePosition()).isEqualTo(0L);
+
+            assertThat(tokenizer.readColumns(columns)).isTrue();
+            assertThat(tokenizer.getBytePosition()).as(charsetName).isEqualTo(secondRowOffset);
+            assertThat(tokenizer.isPendingLineFeed()).isTrue();
+
+            assertThat(tokenizer.readColumns(columns)).isTrue();
+            assertThat(tokenizer.readColumns(columns)).isFalse();
+            assertThat(tokenizer.getBytePosition()).as(charsetName).isEqualTo(bytes.length);
+
+            tokenizer.close();
+        }
+
+    }
+
+    /**
+     * {@link CsvTokenizer#skipRecord()}で読み飛ばした場合も、
+     * 続くレコードと行番号、バイト位置、エラーが{@link CsvTokenizer#readColumns(List)}と同じになるか検証する。
+     */
+    private void assertSkipSameAsRead(final String text, final CsvPreference preference, final IntPredicate skip) throws IOException {
+
+        final Charset charset = Charset.forName("UTF-8");
+        final CsvTokenizer expected = new CsvTokenizer(new StringReader(text), preference);
+        final CsvTokenizer actual = new CsvTokenizer(new StringReader(text), preference);
+        expected.startByteCount(charset, 0L);
+        actual.startByteCount(charset, 0L);
+
+        final List<String> expectedColumns = new ArrayList<>();
+        final List<String> actualColumns = new ArrayList<>();
+
+        for(int i=0; ; i++) {
+            boolean expectedRead;
+            String expectedError = null;
+            try {
+                expectedRead = expected.readColumns(expectedColumns);
+            } catch(SuperCsvException e) {
+                expectedRead = false;
+                expectedError = e.getMessage();
+            }
+
+            final boolean skipped = skip.test(i);
+            boolean actualRead;
+            String actualError = null;
+            try {
+                actualRead = skipped ? actual.skipRecord() : actual.readColumns(actualColumns);
+            } catch(SuperCsvException e) {
+                actualRead = false;
+                actualError = e.getMessage();
+            }
+
+            assertThat(actualError).as("text=%s, record=%d", text, i).isEqualTo(expectedError);
+            assertThat(actualRead).as("text=%s, record=%d", text, i).isEqualTo(expectedRead);
+            if(!expectedRead) {
+                break;
+            }
+
+            assertThat(actual.getLineNumber()).as("text=%s, record=%d", text, i).isEqualTo(expected.getLineNumber());
+            assertThat(actual.getBytePosition()).as("text=%s, record=%d", text, i).isEqualTo(expected.getBytePosition());
+            assertThat(actual.isPendingLineFeed()).isEqualTo(expected.isPendingLineFeed());
+            if(!skipped) {
+                assertThat(actualColumns).as("text=%s, record=%d", text, i).containsExactlyElementsOf(expectedColumns);
+            }
+        }
+
+        expected.close();
+        actual.close();
+    }
+
+    @Test
+    public void testSkipRecord() throws IOException {
+
+        final CsvPreference commentPreference = new CsvPreference.Builder(CsvPreference.STANDARD_PREFERENCE)
+                .skipComments(new CommentStartsWith("#"))
+                .build();
+        final CsvPreference[] preferences = new CsvPreference[]{
+                CsvPreference.STANDARD_PREFERENCE,
+                CsvPreference.TAB_PREFERENCE,
+                new CsvPreference.Builder(CsvPreference.STANDARD_PREFERENCE).ignoreEmptyLines(false).build(),
+                new CsvPreference.Builder(CsvPreference.STANDARD_PREFERENCE).maxLinesPerRow(2).build(),
+                commentPreference,
+                new CsvPreference.Builder(commentPreference).ignoreEmptyLines(false).maxLinesPerRow(3).build()
+        };
+
+        final List<String> texts = new ArrayList<>();
+        texts.add("a,b,c\n1,2,3\n");
+        texts.add("\"a,b\",\"c\"\"d\",e\r\n\"\"\"\",x\r\n");
+        texts.add("\"multi\nline\",2\n\n3,\"\n\"\n");
+        texts.add("\r\n\r\na,\"b\r\n\r\nc\"\r\n\r\n");
+        texts.add("#comment\na,b\n#\"comment2\nc,\"d\n#e\"\n");
+        texts.add("a,\"b\nc");
+        texts.add("a,\"b\n\nc\nd\"\n");
+
+        // ランダムなデータ（バッファの境界をまたぐ長さを含む）
+        final Random random = new Random(1L);
+        final char[] chars = new char[]{'a', 'b', ',', '\t', ' ', '"', '"', '\n', '\r', '#', 'あ'};
+        for(int i=0; i < 200; i++) {
+            final int length = (i % 20 == 0) ? 20000 + random.nextInt(5000) : random.nextInt(60);
+            final StringBuilder text = new StringBuilder();
+            for(int j=0; j < length; j++) {
+                text.append(chars[random.nextInt(chars.length)]);
+            }
+            texts.add(text.toString());
+        }
+
+        for(CsvPreference preference : preferences) {
+            for(String text : texts) {
+                assertSkipSameAsRead(text, preference, i -> true);
+                assertSkipSameAsRead(text, preference, i -> i % 2 == 0);
+                assertSkipSameAsRead(text, preference, i -> i % 3 != 1);
+            }
+        }
+
+    }
+
+    @Test
+    public void testStartByteCount_notSupportedCharset() throws IOException {
+
+        final CsvTokenizer tokenizer = new CsvTokenizer(new StringReader("a\nb"), CsvPreference.STANDARD_PREFERENCE);
+        assertThatThrownBy(() -> tokenizer.getBytePosition()).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> tokenizer.startByteCount(Charset.forName("UTF-16"), 0L)).isInstanceOf(IllegalArgumentException.class);
+
+        tokenizer.readColumns(new ArrayList<>());
+        assertThatThrownBy(() -> tokenizer.startByteCount(Charset.forName("UTF-8"), 0L)).isInstanceOf(IllegalStateException.class);
+
+        tokenizer.close();
+    }
+
+}
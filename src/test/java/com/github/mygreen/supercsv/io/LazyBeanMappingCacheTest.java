@@ -0,0 +1,181 @@
+package com.github.mygreen.supercsv.io;
+
+import static org.junit.Assert.*;
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.supercsv.prefs.CsvPreference;
+
+import com.github.mygreen.supercsv.annotation.CsvBean;
+import com.github.mygreen.supercsv.annotation.CsvColumn;
+import com.github.mygreen.supercsv.annotation.constraint.CsvUnique;
+import com.github.mygreen.supercsv.exception.SuperCsvNoMatchHeaderException;
+
+/**
+ * {@link LazyBeanMappingCache}のテスタ。
+ *
+ * @since 2.3
+ * @author T.TSUCHIE
+ *
+ */
+public class LazyBeanMappingCacheTest {
+
+    private static final String TEST_CSV = "no,name,生年月日,備考\r\n"
+            + "1,山田太郎,2000/01/02,コメント1\r\n"
+            + "2,鈴木次郎,2001/03/04,\r\n";
+
+    @CsvBean(header=true)
+    public static class UniqueBean {
+
+        @CsvColumn
+        @CsvUnique
+        private int id;
+
+        @CsvColumn
+        private String name;
+
+        public int getId() {
+            return id;
+        }
+
+        public void setId(int id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+    }
+
+    private List<SampleLazyBean> readAll(final LazyBeanMappingCache<SampleLazyBean> mappingCache, final String text)
+            throws IOException {
+
+        try(LazyCsvAnnotationBeanReader<SampleLazyBean> reader = new LazyCsvAnnotationBeanReader<>(
+                mappingCache, new StringReader(text), CsvPreference.STANDARD_PREFERENCE)) {
+            final List<SampleLazyBean> list = reader.readAll();
+            assertThat(reader.getDefinedHeader()).containsExactly("no", "name", "生年月日", "備考");
+            return list;
+        }
+    }
+
+    @Test
+    public void testRead() throws IOException {
+
+        final LazyBeanMappingCache<SampleLazyBean> mappingCache = new LazyBeanMappingCache<>(SampleLazyBean.class);
+        assertThat(mappingCache.size()).isEqualTo(0);
+
+        final List<SampleLazyBean> list1 = readAll(mappingCache, TEST_CSV);
+        assertThat(mappingCache.size()).isEqualTo(1);
+
+        final List<SampleLazyBean> list2 = readAll(mappingCache, TEST_CSV);
+        assertThat(mappingCache.size()).isEqualTo(1);
+
+        // キャッシュを使用しない場合と同じ結果となる
+        final List<SampleLazyBean> expected;
+        try(LazyCsvAnnotationBeanReader<SampleLazyBean> reader = new LazyCsvAnnotationBeanReader<>(
+                SampleLazyBean.class, new StringReader(TEST_CSV), CsvPreference.STANDARD_PREFERENCE)) {
+            expected = reader.readAll();
+        }
+
+        for(List<SampleLazyBean> actual : Arrays.asList(list1, list2)) {
+            assertThat(actual).hasSize(expected.size());
+            for(int i=0; i < expected.size(); i++) {
+                assertThat(actual.get(i).getNo()).isEqualTo(expected.get(i).getNo());
+                assertThat(actual.get(i).getName()).isEqualTo(expected.get(i).getName());
+                assertThat(actual.get(i).getBirthday()).isEqualTo(expected.get(i).getBirthday());
+                assertThat(actual.get(i).getComment()).isEqualTo(expected.get(i).getComment());
+            }
+        }
+        assertThat(list1.get(0).getBirthday()).isEqualTo(LocalDate.of(2000, 1, 2));
+
+        // 同じヘッダーの場合は、マッピング情報を共有する
+        try(LazyCsvAnnotationBeanReader<SampleLazyBean> reader1 = new LazyCsvAnnotationBeanReader<>(
+                    mappingCache, new StringReader(TEST_CSV), CsvPreference.STANDARD_PREFERENCE);
+                LazyCsvAnnotationBeanReader<SampleLazyBean> reader2 = new LazyCsvAnnotationBeanReader<>(
+                    mappingCache, new StringReader(TEST_CSV), CsvPreference.STANDARD_PREFERENCE)) {
+            reader1.init();
+            reader2.init();
+            assertThat(reader1.getBeanMapping()).isSameAs(reader2.getBeanMapping());
+            assertThat(reader1.getValidators()).isEqualTo(reader2.getValidators());
+        }
+
+    }
+
+    @Test
+    public void testRead_headerError() throws IOException {
+
+        final LazyBeanMappingCache<SampleLazyBean> mappingCache = new LazyBeanMappingCache<>(SampleLazyBean.class);
+
+        // ヘッダーのエラーがある場合はキャッシュしない
+        try(LazyCsvAnnotationBeanReader<SampleLazyBean> reader = new LazyCsvAnnotationBeanReader<>(
+                mappingCache, new StringReader("no,name,生年月日,コメント\r\n"), CsvPreference.STANDARD_PREFERENCE)) {
+            assertThatThrownBy(() -> reader.init()).isInstanceOf(SuperCsvNoMatchHeaderException.class);
+        }
+        assertThat(mappingCache.size()).isEqualTo(0);
+
+        readAll(mappingCache, TEST_CSV);
+        assertThat(mappingCache.size()).isEqualTo(1);
+
+        mappingCache.clear();
+        assertThat(mappingCache.size()).isEqualTo(0);
+
+    }
+
+    @Test
+    public void testRead_stateful() throws IOException {
+
+        final LazyBeanMappingCache<UniqueBean> mappingCache = new LazyBeanMappingCache<>(UniqueBean.class);
+        final String text = "id,name\r\n1,abc\r\n2,def\r\n";
+
+        // 状態を持つCellProcessorを含む場合は、ファイルをまたいで値を共有しない
+        for(int i=0; i < 2; i++) {
+            try(LazyCsvAnnotationBeanReader<UniqueBean> reader = new LazyCsvAnnotationBeanReader<>(
+                    mappingCache, new StringReader(text), CsvPreference.STANDARD_PREFERENCE)) {
+                assertThat(reader.readAll()).hasSize(2);
+            }
+        }
+        assertThat(mappingCache.size()).isEqualTo(0);
+
+    }
+
+    @Test
+    public void testWrite() throws IOException {
+
+        final LazyBeanMappingCache<SampleLazyBean> mappingCache = new LazyBeanMappingCache<>(SampleLazyBean.class);
+
+        final List<SampleLazyBean> list;
+        try(LazyCsvAnnotationBeanReader<SampleLazyBean> reader = new LazyCsvAnnotationBeanReader<>(
+                SampleLazyBean.class, new StringReader(TEST_CSV), CsvPreference.STANDARD_PREFERENCE)) {
+            list = reader.readAll();
+        }
+
+        for(int i=0; i < 2; i++) {
+            final StringWriter strWriter = new StringWriter();
+            try(LazyCsvAnnotationBeanWriter<SampleLazyBean> writer = new LazyCsvAnnotationBeanWriter<>(
+                    mappingCache, strWriter, CsvPreference.STANDARD_PREFERENCE)) {
+                writer.init("no", "name", "生年月日", "備考");
+                writer.writeAll(list);
+            }
+
+            assertThat(strWriter.toString()).isEqualTo(TEST_CSV);
+        }
+
+        // 読み込み用とは別にキャッシュする
+        readAll(mappingCache, TEST_CSV);
+        assertThat(mappingCache.size()).isEqualTo(2);
+
+    }
+
+}
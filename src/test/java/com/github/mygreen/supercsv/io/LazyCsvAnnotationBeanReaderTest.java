@@ -12,6 +12,7 @@ import java.nio.charset.Charset;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -93,6 +94,67 @@ public class LazyCsvAnnotationBeanReaderTest {
         
     }
     
+    /**
+     * 指定したカラムのみを読み込む場合 - 初期化の前に射影を指定する
+     * @since 2.3
+     */
+    @Test
+    public void testRead_project() throws IOException {
+        
+        File file = new File("src/test/data/test_read_lazy.csv");
+        
+        LazyCsvAnnotationBeanReader<SampleLazyBean> csvReader = new LazyCsvAnnotationBeanReader<>(
+                SampleLazyBean.class,
+                new InputStreamReader(new FileInputStream(file), Charset.forName("UTF-8")),
+                CsvPreference.STANDARD_PREFERENCE);
+        csvReader.setExceptionConverter(exceptionConverter);
+        
+        csvReader.project("no", "comment");
+        csvReader.init();
+        
+        SampleLazyBean bean;
+        int count = 0;
+        while((bean = csvReader.read()) != null) {
+            count++;
+            assertThat(bean.getNo()).isEqualTo(count);
+            assertThat(bean.getName()).isNull();
+            assertThat(bean.getBirthday()).isNull();
+        }
+        
+        assertThat(count).isEqualTo(2);
+        assertThat(csvReader.getErrorMessages()).hasSize(0);
+        
+        csvReader.close();
+        
+    }
+    
+    /**
+     * リザーバーサンプリングで抽出する場合 - 初期化は自動的に行う。
+     * @since 2.3
+     */
+    @Test
+    public void testReadSample() throws IOException {
+        
+        File file = new File("src/test/data/test_read_lazy.csv");
+        
+        LazyCsvAnnotationBeanReader<SampleLazyBean> csvReader = new LazyCsvAnnotationBeanReader<>(
+                SampleLazyBean.class,
+                new CsvTokenizer(new InputStreamReader(new FileInputStream(file), Charset.forName("UTF-8")), CsvPreference.STANDARD_PREFERENCE),
+                CsvPreference.STANDARD_PREFERENCE);
+        csvReader.setExceptionConverter(exceptionConverter);
+        
+        assertThatThrownBy(() -> csvReader.skipRecords(1)).isInstanceOf(IllegalStateException.class);
+        
+        List<SampleLazyBean> list = csvReader.readSample(1, new Random(1L));
+        assertThat(list).hasSize(1);
+        assertBean(list.get(0));
+        assertThat(csvReader.getRowNumber()).isEqualTo(3);
+        assertThat(csvReader.getErrorMessages()).hasSize(0);
+        
+        csvReader.close();
+        
+    }
+    
     /**
      * 全て読み込む - 初期化は自動的う。
      */
@@ -263,6 +325,63 @@ public class LazyCsvAnnotationBeanReaderTest {
         
     }
     
+    /**
+     * 値の検証のみを行う場合
+     * @since 2.3
+     */
+    @Test
+    public void testValidateAll() throws Exception {
+        
+        File file = new File("src/test/data/test_read_lazy_wrong_pattern.csv");
+        
+        LazyCsvAnnotationBeanReader<SampleLazyBean> csvReader = new LazyCsvAnnotationBeanReader<>(
+                SampleLazyBean.class,
+                new InputStreamReader(new FileInputStream(file), Charset.forName("UTF-8")),
+                CsvPreference.STANDARD_PREFERENCE);
+        csvReader.setExceptionConverter(exceptionConverter);
+        
+        List<String> messages = new ArrayList<>();
+        int errorCount = csvReader.validateAll((context, errors) -> {
+            assertThat(context.getLineNumber()).isEqualTo(2);
+            errors.getAllErrors().forEach(error -> messages.add(
+                    error.format(exceptionConverter.getMessageResolver(), exceptionConverter.getMessageInterpolator())));
+        });
+        
+        assertThat(errorCount).isEqualTo(1);
+        assertThat(messages).hasSize(1)
+            .contains("[2行, 3列] : 項目「生年月日」の値（2000-10-01）は、日時の書式「uuuu/MM/dd」として不正です。");
+        assertThat(csvReader.getErrorMessages()).isEmpty();
+        
+        csvReader.close();
+        
+    }
+    
+    /**
+     * 初期化前に値の検証を行う場合
+     * @since 2.3
+     */
+    @Test
+    public void testValidate_notInit() throws Exception {
+        
+        File file = new File("src/test/data/test_read_lazy.csv");
+        
+        LazyCsvAnnotationBeanReader<SampleLazyBean> csvReader = new LazyCsvAnnotationBeanReader<>(
+                SampleLazyBean.class,
+                new InputStreamReader(new FileInputStream(file), Charset.forName("UTF-8")),
+                CsvPreference.STANDARD_PREFERENCE);
+        
+        assertThatThrownBy(() -> csvReader.validate())
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage(MESSAGE_NOT_INIT);
+        
+        assertThatThrownBy(() -> csvReader.createColumnBatch(10))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage(MESSAGE_NOT_INIT);
+        
+        csvReader.close();
+        
+    }
+    
     /**
      * 初期化に失敗する場合 - Beanに定義してある情報とCSVの列数が一致しない場合
      */
@@ -0,0 +1,240 @@
+package com.github.mygreen.supercsv.io;
+
+import static org.junit.Assert.*;
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.supercsv.prefs.CsvPreference;
+
+import com.github.mygreen.supercsv.annotation.CsvBean;
+import com.github.mygreen.supercsv.annotation.CsvColumn;
+
+/**
+ * {@link ParallelGzipOutputStream}と{@link ReadAheadInputStream}のテスタ。
+ *
+ * @since 2.3
+ * @author T.TSUCHIE
+ *
+ */
+public class ParallelGzipOutputStreamTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @CsvBean(header=true)
+    public static class GzipBean {
+
+        @CsvColumn(number=1)
+        private int id;
+
+        @CsvColumn(number=2)
+        private String name;
+
+        public GzipBean() {
+        }
+
+        public GzipBean(int id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        public void setId(int id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+    }
+
+    private static byte[] readFully(final InputStream in) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[1000];
+        int size;
+        while((size = in.read(buffer)) >= 0) {
+            out.write(buffer, 0, size);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] createData(final int size) {
+        final Random random = new Random(size);
+        final byte[] data = new byte[size];
+        for(int i=0; i < size; i++) {
+            // 圧縮できるよう、値の範囲を絞る
+            data[i] = (byte)('a' + random.nextInt(8));
+        }
+        return data;
+    }
+
+    @Test
+    public void testWrite() throws IOException {
+
+        for(int size : new int[]{0, 1, 1023, 1024, 1025, 10_000, 100_000}) {
+            final byte[] data = createData(size);
+
+            final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            try(ParallelGzipOutputStream out = new ParallelGzipOutputStream(compressed, 1024, 3)) {
+                // 書き込むサイズを変えながら出力する
+                int offset = 0;
+                int chunk = 1;
+                while(offset < size) {
+                    final int length = Math.min(chunk, size - offset);
+                    if(length == 1) {
+                        out.write(data[offset]);
+                    } else {
+                        out.write(data, offset, length);
+                    }
+                    offset += length;
+                    chunk = chunk * 3 % 5000 + 1;
+                    out.flush();
+                }
+            }
+
+            // 複数のメンバーを連結したgzip形式として展開できる
+            try(InputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed.toByteArray()))) {
+                assertThat(readFully(in)).as("size=%d", size).isEqualTo(data);
+            }
+
+            // 別スレッドで展開する
+            try(InputStream in = GzipSupport.decompressIfGzip(new ByteArrayInputStream(compressed.toByteArray()))) {
+                assertThat(in).isInstanceOf(ReadAheadInputStream.class);
+                assertThat(readFully(in)).as("size=%d", size).isEqualTo(data);
+                assertThat(in.read()).isEqualTo(-1);
+            }
+        }
+
+    }
+
+    @Test
+    public void testClose() throws IOException {
+
+        final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        final ParallelGzipOutputStream out = new ParallelGzipOutputStream(compressed, 16, 2);
+        out.write(createData(100));
+        out.close();
+        out.close();
+
+        try {
+            out.write(1);
+            fail();
+        } catch(IOException e) {
+            assertThat(e.getMessage()).contains("closed");
+        }
+
+    }
+
+    @Test
+    public void testDecompressIfGzip_plain() throws IOException {
+
+        final byte[] data = "id,name\n1,abc\n".getBytes("UTF-8");
+        try(InputStream in = GzipSupport.decompressIfGzip(new ByteArrayInputStream(data))) {
+            assertThat(in).isNotInstanceOf(ReadAheadInputStream.class);
+            assertThat(readFully(in)).isEqualTo(data);
+        }
+
+        try(InputStream in = GzipSupport.decompressIfGzip(new ByteArrayInputStream(new byte[0]))) {
+            assertThat(in.read()).isEqualTo(-1);
+        }
+
+    }
+
+    @Test
+    public void testReadAheadInputStream_error() throws IOException {
+
+        final InputStream source = new InputStream() {
+            private int count = 0;
+
+            @Override
+            public int read() throws IOException {
+                if(count++ < 10) {
+                    return 'a';
+                }
+                throw new IOException("test error");
+            }
+        };
+
+        try(ReadAheadInputStream in = new ReadAheadInputStream(source, 4, 1)) {
+            final byte[] buffer = new byte[100];
+            int total = 0;
+            try {
+                int size;
+                while((size = in.read(buffer, 0, buffer.length)) >= 0) {
+                    total += size;
+                }
+                fail();
+
+            } catch(IOException e) {
+                assertThat(e.getMessage()).isEqualTo("test error");
+            }
+
+            assertThat(total).isEqualTo(10);
+            assertThat(in.read()).isEqualTo(-1);
+        }
+
+    }
+
+    @Test
+    public void testOpen() throws IOException {
+
+        final List<GzipBean> list = new ArrayList<>();
+        for(int i=1; i <= 20_000; i++) {
+            list.add(new GzipBean(i, i % 3 == 0 ? "名前\n" + i : "name" + i));
+        }
+
+        for(String fileName : new String[]{"sample.csv.gz", "sample.csv"}) {
+            final Path file = tempFolder.getRoot().toPath().resolve(fileName);
+
+            try(CsvAnnotationBeanWriter<GzipBean> writer = CsvAnnotationBeanWriter.open(
+                    GzipBean.class, file, StandardCharsets.UTF_8, CsvPreference.STANDARD_PREFERENCE)) {
+                writer.writeAll(list);
+            }
+
+            // 拡張子で圧縮するかどうか判定する
+            final byte[] head = new byte[2];
+            try(InputStream in = Files.newInputStream(file)) {
+                assertThat(in.read(head)).isEqualTo(2);
+            }
+            assertThat(head[0] == (byte)0x1f && head[1] == (byte)0x8b).as(fileName).isEqualTo(fileName.endsWith(".gz"));
+
+            // 先頭のマジックナンバーで判定して展開する
+            final Path renamed = tempFolder.getRoot().toPath().resolve("renamed-" + fileName + ".dat");
+            Files.copy(file, renamed);
+
+            try(CsvAnnotationBeanReader<GzipBean> reader = CsvAnnotationBeanReader.open(
+                    GzipBean.class, renamed, StandardCharsets.UTF_8, CsvPreference.STANDARD_PREFERENCE)) {
+                final List<GzipBean> actual = reader.readAll();
+                assertThat(actual).hasSize(list.size());
+                for(int i=0; i < list.size(); i++) {
+                    assertThat(actual.get(i).getId()).isEqualTo(list.get(i).getId());
+                    assertThat(actual.get(i).getName()).isEqualTo(list.get(i).getName());
+                }
+            }
+        }
+
+    }
+
+}
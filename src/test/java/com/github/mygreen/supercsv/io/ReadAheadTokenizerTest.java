@@ -0,0 +1,192 @@
+package com.github.mygreen.supercsv.io;
+
+import static org.junit.Assert.*;
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.supercsv.exception.SuperCsvException;
+import org.supercsv.prefs.CsvPreference;
+
+import com.github.mygreen.supercsv.annotation.CsvBean;
+import com.github.mygreen.supercsv.annotation.CsvColumn;
+
+/**
+ * {@link ReadAheadTokenizer}のテスタ。
+ *
+ * @since 2.3
+ * @author T.TSUCHIE
+ *
+ */
+public class ReadAheadTokenizerTest {
+
+    @CsvBean(header=true)
+    public static class ReadAheadBean {
+
+        @CsvColumn(number=1)
+        private int id;
+
+        @CsvColumn(number=2)
+        private String name;
+
+        public int getId() {
+            return id;
+        }
+
+        public void setId(int id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+    }
+
+    private String createText(final int size) {
+
+        final StringBuilder text = new StringBuilder("id,name\n");
+        for(int i=1; i <= size; i++) {
+            if(i % 5 == 0) {
+                text.append(i).append(",\"name\n").append(i).append("\"\n");
+            } else if(i % 7 == 0) {
+                text.append(i).append(",\n\n");
+            } else {
+                text.append(i).append(",name").append(i).append("\n");
+            }
+        }
+
+        return text.toString();
+    }
+
+    @Test
+    public void testReadColumns_sameAsCsvTokenizer() throws IOException {
+
+        final String text = createText(100);
+
+        for(int batchSize : new int[]{1, 3, 256}) {
+            final CsvTokenizer expected = new CsvTokenizer(new StringReader(text), CsvPreference.STANDARD_PREFERENCE);
+            final ReadAheadTokenizer actual = new ReadAheadTokenizer(
+                    new CsvTokenizer(new StringReader(text), CsvPreference.STANDARD_PREFERENCE), batchSize, 2);
+
+            final List<String> expectedColumns = new ArrayList<>();
+            final List<String> actualColumns = new ArrayList<>();
+
+            while(true) {
+                final boolean expectedRead = expected.readColumns(expectedColumns);
+                final boolean actualRead = actual.readColumns(actualColumns);
+
+                assertThat(actualRead).isEqualTo(expectedRead);
+                if(!expectedRead) {
+                    break;
+                }
+
+                assertThat(actualColumns).containsExactlyElementsOf(expectedColumns);
+                assertThat(actual.getLineNumber()).isEqualTo(expected.getLineNumber());
+                assertThat(actual.getUntokenizedRow()).isEqualTo(expected.getUntokenizedRow());
+            }
+
+            // 終端に達した後
+            assertThat(actual.readColumns(actualColumns)).isFalse();
+
+            expected.close();
+            actual.close();
+        }
+
+    }
+
+    @Test
+    public void testRead_withReader() throws IOException {
+
+        final String text = createText(1000);
+
+        final List<String> expected = new ArrayList<>();
+        try(CsvAnnotationBeanReader<ReadAheadBean> reader = new CsvAnnotationBeanReader<>(ReadAheadBean.class,
+                new StringReader(text), CsvPreference.STANDARD_PREFERENCE)) {
+            reader.getHeader(true);
+            ReadAheadBean bean;
+            while((bean = reader.read()) != null) {
+                expected.add(String.format("%d:%d:%d:%s", reader.getLineNumber(), reader.getRowNumber(), bean.getId(), bean.getName()));
+            }
+        }
+
+        final List<String> actual = new ArrayList<>();
+        final ReadAheadTokenizer tokenizer = new ReadAheadTokenizer(new StringReader(text), CsvPreference.STANDARD_PREFERENCE);
+        tokenizer.setKeepUntokenizedRow(false);
+        try(CsvAnnotationBeanReader<ReadAheadBean> reader = new CsvAnnotationBeanReader<>(ReadAheadBean.class,
+                tokenizer, CsvPreference.STANDARD_PREFERENCE)) {
+            reader.getHeader(true);
+            ReadAheadBean bean;
+            while((bean = reader.read()) != null) {
+                actual.add(String.format("%d:%d:%d:%s", reader.getLineNumber(), reader.getRowNumber(), bean.getId(), bean.getName()));
+            }
+
+            assertThat(reader.getUntokenizedRow()).isNull();
+        }
+
+        assertThat(actual).hasSize(1000).containsExactlyElementsOf(expected);
+
+        assertThatThrownBy(() -> tokenizer.setKeepUntokenizedRow(true)).isInstanceOf(IllegalStateException.class);
+
+    }
+
+    @Test
+    public void testReadColumns_error() throws IOException {
+
+        final ReadAheadTokenizer tokenizer = new ReadAheadTokenizer(
+                new CsvTokenizer(new StringReader("a,b\nc,d\ne,\"f\n"), CsvPreference.STANDARD_PREFERENCE), 10, 1);
+        final List<String> columns = new ArrayList<>();
+
+        // エラーの前までのレコードは読み込める
+        assertThat(tokenizer.readColumns(columns)).isTrue();
+        assertThat(columns).containsExactly("a", "b");
+        assertThat(tokenizer.readColumns(columns)).isTrue();
+        assertThat(columns).containsExactly("c", "d");
+
+        try {
+            tokenizer.readColumns(columns);
+            fail();
+
+        } catch(SuperCsvException e) {
+            assertThat(e.getMessage()).contains("unexpected end of file");
+        }
+
+        assertThat(tokenizer.readColumns(columns)).isFalse();
+        tokenizer.close();
+
+    }
+
+    @Test
+    public void testClose_whileReading() throws IOException {
+
+        final boolean[] closed = new boolean[1];
+        final Reader reader = new StringReader(createText(10000)) {
+            @Override
+            public void close() {
+                closed[0] = true;
+                super.close();
+            }
+        };
+
+        final ReadAheadTokenizer tokenizer = new ReadAheadTokenizer(
+                new CsvTokenizer(reader, CsvPreference.STANDARD_PREFERENCE), 16, 2);
+        assertThat(tokenizer.readColumns(new ArrayList<>())).isTrue();
+
+        // 先読みのスレッドがキューの空きを待っている状態で閉じる
+        tokenizer.close();
+        assertThat(closed[0]).isTrue();
+
+        assertThatThrownBy(() -> tokenizer.readColumns(new ArrayList<>())).isInstanceOf(IllegalStateException.class);
+
+    }
+
+}
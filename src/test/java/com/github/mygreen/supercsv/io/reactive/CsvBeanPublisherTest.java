@@ -0,0 +1,298 @@
+package com.github.mygreen.supercsv.io.reactive;
+
+import static org.junit.Assert.*;
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.supercsv.prefs.CsvPreference;
+
+import com.github.mygreen.supercsv.exception.SuperCsvBindingException;
+import com.github.mygreen.supercsv.exception.SuperCsvNoMatchHeaderException;
+import com.github.mygreen.supercsv.io.CsvAnnotationBeanReader;
+
+/**
+ * {@link CsvBeanPublisher}のテスタ。
+ *
+ * @since 2.3
+ * @author T.TSUCHIE
+ *
+ */
+public class CsvBeanPublisherTest {
+
+    /**
+     * 通知された内容を記録するSubscriber
+     */
+    private static class RecordingSubscriber<T> implements Subscriber<T> {
+
+        private final List<T> items = new ArrayList<>();
+
+        private final CountDownLatch terminated = new CountDownLatch(1);
+
+        private Subscription subscription;
+
+        private Throwable error;
+
+        private boolean completed;
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public synchronized void onNext(T item) {
+            items.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            this.error = throwable;
+            terminated.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            this.completed = true;
+            terminated.countDown();
+        }
+
+        synchronized List<T> getItems() {
+            return new ArrayList<>(items);
+        }
+
+    }
+
+    private static class TestReader extends CsvAnnotationBeanReader<ReactiveBean> {
+
+        private boolean closed;
+
+        TestReader(final String text) {
+            super(ReactiveBean.class, new StringReader(text), CsvPreference.STANDARD_PREFERENCE);
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.closed = true;
+            super.close();
+        }
+
+    }
+
+    private String createText(final int size) {
+        final StringBuilder text = new StringBuilder("id,name\n");
+        for(int i=1; i <= size; i++) {
+            text.append(i).append(",name").append(i).append("\n");
+        }
+        return text.toString();
+    }
+
+    @Test
+    public void testRequest() {
+
+        final TestReader reader = new TestReader(createText(5));
+        final CsvBeanPublisher<ReactiveBean> publisher = new CsvBeanPublisher<>(reader);
+        final RecordingSubscriber<CsvRecord<ReactiveBean>> subscriber = new RecordingSubscriber<>();
+        publisher.subscribe(subscriber);
+
+        // 要求するまで読み込まない
+        assertThat(subscriber.getItems()).isEmpty();
+        assertThat(reader.getLineNumber()).isEqualTo(0);
+
+        subscriber.subscription.request(2);
+        assertThat(subscriber.getItems()).hasSize(2);
+        assertThat(reader.getLineNumber()).isEqualTo(3);
+
+        subscriber.subscription.request(3);
+        assertThat(subscriber.getItems()).hasSize(5);
+        assertThat(subscriber.completed).isFalse();
+        assertThat(reader.closed).isFalse();
+
+        // 終端に達したときに完了を通知する
+        subscriber.subscription.request(1);
+        assertThat(subscriber.completed).isTrue();
+        assertThat(reader.closed).isTrue();
+
+        final List<CsvRecord<ReactiveBean>> records = subscriber.getItems();
+        for(int i=0; i < records.size(); i++) {
+            final CsvRecord<ReactiveBean> record = records.get(i);
+            assertThat(record.hasErrors()).isFalse();
+            assertThat(record.getBean().getId()).isEqualTo(i + 1);
+            assertThat(record.getLineNumber()).isEqualTo(i + 2);
+            assertThat(record.getRowNumber()).isEqualTo(i + 2);
+        }
+
+    }
+
+    @Test
+    public void testRequest_reentrant() {
+
+        // onNextの中から要求しても、再帰呼び出しせずに通知する
+        final TestReader reader = new TestReader(createText(10_000));
+        final CsvBeanPublisher<ReactiveBean> publisher = new CsvBeanPublisher<>(reader);
+        final RecordingSubscriber<CsvRecord<ReactiveBean>> subscriber = new RecordingSubscriber<CsvRecord<ReactiveBean>>() {
+
+            @Override
+            public void onNext(CsvRecord<ReactiveBean> item) {
+                super.onNext(item);
+                assertThat(Thread.currentThread().getStackTrace().length).isLessThan(200);
+                super.subscription.request(1);
+            }
+        };
+
+        publisher.subscribe(subscriber);
+        subscriber.subscription.request(1);
+
+        assertThat(subscriber.getItems()).hasSize(10_000);
+        assertThat(subscriber.completed).isTrue();
+
+    }
+
+    @Test
+    public void testError() {
+
+        final String text = "id,name\n1,abc\nx,def\n3,ghi\n";
+
+        // エラーで終了する
+        {
+            final TestReader reader = new TestReader(text);
+            final RecordingSubscriber<CsvRecord<ReactiveBean>> subscriber = new RecordingSubscriber<>();
+            new CsvBeanPublisher<>(reader).subscribe(subscriber);
+            subscriber.subscription.request(Long.MAX_VALUE);
+
+            assertThat(subscriber.getItems()).hasSize(1);
+            assertThat(subscriber.error).isInstanceOf(SuperCsvBindingException.class);
+            assertThat(reader.closed).isTrue();
+        }
+
+        // エラー情報を通知して続行する
+        {
+            final TestReader reader = new TestReader(text);
+            final CsvBeanPublisher<ReactiveBean> publisher = new CsvBeanPublisher<>(reader);
+            publisher.setContinueOnError(true);
+
+            final RecordingSubscriber<CsvRecord<ReactiveBean>> subscriber = new RecordingSubscriber<>();
+            publisher.subscribe(subscriber);
+            subscriber.subscription.request(Long.MAX_VALUE);
+
+            assertThat(subscriber.completed).isTrue();
+
+            final List<CsvRecord<ReactiveBean>> records = subscriber.getItems();
+            assertThat(records).hasSize(3);
+
+            final CsvRecord<ReactiveBean> errorRecord = records.get(1);
+            assertThat(errorRecord.hasErrors()).isTrue();
+            assertThat(errorRecord.getBean()).isNull();
+            assertThat(errorRecord.getLineNumber()).isEqualTo(3);
+            assertThat(errorRecord.getException()).isInstanceOf(SuperCsvBindingException.class);
+            assertThat(errorRecord.getErrorMessages()).hasSize(1).allMatch(message -> message.contains("3行"));
+
+            assertThat(records.get(2).getBean().getId()).isEqualTo(3);
+        }
+
+        // ヘッダーのエラー
+        {
+            final TestReader reader = new TestReader("no,name\n1,abc\n");
+            final CsvBeanPublisher<ReactiveBean> publisher = new CsvBeanPublisher<>(reader);
+            publisher.setContinueOnError(true);
+
+            final List<CsvRecord<ReactiveBean>> errors = new ArrayList<>();
+            final RecordingSubscriber<ReactiveBean> subscriber = new RecordingSubscriber<>();
+            publisher.beans(errors::add).subscribe(subscriber);
+            subscriber.subscription.request(1);
+
+            assertThat(errors).hasSize(1);
+            assertThat(errors.get(0).getException()).isInstanceOf(SuperCsvNoMatchHeaderException.class);
+            assertThat(subscriber.getItems()).hasSize(1);
+            assertThat(subscriber.getItems().get(0).getId()).isEqualTo(1);
+        }
+
+    }
+
+    @Test
+    public void testBeans() {
+
+        final TestReader reader = new TestReader("id,name\n1,abc\nx,def\ny,ghi\n4,jkl\n5,mno\n");
+        final CsvBeanPublisher<ReactiveBean> publisher = new CsvBeanPublisher<>(reader);
+        publisher.setContinueOnError(true);
+
+        final List<CsvRecord<ReactiveBean>> errors = new ArrayList<>();
+        final RecordingSubscriber<ReactiveBean> subscriber = new RecordingSubscriber<>();
+        publisher.beans(errors::add).subscribe(subscriber);
+
+        // エラーのレコードを除いて、要求した件数を通知する
+        subscriber.subscription.request(2);
+        assertThat(subscriber.getItems()).extracting(ReactiveBean::getId).containsExactly(1, 4);
+        assertThat(errors).extracting(CsvRecord::getLineNumber).containsExactly(3, 4);
+
+        subscriber.subscription.request(2);
+        assertThat(subscriber.getItems()).extracting(ReactiveBean::getId).containsExactly(1, 4, 5);
+        assertThat(subscriber.completed).isTrue();
+
+    }
+
+    @Test
+    public void testCancel() throws InterruptedException {
+
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final TestReader reader = new TestReader(createText(100));
+            final CsvBeanPublisher<ReactiveBean> publisher = new CsvBeanPublisher<>(reader, executor);
+            final RecordingSubscriber<CsvRecord<ReactiveBean>> subscriber = new RecordingSubscriber<>();
+            publisher.subscribe(subscriber);
+
+            subscriber.subscription.request(10);
+            subscriber.subscription.cancel();
+            subscriber.subscription.request(10);
+
+            executor.shutdown();
+            assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+            assertThat(reader.closed).isTrue();
+            assertThat(subscriber.getItems().size()).isLessThanOrEqualTo(10);
+            assertThat(subscriber.completed).isFalse();
+            assertThat(subscriber.error).isNull();
+
+        } finally {
+            executor.shutdownNow();
+        }
+
+    }
+
+    @Test
+    public void testSubscribe_invalid() {
+
+        final TestReader reader = new TestReader(createText(3));
+        final CsvBeanPublisher<ReactiveBean> publisher = new CsvBeanPublisher<>(reader);
+
+        final RecordingSubscriber<CsvRecord<ReactiveBean>> subscriber1 = new RecordingSubscriber<>();
+        publisher.subscribe(subscriber1);
+
+        // 2回目の登録
+        final RecordingSubscriber<CsvRecord<ReactiveBean>> subscriber2 = new RecordingSubscriber<>();
+        publisher.subscribe(subscriber2);
+        assertThat(subscriber2.error).isInstanceOf(IllegalStateException.class);
+
+        // 要求件数が不正
+        subscriber1.subscription.request(0);
+        assertThat(subscriber1.error).isInstanceOf(IllegalArgumentException.class);
+        assertThat(reader.closed).isTrue();
+
+        try {
+            publisher.subscribe(null);
+            fail();
+        } catch(NullPointerException e) {
+            assertThat(e.getMessage()).contains("subscriber");
+        }
+
+    }
+
+}
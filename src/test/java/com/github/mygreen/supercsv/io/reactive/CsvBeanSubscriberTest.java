@@ -0,0 +1,198 @@
+package com.github.mygreen.supercsv.io.reactive;
+
+import static org.junit.Assert.*;
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.supercsv.prefs.CsvPreference;
+
+import com.github.mygreen.supercsv.exception.SuperCsvBindingException;
+import com.github.mygreen.supercsv.io.CsvAnnotationBeanReader;
+import com.github.mygreen.supercsv.io.CsvAnnotationBeanWriter;
+
+/**
+ * {@link CsvBeanSubscriber}のテスタ。
+ *
+ * @since 2.3
+ * @author T.TSUCHIE
+ *
+ */
+public class CsvBeanSubscriberTest {
+
+    /**
+     * 要求された件数を記録するSubscription
+     */
+    private static class RecordingSubscription implements Subscription {
+
+        private final List<Long> requests = new ArrayList<>();
+
+        private boolean cancelled;
+
+        @Override
+        public void request(long n) {
+            requests.add(n);
+        }
+
+        @Override
+        public void cancel() {
+            this.cancelled = true;
+        }
+
+        long getTotalRequested() {
+            return requests.stream().mapToLong(Long::longValue).sum();
+        }
+
+    }
+
+    private CsvAnnotationBeanWriter<ReactiveBean> createWriter(final StringWriter strWriter) {
+        return new CsvAnnotationBeanWriter<>(ReactiveBean.class, strWriter, CsvPreference.STANDARD_PREFERENCE);
+    }
+
+    @Test
+    public void testPrefetch() throws Exception {
+
+        final StringWriter strWriter = new StringWriter();
+        final CsvBeanSubscriber<ReactiveBean> subscriber = new CsvBeanSubscriber<>(createWriter(strWriter), 8);
+        final RecordingSubscription subscription = new RecordingSubscription();
+
+        subscriber.onSubscribe(subscription);
+        assertThat(subscription.requests).containsExactly(8L);
+
+        // 3/4を処理するごとに追加で要求し、未処理の件数が先読みする件数を超えない
+        long received = 0;
+        for(int i=1; i <= 100; i++) {
+            assertThat(subscription.getTotalRequested() - received).isBetween(1L, 8L);
+            subscriber.onNext(new ReactiveBean(i, "name" + i));
+            received++;
+        }
+        assertThat(subscription.requests.subList(1, subscription.requests.size())).containsOnly(6L);
+
+        subscriber.onComplete();
+        assertThat(subscriber.getCompletion().get()).isEqualTo(100L);
+
+        final String[] lines = strWriter.toString().split("\r\n");
+        assertThat(lines).hasSize(101);
+        assertThat(lines[0]).isEqualTo("id,name");
+        assertThat(lines[100]).isEqualTo("100,name100");
+
+        // 2回目の購読は取り消す
+        final RecordingSubscription subscription2 = new RecordingSubscription();
+        subscriber.onSubscribe(subscription2);
+        assertThat(subscription2.cancelled).isTrue();
+
+    }
+
+    @Test
+    public void testError() throws Exception {
+
+        // 値のエラー
+        {
+            final CsvBeanSubscriber<ReactiveBean> subscriber = new CsvBeanSubscriber<>(createWriter(new StringWriter()));
+            final RecordingSubscription subscription = new RecordingSubscription();
+            subscriber.onSubscribe(subscription);
+
+            subscriber.onNext(new ReactiveBean(1, "abc"));
+            subscriber.onNext(new ReactiveBean(2, "def") {
+                @Override
+                public String getName() {
+                    throw new IllegalStateException("test error");
+                }
+            });
+            subscriber.onNext(new ReactiveBean(3, "ghi"));
+            subscriber.onComplete();
+
+            assertThat(subscription.cancelled).isTrue();
+            assertThat(subscriber.getCompletion().isCompletedExceptionally()).isTrue();
+        }
+
+        // 発行元のエラー
+        {
+            final CsvBeanSubscriber<ReactiveBean> subscriber = new CsvBeanSubscriber<>(createWriter(new StringWriter()));
+            subscriber.onSubscribe(new RecordingSubscription());
+            subscriber.onError(new IllegalStateException("upstream error"));
+
+            try {
+                subscriber.getCompletion().get();
+                fail();
+            } catch(ExecutionException e) {
+                assertThat(e.getCause()).isInstanceOf(IllegalStateException.class).hasMessage("upstream error");
+            }
+        }
+
+    }
+
+    @Test
+    public void testContinueOnError() throws Exception {
+
+        final StringWriter strWriter = new StringWriter();
+        final CsvAnnotationBeanWriter<ReactiveBean> writer = new CsvAnnotationBeanWriter<>(ReactiveBean.class, strWriter,
+                CsvPreference.STANDARD_PREFERENCE);
+        writer.addValidator((record, bindingErrors, validationContext) -> {
+            if(record.getId() == 2) {
+                bindingErrors.reject("invalid.id", "id is invalid.");
+            }
+        });
+
+        final CsvBeanSubscriber<ReactiveBean> subscriber = new CsvBeanSubscriber<>(writer);
+        subscriber.setContinueOnError(true);
+        final RecordingSubscription subscription = new RecordingSubscription();
+        subscriber.onSubscribe(subscription);
+
+        for(int i=1; i <= 3; i++) {
+            subscriber.onNext(new ReactiveBean(i, "name" + i));
+        }
+        subscriber.onComplete();
+
+        assertThat(subscription.cancelled).isFalse();
+        assertThat(subscriber.getCompletion().get()).isEqualTo(2L);
+        assertThat(writer.getErrorMessages()).hasSize(1);
+        assertThat(strWriter.toString()).isEqualTo("id,name\r\n1,name1\r\n3,name3\r\n");
+
+    }
+
+    /**
+     * Publisherと組み合わせて、別スレッドで読み込みながら書き込む
+     */
+    @Test
+    public void testWithPublisher() throws Exception {
+
+        final StringBuilder text = new StringBuilder("id,name\r\n");
+        for(int i=1; i <= 5000; i++) {
+            text.append(i % 1000 == 0 ? "x" : String.valueOf(i)).append(",name").append(i).append("\r\n");
+        }
+
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final CsvBeanPublisher<ReactiveBean> publisher = new CsvBeanPublisher<>(
+                    new CsvAnnotationBeanReader<>(ReactiveBean.class, new StringReader(text.toString()), CsvPreference.STANDARD_PREFERENCE),
+                    executor);
+            publisher.setContinueOnError(true);
+
+            final StringWriter strWriter = new StringWriter();
+            final CsvBeanSubscriber<ReactiveBean> subscriber = new CsvBeanSubscriber<>(createWriter(strWriter), 16);
+
+            final List<CsvRecord<ReactiveBean>> errors = new ArrayList<>();
+            publisher.beans(errors::add).subscribe(subscriber);
+
+            assertThat(subscriber.getCompletion().get(30, TimeUnit.SECONDS)).isEqualTo(4995L);
+            assertThat(errors).hasSize(5).allMatch(record -> record.getException() instanceof SuperCsvBindingException);
+
+            final String expected = text.toString().replaceAll("x,name\\d+\r\n", "");
+            assertThat(strWriter.toString()).isEqualTo(expected);
+
+        } finally {
+            executor.shutdownNow();
+        }
+
+    }
+
+}
@@ -0,0 +1,46 @@
+package com.github.mygreen.supercsv.io.reactive;
+
+import com.github.mygreen.supercsv.annotation.CsvBean;
+import com.github.mygreen.supercsv.annotation.CsvColumn;
+
+/**
+ * リアクティブ・ストリームのテスト用のBean。
+ *
+ * @since 2.3
+ * @author T.TSUCHIE
+ *
+ */
+@CsvBean(header=true, validateHeader=true)
+public class ReactiveBean {
+
+    @CsvColumn(number=1)
+    private int id;
+
+    @CsvColumn(number=2)
+    private String name;
+
+    public ReactiveBean() {
+    }
+
+    public ReactiveBean(int id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+}
@@ -3,12 +3,15 @@ package com.github.mygreen.supercsv.validation;
 import static org.junit.Assert.*;
 import static org.assertj.core.api.Assertions.*;
 
+import java.util.List;
+
 import org.junit.Before;
 import org.junit.Test;
 
 /**
  * {@link CsvBindingErrors}のテスタ
  *
+ * @version 2.3
  * @since 2.0
  * @author T.TSUCHIE
  *
@@ -24,4 +27,94 @@ public class CsvBindingErrorsTest {
     public void test() {
         
     }
+    
+    /**
+     * エラーがない場合
+     */
+    @Test
+    public void testEmpty() {
+        
+        CsvBindingErrors errors = new CsvBindingErrors(CsvBindingErrorsTest.class);
+        
+        assertThat(errors.hasErrors()).isFalse();
+        assertThat(errors.hasFieldErrors()).isFalse();
+        assertThat(errors.hasFieldErrors("name")).isFalse();
+        assertThat(errors.hasFieldErrors("na*")).isFalse();
+        assertThat(errors.getFieldErrorCount("name")).isEqualTo(0);
+        assertThat(errors.getFirstFieldError("name")).isNull();
+        assertThat(errors.getGlobalErrorCount()).isEqualTo(0);
+        assertThat(errors.getFirstGlobalError()).isNull();
+        
+        assertThat(errors.getAllErrors()).isEmpty();
+        assertThat(errors.getFieldErrors("name")).isEmpty();
+        
+    }
+    
+    /**
+     * フィールドを指定した検索
+     */
+    @Test
+    public void testFieldErrors() {
+        
+        CsvBindingErrors errors = new CsvBindingErrors(CsvBindingErrorsTest.class);
+        errors.rejectValue("name", "error1");
+        errors.reject("global1");
+        errors.rejectValue("address.city", "error2");
+        errors.rejectValue("name", "error3");
+        errors.rejectValue("address.zip", "error4");
+        errors.rejectValue("nameKana", "error5");
+        
+        assertThat(errors.getAllErrors()).hasSize(6);
+        assertThat(errors.getGlobalErrorCount()).isEqualTo(1);
+        assertThat(errors.getGlobalErrors()).hasSize(1);
+        assertThat(errors.getFirstGlobalError().getCodes()).contains("global1");
+        assertThat(errors.getFieldErrorCount()).isEqualTo(5);
+        assertThat(errors.getFieldErrors()).extracting(CsvFieldError::getField)
+            .containsExactly("name", "address.city", "name", "address.zip", "nameKana");
+        
+        // 完全一致
+        assertThat(errors.hasFieldErrors("name")).isTrue();
+        assertThat(errors.getFieldErrorCount("name")).isEqualTo(2);
+        assertThat(errors.getFieldErrors("name")).hasSize(2);
+        assertThat(errors.getFieldErrors("name").get(0).getCodes()).contains("error1");
+        assertThat(errors.getFieldErrors("name").get(1).getCodes()).contains("error3");
+        assertThat(errors.getFirstFieldError("name").getCodes()).contains("error1");
+        assertThat(errors.hasFieldErrors("address")).isFalse();
+        assertThat(errors.getFieldErrorCount("address")).isEqualTo(0);
+        assertThat(errors.getFirstFieldError("address")).isNull();
+        
+        // ワイルドカード
+        assertThat(errors.hasFieldErrors("address.*")).isTrue();
+        assertThat(errors.getFieldErrorCount("address.*")).isEqualTo(2);
+        assertThat(errors.getFirstFieldError("address.*").getField()).isEqualTo("address.city");
+        
+        List<CsvFieldError> nameErrors = errors.getFieldErrors("name*");
+        assertThat(nameErrors).extracting(CsvFieldError::getField).containsExactly("name", "name", "nameKana");
+        assertThat(errors.getFieldErrorCount("*")).isEqualTo(5);
+        assertThat(errors.hasFieldErrors("zip*")).isFalse();
+        assertThat(errors.getFieldErrors("zip*")).isEmpty();
+        
+        // 取得したリストは、コピーのため変更しても影響しない
+        errors.getAllErrors().clear();
+        errors.getFieldErrors("name").clear();
+        errors.getFieldErrors("address.c*").clear();
+        assertThat(errors.getAllErrors()).hasSize(6);
+        assertThat(errors.getFieldErrors("name")).hasSize(2);
+        assertThat(errors.getFieldErrors("address.c*")).hasSize(1);
+        
+        // 取得後に追加したエラーは、取得したリストに反映されない
+        List<CsvError> allErrors = errors.getAllErrors();
+        List<CsvFieldError> exactErrors = errors.getFieldErrors("name");
+        errors.rejectValue("name", "error6");
+        assertThat(allErrors).hasSize(6);
+        assertThat(exactErrors).hasSize(2);
+        assertThat(errors.getFieldErrors("name")).hasSize(3);
+        
+        // 削除
+        errors.clearAllErrors();
+        assertThat(errors.hasErrors()).isFalse();
+        assertThat(errors.hasFieldErrors("name")).isFalse();
+        assertThat(errors.getGlobalErrorCount()).isEqualTo(0);
+        
+    }
 }
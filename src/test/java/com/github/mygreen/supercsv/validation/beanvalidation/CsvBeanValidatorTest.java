@@ -4,15 +4,21 @@ import static org.junit.Assert.*;
 import static org.assertj.core.api.Assertions.*;
 import static com.github.mygreen.supercsv.tool.TestUtils.*;
 
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
 import java.util.List;
 import java.util.ResourceBundle;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import javax.validation.Validation;
 import javax.validation.Validator;
 import javax.validation.ValidatorFactory;
+import javax.validation.groups.Default;
 import javax.validation.constraints.AssertTrue;
 import javax.validation.constraints.DecimalMax;
+import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.Pattern;
 
 import org.hibernate.validator.constraints.Length;
@@ -38,6 +44,7 @@ import com.github.mygreen.supercsv.validation.ValidationContext;
 /**
  * {@link CsvBeanValidator}のテスタ
  *
+ * @version 2.3
  * @since 2.0
  * @author T.TSUCHIE
  *
@@ -95,6 +102,7 @@ public class CsvBeanValidatorTest {
     private interface Group2 { }
     private interface Group3 { }
     private interface Group4 { }
+    private interface Group5 { }
     
     @CsvBean
     private static class TestCsv {
@@ -347,5 +355,108 @@ public class CsvBeanValidatorTest {
         
     }
     
+    /**
+     * 検証対象の制約がない場合は、BeanValidationを呼び出さない
+     */
+    @Test
+    public void testValidate_noConstraints() {
+        
+        // 検証の呼び出し回数を数える
+        final Validator targetValidator = Validation.buildDefaultValidatorFactory().getValidator();
+        final AtomicInteger validateCount = new AtomicInteger();
+        final Validator countingValidator = (Validator) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{Validator.class}, (proxy, method, args) -> {
+                    if(method.getName().equals("validate")) {
+                        validateCount.incrementAndGet();
+                    }
+                    try {
+                        return method.invoke(targetValidator, args);
+                    } catch(InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+        final CsvBeanValidator validator = new CsvBeanValidator(countingValidator);
+        
+        BeanMapping<TestCsv> beanMapping = beanMappingFactory.create(TestCsv.class, groupEmpty);
+        ValidationContext<TestCsv> validationContext = new ValidationContext<>(ANONYMOUS_CSVCONTEXT, beanMapping);
+        
+        TestCsv record = new TestCsv();
+        record.name = "あいう";
+        
+        // 制約のないグループ
+        final Class<?>[] groups = new Class[]{Group5.class};
+        for(int i=0; i < 3; i++) {
+            CsvBindingErrors bindingErrors = new CsvBindingErrors(TestCsv.class);
+            validator.validate(record, bindingErrors, (ValidationContext)validationContext, groups);
+            assertThat(bindingErrors.hasErrors()).isFalse();
+        }
+        assertThat(validateCount.get()).isEqualTo(0);
+        
+        // 制約のあるグループ。メッセージ変数をキャッシュしても、同じ結果となる。
+        for(int i=0; i < 3; i++) {
+            CsvBindingErrors bindingErrors = new CsvBindingErrors(TestCsv.class);
+            validator.validate(record, bindingErrors, (ValidationContext)validationContext, new Class[]{Group1.class});
+            
+            List<String> messages = bindingErrors.getAllErrors().stream()
+                    .map(error -> error.format(testMessageResolver, messageInterpolator))
+                    .collect(Collectors.toList());
+            assertThat(messages).containsExactly("半角英数字で設定してください。");
+        }
+        assertThat(validateCount.get()).isEqualTo(3);
+        
+        // 制約のないBean
+        final BeanMapping<NoConstraintCsv> noConstraintMapping = beanMappingFactory.create(NoConstraintCsv.class, groupEmpty);
+        validator.validate(new NoConstraintCsv(), new CsvBindingErrors(NoConstraintCsv.class),
+                (ValidationContext)new ValidationContext<>(ANONYMOUS_CSVCONTEXT, noConstraintMapping));
+        assertThat(validateCount.get()).isEqualTo(3);
+        
+    }
+    
+    @CsvBean
+    private static class NoConstraintCsv {
+        
+        @CsvColumn(number=1)
+        private String id;
+        
+    }
+    
+    /**
+     * コンテナの要素に対する制約のみを持つ場合は、検証する
+     */
+    @Test
+    public void testValidate_containerElement() {
+        
+        final CsvBeanValidator validator = new CsvBeanValidator();
+        
+        final BeanMapping<ContainerElementCsv> beanMapping = beanMappingFactory.create(ContainerElementCsv.class, groupEmpty);
+        final ValidationContext<ContainerElementCsv> validationContext = new ValidationContext<>(ANONYMOUS_CSVCONTEXT, beanMapping);
+        
+        final ContainerElementCsv record = new ContainerElementCsv();
+        record.id = "1";
+        record.tags = Arrays.asList("a", " ");
+        
+        for(Class<?>[] groups : new Class<?>[][]{groupEmpty, new Class<?>[]{Default.class}}) {
+            final CsvBindingErrors bindingErrors = new CsvBindingErrors(ContainerElementCsv.class);
+            validator.validate(record, bindingErrors, (ValidationContext)validationContext, groups);
+            assertThat(bindingErrors.getAllErrors()).hasSize(1);
+        }
+        
+        // 制約に違反しない場合
+        record.tags = Arrays.asList("a", "b");
+        final CsvBindingErrors bindingErrors = new CsvBindingErrors(ContainerElementCsv.class);
+        validator.validate(record, bindingErrors, (ValidationContext)validationContext, groupEmpty);
+        assertThat(bindingErrors.hasErrors()).isFalse();
+        
+    }
+    
+    @CsvBean
+    private static class ContainerElementCsv {
+        
+        @CsvColumn(number=1)
+        private String id;
+        
+        private List<@NotBlank String> tags;
+        
+    }
     
 }